@@ -0,0 +1,141 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * An annotation processor that generates, at compile time, a codec for each class that uses the annotations in
+ * {@code org.bson.codecs.pojo.annotations}, so that these classes can be encoded and decoded without reflection.
+ *
+ * <p>For each package that contains such classes, a public {@code GeneratedCodecProvider} is generated, which provides the codecs of the
+ * classes in that package, and which is typically registered ahead of the {@code PojoCodecProvider}:</p>
+ *
+ * <pre>
+ *    CodecRegistry registry = fromRegistries(MongoClientSettings.getDefaultCodecRegistry(),
+ *            fromProviders(new com.example.GeneratedCodecProvider(), PojoCodecProvider.builder().automatic(true).build()));
+ * </pre>
+ *
+ * <p>The generated codecs follow the default conventions of the {@code PojoCodecProvider}.  Classes that are not supported, for example
+ * generic or abstract classes, or classes with properties annotated with {@code BsonExtraElements}, are reported with a warning, and are
+ * left to the {@code PojoCodecProvider}.</p>
+ *
+ * @since 4.9
+ */
+@SupportedAnnotationTypes({EntityModel.BSON_CREATOR, EntityModel.BSON_DISCRIMINATOR, EntityModel.BSON_EXTRA_ELEMENTS,
+        EntityModel.BSON_ID, EntityModel.BSON_IGNORE, EntityModel.BSON_PROPERTY, EntityModel.BSON_REPRESENTATION})
+public final class BsonCodecProcessor extends AbstractProcessor {
+    private final Map<String, List<EntityModel>> modelsByPackage = new LinkedHashMap<>();
+    private final Set<String> processedTypes = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        Set<TypeElement> annotatedTypes = roundEnvironment.processingOver()
+                ? new LinkedHashSet<>() : getAnnotatedTypes(annotations, roundEnvironment);
+        if (annotatedTypes.isEmpty()) {
+            // the providers are generated once a round finds no more annotated classes, so that they are compiled with the codecs
+            generateProviders();
+            return false;
+        }
+        CodecGenerator generator = new CodecGenerator(processingEnv.getTypeUtils());
+        for (TypeElement type : annotatedTypes) {
+            if (!processedTypes.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+            EntityModel model;
+            try {
+                model = EntityModel.create(type, processingEnv);
+            } catch (UnsupportedEntityException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        format("No codec is generated for %s: %s", type.getQualifiedName(), e.getMessage()), type);
+                continue;
+            }
+            String codecName = model.getPackageName().isEmpty() ? model.getCodecSimpleName()
+                    : model.getPackageName() + "." + model.getCodecSimpleName();
+            writeSource(codecName, generator.generateCodec(model), type);
+            modelsByPackage.computeIfAbsent(model.getPackageName(), k -> new ArrayList<>()).add(model);
+        }
+        return false;
+    }
+
+    private Set<TypeElement> getAnnotatedTypes(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                Element current = element;
+                while (current != null && !(current instanceof TypeElement)) {
+                    current = current.getEnclosingElement();
+                }
+                if (current != null) {
+                    types.add((TypeElement) current);
+                }
+            }
+        }
+        return types;
+    }
+
+    private void generateProviders() {
+        CodecGenerator generator = new CodecGenerator(processingEnv.getTypeUtils());
+        for (Map.Entry<String, List<EntityModel>> entry : modelsByPackage.entrySet()) {
+            String packageName = entry.getKey();
+            List<EntityModel> models = entry.getValue();
+            Element[] originatingElements = new Element[models.size()];
+            for (int i = 0; i < models.size(); i++) {
+                originatingElements[i] = models.get(i).getType();
+            }
+            String providerName = packageName.isEmpty() ? CodecGenerator.PROVIDER_SIMPLE_NAME
+                    : packageName + "." + CodecGenerator.PROVIDER_SIMPLE_NAME;
+            writeSource(providerName, generator.generateProvider(packageName, models), originatingElements);
+        }
+        modelsByPackage.clear();
+    }
+
+    private void writeSource(final String name, final String source, final Element... originatingElements) {
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, originatingElements);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, format("Unable to write %s: %s", name, e.getMessage()),
+                    originatingElements.length > 0 ? originatingElements[0] : null);
+        }
+    }
+}
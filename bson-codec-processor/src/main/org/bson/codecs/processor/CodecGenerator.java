@@ -0,0 +1,379 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import org.bson.codecs.processor.EntityModel.Property;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Generates the source of the codec for an {@link EntityModel}, and of the codec provider for the codecs generated in a package.
+ *
+ * <p>The generated codecs follow {@code PojoCodecImpl}: the id property is encoded first, followed by the discriminator, if enabled, and
+ * the remaining properties in declaration order; null values are not encoded; a null BSON value is decoded as null; and unknown fields are
+ * skipped.  Property codecs are looked up in the registry on first use, so that entities may refer to themselves.</p>
+ */
+final class CodecGenerator {
+    static final String PROVIDER_SIMPLE_NAME = "GeneratedCodecProvider";
+
+    private static final String CODEC = "org.bson.codecs.Codec";
+    private static final String CODEC_CONFIGURATION_EXCEPTION = "org.bson.codecs.configuration.CodecConfigurationException";
+    private static final String CODEC_REGISTRY = "org.bson.codecs.configuration.CodecRegistry";
+    private static final String BSON_TYPE = "org.bson.BsonType";
+
+    private final Types types;
+
+    CodecGenerator(final Types types) {
+        this.types = types;
+    }
+
+    String generateCodec(final EntityModel model) {
+        String entityName = model.getType().getQualifiedName().toString();
+        List<Property> properties = model.getProperties();
+        SourceBuilder source = new SourceBuilder();
+        appendPackage(source, model.getPackageName());
+        source.line("/**")
+                .line(" * A codec for {@link %s}, generated by the BSON codec annotation processor.", entityName)
+                .line(" */")
+                .line("final class %s implements %s<%s> {", model.getCodecSimpleName(), CODEC, entityName).indent();
+        for (int i = 0; i < properties.size(); i++) {
+            source.line("private static final org.bson.EncodedFieldName NAME_%d = new org.bson.EncodedFieldName(%s);", i,
+                    quote(properties.get(i).getKey()));
+        }
+        source.line("").line("private final %s registry;", CODEC_REGISTRY);
+        for (int i = 0; i < properties.size(); i++) {
+            source.line("private %s<%s> codec%d;", CODEC, getBoxedTypeName(properties.get(i).getType()), i);
+        }
+        source.line("")
+                .line("%s(final %s registry) {", model.getCodecSimpleName(), CODEC_REGISTRY).indent()
+                .line("this.registry = registry;").outdent()
+                .line("}");
+
+        appendEncode(source, model, entityName);
+        appendDecode(source, model, entityName);
+
+        source.line("")
+                .line("@Override")
+                .line("public Class<%s> getEncoderClass() {", entityName).indent()
+                .line("return %s.class;", entityName).outdent()
+                .line("}");
+
+        for (int i = 0; i < properties.size(); i++) {
+            appendCodecGetter(source, properties.get(i), i);
+        }
+
+        source.line("")
+                .line("private static <V> V decodeValue(final org.bson.BsonReader reader, final org.bson.codecs.DecoderContext "
+                        + "decoderContext,").indent().indent()
+                .line("final %s<V> codec) {", CODEC).outdent()
+                .line("if (reader.getCurrentBsonType() == %s.NULL) {", BSON_TYPE).indent()
+                .line("reader.readNull();")
+                .line("return null;").outdent()
+                .line("}")
+                .line("return decoderContext.decodeWithChildContext(codec, reader);").outdent()
+                .line("}");
+        source.outdent().line("}");
+        return source.toString();
+    }
+
+    String generateProvider(final String packageName, final List<EntityModel> models) {
+        SourceBuilder source = new SourceBuilder();
+        appendPackage(source, packageName);
+        source.line("/**")
+                .line(" * Provides the codecs generated by the BSON codec annotation processor for the annotated classes in this package.")
+                .line(" */")
+                .line("public final class %s implements org.bson.codecs.configuration.CodecProvider {", PROVIDER_SIMPLE_NAME).indent()
+                .line("@Override")
+                .line("@SuppressWarnings(\"unchecked\")")
+                .line("public <T> %s<T> get(final Class<T> clazz, final %s registry) {", CODEC, CODEC_REGISTRY).indent();
+        for (EntityModel model : models) {
+            source.line("if (clazz == %s.class) {", model.getType().getQualifiedName()).indent()
+                    .line("return (%s<T>) new %s(registry);", CODEC, model.getCodecSimpleName()).outdent()
+                    .line("}");
+        }
+        source.line("return null;").outdent()
+                .line("}").outdent()
+                .line("}");
+        return source.toString();
+    }
+
+    private void appendEncode(final SourceBuilder source, final EntityModel model, final String entityName) {
+        source.line("")
+                .line("@Override")
+                .line("public void encode(final org.bson.BsonWriter writer, final %s value, final org.bson.codecs.EncoderContext "
+                        + "encoderContext) {", entityName).indent()
+                .line("writer.writeStartDocument();");
+        List<Property> properties = model.getProperties();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (i == 0 && !property.isId()) {
+                appendDiscriminator(source, model);
+            }
+            if (property.isReadable()) {
+                String typeName = property.getType().toString();
+                source.line("{").indent()
+                        .line("%s propertyValue = %s;", typeName, getReadExpression(property, "value"));
+                if (property.isId() && isObjectId(property.getType()) && property.isWritable()) {
+                    source.line("if (propertyValue == null && encoderContext.isEncodingCollectibleDocument()) {").indent()
+                            .line("propertyValue = new org.bson.types.ObjectId();")
+                            .line(getWriteStatement(property, "value", "propertyValue")).outdent()
+                            .line("}");
+                }
+                if (property.getType().getKind().isPrimitive()) {
+                    appendEncodeValue(source, i);
+                } else {
+                    source.line("if (propertyValue != null) {").indent();
+                    appendEncodeValue(source, i);
+                    source.outdent().line("}");
+                }
+                source.outdent().line("}");
+            }
+            if (i == 0 && property.isId()) {
+                appendDiscriminator(source, model);
+            }
+        }
+        if (properties.isEmpty()) {
+            appendDiscriminator(source, model);
+        }
+        source.line("writer.writeEndDocument();").outdent()
+                .line("}");
+    }
+
+    private void appendDiscriminator(final SourceBuilder source, final EntityModel model) {
+        if (model.getDiscriminatorKey() != null) {
+            source.line("writer.writeString(%s, %s);", quote(model.getDiscriminatorKey()), quote(model.getDiscriminator()));
+        }
+    }
+
+    private void appendEncodeValue(final SourceBuilder source, final int index) {
+        source.line("writer.writeName(NAME_%d);", index)
+                .line("encoderContext.encodeWithChildContext(codec%d(), writer, propertyValue);", index);
+    }
+
+    private void appendDecode(final SourceBuilder source, final EntityModel model, final String entityName) {
+        List<Property> properties = model.getProperties();
+        List<Property> creatorProperties = model.getCreatorProperties();
+        source.line("")
+                .line("@Override")
+                .line("public %s decode(final org.bson.BsonReader reader, final org.bson.codecs.DecoderContext decoderContext) {",
+                        entityName).indent();
+        List<Integer> decodedIndexes = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.isWritable() || creatorProperties.contains(property)) {
+                decodedIndexes.add(i);
+                source.line("%s value%d = null;", getBoxedTypeName(property.getType()), i)
+                        .line("boolean value%dDecoded = false;", i);
+            }
+        }
+        source.line("reader.readStartDocument();")
+                .line("while (reader.readBsonType() != %s.END_OF_DOCUMENT) {", BSON_TYPE).indent()
+                .line("String name = reader.readName();")
+                .line("switch (name) {").indent();
+        for (int i : decodedIndexes) {
+            source.line("case %s:", quote(properties.get(i).getKey())).indent()
+                    .line("value%d = decodeValue(reader, decoderContext, codec%d());", i, i)
+                    .line("value%dDecoded = true;", i)
+                    .line("break;").outdent();
+        }
+        source.line("default:").indent()
+                .line("reader.skipValue();").outdent().outdent()
+                .line("}").outdent()
+                .line("}")
+                .line("reader.readEndDocument();");
+
+        List<String> arguments = new ArrayList<>();
+        for (Property property : creatorProperties) {
+            int index = properties.indexOf(property);
+            appendPrimitiveCheck(source, model, property, index);
+            arguments.add("value" + index);
+        }
+        ExecutableElement creator = model.getCreator();
+        if (creator == null) {
+            source.line("%s instance = new %s();", entityName, entityName);
+        } else if (creator.getKind() == ElementKind.CONSTRUCTOR) {
+            source.line("%s instance = new %s(%s);", entityName, entityName, String.join(", ", arguments));
+        } else {
+            source.line("%s instance = %s.%s(%s);", entityName, entityName, creator.getSimpleName(), String.join(", ", arguments));
+        }
+        for (int i : decodedIndexes) {
+            Property property = properties.get(i);
+            if (!creatorProperties.contains(property)) {
+                source.line("if (value%dDecoded) {", i).indent();
+                appendPrimitiveCheck(source, model, property, i);
+                source.line(getWriteStatement(property, "instance", "value" + i)).outdent()
+                        .line("}");
+            }
+        }
+        source.line("return instance;").outdent()
+                .line("}");
+    }
+
+    private void appendPrimitiveCheck(final SourceBuilder source, final EntityModel model, final Property property, final int index) {
+        if (property.getType().getKind().isPrimitive()) {
+            source.line("if (value%d == null) {", index).indent()
+                    .line("throw new %s(%s);", CODEC_CONFIGURATION_EXCEPTION,
+                            quote(format("Failed to decode '%s'. Decoding '%s' errored with: a null value can not be assigned to the "
+                                    + "primitive type %s", model.getType().getSimpleName(), property.getKey(), property.getType())))
+                    .outdent()
+                    .line("}");
+        }
+    }
+
+    private void appendCodecGetter(final SourceBuilder source, final Property property, final int index) {
+        String codecType = format("%s<%s>", CODEC, getBoxedTypeName(property.getType()));
+        source.line("");
+        if (property.getRepresentation() != null || !isRaw(property.getType())) {
+            source.line("@SuppressWarnings(\"unchecked\")");
+        }
+        source.line("private %s codec%d() {", codecType, index).indent()
+                .line("if (codec%d == null) {", index).indent();
+        if (property.getRepresentation() == null && isRaw(property.getType())) {
+            source.line("codec%d = %s;", index, getLookupExpression(property.getType()));
+        } else if (property.getRepresentation() == null) {
+            source.line("codec%d = (%s) (%s<?>) %s;", index, codecType, CODEC, getLookupExpression(property.getType()));
+        } else {
+            source.line("%s<?> codec = %s;", CODEC, getLookupExpression(property.getType()))
+                    .line("if (!(codec instanceof org.bson.codecs.RepresentationConfigurable)) {").indent()
+                    .line("throw new %s(%s);", CODEC_CONFIGURATION_EXCEPTION, quote("Codec must implement RepresentationConfigurable to "
+                            + "support BsonRepresentation"))
+                    .outdent()
+                    .line("}")
+                    .line("codec%d = (%s) ((org.bson.codecs.RepresentationConfigurable<?>) codec).withRepresentation(%s.%s);", index,
+                            codecType, BSON_TYPE, property.getRepresentation());
+        }
+        source.outdent().line("}")
+                .line("return codec%d;", index).outdent()
+                .line("}");
+    }
+
+    private String getReadExpression(final Property property, final String instance) {
+        if (property.getGetter() != null) {
+            return format("%s.%s()", instance, property.getGetter().getSimpleName());
+        }
+        return format("%s.%s", instance, property.getField().getSimpleName());
+    }
+
+    private String getWriteStatement(final Property property, final String instance, final String value) {
+        if (property.getSetter() != null) {
+            return format("%s.%s(%s);", instance, property.getSetter().getSimpleName(), value);
+        }
+        return format("%s.%s = %s;", instance, property.getField().getSimpleName(), value);
+    }
+
+    private String getLookupExpression(final TypeMirror type) {
+        if (isRaw(type)) {
+            return format("registry.get(%s)", getClassLiteral(type));
+        }
+        List<String> typeArguments = new ArrayList<>();
+        for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+            typeArguments.add(getClassLiteral(typeArgument));
+        }
+        return format("registry.get(%s, java.util.Arrays.<java.lang.reflect.Type>asList(%s))", getClassLiteral(type),
+                String.join(", ", typeArguments));
+    }
+
+    private boolean isRaw(final TypeMirror type) {
+        return !(type instanceof DeclaredType) || ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private boolean isObjectId(final TypeMirror type) {
+        return type.toString().equals("org.bson.types.ObjectId");
+    }
+
+    private String getClassLiteral(final TypeMirror type) {
+        return getBoxedTypeName(types.erasure(type)) + ".class";
+    }
+
+    private String getBoxedTypeName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private static void appendPackage(final SourceBuilder source, final String packageName) {
+        if (!packageName.isEmpty()) {
+            source.line("package %s;", packageName).line("");
+        }
+    }
+
+    static String quote(final String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else if (c == '\r') {
+                builder.append("\\r");
+            } else if (c == '\t') {
+                builder.append("\\t");
+            } else if (c < 0x20) {
+                // a Unicode escape is translated before the source is tokenized, so one for a line terminator would end the literal
+                builder.append(format("\\%03o", (int) c));
+            } else if (c > 0x7e) {
+                builder.append(format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static final class SourceBuilder {
+        private final StringBuilder builder = new StringBuilder();
+        private int indentation;
+
+        SourceBuilder line(final String line, final Object... args) {
+            String formatted = args.length == 0 ? line : format(line, args);
+            if (!formatted.isEmpty()) {
+                for (int i = 0; i < indentation; i++) {
+                    builder.append("    ");
+                }
+                builder.append(formatted);
+            }
+            builder.append('\n');
+            return this;
+        }
+
+        SourceBuilder indent() {
+            indentation++;
+            return this;
+        }
+
+        SourceBuilder outdent() {
+            indentation--;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * The model of an annotated class from which a codec is generated, built with the same conventions as the default conventions of the
+ * {@code PojoCodecProvider}: public getters, setters and fields are properties, a property named {@code id} or {@code _id} is the id,
+ * and the annotations in {@code org.bson.codecs.pojo.annotations} customize the properties.
+ */
+final class EntityModel {
+    static final String ANNOTATIONS_PACKAGE = "org.bson.codecs.pojo.annotations";
+    static final String BSON_CREATOR = ANNOTATIONS_PACKAGE + ".BsonCreator";
+    static final String BSON_DISCRIMINATOR = ANNOTATIONS_PACKAGE + ".BsonDiscriminator";
+    static final String BSON_EXTRA_ELEMENTS = ANNOTATIONS_PACKAGE + ".BsonExtraElements";
+    static final String BSON_ID = ANNOTATIONS_PACKAGE + ".BsonId";
+    static final String BSON_IGNORE = ANNOTATIONS_PACKAGE + ".BsonIgnore";
+    static final String BSON_PROPERTY = ANNOTATIONS_PACKAGE + ".BsonProperty";
+    static final String BSON_REPRESENTATION = ANNOTATIONS_PACKAGE + ".BsonRepresentation";
+
+    private static final String ID_KEY = "_id";
+
+    private final TypeElement type;
+    private final String packageName;
+    private final String codecSimpleName;
+    private final String discriminatorKey;
+    private final String discriminator;
+    private final List<Property> properties;
+    private final ExecutableElement creator;
+    private final List<Property> creatorProperties;
+
+    private EntityModel(final TypeElement type, final String packageName, final String codecSimpleName, final String discriminatorKey,
+                        final String discriminator, final List<Property> properties, final ExecutableElement creator,
+                        final List<Property> creatorProperties) {
+        this.type = type;
+        this.packageName = packageName;
+        this.codecSimpleName = codecSimpleName;
+        this.discriminatorKey = discriminatorKey;
+        this.discriminator = discriminator;
+        this.properties = properties;
+        this.creator = creator;
+        this.creatorProperties = creatorProperties;
+    }
+
+    TypeElement getType() {
+        return type;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getCodecSimpleName() {
+        return codecSimpleName;
+    }
+
+    /**
+     * @return the discriminator key, or null if the discriminator is not enabled
+     */
+    String getDiscriminatorKey() {
+        return discriminatorKey;
+    }
+
+    String getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * @return the properties, with the id property, if any, first
+     */
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the constructor or static factory method annotated with {@code @BsonCreator}, or null if instances are created with the
+     * no-args constructor
+     */
+    ExecutableElement getCreator() {
+        return creator;
+    }
+
+    List<Property> getCreatorProperties() {
+        return creatorProperties;
+    }
+
+    /**
+     * Creates the model of the given class.
+     *
+     * @throws UnsupportedEntityException if no codec can be generated for the class, in which case the reflection-based
+     * {@code PojoCodecProvider} must be used for it instead
+     */
+    static EntityModel create(final TypeElement type, final ProcessingEnvironment processingEnvironment) {
+        Elements elements = processingEnvironment.getElementUtils();
+        Types types = processingEnvironment.getTypeUtils();
+        validateType(type);
+
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String codecSimpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_') + "Codec";
+
+        String discriminatorKey = null;
+        String discriminator = null;
+        AnnotationMirror discriminatorAnnotation = getAnnotation(type, BSON_DISCRIMINATOR);
+        if (discriminatorAnnotation != null) {
+            discriminatorKey = getStringValue(discriminatorAnnotation, "key", "_t");
+            discriminator = getStringValue(discriminatorAnnotation, "value", binaryName);
+        }
+
+        Map<String, PropertyBuilder> builders = new LinkedHashMap<>();
+        for (TypeElement current : getHierarchy(type, types)) {
+            for (Element member : current.getEnclosedElements()) {
+                if (member.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.TRANSIENT)) {
+                    getBuilder(builders, member.getSimpleName().toString()).field = (VariableElement) member;
+                } else if (member.getKind() == ElementKind.METHOD && member.getModifiers().contains(Modifier.PUBLIC)) {
+                    ExecutableElement method = (ExecutableElement) member;
+                    String methodName = method.getSimpleName().toString();
+                    if (isGetter(method)) {
+                        getBuilder(builders, toPropertyName(methodName)).getter = method;
+                    } else if (isSetter(method)) {
+                        getBuilder(builders, toPropertyName(methodName)).setter = method;
+                    }
+                }
+            }
+        }
+
+        ExecutableElement creator = findCreator(type);
+        List<PropertyBuilder> creatorBuilders = new ArrayList<>();
+        if (creator != null) {
+            for (VariableElement parameter : creator.getParameters()) {
+                creatorBuilders.add(getCreatorParameterBuilder(type, builders, parameter));
+            }
+        } else if (!hasNoArgsConstructor(type)) {
+            throw new UnsupportedEntityException(format("%s has neither an accessible no-args constructor nor a @BsonCreator", type));
+        }
+
+        List<Property> properties = new ArrayList<>();
+        List<Property> creatorProperties = new ArrayList<>();
+        Map<PropertyBuilder, Property> built = new LinkedHashMap<>();
+        for (PropertyBuilder builder : builders.values()) {
+            Property property = builder.build(type, types, creatorBuilders.contains(builder));
+            if (property != null) {
+                built.put(builder, property);
+                if (property.isId()) {
+                    properties.add(0, property);
+                } else {
+                    properties.add(property);
+                }
+            }
+        }
+        for (PropertyBuilder builder : creatorBuilders) {
+            Property property = built.get(builder);
+            if (property == null) {
+                throw new UnsupportedEntityException(format("The @BsonCreator parameter for '%s' of %s is ignored", builder.name, type));
+            }
+            creatorProperties.add(property);
+        }
+        validateKeys(type, properties, discriminatorKey);
+        return new EntityModel(type, packageName, codecSimpleName, discriminatorKey, discriminator, properties, creator,
+                creatorProperties);
+    }
+
+    private static void validateType(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS) {
+            throw new UnsupportedEntityException(format("%s is not a class", type));
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedEntityException(format("%s is abstract", type));
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedEntityException(format("%s has type parameters", type));
+        }
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedEntityException(format("%s is not accessible from its package", type));
+            }
+            if (currentType.getNestingKind() == NestingKind.MEMBER && !currentType.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedEntityException(format("%s is an inner class", type));
+            }
+            if (currentType.getNestingKind() == NestingKind.LOCAL || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedEntityException(format("%s is a local class", type));
+            }
+            current = current.getEnclosingElement();
+        }
+    }
+
+    private static void validateKeys(final TypeElement type, final List<Property> properties, final String discriminatorKey) {
+        Map<String, Property> keys = new LinkedHashMap<>();
+        for (Property property : properties) {
+            if (keys.put(property.getKey(), property) != null || property.getKey().equals(discriminatorKey)) {
+                throw new UnsupportedEntityException(format("%s has more than one property with the key '%s'", type, property.getKey()));
+            }
+        }
+    }
+
+    // The classes whose members are properties of the given class, from the most general to the class itself
+    private static List<TypeElement> getHierarchy(final TypeElement type, final Types types) {
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.addFirst(current);
+            TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+            if (!((DeclaredType) superclass).getTypeArguments().isEmpty()) {
+                throw new UnsupportedEntityException(format("%s extends the parameterized type %s", type, superclass));
+            }
+            current = (TypeElement) types.asElement(superclass);
+        }
+        return new ArrayList<>(hierarchy);
+    }
+
+    private static PropertyBuilder getBuilder(final Map<String, PropertyBuilder> builders, final String name) {
+        PropertyBuilder builder = builders.get(name);
+        if (builder == null) {
+            builder = new PropertyBuilder(name);
+            builders.put(name, builder);
+        }
+        return builder;
+    }
+
+    private static PropertyBuilder getCreatorParameterBuilder(final TypeElement type, final Map<String, PropertyBuilder> builders,
+                                                              final VariableElement parameter) {
+        String key;
+        if (getAnnotation(parameter, BSON_ID) != null) {
+            key = ID_KEY;
+        } else if (getAnnotation(parameter, BSON_PROPERTY) != null) {
+            key = getStringValue(getAnnotation(parameter, BSON_PROPERTY), "value", "");
+        } else {
+            throw new UnsupportedEntityException(format("The @BsonCreator parameter '%s' of %s is not annotated with @BsonProperty "
+                    + "or @BsonId", parameter.getSimpleName(), type));
+        }
+        PropertyBuilder match = builders.get(key);
+        if (match == null) {
+            for (PropertyBuilder builder : builders.values()) {
+                if (key.equals(builder.getKey()) || (key.equals(ID_KEY) && builder.isId())) {
+                    match = builder;
+                    break;
+                }
+            }
+        }
+        if (match == null) {
+            match = getBuilder(builders, key);
+        }
+        if (match.parameter != null) {
+            throw new UnsupportedEntityException(format("More than one @BsonCreator parameter of %s is for '%s'", type, key));
+        }
+        match.parameter = parameter;
+        if (key.equals(ID_KEY)) {
+            match.parameterIsId = true;
+        }
+        return match;
+    }
+
+    private static ExecutableElement findCreator(final TypeElement type) {
+        ExecutableElement creator = null;
+        for (Element member : type.getEnclosedElements()) {
+            if ((member.getKind() == ElementKind.CONSTRUCTOR || member.getKind() == ElementKind.METHOD)
+                    && getAnnotation(member, BSON_CREATOR) != null) {
+                if (creator != null) {
+                    throw new UnsupportedEntityException(format("%s has more than one @BsonCreator", type));
+                }
+                creator = (ExecutableElement) member;
+                if (creator.getModifiers().contains(Modifier.PRIVATE)) {
+                    throw new UnsupportedEntityException(format("The @BsonCreator of %s is private", type));
+                }
+                if (creator.getKind() == ElementKind.METHOD && (!creator.getModifiers().contains(Modifier.STATIC)
+                        || !creator.getTypeParameters().isEmpty())) {
+                    throw new UnsupportedEntityException(format("The @BsonCreator method of %s is not a static factory method", type));
+                }
+            }
+        }
+        return creator;
+    }
+
+    private static boolean hasNoArgsConstructor(final TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR && ((ExecutableElement) member).getParameters().isEmpty()
+                    && !member.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isGetter(final ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+            return false;
+        } else if (name.startsWith("get") && name.length() > 3) {
+            return Character.isUpperCase(name.charAt(3));
+        } else if (name.startsWith("is") && name.length() > 2) {
+            return Character.isUpperCase(name.charAt(2));
+        }
+        return false;
+    }
+
+    private static boolean isSetter(final ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        return name.startsWith("set") && name.length() > 3 && method.getParameters().size() == 1 && Character.isUpperCase(name.charAt(3));
+    }
+
+    private static String toPropertyName(final String methodName) {
+        String propertyName = methodName.substring(methodName.startsWith("is") ? 2 : 3);
+        return Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+    }
+
+    static AnnotationMirror getAnnotation(final Element element, final String annotationName) {
+        if (element == null) {
+            return null;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String getStringValue(final AnnotationMirror annotation, final String name, final String defaultValue) {
+        AnnotationValue value = getValue(annotation, name);
+        String stringValue = value == null ? "" : (String) value.getValue();
+        return stringValue.isEmpty() ? defaultValue : stringValue;
+    }
+
+    private static AnnotationValue getValue(final AnnotationMirror annotation, final String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A property of the entity, which is encoded if it has an accessible getter or field, and decoded if it has an accessible setter or
+     * field, or is a parameter of the creator.
+     */
+    static final class Property {
+        private final String name;
+        private final String key;
+        private final TypeMirror type;
+        private final boolean id;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+        private final VariableElement field;
+        private final String representation;
+
+        Property(final String name, final String key, final TypeMirror type, final boolean id, final ExecutableElement getter,
+                 final ExecutableElement setter, final VariableElement field, final String representation) {
+            this.name = name;
+            this.key = key;
+            this.type = type;
+            this.id = id;
+            this.getter = getter;
+            this.setter = setter;
+            this.field = field;
+            this.representation = representation;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        TypeMirror getType() {
+            return type;
+        }
+
+        boolean isId() {
+            return id;
+        }
+
+        /**
+         * @return the getter, or null if the property is read from its field or is not encoded
+         */
+        ExecutableElement getGetter() {
+            return getter;
+        }
+
+        /**
+         * @return the setter, or null if the property is written to its field or is only set by the creator
+         */
+        ExecutableElement getSetter() {
+            return setter;
+        }
+
+        /**
+         * @return the public field of the property, which is read if there is no getter, and written if there is no setter and it is not
+         * final, or null if there is none
+         */
+        VariableElement getField() {
+            return field;
+        }
+
+        boolean isReadable() {
+            return getter != null || field != null;
+        }
+
+        boolean isWritable() {
+            return setter != null || (field != null && !field.getModifiers().contains(Modifier.FINAL));
+        }
+
+        /**
+         * @return the name of the {@code BsonType} constant with which the property is represented, or null for the default
+         */
+        String getRepresentation() {
+            return representation;
+        }
+    }
+
+    private static final class PropertyBuilder {
+        private final String name;
+        private VariableElement field;
+        private ExecutableElement getter;
+        private ExecutableElement setter;
+        private VariableElement parameter;
+        private boolean parameterIsId;
+
+        PropertyBuilder(final String name) {
+            this.name = name;
+        }
+
+        boolean isId() {
+            return parameterIsId || hasAnnotation(BSON_ID) || name.equals("id") || name.equals(ID_KEY);
+        }
+
+        String getKey() {
+            for (Element element : new Element[] {parameter, getter, setter, field}) {
+                AnnotationMirror bsonProperty = getAnnotation(element, BSON_PROPERTY);
+                if (bsonProperty != null) {
+                    String value = getStringValue(bsonProperty, "value", "");
+                    if (!value.isEmpty()) {
+                        return value;
+                    }
+                }
+            }
+            return isId() ? ID_KEY : name;
+        }
+
+        boolean hasAnnotation(final String annotationName) {
+            return getAnnotation(field, annotationName) != null || getAnnotation(getter, annotationName) != null
+                    || getAnnotation(setter, annotationName) != null;
+        }
+
+        Property build(final TypeElement type, final Types types, final boolean isCreatorParameter) {
+            if (hasAnnotation(BSON_EXTRA_ELEMENTS)) {
+                throw new UnsupportedEntityException(format("The property '%s' of %s is annotated with @BsonExtraElements", name, type));
+            }
+            boolean fieldIgnored = getAnnotation(field, BSON_IGNORE) != null;
+            VariableElement accessibleField = !fieldIgnored && field != null && field.getModifiers().contains(Modifier.PUBLIC)
+                    ? field : null;
+            ExecutableElement readableGetter = !fieldIgnored && getter != null && getAnnotation(getter, BSON_IGNORE) == null
+                    ? getter : null;
+            ExecutableElement writableSetter = !fieldIgnored && setter != null && getAnnotation(setter, BSON_IGNORE) == null
+                    ? setter : null;
+            if (readableGetter == null && writableSetter == null && accessibleField == null && !isCreatorParameter) {
+                return null;
+            }
+
+            TypeMirror propertyType = readableGetter != null ? readableGetter.getReturnType()
+                    : accessibleField != null ? accessibleField.asType()
+                    : writableSetter != null ? writableSetter.getParameters().get(0).asType()
+                    : parameter.asType();
+            for (TypeMirror otherType : new TypeMirror[] {
+                    readableGetter == null ? null : readableGetter.getReturnType(),
+                    writableSetter == null ? null : writableSetter.getParameters().get(0).asType(),
+                    accessibleField == null ? null : accessibleField.asType(),
+                    isCreatorParameter ? parameter.asType() : null}) {
+                if (otherType != null && !types.isSameType(otherType, propertyType)) {
+                    throw new UnsupportedEntityException(format("The property '%s' of %s has the conflicting types %s and %s", name, type,
+                            propertyType, otherType));
+                }
+            }
+            validatePropertyType(type, propertyType);
+
+            String representation = null;
+            for (Element element : new Element[] {getter, field}) {
+                AnnotationMirror annotation = getAnnotation(element, BSON_REPRESENTATION);
+                if (annotation != null && representation == null) {
+                    representation = getValue(annotation, "value").getValue().toString();
+                }
+            }
+            return new Property(name, getKey(), propertyType, isId(), readableGetter, writableSetter, accessibleField, representation);
+        }
+
+        private void validatePropertyType(final TypeElement type, final TypeMirror propertyType) {
+            if (propertyType.getKind().isPrimitive() || (propertyType.getKind() == TypeKind.ARRAY
+                    && ((ArrayType) propertyType).getComponentType().getKind() == TypeKind.BYTE)) {
+                return;
+            }
+            if (propertyType.getKind() != TypeKind.DECLARED) {
+                throw new UnsupportedEntityException(format("The property '%s' of %s has the unsupported type %s", name, type,
+                        propertyType));
+            }
+            for (TypeMirror typeArgument : ((DeclaredType) propertyType).getTypeArguments()) {
+                if (typeArgument.getKind() != TypeKind.DECLARED || !((DeclaredType) typeArgument).getTypeArguments().isEmpty()) {
+                    throw new UnsupportedEntityException(format("The property '%s' of %s has the unsupported type %s", name, type,
+                            propertyType));
+                }
+            }
+        }
+    }
+}
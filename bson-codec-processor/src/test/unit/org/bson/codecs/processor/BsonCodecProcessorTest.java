@@ -0,0 +1,256 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BsonCodecProcessorTest {
+    private static final String PERSON = "package sample;\n"
+            + "import org.bson.types.ObjectId;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonId;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonIgnore;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonProperty;\n"
+            + "import java.util.List;\n"
+            + "public class Person {\n"
+            + "    @BsonId\n"
+            + "    private ObjectId id;\n"
+            + "    @BsonProperty(\"n\")\n"
+            + "    private String name;\n"
+            + "    private int age;\n"
+            + "    private List<String> tags;\n"
+            + "    public Address address;\n"
+            + "    @BsonIgnore\n"
+            + "    public String ignored;\n"
+            + "    public ObjectId getId() { return id; }\n"
+            + "    public void setId(ObjectId id) { this.id = id; }\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public int getAge() { return age; }\n"
+            + "    public void setAge(int age) { this.age = age; }\n"
+            + "    public List<String> getTags() { return tags; }\n"
+            + "    public void setTags(List<String> tags) { this.tags = tags; }\n"
+            + "}\n";
+
+    private static final String ADDRESS = "package sample;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonCreator;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonDiscriminator;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonProperty;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonRepresentation;\n"
+            + "import org.bson.BsonType;\n"
+            + "@BsonDiscriminator(\"address\")\n"
+            + "public final class Address {\n"
+            + "    private final String street;\n"
+            + "    private final long number;\n"
+            + "    @BsonRepresentation(BsonType.OBJECT_ID)\n"
+            + "    public String ref;\n"
+            + "    @BsonCreator\n"
+            + "    public Address(@BsonProperty(\"street\") String street, @BsonProperty(\"number\") long number) {\n"
+            + "        this.street = street;\n"
+            + "        this.number = number;\n"
+            + "    }\n"
+            + "    public String getStreet() { return street; }\n"
+            + "    public long getNumber() { return number; }\n"
+            + "}\n";
+
+    private static final String UNSUPPORTED = "package sample;\n"
+            + "import org.bson.codecs.pojo.annotations.BsonId;\n"
+            + "public class Box<T> {\n"
+            + "    @BsonId\n"
+            + "    public T id;\n"
+            + "}\n";
+
+    private static Path directory;
+    private static List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    private static URLClassLoader classLoader;
+
+    @BeforeAll
+    public static void compile() throws IOException {
+        directory = Files.createTempDirectory("bson-codec-processor");
+        Path sources = Files.createDirectories(directory.resolve("sources/sample"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<File> files = new ArrayList<>();
+        for (String[] source : new String[][] {{"Person", PERSON}, {"Address", ADDRESS}, {"Box", UNSUPPORTED}}) {
+            Path file = sources.resolve(source[0] + ".java");
+            Files.write(file, source[1].getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(collector, null, StandardCharsets.UTF_8)) {
+            List<String> options = asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString(),
+                    "-s", classes.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, collector, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(asList(new BsonCodecProcessor()));
+            assertTrue(task.call(), collector.getDiagnostics().toString());
+        }
+        diagnostics = collector.getDiagnostics();
+        classLoader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, BsonCodecProcessorTest.class.getClassLoader());
+    }
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void shouldRoundTripWithGeneratedCodecs() throws ReflectiveOperationException {
+        CodecRegistry registry = getRegistry();
+        Class<?> personClass = classLoader.loadClass("sample.Person");
+        Object person = personClass.getConstructor().newInstance();
+        personClass.getMethod("setName", String.class).invoke(person, "Ada");
+        personClass.getMethod("setAge", int.class).invoke(person, 36);
+        personClass.getMethod("setTags", List.class).invoke(person, asList("a", "b"));
+        personClass.getField("ignored").set(person, "ignored");
+        Object address = classLoader.loadClass("sample.Address").getConstructor(String.class, long.class).newInstance("Main", 42L);
+        address.getClass().getField("ref").set(address, "5f0c5e7f1c9d440000a1b2c3");
+        personClass.getField("address").set(person, address);
+
+        BsonDocument document = encode(registry, personClass, person, true);
+
+        assertEquals(BsonDocument.parse("{_id: {$oid: '" + personClass.getMethod("getId").invoke(person) + "'}, n: 'Ada', age: 36, "
+                + "tags: ['a', 'b'], address: {_t: 'address', number: {$numberLong: '42'}, street: 'Main', "
+                + "ref: {$oid: '5f0c5e7f1c9d440000a1b2c3'}}}"), document);
+
+        Object decoded = decode(registry, personClass, document);
+        assertEquals(personClass.getMethod("getId").invoke(person), personClass.getMethod("getId").invoke(decoded));
+        assertEquals("Ada", personClass.getMethod("getName").invoke(decoded));
+        assertEquals(36, personClass.getMethod("getAge").invoke(decoded));
+        assertEquals(asList("a", "b"), personClass.getMethod("getTags").invoke(decoded));
+        assertNull(personClass.getField("ignored").get(decoded));
+        Object decodedAddress = personClass.getField("address").get(decoded);
+        assertEquals("Main", decodedAddress.getClass().getMethod("getStreet").invoke(decodedAddress));
+        assertEquals(42L, decodedAddress.getClass().getMethod("getNumber").invoke(decodedAddress));
+        assertEquals("5f0c5e7f1c9d440000a1b2c3", decodedAddress.getClass().getField("ref").get(decodedAddress));
+    }
+
+    @Test
+    public void shouldSkipNullsAndUnknownFields() throws ReflectiveOperationException {
+        CodecRegistry registry = getRegistry();
+        Class<?> personClass = classLoader.loadClass("sample.Person");
+
+        assertEquals(BsonDocument.parse("{age: 0}"), encode(registry, personClass, personClass.getConstructor().newInstance(), false));
+
+        Object decoded = decode(registry, personClass, BsonDocument.parse("{n: null, unknown: {a: 1}, age: 7}"));
+        assertNull(personClass.getMethod("getName").invoke(decoded));
+        assertEquals(7, personClass.getMethod("getAge").invoke(decoded));
+    }
+
+    @Test
+    public void shouldThrowWhenAPrimitiveCreatorParameterIsMissing() throws ReflectiveOperationException {
+        CodecRegistry registry = getRegistry();
+        Class<?> addressClass = classLoader.loadClass("sample.Address");
+
+        assertThrows(CodecConfigurationException.class, () -> decode(registry, addressClass, BsonDocument.parse("{street: 'Main'}")));
+    }
+
+    @Test
+    public void shouldWarnAndSkipUnsupportedClasses() throws ReflectiveOperationException {
+        CodecProvider provider = getProvider();
+
+        assertNull(provider.get(classLoader.loadClass("sample.Box"), getRegistry()));
+        assertTrue(diagnostics.stream().anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING
+                && diagnostic.getMessage(null).startsWith("No codec is generated for sample.Box")));
+        assertFalse(diagnostics.stream().anyMatch(diagnostic -> diagnostic.getMessage(null).contains("sample.Person")));
+    }
+
+    @Test
+    public void shouldGenerateCodecsWithoutReflection() throws ReflectiveOperationException {
+        Codec<?> codec = getProvider().get(classLoader.loadClass("sample.Person"), getRegistry());
+
+        assertNotNull(codec);
+        assertEquals("sample.PersonCodec", codec.getClass().getName());
+        for (Method method : codec.getClass().getDeclaredMethods()) {
+            assertFalse(asList(method.getParameterTypes()).contains(Method.class));
+        }
+    }
+
+    @Test
+    public void shouldQuoteControlCharactersWithoutUnicodeEscapes() {
+        assertEquals("\"a\\\"b\\\\c\\n\\r\\t\\001\\037\\u00e9\"", CodecGenerator.quote("a\"b\\c\n\r\t\u0001\u001f\u00e9"));
+    }
+
+    private static CodecProvider getProvider() throws ReflectiveOperationException {
+        return (CodecProvider) classLoader.loadClass("sample.GeneratedCodecProvider").getConstructor().newInstance();
+    }
+
+    private static CodecRegistry getRegistry() throws ReflectiveOperationException {
+        return fromRegistries(fromProviders(getProvider()), Bson.DEFAULT_CODEC_REGISTRY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BsonDocument encode(final CodecRegistry registry, final Class<T> clazz, final Object value,
+                                           final boolean collectible) {
+        BsonDocument document = new BsonDocument();
+        registry.get(clazz).encode(new BsonDocumentWriter(document), (T) value,
+                EncoderContext.builder().isEncodingCollectibleDocument(collectible).build());
+        return document;
+    }
+
+    private static <T> T decode(final CodecRegistry registry, final Class<T> clazz, final BsonDocument document) {
+        return registry.get(clazz).decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
@@ -19,6 +19,7 @@ package org.bson.codecs.record;
 import org.bson.BsonReader;
 import org.bson.BsonType;
 import org.bson.BsonWriter;
+import org.bson.EncodedFieldName;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
@@ -34,8 +35,12 @@ import org.bson.diagnostics.Loggers;
 
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.RecordComponent;
 import java.lang.reflect.Type;
@@ -52,26 +57,47 @@ import static org.bson.assertions.Assertions.notNull;
 
 final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
     private static final Logger LOGGER = Loggers.getLogger("RecordCodec");
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final EncoderContext DEFAULT_ENCODER_CONTEXT = EncoderContext.builder().build();
     private final Class<T> clazz;
     private final boolean requiresParameterization;
     private final Constructor<?> canonicalConstructor;
+    // the canonical constructor spread over an Object[] of the component values, or null if it is not accessible as a method handle.
+    // LambdaMetafactory can not implement a function that spreads an array over the parameters, so unlike the accessors this remains a
+    // method handle.
+    @Nullable
+    private final MethodHandle canonicalConstructorHandle;
     private final List<ComponentModel> componentModels;
     private final ComponentModel componentModelForId;
+    // the component models in the order in which they are encoded, which is the order in which they are expected when decoding
+    private final ComponentModel[] componentModelsInEncodingOrder;
     private final Map<String, ComponentModel> fieldNameToComponentModel;
 
     private static final class ComponentModel {
         private final RecordComponent component;
+        // the accessor as a function spun by LambdaMetafactory, which the JIT compiler can inline, or null if it can not link to it
+        @Nullable
+        private final Function<Record, Object> accessorFunction;
+        // the accessor adapted to (Record)Object, or null if it is called through the function or is not accessible as a method handle
+        @Nullable
+        private final MethodHandle accessor;
         private final Codec<?> codec;
         private final int index;
         private final String fieldName;
+        @Nullable
+        private final EncodedFieldName encodedFieldName;
 
         private ComponentModel(final List<Type> typeParameters, final RecordComponent component, final CodecRegistry codecRegistry,
                 final int index) {
             validateAnnotations(component, index);
             this.component = component;
+            this.accessorFunction = computeAccessorFunction(component);
+            this.accessor = accessorFunction == null ? computeAccessor(component) : null;
             this.codec = computeCodec(typeParameters, component, codecRegistry);
             this.index = index;
             this.fieldName = computeFieldName(component);
+            // a name that can not be encoded is left to fail when the component is encoded
+            this.encodedFieldName = fieldName.indexOf('\0') >= 0 ? null : new EncodedFieldName(fieldName);
         }
 
         String getComponentName() {
@@ -82,10 +108,59 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
             return fieldName;
         }
 
-        Object getValue(final Record record) throws InvocationTargetException, IllegalAccessException {
+        Object getValue(final Record record) throws Throwable {
+            if (accessorFunction != null) {
+                return accessorFunction.apply(record);
+            }
+            if (accessor != null) {
+                return (Object) accessor.invokeExact(record);
+            }
             return component.getAccessor().invoke(record);
         }
 
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private static Function<Record, Object> computeAccessorFunction(final RecordComponent component) {
+            if (!canLink(component.getDeclaringRecord()) || !canLink(component.getType())) {
+                return null;
+            }
+            try {
+                return (Function<Record, Object>) LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                                MethodType.methodType(Object.class, Object.class), LOOKUP.unreflect(component.getAccessor()),
+                                MethodType.methodType(toWrapper(component.getType()), component.getDeclaringRecord()))
+                        .getTarget().invokeExact();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        // The class spun by LambdaMetafactory is defined in the package and the class loader of this class, so it can only link to the
+        // accessor if the classes it names are public and visible from that class loader, which is not the case for a record loaded by a
+        // child class loader, for example.
+        private static boolean canLink(final Class<?> type) {
+            if (type.isPrimitive()) {
+                return true;
+            } else if (type.isArray()) {
+                return canLink(type.getComponentType());
+            } else if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+            try {
+                return Class.forName(type.getName(), false, RecordCodec.class.getClassLoader()) == type;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        @Nullable
+        private static MethodHandle computeAccessor(final RecordComponent component) {
+            try {
+                return LOOKUP.unreflect(component.getAccessor()).asType(MethodType.methodType(Object.class, Record.class));
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
         @SuppressWarnings("deprecation")
         private static Codec<?> computeCodec(final List<Type> typeParameters, final RecordComponent component,
                 final CodecRegistry codecRegistry) {
@@ -256,16 +331,20 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         if (clazz.getTypeParameters().length > 0) {
             requiresParameterization = true;
             canonicalConstructor = null;
+            canonicalConstructorHandle = null;
             componentModels = null;
             fieldNameToComponentModel = null;
             componentModelForId = null;
+            componentModelsInEncodingOrder = null;
         } else {
             requiresParameterization = false;
             canonicalConstructor = notNull("canonicalConstructor", getCanonicalConstructor(clazz));
+            canonicalConstructorHandle = getCanonicalConstructorHandle(canonicalConstructor);
             componentModels = getComponentModels(clazz, codecRegistry, List.of());
             fieldNameToComponentModel = componentModels.stream()
                     .collect(Collectors.toMap(ComponentModel::getFieldName, Function.identity()));
             componentModelForId = getComponentModelForId(clazz, componentModels);
+            componentModelsInEncodingOrder = getComponentModelsInEncodingOrder(componentModels, componentModelForId);
         }
     }
 
@@ -276,10 +355,12 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         this.clazz = notNull("class", clazz);
         requiresParameterization = false;
         canonicalConstructor = notNull("canonicalConstructor", getCanonicalConstructor(clazz));
+        canonicalConstructorHandle = getCanonicalConstructorHandle(canonicalConstructor);
         componentModels = getComponentModels(clazz, codecRegistry, types);
         fieldNameToComponentModel = componentModels.stream()
                 .collect(Collectors.toMap(ComponentModel::getFieldName, Function.identity()));
         componentModelForId = getComponentModelForId(clazz, componentModels);
+        componentModelsInEncodingOrder = getComponentModelsInEncodingOrder(componentModels, componentModelForId);
     }
 
     @Override
@@ -297,9 +378,21 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         reader.readStartDocument();
 
         Object[] constructorArguments = new Object[componentModels.size()];
+        // documents encoded by this codec have their fields in encoding order, so the expected component is tried before the lookup
+        int expectedPosition = 0;
         while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
             var fieldName = reader.readName();
-            var componentModel = fieldNameToComponentModel.get(fieldName);
+            ComponentModel componentModel;
+            if (expectedPosition < componentModelsInEncodingOrder.length
+                    && componentModelsInEncodingOrder[expectedPosition].getFieldName().equals(fieldName)) {
+                componentModel = componentModelsInEncodingOrder[expectedPosition++];
+            } else {
+                componentModel = fieldNameToComponentModel.get(fieldName);
+                if (componentModel != null) {
+                    // after a component that is missing or out of order, expect the one that follows the field in encoding order
+                    expectedPosition = getPositionInEncodingOrder(componentModel, expectedPosition) + 1;
+                }
+            }
             if (componentModel == null) {
                 reader.skipValue();
                 if (LOGGER.isTraceEnabled()) {
@@ -312,9 +405,14 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         reader.readEndDocument();
 
         try {
+            if (canonicalConstructorHandle != null) {
+                return (T) (Object) canonicalConstructorHandle.invokeExact(constructorArguments);
+            }
             return (T) canonicalConstructor.newInstance(constructorArguments);
-        } catch (ReflectiveOperationException e) {
-            throw new CodecConfigurationException(format("Unable to invoke canonical constructor of record class %s", clazz.getName()), e);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new CodecConfigurationException(format("Unable to invoke canonical constructor of record class %s", clazz.getName()), t);
         }
     }
 
@@ -325,13 +423,7 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         }
 
         writer.writeStartDocument();
-        if (componentModelForId != null) {
-            writeComponent(writer, record, componentModelForId);
-        }
-        for (var componentModel : componentModels) {
-            if (componentModel == componentModelForId) {
-                continue;
-            }
+        for (var componentModel : componentModelsInEncodingOrder) {
             writeComponent(writer, record, componentModel);
         }
         writer.writeEndDocument();
@@ -345,16 +437,38 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void writeComponent(final BsonWriter writer, final T record, final ComponentModel componentModel) {
+        Object componentValue;
         try {
-            Object componentValue = componentModel.getValue(record);
-            if (componentValue != null) {
+            componentValue = componentModel.getValue(record);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new CodecConfigurationException(
+                    format("Unable to access value of component %s for record %s", componentModel.getComponentName(), clazz.getName()), t);
+        }
+        if (componentValue != null) {
+            if (componentModel.encodedFieldName != null) {
+                writer.writeName(componentModel.encodedFieldName);
+            } else {
                 writer.writeName(componentModel.getFieldName());
-                ((Codec) componentModel.codec).encode(writer, componentValue, EncoderContext.builder().build());
             }
-        } catch (ReflectiveOperationException e) {
-            throw new CodecConfigurationException(
-                    format("Unable to access value of component %s for record %s", componentModel.getComponentName(), clazz.getName()), e);
+            ((Codec) componentModel.codec).encode(writer, componentValue, DEFAULT_ENCODER_CONTEXT);
+        }
+    }
+
+    // looks ahead of the expected position first, since a field is more often missing from a document than moved back
+    private int getPositionInEncodingOrder(final ComponentModel componentModel, final int expectedPosition) {
+        for (int i = expectedPosition; i < componentModelsInEncodingOrder.length; i++) {
+            if (componentModelsInEncodingOrder[i] == componentModel) {
+                return i;
+            }
         }
+        for (int i = 0; i < expectedPosition; i++) {
+            if (componentModelsInEncodingOrder[i] == componentModel) {
+                return i;
+            }
+        }
+        throw new AssertionError(format("Unexpectedly missing component %s in encoding order", componentModel.getComponentName()));
     }
 
     private static <T> List<ComponentModel> getComponentModels(final Class<T> clazz, final CodecRegistry codecRegistry,
@@ -378,6 +492,32 @@ final class RecordCodec<T extends Record> implements Codec<T>, Parameterizable {
         }
     }
 
+    private static ComponentModel[] getComponentModelsInEncodingOrder(final List<ComponentModel> componentModels,
+            @Nullable final ComponentModel componentModelForId) {
+        var componentModelsInEncodingOrder = new ArrayList<ComponentModel>(componentModels.size());
+        if (componentModelForId != null) {
+            componentModelsInEncodingOrder.add(componentModelForId);
+        }
+        for (var componentModel : componentModels) {
+            if (componentModel != componentModelForId) {
+                componentModelsInEncodingOrder.add(componentModel);
+            }
+        }
+        return componentModelsInEncodingOrder.toArray(new ComponentModel[0]);
+    }
+
+    @Nullable
+    private static MethodHandle getCanonicalConstructorHandle(final Constructor<?> canonicalConstructor) {
+        try {
+            int parameterCount = canonicalConstructor.getParameterCount();
+            return LOOKUP.unreflectConstructor(canonicalConstructor)
+                    .asType(MethodType.genericMethodType(parameterCount))
+                    .asSpreader(Object[].class, parameterCount);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     private static <T> Constructor<?> getCanonicalConstructor(final Class<T> clazz) {
         try {
             return clazz.getDeclaredConstructor(Arrays.stream(clazz.getRecordComponents())
@@ -343,6 +343,38 @@ public class RecordCodecTest {
         assertEquals(testRecord, decoded);
     }
 
+    @Test
+    public void testRecordWithFieldsOutOfEncodingOrder() {
+        var codec = new RecordCodec<>(TestRecordWithDeprecatedAnnotations.class, Bson.DEFAULT_CODEC_REGISTRY);
+        var identifier = new ObjectId();
+        var testRecord = new TestRecordWithDeprecatedAnnotations("Felix", 13, List.of("rugby", "badminton"), identifier.toHexString());
+
+        var document = new BsonDocument("a", new BsonInt32(13))
+                .append("hobbies", new BsonArray(List.of(new BsonString("rugby"), new BsonString("badminton"))))
+                .append("_id", new BsonObjectId(identifier))
+                .append("name", new BsonString("Felix"));
+
+        // when
+        var decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        // then
+        assertEquals(testRecord, decoded);
+    }
+
+    @Test
+    public void testRecordWithMissingPrimitiveComponent() {
+        var codec = new RecordCodec<>(TestRecordWithDeprecatedAnnotations.class, Bson.DEFAULT_CODEC_REGISTRY);
+        var document = new BsonDocument("name", new BsonString("Felix"));
+
+        // when
+        var exception = assertThrows(CodecConfigurationException.class, () ->
+                codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build()));
+
+        // then
+        assertEquals("Unable to invoke canonical constructor of record class " + TestRecordWithDeprecatedAnnotations.class.getName(),
+                exception.getMessage());
+    }
+
     @Test
     public void testSelfReferentialRecords() {
         var registry = fromProviders(new RecordCodecProvider(), Bson.DEFAULT_CODEC_REGISTRY);
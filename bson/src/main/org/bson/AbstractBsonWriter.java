@@ -74,6 +74,16 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
         return context.name;
     }
 
+    /**
+     * The encoded name of the field being written, if it was written with {@link #writeName(EncodedFieldName)}.
+     *
+     * @return the encoded name of the field, or null if it was written as a {@code String}
+     * @since 4.9
+     */
+    protected EncodedFieldName getEncodedName() {
+        return context.encodedName;
+    }
+
     /**
      * Returns whether this writer has been closed.
      *
@@ -527,6 +537,16 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
     @Override
     public void writeName(final String name) {
         notNull("name", name);
+        writeName(name, null);
+    }
+
+    @Override
+    public void writeName(final EncodedFieldName name) {
+        notNull("name", name);
+        writeName(name.getName(), name);
+    }
+
+    private void writeName(final String name, final EncodedFieldName encodedName) {
         if (state != State.NAME) {
             throwInvalidState("WriteName", State.NAME);
         }
@@ -536,6 +556,7 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
         }
         doWriteName(name);
         context.name = name;
+        context.encodedName = encodedName;
         state = State.VALUE;
     }
 
@@ -1041,6 +1062,7 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
         private final Context parentContext;
         private final BsonContextType contextType;
         private String name;
+        private EncodedFieldName encodedName;
 
         /**
          * Creates a new instance, copying values from an existing context.
@@ -1099,6 +1121,7 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
         private final Context markedContext;
         private final State markedState;
         private final String currentName;
+        private final EncodedFieldName currentEncodedName;
         private final int serializationDepth;
 
         /**
@@ -1108,6 +1131,7 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
             this.markedContext = AbstractBsonWriter.this.context.copy();
             this.markedState = AbstractBsonWriter.this.state;
             this.currentName = AbstractBsonWriter.this.context.name;
+            this.currentEncodedName = AbstractBsonWriter.this.context.encodedName;
             this.serializationDepth = AbstractBsonWriter.this.serializationDepth;
         }
 
@@ -1119,6 +1143,7 @@ public abstract class AbstractBsonWriter implements BsonWriter, Closeable {
             setContext(markedContext);
             setState(markedState);
             AbstractBsonWriter.this.context.name = currentName;
+            AbstractBsonWriter.this.context.encodedName = currentEncodedName;
             AbstractBsonWriter.this.serializationDepth = serializationDepth;
         }
     }
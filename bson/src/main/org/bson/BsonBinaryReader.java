@@ -35,6 +35,9 @@ import static org.bson.assertions.Assertions.notNull;
 public class BsonBinaryReader extends AbstractBsonReader {
 
     private final BsonInput bsonInput;
+    private final FieldSelection fieldSelection;
+    // The selection of the nested fields of the value about to be read, or null to read all of them
+    private FieldSelection valueFieldSelection;
 
     /**
      * Construct an instance.
@@ -51,10 +54,23 @@ public class BsonBinaryReader extends AbstractBsonReader {
      * @param bsonInput the input for this reader
      */
     public BsonBinaryReader(final BsonInput bsonInput) {
+        this(bsonInput, null);
+    }
+
+    /**
+     * Construct an instance that reads only the selected fields of each top-level document.  Fields that are not selected are skipped
+     * without being decoded, as if they were not present.
+     *
+     * @param bsonInput the input for this reader
+     * @param fieldSelection the fields to read, or null to read all fields
+     * @since 4.9
+     */
+    public BsonBinaryReader(final BsonInput bsonInput, final FieldSelection fieldSelection) {
         if (bsonInput == null) {
             throw new IllegalArgumentException("bsonInput is null");
         }
         this.bsonInput = bsonInput;
+        this.fieldSelection = fieldSelection;
         setContext(new Context(null, BsonContextType.TOP_LEVEL, 0, 0));
     }
 
@@ -72,6 +88,29 @@ public class BsonBinaryReader extends AbstractBsonReader {
         return bsonInput;
     }
 
+    /**
+     * Reads only the selected fields of the document that is the current value, replacing any selection that this reader would otherwise
+     * apply to it.  Fields that are not selected are skipped without being decoded, as if they were not present.
+     *
+     * @param fieldSelection the fields to read
+     * @throws BsonInvalidOperationException if the current value is not a document
+     * @since 4.9
+     */
+    public void selectFields(final FieldSelection fieldSelection) {
+        notNull("fieldSelection", fieldSelection);
+        if (isClosed()) {
+            throw new IllegalStateException("BsonBinaryReader");
+        }
+        if (getState() != State.VALUE) {
+            throwInvalidState("selectFields", State.VALUE);
+        }
+        if (getCurrentBsonType() != BsonType.DOCUMENT) {
+            throw new BsonInvalidOperationException(format("selectFields can only be called when CurrentBSONType is %s, not when "
+                    + "CurrentBSONType is %s.", BsonType.DOCUMENT, getCurrentBsonType()));
+        }
+        valueFieldSelection = fieldSelection;
+    }
+
     @Override
     public BsonType readBsonType() {
         if (isClosed()) {
@@ -80,6 +119,7 @@ public class BsonBinaryReader extends AbstractBsonReader {
 
         if (getState() == State.INITIAL || getState() == State.DONE || getState() == State.SCOPE_DOCUMENT) {
             // there is an implied type of Document for the top level and for scope documents
+            valueFieldSelection = getState() == State.SCOPE_DOCUMENT ? null : fieldSelection;
             setCurrentBsonType(BsonType.DOCUMENT);
             setState(State.VALUE);
             return getCurrentBsonType();
@@ -88,6 +128,19 @@ public class BsonBinaryReader extends AbstractBsonReader {
             throwInvalidState("ReadBSONType", State.TYPE);
         }
 
+        BsonType bsonType = readSelectedBsonType();
+        while (bsonType == null) {
+            doSkipValue();
+            bsonType = readSelectedBsonType();
+        }
+        return bsonType;
+    }
+
+    /**
+     * Reads the type, and the name if there is one, of the next element, and returns its type, or returns null, leaving the reader
+     * positioned at the value, if the element is a field that is not selected.
+     */
+    private BsonType readSelectedBsonType() {
         byte bsonTypeByte = bsonInput.readByte();
         BsonType bsonType = BsonType.findByValue(bsonTypeByte);
         if (bsonType == null) {
@@ -115,11 +168,22 @@ public class BsonBinaryReader extends AbstractBsonReader {
             switch (getContext().getContextType()) {
                 case ARRAY:
                     bsonInput.skipCString(); // ignore array element names
+                    valueFieldSelection = getContext().fieldSelection;
                     setState(State.VALUE);
                     break;
                 case DOCUMENT:
                 case SCOPE_DOCUMENT:
-                    setCurrentName(bsonInput.readCString());
+                    String name = bsonInput.readCString();
+                    setCurrentName(name);
+                    if (getContext().fieldSelection == null) {
+                        valueFieldSelection = null;
+                    } else {
+                        valueFieldSelection = getContext().fieldSelection.getChild(name);
+                        if (valueFieldSelection == null) {
+                            setState(State.VALUE);
+                            return null;
+                        }
+                    }
                     setState(State.NAME);
                     break;
                 default:
@@ -263,7 +327,7 @@ public class BsonBinaryReader extends AbstractBsonReader {
     public void doReadStartArray() {
         int startPosition = bsonInput.getPosition(); // position of size field
         int size = readSize();
-        setContext(new Context(getContext(), BsonContextType.ARRAY, startPosition, size));
+        setContext(new Context(getContext(), BsonContextType.ARRAY, startPosition, size, getNestedFieldSelection()));
     }
 
     @Override
@@ -272,7 +336,12 @@ public class BsonBinaryReader extends AbstractBsonReader {
                 ? BsonContextType.SCOPE_DOCUMENT : BsonContextType.DOCUMENT;
         int startPosition = bsonInput.getPosition(); // position of size field
         int size = readSize();
-        setContext(new Context(getContext(), contextType, startPosition, size));
+        setContext(new Context(getContext(), contextType, startPosition, size,
+                contextType == BsonContextType.SCOPE_DOCUMENT ? null : getNestedFieldSelection()));
+    }
+
+    private FieldSelection getNestedFieldSelection() {
+        return valueFieldSelection == null || valueFieldSelection.isAll() ? null : valueFieldSelection;
     }
 
     @Override
@@ -400,6 +469,8 @@ public class BsonBinaryReader extends AbstractBsonReader {
     protected class Mark extends AbstractBsonReader.Mark {
         private final int startPosition;
         private final int size;
+        private final FieldSelection fieldSelection;
+        private final FieldSelection valueFieldSelection;
         private final BsonInputMark bsonInputMark;
 
         /**
@@ -408,6 +479,8 @@ public class BsonBinaryReader extends AbstractBsonReader {
         protected Mark() {
             startPosition = BsonBinaryReader.this.getContext().startPosition;
             size = BsonBinaryReader.this.getContext().size;
+            fieldSelection = BsonBinaryReader.this.getContext().fieldSelection;
+            valueFieldSelection = BsonBinaryReader.this.valueFieldSelection;
             bsonInputMark = BsonBinaryReader.this.bsonInput.getMark(Integer.MAX_VALUE);
         }
 
@@ -415,7 +488,9 @@ public class BsonBinaryReader extends AbstractBsonReader {
         public void reset() {
             super.reset();
             bsonInputMark.reset();
-            BsonBinaryReader.this.setContext(new Context((Context) getParentContext(), getContextType(), startPosition, size));
+            BsonBinaryReader.this.valueFieldSelection = valueFieldSelection;
+            BsonBinaryReader.this.setContext(new Context((Context) getParentContext(), getContextType(), startPosition, size,
+                    fieldSelection));
         }
     }
 
@@ -425,11 +500,19 @@ public class BsonBinaryReader extends AbstractBsonReader {
     protected class Context extends AbstractBsonReader.Context {
         private final int startPosition;
         private final int size;
+        // The selection of the fields of this document, or of the documents in this array, or null to read all of them
+        private final FieldSelection fieldSelection;
 
         Context(final Context parentContext, final BsonContextType contextType, final int startPosition, final int size) {
+            this(parentContext, contextType, startPosition, size, null);
+        }
+
+        Context(final Context parentContext, final BsonContextType contextType, final int startPosition, final int size,
+                final FieldSelection fieldSelection) {
             super(parentContext, contextType);
             this.startPosition = startPosition;
             this.size = size;
+            this.fieldSelection = fieldSelection;
         }
 
         Context popContext(final int position) {
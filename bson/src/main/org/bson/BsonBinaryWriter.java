@@ -33,10 +33,25 @@ import static org.bson.assertions.Assertions.notNull;
  * @since 3.0
  */
 public class BsonBinaryWriter extends AbstractBsonWriter {
+    // the encoded, null-terminated names of the first elements of an array, which are written without creating and encoding a String
+    private static final byte[][] ARRAY_INDEX_NAMES = new byte[1000][];
+
+    static {
+        for (int i = 0; i < ARRAY_INDEX_NAMES.length; i++) {
+            String name = Integer.toString(i);
+            byte[] bytes = new byte[name.length() + 1];
+            for (int j = 0; j < name.length(); j++) {
+                bytes[j] = (byte) name.charAt(j);
+            }
+            ARRAY_INDEX_NAMES[i] = bytes;
+        }
+    }
+
     private final BsonBinaryWriterSettings binaryWriterSettings;
 
     private final BsonOutput bsonOutput;
     private final Stack<Integer> maxDocumentSizeStack = new Stack<>();
+    private final byte[] arrayIndexNameBuffer = new byte[11]; // the digits of the largest int and the null terminator
     private Mark mark;
 
     /**
@@ -401,12 +416,29 @@ public class BsonBinaryWriter extends AbstractBsonWriter {
 
     private void writeCurrentName() {
         if (getContext().getContextType() == BsonContextType.ARRAY) {
-            bsonOutput.writeCString(Integer.toString(getContext().index++));
+            writeArrayIndexName(getContext().index++);
+        } else if (getEncodedName() != null) {
+            bsonOutput.writeBytes(getEncodedName().getEncodedBytes());
         } else {
             bsonOutput.writeCString(getName());
         }
     }
 
+    private void writeArrayIndexName(final int index) {
+        if (index < ARRAY_INDEX_NAMES.length) {
+            bsonOutput.writeBytes(ARRAY_INDEX_NAMES[index]);
+        } else {
+            int offset = arrayIndexNameBuffer.length - 1;
+            arrayIndexNameBuffer[offset] = 0;
+            int remaining = index;
+            do {
+                arrayIndexNameBuffer[--offset] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining != 0);
+            bsonOutput.writeBytes(arrayIndexNameBuffer, offset, arrayIndexNameBuffer.length - offset);
+        }
+    }
+
     private void backpatchSize() {
         int size = bsonOutput.getPosition() - getContext().startPosition;
         validateSize(size);
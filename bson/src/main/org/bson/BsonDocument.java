@@ -34,7 +34,6 @@ import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -97,14 +96,14 @@ public class BsonDocument extends BsonValue implements Map<String, BsonValue>, C
      * @since 4.3
      */
     public BsonDocument(final int initialCapacity) {
-        map = new LinkedHashMap<>(initialCapacity);
+        map = new CompactOrderedMap<>(initialCapacity);
     }
 
     /**
      * Construct an empty document.
      */
     public BsonDocument() {
-         map = new LinkedHashMap<>();
+         map = new CompactOrderedMap<>();
     }
 
     @Override
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.bson.assertions.Assertions.isTrueArgument;
+import static org.bson.assertions.Assertions.notNull;
+
+/**
+ * A {@link BsonArray} that stores {@link BsonInt32}, {@link BsonInt64} or {@link BsonDouble} values in an array of the corresponding
+ * primitive type, rather than as {@code BsonValue} instances, which takes a fraction of the memory for large numeric arrays.
+ *
+ * <p>The array stores primitives for as long as all of its values are of its element type.  Once a value of any other type, or null, is
+ * stored in it, it stores {@code BsonValue} instances instead, like any other {@code BsonArray}, and its element type is null.  The
+ * {@code BsonValue} instances returned by the {@code List} methods are created on access, so the primitive accessors, such as
+ * {@link #getDouble(int)}, should be preferred.</p>
+ *
+ * <p>{@link org.bson.codecs.BsonArrayCodec} decodes an array whose first value is an int32, int64 or double into an instance of this
+ * class, and encodes the values of an instance of this class without creating {@code BsonValue} instances.</p>
+ *
+ * @since 4.9
+ */
+public final class BsonNumericArray extends BsonArray {
+    private final NumericValues values;
+
+    /**
+     * Construct an empty array with the given element type.
+     *
+     * @param elementType the element type, which must be {@link BsonType#INT32}, {@link BsonType#INT64} or {@link BsonType#DOUBLE}
+     */
+    public BsonNumericArray(final BsonType elementType) {
+        this(elementType, 10);
+    }
+
+    /**
+     * Construct an empty array with the given element type and initial capacity.
+     *
+     * @param elementType the element type, which must be {@link BsonType#INT32}, {@link BsonType#INT64} or {@link BsonType#DOUBLE}
+     * @param initialCapacity the initial capacity
+     */
+    public BsonNumericArray(final BsonType elementType, final int initialCapacity) {
+        this(new NumericValues(elementType, initialCapacity));
+    }
+
+    private BsonNumericArray(final NumericValues values) {
+        super(values, false);
+        this.values = values;
+    }
+
+    /**
+     * Creates an array of {@link BsonInt32} values.
+     *
+     * @param values the values, which are copied
+     * @return the array
+     */
+    public static BsonNumericArray ofInt32(final int... values) {
+        NumericValues numericValues = new NumericValues(BsonType.INT32, 0);
+        numericValues.ints = values.clone();
+        numericValues.size = values.length;
+        return new BsonNumericArray(numericValues);
+    }
+
+    /**
+     * Creates an array of {@link BsonInt64} values.
+     *
+     * @param values the values, which are copied
+     * @return the array
+     */
+    public static BsonNumericArray ofInt64(final long... values) {
+        NumericValues numericValues = new NumericValues(BsonType.INT64, 0);
+        numericValues.longs = values.clone();
+        numericValues.size = values.length;
+        return new BsonNumericArray(numericValues);
+    }
+
+    /**
+     * Creates an array of {@link BsonDouble} values.
+     *
+     * @param values the values, which are copied
+     * @return the array
+     */
+    public static BsonNumericArray ofDouble(final double... values) {
+        NumericValues numericValues = new NumericValues(BsonType.DOUBLE, 0);
+        numericValues.doubles = values.clone();
+        numericValues.size = values.length;
+        return new BsonNumericArray(numericValues);
+    }
+
+    /**
+     * Gets the type of the values, if they are stored as primitives.
+     *
+     * @return {@link BsonType#INT32}, {@link BsonType#INT64} or {@link BsonType#DOUBLE}, or null if a value of another type has been
+     * stored in this array
+     */
+    @Nullable
+    public BsonType getElementType() {
+        return values.elementType;
+    }
+
+    /**
+     * Appends an int32 value.
+     *
+     * @param value the value
+     */
+    public void addInt32(final int value) {
+        if (values.elementType == BsonType.INT32) {
+            values.ensureCapacity(values.size + 1);
+            values.ints[values.size++] = value;
+            values.incrementModCount();
+        } else {
+            add(new BsonInt32(value));
+        }
+    }
+
+    /**
+     * Appends an int64 value.
+     *
+     * @param value the value
+     */
+    public void addInt64(final long value) {
+        if (values.elementType == BsonType.INT64) {
+            values.ensureCapacity(values.size + 1);
+            values.longs[values.size++] = value;
+            values.incrementModCount();
+        } else {
+            add(new BsonInt64(value));
+        }
+    }
+
+    /**
+     * Appends a double value.
+     *
+     * @param value the value
+     */
+    public void addDouble(final double value) {
+        if (values.elementType == BsonType.DOUBLE) {
+            values.ensureCapacity(values.size + 1);
+            values.doubles[values.size++] = value;
+            values.incrementModCount();
+        } else {
+            add(new BsonDouble(value));
+        }
+    }
+
+    /**
+     * Gets the int32 value at the given index.
+     *
+     * @param index the index
+     * @return the value
+     * @throws BsonInvalidOperationException if the value is not an int32
+     */
+    public int getInt32(final int index) {
+        if (values.elementType == BsonType.INT32) {
+            values.checkIndex(index);
+            return values.ints[index];
+        }
+        return get(index).asInt32().getValue();
+    }
+
+    /**
+     * Gets the int64 value at the given index.
+     *
+     * @param index the index
+     * @return the value
+     * @throws BsonInvalidOperationException if the value is not an int64
+     */
+    public long getInt64(final int index) {
+        if (values.elementType == BsonType.INT64) {
+            values.checkIndex(index);
+            return values.longs[index];
+        }
+        return get(index).asInt64().getValue();
+    }
+
+    /**
+     * Gets the double value at the given index.
+     *
+     * @param index the index
+     * @return the value
+     * @throws BsonInvalidOperationException if the value is not a double
+     */
+    public double getDouble(final int index) {
+        if (values.elementType == BsonType.DOUBLE) {
+            values.checkIndex(index);
+            return values.doubles[index];
+        }
+        return get(index).asDouble().getValue();
+    }
+
+    @Override
+    public BsonArray clone() {
+        if (values.elementType == null) {
+            return super.clone();
+        }
+        NumericValues copy = new NumericValues(values.elementType, 0);
+        copy.ints = values.ints == null ? null : Arrays.copyOf(values.ints, values.size);
+        copy.longs = values.longs == null ? null : Arrays.copyOf(values.longs, values.size);
+        copy.doubles = values.doubles == null ? null : Arrays.copyOf(values.doubles, values.size);
+        copy.size = values.size;
+        return new BsonNumericArray(copy);
+    }
+
+    private static final class NumericValues extends AbstractList<BsonValue> implements RandomAccess {
+        private BsonType elementType;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private int size;
+        // the values, once one that is not of the element type has been stored
+        private List<BsonValue> inflated;
+
+        NumericValues(final BsonType elementType, final int initialCapacity) {
+            notNull("elementType", elementType);
+            isTrueArgument("initialCapacity >= 0", initialCapacity >= 0);
+            switch (elementType) {
+                case INT32:
+                    ints = new int[initialCapacity];
+                    break;
+                case INT64:
+                    longs = new long[initialCapacity];
+                    break;
+                case DOUBLE:
+                    doubles = new double[initialCapacity];
+                    break;
+                default:
+                    throw new IllegalArgumentException("elementType must be INT32, INT64 or DOUBLE, but is " + elementType);
+            }
+            this.elementType = elementType;
+        }
+
+        @Override
+        public int size() {
+            return inflated != null ? inflated.size() : size;
+        }
+
+        @Override
+        public BsonValue get(final int index) {
+            if (inflated != null) {
+                return inflated.get(index);
+            }
+            checkIndex(index);
+            return valueAt(index);
+        }
+
+        @Override
+        public BsonValue set(final int index, final BsonValue element) {
+            if (inflated == null && isOfElementType(element)) {
+                checkIndex(index);
+                BsonValue previous = valueAt(index);
+                store(index, element);
+                return previous;
+            }
+            inflate();
+            return inflated.set(index, element);
+        }
+
+        @Override
+        public void add(final int index, final BsonValue element) {
+            if (inflated == null && isOfElementType(element)) {
+                if (index < 0 || index > size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                ensureCapacity(size + 1);
+                Object array = ints != null ? ints : longs != null ? longs : doubles;
+                System.arraycopy(array, index, array, index + 1, size - index);
+                store(index, element);
+                size++;
+            } else {
+                inflate();
+                inflated.add(index, element);
+            }
+            modCount++;
+        }
+
+        @Override
+        public BsonValue remove(final int index) {
+            BsonValue previous;
+            if (inflated == null) {
+                checkIndex(index);
+                previous = valueAt(index);
+                Object array = ints != null ? ints : longs != null ? longs : doubles;
+                System.arraycopy(array, index + 1, array, index, size - index - 1);
+                size--;
+            } else {
+                previous = inflated.remove(index);
+            }
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            if (inflated == null) {
+                size = 0;
+            } else {
+                inflated.clear();
+            }
+            modCount++;
+        }
+
+        void incrementModCount() {
+            modCount++;
+        }
+
+        void checkIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+
+        void ensureCapacity(final int capacity) {
+            int currentCapacity = ints != null ? ints.length : longs != null ? longs.length : doubles.length;
+            if (capacity > currentCapacity) {
+                int newCapacity = Math.max(capacity, currentCapacity + (currentCapacity >> 1));
+                if (ints != null) {
+                    ints = Arrays.copyOf(ints, newCapacity);
+                } else if (longs != null) {
+                    longs = Arrays.copyOf(longs, newCapacity);
+                } else {
+                    doubles = Arrays.copyOf(doubles, newCapacity);
+                }
+            }
+        }
+
+        private boolean isOfElementType(@Nullable final BsonValue value) {
+            return value != null && value.getBsonType() == elementType;
+        }
+
+        private BsonValue valueAt(final int index) {
+            if (ints != null) {
+                return new BsonInt32(ints[index]);
+            } else if (longs != null) {
+                return new BsonInt64(longs[index]);
+            } else {
+                return new BsonDouble(doubles[index]);
+            }
+        }
+
+        private void store(final int index, final BsonValue value) {
+            if (ints != null) {
+                ints[index] = value.asInt32().getValue();
+            } else if (longs != null) {
+                longs[index] = value.asInt64().getValue();
+            } else {
+                doubles[index] = value.asDouble().getValue();
+            }
+        }
+
+        private void inflate() {
+            if (inflated == null) {
+                List<BsonValue> values = new ArrayList<>(Math.max(10, size + 1));
+                for (int i = 0; i < size; i++) {
+                    values.add(valueAt(i));
+                }
+                inflated = values;
+                elementType = null;
+                ints = null;
+                longs = null;
+                doubles = null;
+                size = 0;
+            }
+        }
+    }
+}
@@ -223,6 +223,18 @@ public interface BsonWriter {
      */
     void writeName(String name);
 
+    /**
+     * Writes the name of an element to the writer, which may use its encoded form rather than encoding the name again.
+     *
+     * <p>The default implementation writes the name with {@link #writeName(String)}.</p>
+     *
+     * @param name The name of the element.
+     * @since 4.9
+     */
+    default void writeName(final EncodedFieldName name) {
+        writeName(name.getName());
+    }
+
     /**
      * Writes a BSON null to the writer.
      */
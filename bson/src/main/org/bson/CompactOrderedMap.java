@@ -0,0 +1,526 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An insertion-ordered map that stores its keys and values in parallel arrays, for the maps behind {@link BsonDocument} and
+ * {@link Document}.
+ *
+ * <p>Small maps are searched with a linear scan of the keys.  Once a map has more than {@link #LINEAR_SCAN_THRESHOLD} entries, an
+ * open-addressed table of positions, probed linearly, is maintained as well.  Compared to a {@code LinkedHashMap}, there is no entry
+ * object per mapping, and iteration walks the arrays.  Removal shifts the following entries, so it is linear in the size of the map, which
+ * suits documents, whose fields are rarely removed.  Removal discards the table, which is rebuilt by the next lookup, so that removing
+ * many entries in a row rebuilds it only once.</p>
+ *
+ * <p>Like {@code LinkedHashMap}, this map permits null keys and values, re-inserting a key does not change its position, and its
+ * iterators are fail-fast.  It is not thread-safe.</p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class CompactOrderedMap<K, V> extends AbstractMap<K, V> {
+    static final int LINEAR_SCAN_THRESHOLD = 8;
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final Object[] EMPTY = {};
+
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+    // the positions of the entries plus one, by the hash of their keys, or null while the map is small enough to be scanned or until the
+    // first lookup after a removal
+    private int[] index;
+    private int modCount;
+
+    private Set<K> keySetView;
+    private Collection<V> valuesView;
+    private Set<Map.Entry<K, V>> entrySetView;
+
+    CompactOrderedMap() {
+        keys = EMPTY;
+        values = EMPTY;
+    }
+
+    CompactOrderedMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        keys = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+        values = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+    }
+
+    CompactOrderedMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(final Object key) {
+        int position = indexOf(key);
+        return position < 0 ? null : valueAt(position);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        int position = indexOf(key);
+        if (position >= 0) {
+            V previous = valueAt(position);
+            values[position] = value;
+            return previous;
+        }
+        if (size == keys.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+        if (index != null && size << 1 <= index.length) {
+            addToIndex(key, size - 1);
+        } else if (size > LINEAR_SCAN_THRESHOLD) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        int position = indexOf(key);
+        if (position < 0) {
+            return null;
+        }
+        V previous = valueAt(position);
+        removeAt(position);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        index = null;
+        modCount++;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(keyAt(i), valueAt(i));
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        if (keySetView == null) {
+            keySetView = new KeySet();
+        }
+        return keySetView;
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (valuesView == null) {
+            valuesView = new Values();
+        }
+        return valuesView;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySetView == null) {
+            entrySetView = new EntrySet();
+        }
+        return entrySetView;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> map = (Map<?, ?>) o;
+        if (map.size() != size) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < size; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    if (map.get(keys[i]) != null || !map.containsKey(keys[i])) {
+                        return false;
+                    }
+                } else if (!value.equals(map.get(keys[i]))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode += Objects.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys[i] == this ? "(this Map)" : keys[i])
+                    .append('=')
+                    .append(values[i] == this ? "(this Map)" : values[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    private int indexOf(final Object key) {
+        if (index == null && size > LINEAR_SCAN_THRESHOLD) {
+            rebuildIndex();
+        }
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                Object candidate = keys[i];
+                if (candidate == key || (key != null && key.equals(candidate))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            Object candidate = keys[entry - 1];
+            if (candidate == key || (key != null && key.equals(candidate))) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void removeAt(final int position) {
+        int following = size - position - 1;
+        if (following > 0) {
+            System.arraycopy(keys, position + 1, keys, position, following);
+            System.arraycopy(values, position + 1, values, position, following);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        index = null;
+    }
+
+    // Sizes the index to the power of two above twice the size, so that it is at most half full when built, and rebuilt once it is more
+    // than half full.
+    private void rebuildIndex() {
+        index = new int[Integer.highestOneBit(size << 1) << 1];
+        for (int i = 0; i < size; i++) {
+            addToIndex(keys[i], i);
+        }
+    }
+
+    private void addToIndex(final Object key, final int position) {
+        int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private static int hash(final Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(final int position) {
+        return (K) keys[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int position) {
+        return (V) values[position];
+    }
+
+    private abstract class BaseIterator<E> implements Iterator<E> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        int nextPosition() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            int position = indexOf(o);
+            if (position < 0) {
+                return false;
+            }
+            removeAt(position);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new BaseIterator<K>() {
+                @Override
+                public K next() {
+                    return keyAt(nextPosition());
+                }
+            };
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new BaseIterator<V>() {
+                @Override
+                public V next() {
+                    return valueAt(nextPosition());
+                }
+            };
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            int position = indexOf(entry.getKey());
+            return position >= 0 && Objects.equals(values[position], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            removeAt(indexOf(((Map.Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactOrderedMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new BaseIterator<Map.Entry<K, V>>() {
+                @Override
+                public Map.Entry<K, V> next() {
+                    int position = nextPosition();
+                    return new MapEntry(position, keyAt(position), valueAt(position));
+                }
+            };
+        }
+    }
+
+    /**
+     * An entry that writes through to the map for as long as its key is mapped, and otherwise keeps the last value it saw.
+     */
+    private final class MapEntry implements Map.Entry<K, V> {
+        private final int position;
+        private final K key;
+        private V value;
+
+        MapEntry(final int position, final K key, final V value) {
+            this.position = position;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            int currentPosition = currentPosition();
+            if (currentPosition >= 0) {
+                value = valueAt(currentPosition);
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(final V newValue) {
+            V previous = getValue();
+            int currentPosition = currentPosition();
+            if (currentPosition >= 0) {
+                values[currentPosition] = newValue;
+            }
+            value = newValue;
+            return previous;
+        }
+
+        private int currentPosition() {
+            return position < size && keys[position] == key ? position : indexOf(key);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
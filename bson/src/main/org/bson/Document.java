@@ -36,6 +36,11 @@ import org.bson.json.JsonWriter;
 import org.bson.json.JsonWriterSettings;
 import org.bson.types.ObjectId;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.util.Collection;
@@ -69,16 +74,23 @@ public class Document implements Map<String, Object>, Serializable, Bson {
 
     private static final long serialVersionUID = 6297731997167536582L;
 
+    /**
+     * The serialized form of a document, which is that of the {@code LinkedHashMap} that backed it before 4.9.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("documentAsMap", LinkedHashMap.class)
+    };
+
     /**
      * The map of keys to values.
      */
-    private final LinkedHashMap<String, Object> documentAsMap;
+    private transient CompactOrderedMap<String, Object> documentAsMap;
 
     /**
      * Creates an empty Document instance.
      */
     public Document() {
-        documentAsMap = new LinkedHashMap<>();
+        documentAsMap = new CompactOrderedMap<>();
     }
 
     /**
@@ -88,7 +100,7 @@ public class Document implements Map<String, Object>, Serializable, Bson {
      * @param value value
      */
     public Document(final String key, final Object value) {
-        documentAsMap = new LinkedHashMap<>();
+        documentAsMap = new CompactOrderedMap<>();
         documentAsMap.put(key, value);
     }
 
@@ -98,7 +110,7 @@ public class Document implements Map<String, Object>, Serializable, Bson {
      * @param map initial map
      */
     public Document(final Map<String, ?> map) {
-        documentAsMap = new LinkedHashMap<>(map);
+        documentAsMap = new CompactOrderedMap<>(map);
     }
 
 
@@ -549,4 +561,20 @@ public class Document implements Map<String, Object>, Serializable, Bson {
                + documentAsMap
                + '}';
     }
+
+    private void writeObject(final ObjectOutputStream stream) throws IOException {
+        ObjectOutputStream.PutField fields = stream.putFields();
+        fields.put("documentAsMap", new LinkedHashMap<>(documentAsMap));
+        stream.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = stream.readFields();
+        Map<String, Object> map = (Map<String, Object>) fields.get("documentAsMap", null);
+        if (map == null) {
+            throw new InvalidObjectException("Missing documentAsMap");
+        }
+        documentAsMap = new CompactOrderedMap<>(map);
+    }
 }
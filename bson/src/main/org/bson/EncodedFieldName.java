@@ -0,0 +1,119 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import java.io.ByteArrayOutputStream;
+
+import static java.lang.String.format;
+import static org.bson.assertions.Assertions.notNull;
+
+/**
+ * The name of an element together with its encoding as a BSON cstring, for codecs that write the same names many times.  An instance is
+ * created once, typically when a codec is built, and passed to {@link BsonWriter#writeName(EncodedFieldName)}, which allows a
+ * {@link BsonBinaryWriter} to copy the encoded bytes instead of encoding and validating the name on each write.
+ *
+ * @since 4.9
+ */
+public final class EncodedFieldName {
+    private final String name;
+    private final byte[] bytes;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the element
+     * @throws BsonSerializationException if the name contains a null character, and so can not be encoded as a cstring
+     */
+    public EncodedFieldName(final String name) {
+        this.name = notNull("name", name);
+        this.bytes = encode(name);
+    }
+
+    /**
+     * Gets the name of the element.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the encoded name, including its null terminator.  The returned array must not be modified.
+     *
+     * @return the encoded name
+     */
+    byte[] getEncodedBytes() {
+        return bytes;
+    }
+
+    // Encodes the name as BsonOutput.writeCString does, so that the bytes written for an instance are identical to those written for its
+    // name.
+    private static byte[] encode(final String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(name.length() + 1);
+        for (int i = 0; i < name.length();) {
+            int c = Character.codePointAt(name, i);
+            if (c == 0x0) {
+                throw new BsonSerializationException(format("BSON cstring '%s' is not valid because it contains a null character "
+                        + "at index %d", name, i));
+            }
+            if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xc0 + (c >> 6));
+                out.write(0x80 + (c & 0x3f));
+            } else if (c < 0x10000) {
+                out.write(0xe0 + (c >> 12));
+                out.write(0x80 + ((c >> 6) & 0x3f));
+                out.write(0x80 + (c & 0x3f));
+            } else {
+                out.write(0xf0 + (c >> 18));
+                out.write(0x80 + ((c >> 12) & 0x3f));
+                out.write(0x80 + ((c >> 6) & 0x3f));
+                out.write(0x80 + (c & 0x3f));
+            }
+            i += Character.charCount(c);
+        }
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EncodedFieldName that = (EncodedFieldName) o;
+        return name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedFieldName{"
+                + "name='" + name + '\''
+                + '}';
+    }
+}
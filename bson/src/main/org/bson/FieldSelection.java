@@ -0,0 +1,109 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.bson.assertions.Assertions.isTrueArgument;
+import static org.bson.assertions.Assertions.notNull;
+
+/**
+ * A selection of the fields of a document, by dot-separated path, that a {@link BsonBinaryReader} should read.  All other fields are
+ * skipped using their length prefixes, without being decoded.
+ *
+ * <p>Selecting a field selects everything nested within it, so {@code a} takes precedence over {@code a.b}.  A path that continues
+ * through an array applies to each document in the array, and elements of the array that are not documents are kept.</p>
+ *
+ * <p>Instances of this class are immutable and can be shared.</p>
+ *
+ * @see BsonBinaryReader#BsonBinaryReader(org.bson.io.BsonInput, FieldSelection)
+ * @since 4.9
+ */
+public final class FieldSelection {
+    // Null for a selected field, all of whose nested fields are selected too
+    private final Map<String, FieldSelection> children;
+
+    /**
+     * Creates a selection of the given paths.
+     *
+     * @param paths the dot-separated paths of the fields to select
+     * @return the selection
+     */
+    public static FieldSelection of(final String... paths) {
+        return of(Arrays.asList(notNull("paths", paths)));
+    }
+
+    /**
+     * Creates a selection of the given paths.
+     *
+     * @param paths the dot-separated paths of the fields to select
+     * @return the selection
+     */
+    public static FieldSelection of(final List<String> paths) {
+        notNull("paths", paths);
+        FieldSelection selection = new FieldSelection(new HashMap<>());
+        for (String path : paths) {
+            notNull("path", path);
+            isTrueArgument("path is not empty", !path.isEmpty());
+            selection.add(path.split("\\.", -1), 0);
+        }
+        return selection;
+    }
+
+    private FieldSelection(final Map<String, FieldSelection> children) {
+        this.children = children;
+    }
+
+    private void add(final String[] names, final int position) {
+        String name = names[position];
+        isTrueArgument("path contains no empty names", !name.isEmpty());
+        FieldSelection child = children.get(name);
+        if (position == names.length - 1) {
+            children.put(name, new FieldSelection(null));
+        } else if (child == null) {
+            child = new FieldSelection(new HashMap<>());
+            children.put(name, child);
+            child.add(names, position + 1);
+        } else if (child.children != null) {
+            child.add(names, position + 1);
+        }
+    }
+
+    /**
+     * Returns whether every nested field is selected.
+     */
+    boolean isAll() {
+        return children == null;
+    }
+
+    /**
+     * Returns the selection of the nested fields of the named field, or null if the field is not selected.
+     */
+    FieldSelection getChild(final String name) {
+        return children.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldSelection{"
+                + "children=" + (children == null ? "all" : children)
+                + '}';
+    }
+}
@@ -35,6 +35,7 @@ import java.io.Serializable;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -53,12 +54,17 @@ public final class RawBsonDocument extends BsonDocument {
     private static final int MIN_BSON_DOCUMENT_SIZE = 5;
 
     /**
-     * The raw bytes.
+     * The raw bytes, or null if this document shares a buffer.
      */
     private final byte[] bytes;
 
     /**
-     * The offset into bytes, which must be less than {@code bytes.length}.
+     * The buffer shared by this document, or null if it is backed by bytes.
+     */
+    private final transient ByteBuf byteBuf;
+
+    /**
+     * The offset into bytes or the index in byteBuf, which must be less than its length or limit.
      */
     private final int offset;
 
@@ -67,6 +73,11 @@ public final class RawBsonDocument extends BsonDocument {
      */
     private final int length;
 
+    /**
+     * The index of the fields of this document, built on the first keyed access.
+     */
+    private transient volatile FieldIndex fieldIndex;
+
     /**
      * Parses a string in MongoDB Extended JSON format to a {@code RawBsonDocument}
      *
@@ -109,6 +120,36 @@ public final class RawBsonDocument extends BsonDocument {
         isTrueArgument("length <= bytes.length - offset", length <= bytes.length - offset);
         isTrueArgument("length >= 5", length >= MIN_BSON_DOCUMENT_SIZE);
         this.bytes = bytes;
+        this.byteBuf = null;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a new instance that shares the given range of a buffer, without copying it.  The document takes ownership of one
+     * reference to the buffer, which is released by {@link #release()}, so callers that keep using the buffer must retain it first.
+     * Documents and arrays obtained from this document are copied out of the buffer, so they remain usable after it has been released.
+     *
+     * @param byteBuf the buffer containing a BSON document.  Note that the buffer is NOT copied, so care must be taken not to modify it
+     *                while this document is in use.
+     * @param offset the index in the buffer of the first byte of the document
+     * @param length the length of the document
+     * @return the document
+     * @see #release()
+     * @since 4.9
+     */
+    public static RawBsonDocument fromByteBuf(final ByteBuf byteBuf, final int offset, final int length) {
+        notNull("byteBuf", byteBuf);
+        isTrueArgument("offset >= 0", offset >= 0);
+        isTrueArgument("offset < byteBuf.limit()", offset < byteBuf.limit());
+        isTrueArgument("length <= byteBuf.limit() - offset", length <= byteBuf.limit() - offset);
+        isTrueArgument("length >= 5", length >= MIN_BSON_DOCUMENT_SIZE);
+        return new RawBsonDocument(offset, length, byteBuf);
+    }
+
+    private RawBsonDocument(final int offset, final int length, final ByteBuf byteBuf) {
+        this.bytes = null;
+        this.byteBuf = byteBuf;
         this.offset = offset;
         this.length = length;
     }
@@ -127,6 +168,7 @@ public final class RawBsonDocument extends BsonDocument {
         try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
             codec.encode(writer, document, EncoderContext.builder().build());
             this.bytes = buffer.getInternalBuffer();
+            this.byteBuf = null;
             this.offset = 0;
             this.length = buffer.getPosition();
         }
@@ -136,14 +178,49 @@ public final class RawBsonDocument extends BsonDocument {
      * Returns a {@code ByteBuf} that wraps the byte array, with the proper byte order.  Any changes made to the returned will be reflected
      * in the underlying byte array owned by this instance.
      *
+     * <p>If this document shares a buffer, the returned {@code ByteBuf} is a duplicate of it, positioned at this document.</p>
+     *
      * @return a byte buffer that wraps the byte array owned by this instance.
      */
     public ByteBuf getByteBuffer() {
+        if (byteBuf != null) {
+            ByteBuf buffer = byteBuf.duplicate();
+            buffer.position(offset);
+            buffer.limit(offset + length);
+            return buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
         ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
         buffer.order(ByteOrder.LITTLE_ENDIAN);
         return new ByteBufNIO(buffer);
     }
 
+    /**
+     * Builds the index used to look up fields by name now, rather than on the first call to {@link #get(Object)},
+     * {@link #containsKey(Object)} or {@link #size()}.  The index records the position of each field, so that later lookups do not scan
+     * the document.  Building it eagerly is useful before a document is read by several threads, or in code that should not pay for the
+     * scan on its first lookup.
+     *
+     * @return this
+     * @since 4.9
+     */
+    public RawBsonDocument indexFields() {
+        getFieldIndex();
+        return this;
+    }
+
+    /**
+     * Releases the reference to the buffer that this document shares, if it was created with
+     * {@link #fromByteBuf(ByteBuf, int, int)}.  The document must not be used afterwards.
+     * Documents that are backed by a byte array are not affected.
+     *
+     * @since 4.9
+     */
+    public void release() {
+        if (byteBuf != null) {
+            byteBuf.release();
+        }
+    }
+
     /**
      * Decode this into a document.
      *
@@ -209,18 +286,7 @@ public final class RawBsonDocument extends BsonDocument {
 
     @Override
     public int size() {
-        int size = 0;
-        try (BsonBinaryReader bsonReader = createReader()) {
-            bsonReader.readStartDocument();
-            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-                size++;
-                bsonReader.readName();
-                bsonReader.skipValue();
-            }
-            bsonReader.readEndDocument();
-        }
-
-        return size;
+        return getFieldIndex().size;
     }
 
     @Override
@@ -256,15 +322,17 @@ public final class RawBsonDocument extends BsonDocument {
             throw new IllegalArgumentException("key can not be null");
         }
 
-        try (BsonBinaryReader bsonReader = createReader()) {
-            bsonReader.readStartDocument();
-            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-                if (bsonReader.readName().equals(key)) {
-                    return true;
+        FieldIndex index = getFieldIndex();
+        int hash = key.hashCode();
+        for (int slot = index.firstSlot(hash); index.isOccupied(slot); slot = index.nextSlot(slot)) {
+            int field = index.fieldAt(slot);
+            if (index.hashes[field] == hash) {
+                try (BsonBinaryReader bsonReader = createReaderAtField(index.positions[field])) {
+                    if (bsonReader.readName().equals(key)) {
+                        return true;
+                    }
                 }
-                bsonReader.skipValue();
             }
-            bsonReader.readEndDocument();
         }
 
         return false;
@@ -290,15 +358,17 @@ public final class RawBsonDocument extends BsonDocument {
     public BsonValue get(final Object key) {
         notNull("key", key);
 
-        try (BsonBinaryReader bsonReader = createReader()) {
-            bsonReader.readStartDocument();
-            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-                if (bsonReader.readName().equals(key)) {
-                    return RawBsonValueHelper.decode(bytes, bsonReader);
+        FieldIndex index = getFieldIndex();
+        int hash = key.hashCode();
+        for (int slot = index.firstSlot(hash); index.isOccupied(slot); slot = index.nextSlot(slot)) {
+            int field = index.fieldAt(slot);
+            if (index.hashes[field] == hash) {
+                try (BsonBinaryReader bsonReader = createReaderAtField(index.positions[field])) {
+                    if (bsonReader.readName().equals(key)) {
+                        return RawBsonValueHelper.decode(bytes, bsonReader);
+                    }
                 }
-                bsonReader.skipValue();
             }
-            bsonReader.readEndDocument();
         }
 
         return null;
@@ -328,13 +398,66 @@ public final class RawBsonDocument extends BsonDocument {
 
     @Override
     public BsonDocument clone() {
+        if (byteBuf != null) {
+            return new RawBsonDocument(copyBytes());
+        }
         return new RawBsonDocument(bytes.clone(), offset, length);
     }
 
+    private byte[] copyBytes() {
+        byte[] copy = new byte[length];
+        byteBuf.get(offset, copy);
+        return copy;
+    }
+
     private BsonBinaryReader createReader() {
         return new BsonBinaryReader(new ByteBufferBsonInput(getByteBuffer()));
     }
 
+    /**
+     * Creates a reader that has read the type of the field at the given position, relative to the start of the document.
+     */
+    private BsonBinaryReader createReaderAtField(final int position) {
+        BsonBinaryReader bsonReader = createReader();
+        bsonReader.readStartDocument();
+        bsonReader.getBsonInput().skip(position - 4);
+        bsonReader.readBsonType();
+        return bsonReader;
+    }
+
+    private FieldIndex getFieldIndex() {
+        FieldIndex index = fieldIndex;
+        if (index == null) {
+            index = buildFieldIndex();
+            fieldIndex = index;
+        }
+        return index;
+    }
+
+    private FieldIndex buildFieldIndex() {
+        int[] hashes = new int[8];
+        int[] positions = new int[8];
+        int size = 0;
+        try (BsonBinaryReader bsonReader = createReader()) {
+            bsonReader.readStartDocument();
+            int start = bsonReader.getBsonInput().getPosition() - 4;
+            int position = bsonReader.getBsonInput().getPosition() - start;
+            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (size == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                    positions = Arrays.copyOf(positions, size * 2);
+                }
+                hashes[size] = bsonReader.readName().hashCode();
+                positions[size] = position;
+                size++;
+                bsonReader.skipValue();
+                position = bsonReader.getBsonInput().getPosition() - start;
+            }
+            bsonReader.readEndDocument();
+        }
+        return new FieldIndex(hashes, positions, size);
+    }
+
     // Transform to an org.bson.BsonDocument instance
     private BsonDocument toBaseBsonDocument() {
         try (BsonBinaryReader bsonReader = createReader()) {
@@ -352,6 +475,9 @@ public final class RawBsonDocument extends BsonDocument {
      * @return a proxy for the document
      */
     private Object writeReplace() {
+        if (byteBuf != null) {
+            return new SerializationProxy(copyBytes(), 0, length);
+        }
         return new SerializationProxy(this.bytes, offset, length);
     }
 
@@ -369,6 +495,49 @@ public final class RawBsonDocument extends BsonDocument {
         throw new InvalidObjectException("Proxy required");
     }
 
+    /**
+     * An open addressing hash table from the hash code of each field name to the field, together with the position of each field relative
+     * to the start of the document.  Fields whose names have the same hash code are found in document order, and the name itself is
+     * compared by reading it at the position of the field.
+     */
+    private static final class FieldIndex {
+        private final int size;
+        private final int[] hashes;
+        private final int[] positions;
+        // The number of the field in each slot plus one, or zero for an empty slot
+        private final int[] slots;
+
+        FieldIndex(final int[] hashes, final int[] positions, final int size) {
+            this.size = size;
+            this.hashes = hashes;
+            this.positions = positions;
+            this.slots = new int[Integer.highestOneBit(Math.max(size, 1) * 2) * 2];
+            for (int field = 0; field < size; field++) {
+                int slot = firstSlot(hashes[field]);
+                while (isOccupied(slot)) {
+                    slot = nextSlot(slot);
+                }
+                slots[slot] = field + 1;
+            }
+        }
+
+        int firstSlot(final int hash) {
+            return (hash ^ (hash >>> 16)) & (slots.length - 1);
+        }
+
+        int nextSlot(final int slot) {
+            return (slot + 1) & (slots.length - 1);
+        }
+
+        boolean isOccupied(final int slot) {
+            return slots[slot] != 0;
+        }
+
+        int fieldAt(final int slot) {
+            return slots[slot] - 1;
+        }
+    }
+
     private static class SerializationProxy implements Serializable {
         private static final long serialVersionUID = 1L;
 
@@ -27,17 +27,28 @@ import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 final class RawBsonValueHelper {
     private static final CodecRegistry REGISTRY = fromProviders(new BsonValueCodecProvider());
 
+    /**
+     * Decodes the current value.  Documents and arrays are returned as slices of {@code bytes}, or as copies if {@code bytes} is null
+     * because the reader is not backed by a byte array.
+     */
     static BsonValue decode(final byte[] bytes, final BsonBinaryReader bsonReader) {
         if (bsonReader.getCurrentBsonType() == BsonType.DOCUMENT || bsonReader.getCurrentBsonType() == BsonType.ARRAY) {
             int position = bsonReader.getBsonInput().getPosition();
             BsonInputMark mark = bsonReader.getBsonInput().getMark(4);
             int size = bsonReader.getBsonInput().readInt32();
             mark.reset();
+            byte[] valueBytes = bytes;
+            if (valueBytes == null) {
+                valueBytes = new byte[size];
+                bsonReader.getBsonInput().readBytes(valueBytes);
+                mark.reset();
+                position = 0;
+            }
             bsonReader.skipValue();
             if (bsonReader.getCurrentBsonType() == BsonType.DOCUMENT) {
-                return new RawBsonDocument(bytes, position, size);
+                return new RawBsonDocument(valueBytes, position, size);
             } else {
-                return new RawBsonArray(bytes, position, size);
+                return new RawBsonArray(valueBytes, position, size);
             }
         } else {
             return REGISTRY.get(getClassForBsonType(bsonReader.getCurrentBsonType())).decode(bsonReader, DecoderContext.builder().build());
@@ -17,6 +17,7 @@
 package org.bson.codecs;
 
 import org.bson.BsonArray;
+import org.bson.BsonNumericArray;
 import org.bson.BsonReader;
 import org.bson.BsonType;
 import org.bson.BsonValue;
@@ -39,6 +40,8 @@ public class BsonArrayCodec implements Codec<BsonArray> {
     private static final CodecRegistry DEFAULT_REGISTRY = fromProviders(new BsonValueCodecProvider());
 
     private final CodecRegistry codecRegistry;
+    // subclasses may override readValue, so only this class decodes numeric values itself
+    private final boolean decodesNumericArrays = getClass() == BsonArrayCodec.class;
 
     /**
      * Creates a new instance with a default codec registry that uses the {@link BsonValueCodecProvider}.
@@ -62,9 +65,15 @@ public class BsonArrayCodec implements Codec<BsonArray> {
     public BsonArray decode(final BsonReader reader, final DecoderContext decoderContext) {
         reader.readStartArray();
 
+        BsonType bsonType = reader.readBsonType();
+        if (decodesNumericArrays && (bsonType == BsonType.INT32 || bsonType == BsonType.INT64 || bsonType == BsonType.DOUBLE)) {
+            return decodeNumericArray(reader, decoderContext, bsonType);
+        }
+
         List<BsonValue> list = new ArrayList<>();
-        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+        while (bsonType != BsonType.END_OF_DOCUMENT) {
             list.add(readValue(reader, decoderContext));
+            bsonType = reader.readBsonType();
         }
 
         reader.readEndArray();
@@ -75,6 +84,10 @@ public class BsonArrayCodec implements Codec<BsonArray> {
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public void encode(final BsonWriter writer, final BsonArray array, final EncoderContext encoderContext) {
+        if (array instanceof BsonNumericArray && ((BsonNumericArray) array).getElementType() != null) {
+            encodeNumericArray(writer, (BsonNumericArray) array);
+            return;
+        }
         writer.writeStartArray();
 
         for (BsonValue value : array) {
@@ -102,4 +115,42 @@ public class BsonArrayCodec implements Codec<BsonArray> {
         return codecRegistry.get(BsonValueCodecProvider.getClassForBsonType(reader.getCurrentBsonType())).decode(reader, decoderContext);
     }
 
+    // Decodes the values of the element type straight into the primitive array of a BsonNumericArray, and any others as usual
+    private BsonArray decodeNumericArray(final BsonReader reader, final DecoderContext decoderContext, final BsonType elementType) {
+        BsonNumericArray array = new BsonNumericArray(elementType);
+        BsonType bsonType = elementType;
+        while (bsonType != BsonType.END_OF_DOCUMENT) {
+            if (bsonType != array.getElementType()) {
+                array.add(readValue(reader, decoderContext));
+            } else if (bsonType == BsonType.INT32) {
+                array.addInt32(reader.readInt32());
+            } else if (bsonType == BsonType.INT64) {
+                array.addInt64(reader.readInt64());
+            } else {
+                array.addDouble(reader.readDouble());
+            }
+            bsonType = reader.readBsonType();
+        }
+
+        reader.readEndArray();
+
+        return array;
+    }
+
+    private void encodeNumericArray(final BsonWriter writer, final BsonNumericArray array) {
+        writer.writeStartArray();
+        BsonType elementType = array.getElementType();
+        int size = array.size();
+        for (int i = 0; i < size; i++) {
+            if (elementType == BsonType.INT32) {
+                writer.writeInt32(array.getInt32(i));
+            } else if (elementType == BsonType.INT64) {
+                writer.writeInt64(array.getInt64(i));
+            } else {
+                writer.writeDouble(array.getDouble(i));
+            }
+        }
+        writer.writeEndArray();
+    }
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+import java.util.Arrays;
+
+import static org.bson.codecs.NumberCodecHelper.decodeDouble;
+
+/**
+ * Encodes and decodes {@code double} arrays as BSON arrays of double values.
+ *
+ * <p>Any numeric value that can be converted to {@code double} without loss of precision is decoded, as with the {@link DoubleCodec}.</p>
+ *
+ * @since 4.9
+ */
+public class DoubleArrayCodec implements Codec<double[]> {
+    @Override
+    public void encode(final BsonWriter writer, final double[] value, final EncoderContext encoderContext) {
+        writer.writeStartArray();
+        for (double element : value) {
+            writer.writeDouble(element);
+        }
+        writer.writeEndArray();
+    }
+
+    @Override
+    public double[] decode(final BsonReader reader, final DecoderContext decoderContext) {
+        double[] values = new double[10];
+        int size = 0;
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = decodeDouble(reader);
+        }
+        reader.readEndArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<double[]> getEncoderClass() {
+        return double[].class;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.codecs;
+
+import org.bson.AbstractBsonReader.State;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.FieldSelection;
+
+import static org.bson.assertions.Assertions.notNull;
+
+/**
+ * A codec that decodes only the selected fields of a document, and encodes documents unchanged.
+ *
+ * <p>When reading binary BSON, fields that are not selected are skipped using their length prefixes, so the wrapped codec neither decodes
+ * them nor allocates anything for them.  This is useful when a projection cannot be applied by the server, for example to the full
+ * documents of a change stream, or to raw documents that are cached and shared.  With other readers, the wrapped codec decodes all
+ * fields.</p>
+ *
+ * @param <T> the type of the document
+ * @see FieldSelection
+ * @since 4.9
+ */
+public final class FieldSelectingCodec<T> implements Codec<T> {
+    private final Codec<T> wrapped;
+    private final FieldSelection fieldSelection;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param wrapped the codec to decode the selected fields with
+     * @param fieldSelection the fields to decode
+     */
+    public FieldSelectingCodec(final Codec<T> wrapped, final FieldSelection fieldSelection) {
+        this.wrapped = notNull("wrapped", wrapped);
+        this.fieldSelection = notNull("fieldSelection", fieldSelection);
+    }
+
+    @Override
+    public T decode(final BsonReader reader, final DecoderContext decoderContext) {
+        if (!(reader instanceof BsonBinaryReader)) {
+            return wrapped.decode(reader, decoderContext);
+        }
+        BsonBinaryReader binaryReader = (BsonBinaryReader) reader;
+        if (binaryReader.getState() == State.INITIAL) {
+            binaryReader.readBsonType();
+        }
+        if (binaryReader.getState() == State.VALUE && binaryReader.getCurrentBsonType() == BsonType.DOCUMENT) {
+            binaryReader.selectFields(fieldSelection);
+        }
+        return wrapped.decode(binaryReader, decoderContext);
+    }
+
+    @Override
+    public void encode(final BsonWriter writer, final T value, final EncoderContext encoderContext) {
+        wrapped.encode(writer, value, encoderContext);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return wrapped.getEncoderClass();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+import java.util.Arrays;
+
+import static org.bson.codecs.NumberCodecHelper.decodeLong;
+
+/**
+ * Encodes and decodes {@code long} arrays as BSON arrays of int64 values.
+ *
+ * <p>Any numeric value that can be converted to {@code long} without loss of precision is decoded, as with the {@link LongCodec}.</p>
+ *
+ * @since 4.9
+ */
+public class LongArrayCodec implements Codec<long[]> {
+    @Override
+    public void encode(final BsonWriter writer, final long[] value, final EncoderContext encoderContext) {
+        writer.writeStartArray();
+        for (long element : value) {
+            writer.writeInt64(element);
+        }
+        writer.writeEndArray();
+    }
+
+    @Override
+    public long[] decode(final BsonReader reader, final DecoderContext decoderContext) {
+        long[] values = new long[10];
+        int size = 0;
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = decodeLong(reader);
+        }
+        reader.readEndArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<long[]> getEncoderClass() {
+        return long[].class;
+    }
+}
@@ -45,6 +45,9 @@ import java.util.Map;
  *     <li>{@link org.bson.codecs.ByteCodec}</li>
  *     <li>{@link org.bson.codecs.ShortCodec}</li>
  *     <li>{@link org.bson.codecs.ByteArrayCodec}</li>
+ *     <li>{@link org.bson.codecs.IntArrayCodec}</li>
+ *     <li>{@link org.bson.codecs.LongArrayCodec}</li>
+ *     <li>{@link org.bson.codecs.DoubleArrayCodec}</li>
  *     <li>{@link org.bson.codecs.FloatCodec}</li>
  *     <li>{@link org.bson.codecs.AtomicBooleanCodec}</li>
  *     <li>{@link org.bson.codecs.AtomicIntegerCodec}</li>
@@ -91,6 +94,9 @@ public class ValueCodecProvider implements CodecProvider {
         addCodec(new PatternCodec());
         addCodec(new ShortCodec());
         addCodec(new ByteArrayCodec());
+        addCodec(new IntArrayCodec());
+        addCodec(new LongArrayCodec());
+        addCodec(new DoubleArrayCodec());
         addCodec(new FloatCodec());
         addCodec(new AtomicBooleanCodec());
         addCodec(new AtomicIntegerCodec());
@@ -39,11 +39,6 @@ final class FieldPropertyAccessor<T> implements PropertyAccessor<T> {
 
     @Override
     public <S> void set(final S instance, final T value) {
-        try {
-            wrapped.getPropertyMetadata().getField().set(instance, value);
-        } catch (Exception e) {
-            throw new CodecConfigurationException(format("Unable to set value for property '%s' in %s",
-                    wrapped.getPropertyMetadata().getName(), wrapped.getPropertyMetadata().getDeclaringClassName()), e);
-        }
+        wrapped.setField(instance, value);
     }
 }
@@ -172,7 +172,11 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
                         });
                     }
                 } else {
-                    writer.writeName(propertyModel.getReadName());
+                    if (propertyModel.getEncodedReadName() != null) {
+                        writer.writeName(propertyModel.getEncodedReadName());
+                    } else {
+                        writer.writeName(propertyModel.getReadName());
+                    }
                     if (propertyValue == null) {
                         writer.writeNull();
                     } else {
@@ -18,11 +18,25 @@ package org.bson.codecs.pojo;
 
 import org.bson.codecs.configuration.CodecConfigurationException;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
 import static java.lang.String.format;
 
 final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
 
     private final PropertyMetadata<T> propertyMetadata;
+    private volatile Accessors accessors;
 
     PropertyAccessorImpl(final PropertyMetadata<T> propertyMetadata) {
         this.propertyMetadata = propertyMetadata;
@@ -33,7 +47,12 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
     public <S> T get(final S instance) {
         try {
             if (propertyMetadata.isSerializable()) {
-                if (propertyMetadata.getGetter() != null) {
+                Accessors localAccessors = getAccessors();
+                if (localAccessors.getterFunction != null) {
+                    return (T) localAccessors.getterFunction.apply(instance);
+                } else if (localAccessors.getter != null) {
+                    return (T) localAccessors.getter.invokeExact((Object) instance);
+                } else if (propertyMetadata.getGetter() != null) {
                     return (T) propertyMetadata.getGetter().invoke(instance);
                 } else {
                     return (T) propertyMetadata.getField().get(instance);
@@ -41,8 +60,10 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
             } else {
                 throw getError(null);
             }
-        } catch (final Exception e) {
-            throw getError(e);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw getError(t);
         }
     }
 
@@ -50,14 +71,39 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
     public <S> void set(final S instance, final T value) {
         try {
             if (propertyMetadata.isDeserializable()) {
-                if (propertyMetadata.getSetter() != null) {
+                Accessors localAccessors = getAccessors();
+                if (localAccessors.setterFunction != null) {
+                    localAccessors.setterFunction.accept(instance, value);
+                } else if (localAccessors.setter != null) {
+                    localAccessors.setter.invokeExact((Object) instance, (Object) value);
+                } else if (propertyMetadata.getSetter() != null) {
                     propertyMetadata.getSetter().invoke(instance, value);
                 } else {
                     propertyMetadata.getField().set(instance, value);
                 }
             }
-        } catch (final Exception e) {
-            throw setError(e);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setError(t);
+        }
+    }
+
+    /**
+     * Sets the value of the field of the property, even if the property has a setter.
+     */
+    <S> void setField(final S instance, final T value) {
+        try {
+            MethodHandle fieldSetter = getAccessors().fieldSetter;
+            if (fieldSetter != null) {
+                fieldSetter.invokeExact((Object) instance, (Object) value);
+            } else {
+                propertyMetadata.getField().set(instance, value);
+            }
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw setError(t);
         }
     }
 
@@ -65,13 +111,133 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
         return propertyMetadata;
     }
 
-    private CodecConfigurationException getError(final Exception cause) {
+    // The accessors are created on first use rather than on construction, as conventions may make the field accessible after the accessor
+    // has been created.
+    private Accessors getAccessors() {
+        Accessors localAccessors = accessors;
+        if (localAccessors == null) {
+            localAccessors = new Accessors(propertyMetadata);
+            accessors = localAccessors;
+        }
+        return localAccessors;
+    }
+    private CodecConfigurationException getError(final Throwable cause) {
         return new CodecConfigurationException(format("Unable to get value for property '%s' in %s", propertyMetadata.getName(),
                 propertyMetadata.getDeclaringClassName()), cause);
     }
 
-    private CodecConfigurationException setError(final Exception cause) {
+    private CodecConfigurationException setError(final Throwable cause) {
         return new CodecConfigurationException(format("Unable to set value for property '%s' in %s", propertyMetadata.getName(),
                 propertyMetadata.getDeclaringClassName()), cause);
     }
+
+    /**
+     * The accessors of a property.  The getter and setter methods are called through a {@code Function} and a {@code BiConsumer} spun by
+     * {@link LambdaMetafactory}, which the JIT compiler can inline like any other call, when this class can link to them directly.
+     * Otherwise, and for fields, which {@code LambdaMetafactory} does not support, they are called through method handles adapted to take
+     * and return {@code Object}s so that they can be invoked exactly.  An accessor is null if the member it would be created for is absent
+     * or is not accessible, in which case the property accessor falls back to reflection.
+     */
+    private static final class Accessors {
+        private final Function<Object, Object> getterFunction;
+        private final BiConsumer<Object, Object> setterFunction;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle fieldSetter;
+
+        Accessors(final PropertyMetadata<?> propertyMetadata) {
+            Method getterMethod = propertyMetadata.getGetter();
+            Method setterMethod = propertyMetadata.getSetter();
+            MethodHandle fieldGetterHandle = null;
+            MethodHandle fieldSetterHandle = null;
+            if (propertyMetadata.getField() != null) {
+                fieldGetterHandle = adapt(() -> LOOKUP.unreflectGetter(propertyMetadata.getField()), GETTER_TYPE);
+                fieldSetterHandle = adapt(() -> LOOKUP.unreflectSetter(propertyMetadata.getField()), SETTER_TYPE);
+            }
+            getterFunction = getterMethod != null ? createGetterFunction(getterMethod) : null;
+            setterFunction = setterMethod != null ? createSetterFunction(setterMethod) : null;
+            getter = getterMethod != null ? adapt(() -> LOOKUP.unreflect(getterMethod), GETTER_TYPE) : fieldGetterHandle;
+            setter = setterMethod != null ? adapt(() -> LOOKUP.unreflect(setterMethod), SETTER_TYPE) : fieldSetterHandle;
+            fieldSetter = fieldSetterHandle;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> createGetterFunction(final Method getterMethod) {
+            if (!canLink(getterMethod)) {
+                return null;
+            }
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class), GETTER_TYPE,
+                        LOOKUP.unreflect(getterMethod),
+                        MethodType.methodType(wrap(getterMethod.getReturnType()), getterMethod.getDeclaringClass()));
+                return (Function<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BiConsumer<Object, Object> createSetterFunction(final Method setterMethod) {
+            if (!canLink(setterMethod)) {
+                return null;
+            }
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class), SETTER_TYPE,
+                        LOOKUP.unreflect(setterMethod),
+                        MethodType.methodType(void.class, setterMethod.getDeclaringClass(), wrap(setterMethod.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        /**
+         * Whether the class spun by {@code LambdaMetafactory} to call the given method can link to it.  That class is defined in the
+         * package and the class loader of this class, so the method must be public and every class that it names must be public and
+         * visible from that class loader, which is not the case for a POJO loaded by a child class loader, for example.
+         */
+        private static boolean canLink(final Method method) {
+            if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+                    || !canLink(method.getDeclaringClass()) || !canLink(method.getReturnType())) {
+                return false;
+            }
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                if (!canLink(parameterType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean canLink(final Class<?> type) {
+            if (type.isPrimitive()) {
+                return true;
+            } else if (type.isArray()) {
+                return canLink(type.getComponentType());
+            } else if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+            try {
+                return Class.forName(type.getName(), false, PropertyAccessorImpl.class.getClassLoader()) == type;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private static Class<?> wrap(final Class<?> type) {
+            return MethodType.methodType(type).wrap().returnType();
+        }
+
+        private static MethodHandle adapt(final HandleSupplier handleSupplier, final MethodType type) {
+            try {
+                return handleSupplier.get().asType(type);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    private interface HandleSupplier {
+        MethodHandle get() throws IllegalAccessException;
+    }
 }
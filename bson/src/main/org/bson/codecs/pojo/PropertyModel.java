@@ -17,6 +17,7 @@
 package org.bson.codecs.pojo;
 
 import org.bson.BsonType;
+import org.bson.EncodedFieldName;
 import org.bson.codecs.Codec;
 
 import java.util.Objects;
@@ -30,6 +31,7 @@ import java.util.Objects;
 public final class PropertyModel<T> {
     private final String name;
     private final String readName;
+    private final EncodedFieldName encodedReadName;
     private final String writeName;
     private final TypeData<T> typeData;
     private final Codec<T> codec;
@@ -45,6 +47,8 @@ public final class PropertyModel<T> {
                   final PropertyAccessor<T> propertyAccessor, final String error, final BsonType bsonRepresentation) {
         this.name = name;
         this.readName = readName;
+        // a name that can not be encoded is left to fail when the property is encoded, as it always has
+        this.encodedReadName = readName == null || readName.indexOf('\0') >= 0 ? null : new EncodedFieldName(readName);
         this.writeName = writeName;
         this.typeData = typeData;
         this.codec = codec;
@@ -86,6 +90,13 @@ public final class PropertyModel<T> {
         return readName;
     }
 
+    /**
+     * @return the encoded name of the property to use as the key when serializing into BSON, or null if there is none
+     */
+    EncodedFieldName getEncodedReadName() {
+        return encodedReadName;
+    }
+
     /**
      * Property is writable.
      *
@@ -18,6 +18,7 @@ package org.bson.internal;
 
 import org.bson.codecs.Codec;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Objects;
@@ -64,18 +65,33 @@ final class CodecCache {
         }
     }
 
+    // Codecs for classes without type arguments are keyed by the class alone, which hashes and compares by identity, so that they can be
+    // looked up without allocating a key.  A ClassValue is not used as its values are strongly reachable from the class, which would
+    // keep every registry that ever looked up a codec for a class such as String reachable for as long as that class is loaded.
+    private final ConcurrentMap<Class<?>, Codec<?>> classCodecCache = new ConcurrentHashMap<>();
     private final ConcurrentMap<CodecCacheKey, Codec<?>> codecCache = new ConcurrentHashMap<>();
 
     public <T> Codec<T> putIfAbsent(final CodecCacheKey codecCacheKey, final Codec<T> codec) {
         assertNotNull(codec);
         @SuppressWarnings("unchecked")
-        Codec<T> prevCodec = (Codec<T>) codecCache.putIfAbsent(codecCacheKey, codec);
+        Codec<T> prevCodec = (Codec<T>) (codecCacheKey.types == null
+                ? classCodecCache.putIfAbsent(codecCacheKey.clazz, codec)
+                : codecCache.putIfAbsent(codecCacheKey, codec));
         return prevCodec == null ? codec : prevCodec;
     }
 
     public <T> Optional<Codec<T>> get(final CodecCacheKey codecCacheKey) {
         @SuppressWarnings("unchecked")
-        Codec<T> codec = (Codec<T>) codecCache.get(codecCacheKey);
+        Codec<T> codec = (Codec<T>) (codecCacheKey.types == null
+                ? classCodecCache.get(codecCacheKey.clazz)
+                : codecCache.get(codecCacheKey));
         return Optional.ofNullable(codec);
     }
+
+    @Nullable
+    public <T> Codec<T> get(final Class<T> clazz) {
+        @SuppressWarnings("unchecked")
+        Codec<T> codec = (Codec<T>) classCodecCache.get(clazz);
+        return codec;
+    }
 }
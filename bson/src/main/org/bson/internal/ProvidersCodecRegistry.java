@@ -45,6 +45,10 @@ public final class ProvidersCodecRegistry implements CycleDetectingCodecRegistry
 
     @Override
     public <T> Codec<T> get(final Class<T> clazz) {
+        Codec<T> codec = codecCache.get(clazz);
+        if (codec != null) {
+            return codec;
+        }
         return get(new ChildCodecRegistry<>(this, clazz, null));
     }
 
@@ -70,6 +74,12 @@ public final class ProvidersCodecRegistry implements CycleDetectingCodecRegistry
 
     @SuppressWarnings({"unchecked"})
     public <T> Codec<T> get(final ChildCodecRegistry<T> context) {
+        if (!context.getTypes().isPresent()) {
+            Codec<T> codec = codecCache.get(context.getCodecClass());
+            if (codec != null) {
+                return codec;
+            }
+        }
         CodecCacheKey codecCacheKey = new CodecCacheKey(context.getCodecClass(), context.getTypes().orElse(null));
         return codecCache.<T>get(codecCacheKey).orElseGet(() -> {
             for (CodecProvider provider : codecProviders) {
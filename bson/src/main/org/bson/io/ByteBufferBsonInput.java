@@ -18,9 +18,12 @@ package org.bson.io;
 
 import org.bson.BsonSerializationException;
 import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
 import org.bson.types.ObjectId;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 import static java.lang.String.format;
@@ -40,7 +43,11 @@ public class ByteBufferBsonInput implements BsonInput {
         }
     }
 
+    private static final int MAX_SCRATCH_BUFFER_SIZE = 1024;
+
     private ByteBuf buffer;
+    private final FieldNameCache fieldNameCache;
+    private byte[] scratchBuffer;
 
     /**
      * Construct an instance with the given byte buffer.  The stream takes over ownership of the buffer and closes it when this instance is
@@ -49,10 +56,24 @@ public class ByteBufferBsonInput implements BsonInput {
      * @param buffer the byte buffer
      */
     public ByteBufferBsonInput(final ByteBuf buffer) {
+        this(buffer, null);
+    }
+
+    /**
+     * Construct an instance with the given byte buffer, which returns the strings read by {@link #readCString()} from the given cache
+     * when they are present in it, and adds them to it otherwise.  The stream takes over ownership of the buffer and closes it when this
+     * instance is closed.
+     *
+     * @param buffer the byte buffer
+     * @param fieldNameCache the cache of field names, which may be null, in which case no cache is used
+     * @since 4.9
+     */
+    public ByteBufferBsonInput(final ByteBuf buffer, final FieldNameCache fieldNameCache) {
         if (buffer == null) {
             throw new IllegalArgumentException("buffer can not be null");
         }
         this.buffer = buffer;
+        this.fieldNameCache = fieldNameCache;
         buffer.order(ByteOrder.LITTLE_ENDIAN);
     }
 
@@ -127,33 +148,89 @@ public class ByteBufferBsonInput implements BsonInput {
 
     @Override
     public String readCString() {
-        int mark = buffer.position();
-        skipCString();
-        int size = buffer.position() - mark;
-        buffer.position(mark);
-        return readString(size);
+        ensureOpen();
+        int start = buffer.position();
+        int hash = 0;
+        int orOfBytes = 0;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+            }
+            byte b = buffer.get();
+            if (b == 0) {
+                break;
+            }
+            hash = FieldNameCache.hash(hash, b);
+            orOfBytes |= b;
+        }
+        int length = buffer.position() - start - 1;
+        // the sign bit of every byte of an ASCII string is clear, and such a string can be decoded without validating it as UTF-8
+        boolean ascii = orOfBytes >= 0;
+        if (fieldNameCache != null && length > 1 && length <= FieldNameCache.MAX_NAME_LENGTH) {
+            String name = fieldNameCache.get(buffer, start, length, hash);
+            if (name == null) {
+                name = decodeString(start, length, ascii);
+                fieldNameCache.put(buffer, start, length, hash, name);
+            }
+            return name;
+        }
+        return decodeString(start, length, ascii);
     }
 
     private String readString(final int size) {
-        if (size == 2) {
-            byte asciiByte = buffer.get();               // if only one byte in the string, it must be ascii.
-            byte nullByte = buffer.get();                // read null terminator
-            if (nullByte != 0) {
-                throw new BsonSerializationException("Found a BSON string that is not null-terminated");
-            }
+        int start = buffer.position();
+        buffer.position(start + size);
+        if (buffer.get(start + size - 1) != 0) {
+            throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+        }
+        return decodeString(start, size - 1, false);
+    }
+
+    /**
+     * Decodes the string of the given length that starts at the given index of the buffer, without changing the position of the buffer.
+     * The bytes are decoded in place when the buffer is backed by an accessible array, and otherwise copied into a scratch array that is
+     * reused across strings.  Unless the caller already knows that the string is ASCII, the bytes are checked for it, since an ASCII string
+     * can be decoded without validating it as UTF-8.
+     */
+    private String decodeString(final int start, final int length, final boolean knownAscii) {
+        if (length == 0) {
+            return "";
+        }
+        if (length == 1) {
+            byte asciiByte = buffer.get(start);          // if only one byte in the string, it must be ascii.
             if (asciiByte < 0) {
                 return StandardCharsets.UTF_8.newDecoder().replacement();
             }
-            return ONE_BYTE_ASCII_STRINGS[asciiByte];  // this will throw if asciiByte is negative
-        } else {
-            byte[] bytes = new byte[size - 1];
-            buffer.get(bytes);
-            byte nullByte = buffer.get();
-            if (nullByte != 0) {
-                throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+            return ONE_BYTE_ASCII_STRINGS[asciiByte];
+        }
+        ByteBuffer backingBuffer = buffer instanceof ByteBufNIO ? buffer.asNIO() : null;
+        if (backingBuffer != null && backingBuffer.hasArray()) {
+            return decodeString(backingBuffer.array(), backingBuffer.arrayOffset() + start, length, knownAscii);
+        }
+        byte[] bytes = length <= MAX_SCRATCH_BUFFER_SIZE ? getScratchBuffer(length) : new byte[length];
+        buffer.get(start, bytes, 0, length);
+        return decodeString(bytes, 0, length, knownAscii);
+    }
+
+    private static String decodeString(final byte[] bytes, final int offset, final int length, final boolean knownAscii) {
+        Charset charset = knownAscii || isAscii(bytes, offset, length) ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+        return new String(bytes, offset, length, charset);
+    }
+
+    private static boolean isAscii(final byte[] bytes, final int offset, final int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
             }
-            return new String(bytes, StandardCharsets.UTF_8);
         }
+        return true;
+    }
+
+    private byte[] getScratchBuffer(final int length) {
+        if (scratchBuffer == null || scratchBuffer.length < length) {
+            scratchBuffer = new byte[Math.max(length, Math.min(MAX_SCRATCH_BUFFER_SIZE, 2 * length))];
+        }
+        return scratchBuffer;
     }
 
     @Override
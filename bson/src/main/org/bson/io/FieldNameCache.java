@@ -0,0 +1,157 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.io;
+
+import org.bson.ByteBuf;
+
+import static org.bson.assertions.Assertions.isTrueArgument;
+
+/**
+ * A bounded cache of the strings decoded from the null-terminated names of BSON elements, which allows a {@link ByteBufferBsonInput} to
+ * return the same {@code String} instance each time it reads a name it has seen before instead of allocating a new one.
+ *
+ * <p>Names are matched by their hash code, length and bytes, so a lookup does not allocate.  When the cache is full, newly read names
+ * replace older ones.  Only names up to {@value #MAX_NAME_LENGTH} bytes long are cached.</p>
+ *
+ * <p>This class is thread-safe, so a single instance may be shared by many inputs.</p>
+ *
+ * @see ByteBufferBsonInput#ByteBufferBsonInput(ByteBuf, FieldNameCache)
+ * @since 4.9
+ */
+public final class FieldNameCache {
+    /**
+     * The maximum length, in bytes and excluding the null terminator, of the names that are cached.
+     */
+    public static final int MAX_NAME_LENGTH = 64;
+
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final int MAX_PROBES = 4;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * Construct an instance with the default capacity.
+     */
+    public FieldNameCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an instance that holds at most the given number of names, rounded up to the next power of two.
+     *
+     * @param capacity the maximum number of names to cache, which must be positive
+     */
+    public FieldNameCache(final int capacity) {
+        isTrueArgument("capacity > 0", capacity > 0);
+        isTrueArgument("capacity <= 2^30", capacity <= 1 << 30);
+        int tableSize = Integer.highestOneBit(capacity);
+        if (tableSize < capacity) {
+            tableSize <<= 1;
+        }
+        entries = new Entry[tableSize];
+        mask = tableSize - 1;
+    }
+
+    /**
+     * Gets the cached name whose bytes are the given number of bytes in the buffer, starting at the given index.
+     *
+     * @param buffer the buffer
+     * @param start  the index of the first byte of the name
+     * @param length the length of the name in bytes, excluding the null terminator
+     * @param hash   the hash code of the bytes of the name, as computed by {@link #hash(int, byte)}
+     * @return the cached name, or null if it is not in the cache
+     */
+    String get(final ByteBuf buffer, final int start, final int length, final int hash) {
+        int home = spread(hash);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            Entry entry = entries[(home + i) & mask];
+            if (entry == null) {
+                return null;
+            }
+            if (entry.hash == hash && entry.matches(buffer, start, length)) {
+                return entry.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches the given name, whose bytes are the given number of bytes in the buffer, starting at the given index.
+     *
+     * @param buffer the buffer
+     * @param start  the index of the first byte of the name
+     * @param length the length of the name in bytes, excluding the null terminator
+     * @param hash   the hash code of the bytes of the name, as computed by {@link #hash(int, byte)}
+     * @param name   the decoded name
+     */
+    void put(final ByteBuf buffer, final int start, final int length, final int hash, final String name) {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        Entry entry = new Entry(hash, bytes, name);
+        int home = spread(hash);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (entries[slot] == null) {
+                entries[slot] = entry;
+                return;
+            }
+        }
+        entries[home & mask] = entry;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Adds the next byte of a name to the hash code of the bytes that precede it.
+     *
+     * @param hash the hash code of the preceding bytes, which is 0 for the first byte
+     * @param b    the next byte
+     * @return the hash code including the next byte
+     */
+    static int hash(final int hash, final byte b) {
+        return 31 * hash + b;
+    }
+
+    // Instances are immutable, so they are safely published to other threads sharing the cache through the racy writes in put.
+    private static final class Entry {
+        private final int hash;
+        private final byte[] bytes;
+        private final String name;
+
+        Entry(final int hash, final byte[] bytes, final String name) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.name = name;
+        }
+
+        boolean matches(final ByteBuf buffer, final int start, final int length) {
+            if (bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -206,6 +206,45 @@ public class BsonBinaryWriterTest {
         assertArrayEquals(expectedValues, buffer.toByteArray());
     }
 
+    @Test
+    public void testWriteArrayElementNames() {
+        int numberOfElements = 12345;
+        BasicOutputBuffer largeBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter largeWriter = new BsonBinaryWriter(largeBuffer)) {
+            largeWriter.writeStartDocument();
+            largeWriter.writeStartArray("a");
+            for (int i = 0; i < numberOfElements; i++) {
+                largeWriter.writeNull();
+            }
+            largeWriter.writeEndArray();
+            largeWriter.writeEndDocument();
+        }
+
+        ByteBufferBsonInput input = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(largeBuffer.toByteArray())));
+        input.skip(4);
+        assertEquals(BsonType.ARRAY.getValue(), input.readByte());
+        assertEquals("a", input.readCString());
+        input.skip(4);
+        for (int i = 0; i < numberOfElements; i++) {
+            assertEquals(BsonType.NULL.getValue(), input.readByte());
+            assertEquals(Integer.toString(i), input.readCString());
+        }
+        assertEquals(0, input.readByte());
+    }
+
+    @Test
+    public void testWriteEncodedName() {
+        writer.writeStartDocument();
+        writer.writeName(new EncodedFieldName("n1"));
+        writer.writeNull();
+        writer.writeName(new EncodedFieldName("\u00e9"));
+        writer.writeNull();
+        writer.writeEndDocument();
+
+        byte[] expectedValues = {13, 0, 0, 0, 10, 110, 49, 0, 10, -61, -87, 0, 0};
+        assertArrayEquals(expectedValues, buffer.toByteArray());
+    }
+
     @Test
     public void testWriteNull() {
 
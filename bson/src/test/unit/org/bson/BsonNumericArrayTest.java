@@ -0,0 +1,118 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import org.bson.codecs.BsonArrayCodec;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.io.ByteBufferBsonInput;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Don't convert to Spock, as Groovy intercepts equals/hashCode methods that we are trying to test
+public class BsonNumericArrayTest {
+
+    @Test
+    public void shouldBeEqualToTheEquivalentBsonArray() {
+        BsonArray expected = new BsonArray(asList(new BsonDouble(1.5), new BsonDouble(-2)));
+        BsonNumericArray array = BsonNumericArray.ofDouble(1.5, -2);
+
+        assertEquals(expected, array);
+        assertEquals(array, expected);
+        assertEquals(expected.hashCode(), array.hashCode());
+        assertEquals(expected.toString(), array.toString());
+        assertEquals(expected, array.clone());
+        assertEquals(BsonType.DOUBLE, array.getElementType());
+        assertEquals(-2, array.getDouble(1));
+    }
+
+    @Test
+    public void shouldStorePrimitivesWhileAllValuesAreOfTheElementType() {
+        BsonNumericArray array = new BsonNumericArray(BsonType.INT32);
+        array.addInt32(1);
+        array.add(new BsonInt32(3));
+        array.add(1, new BsonInt32(2));
+        array.set(0, new BsonInt32(0));
+        array.remove(2);
+
+        assertEquals(BsonType.INT32, array.getElementType());
+        assertEquals(asList(new BsonInt32(0), new BsonInt32(2)), array);
+        assertThrows(IndexOutOfBoundsException.class, () -> array.getInt32(2));
+        assertThrows(BsonInvalidOperationException.class, () -> array.getInt64(0));
+    }
+
+    @Test
+    public void shouldStoreBsonValuesOnceAValueOfAnotherTypeIsStored() {
+        BsonNumericArray array = BsonNumericArray.ofInt64(1, 2);
+        array.add(new BsonString("three"));
+        array.addInt64(4);
+
+        assertNull(array.getElementType());
+        assertEquals(asList(new BsonInt64(1), new BsonInt64(2), new BsonString("three"), new BsonInt64(4)), array);
+        assertEquals(4, array.getInt64(3));
+    }
+
+    @Test
+    public void shouldRejectANonNumericElementType() {
+        assertThrows(IllegalArgumentException.class, () -> new BsonNumericArray(BsonType.STRING));
+    }
+
+    @Test
+    public void shouldDecodeNumericArraysIntoPrimitivesAndEncodeThemBack() {
+        BsonDocument document = new BsonDocument("ints", new BsonArray(asList(new BsonInt32(1), new BsonInt32(2))))
+                .append("longs", new BsonArray(asList(new BsonInt64(1), new BsonInt64(2))))
+                .append("doubles", new BsonArray(asList(new BsonDouble(1), new BsonDouble(2))))
+                .append("mixed", new BsonArray(asList(new BsonInt32(1), new BsonInt64(2), new BsonNull())))
+                .append("strings", new BsonArray(asList(new BsonString("a"), new BsonInt32(1))))
+                .append("empty", new BsonArray());
+
+        BsonDocument decoded = roundTrip(document);
+
+        assertEquals(document, decoded);
+        assertEquals(BsonType.INT32, ((BsonNumericArray) decoded.getArray("ints")).getElementType());
+        assertEquals(BsonType.INT64, ((BsonNumericArray) decoded.getArray("longs")).getElementType());
+        assertEquals(BsonType.DOUBLE, ((BsonNumericArray) decoded.getArray("doubles")).getElementType());
+        assertNull(((BsonNumericArray) decoded.getArray("mixed")).getElementType());
+        assertTrue(!(decoded.getArray("strings") instanceof BsonNumericArray));
+        assertEquals(document, roundTrip(decoded));
+    }
+
+    @Test
+    public void shouldDecodeNumericArraysFromJson() {
+        BsonArray array = new BsonArrayCodec().decode(new org.bson.json.JsonReader("[1, 2, 3]"), DecoderContext.builder().build());
+
+        assertEquals(BsonNumericArray.ofInt32(1, 2, 3), array);
+        assertTrue(array instanceof BsonNumericArray);
+    }
+
+    private static BsonDocument roundTrip(final BsonDocument document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(buffer.toByteArray()))));
+        return new BsonDocumentCodec().decode(reader, DecoderContext.builder().build());
+    }
+}
@@ -307,6 +307,27 @@ class BsonWriterSpecification extends Specification {
         writer << [new BsonBinaryWriter(new BasicOutputBuffer())]
     }
 
+    def 'shouldThrowAnErrorIfEncodedKeyContainsNullCharacter'() {
+        when:
+        new EncodedFieldName('h\u0000i')
+
+        then:
+        thrown(BsonSerializationException)
+    }
+
+    def 'shouldThrowExceptionWhenWritingAnEncodedNameWhenStateIsValue'() {
+        when:
+        writer.writeStartDocument()
+        writer.writeName(new EncodedFieldName('a'))
+        writer.writeName(new EncodedFieldName('b'))
+
+        then:
+        thrown(BsonInvalidOperationException)
+
+        where:
+        writer << [new BsonBinaryWriter(new BasicOutputBuffer()), new BsonDocumentWriter(new BsonDocument())]
+    }
+
     def 'shouldNotThrowAnErrorIfValueContainsNullCharacter'() {
         when:
         writer.writeStartDocument()
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Don't convert to Spock, as Groovy intercepts equals/hashCode methods that we are trying to test
+public class CompactOrderedMapTest {
+
+    @Test
+    public void shouldBehaveLikeALinkedHashMapAcrossTheIndexThreshold() {
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.put("key" + i, i), map.put("key" + i, i));
+            assertEquals(expected.put("key" + (i / 2), -i), map.put("key" + (i / 2), -i));
+            if (i % 3 == 0) {
+                assertEquals(expected.remove("key" + (i / 3)), map.remove("key" + (i / 3)));
+            }
+            assertEquals(expected, map);
+            assertEquals(map, expected);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(expected.toString(), map.toString());
+        }
+        for (String key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertNull(map.get("missing"));
+    }
+
+    @Test
+    public void shouldIterateInInsertionOrder() {
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("c", 4);
+
+        assertEquals(asList("c", "a", "b"), asList(map.keySet().toArray()));
+        assertEquals(asList(4, 2, 3), asList(map.values().toArray()));
+        assertEquals("{c=4, a=2, b=3}", map.toString());
+    }
+
+    @Test
+    public void shouldSupportNullKeysAndValues() {
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        map.put(null, 1);
+        map.put("a", null);
+
+        assertEquals(Integer.valueOf(1), map.get(null));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsValue(null));
+        assertEquals(Integer.valueOf(1), map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void shouldRemoveAndSetThroughViews() {
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(Integer.toString(i), i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        map.keySet().remove("1");
+        map.values().remove(-3);
+
+        assertEquals(8, map.size());
+        assertEquals(Integer.valueOf(-5), map.get("5"));
+        assertNull(map.get("4"));
+        assertEquals(asList("5", "7", "9", "11", "13", "15", "17", "19"), asList(map.keySet().toArray()));
+    }
+
+    @Test
+    public void shouldFindEntriesAfterManyRemovalsInARow() {
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(Integer.toString(i), i);
+        }
+
+        map.keySet().removeIf(key -> Integer.parseInt(key) < 80);
+        map.remove("80");
+        map.remove("99");
+
+        assertEquals(18, map.size());
+        assertNull(map.get("50"));
+        assertNull(map.get("99"));
+        for (int i = 81; i < 99; i++) {
+            assertEquals(Integer.valueOf(i), map.get(Integer.toString(i)));
+        }
+        map.put("80", 80);
+        assertEquals(Integer.valueOf(80), map.get("80"));
+    }
+
+    @Test
+    public void shouldFailFastOnConcurrentModification() {
+        Map<String, Integer> map = new CompactOrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("c", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void shouldRejectANegativeInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactOrderedMap<String, Integer>(-1));
+    }
+}
@@ -30,6 +30,12 @@ import org.bson.conversions.Bson;
 import org.bson.json.JsonReader;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -152,6 +158,34 @@ public class DocumentTest {
         assertEquals(new BsonDocument("_id", new BsonBinary(uuid)), BsonDocument.parse(json));
     }
 
+    @Test
+    public void shouldRoundTripThroughJavaSerialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(document);
+        }
+
+        assertEquals(document, deserialize(bytes.toByteArray()));
+    }
+
+    @Test
+    public void shouldDeserializeTheFormSerializedByEarlierVersions() throws IOException, ClassNotFoundException {
+        // new Document("a", 1).append("b", "c"), serialized when Document was backed by a LinkedHashMap
+        String serialized = "rO0ABXNyABFvcmcuYnNvbi5Eb2N1bWVudFdmCeJ1yEnGAgABTAANZG9jdW1lbnRBc01hcHQAGUxqYXZhL3V0aWwvTGlua2Vk"
+                + "SGFzaE1hcDt4cHNyABdqYXZhLnV0aWwuTGlua2VkSGFzaE1hcDTATlwQbMD7AgABWgALYWNjZXNzT3JkZXJ4cgARamF2YS51"
+                + "dGlsLkhhc2hNYXAFB9rBwxZg0QMAAkYACmxvYWRGYWN0b3JJAAl0aHJlc2hvbGR4cD9AAAAAAAAMdwgAAAAQAAAAAnQAAWFz"
+                + "cgARamF2YS5sYW5nLkludGVnZXIS4qCk94GHOAIAAUkABXZhbHVleHIAEGphdmEubGFuZy5OdW1iZXKGrJUdC5TgiwIAAHhw"
+                + "AAAAAXQAAWJ0AAFjeAA=";
+
+        assertEquals(new Document("a", 1).append("b", "c"), deserialize(Base64.getDecoder().decode(serialized)));
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return inputStream.readObject();
+        }
+    }
+
     public class Name {
         private final String name;
 
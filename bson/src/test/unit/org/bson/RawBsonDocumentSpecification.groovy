@@ -28,6 +28,7 @@ import org.bson.json.JsonWriter
 import org.bson.json.JsonWriterSettings
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
 import java.nio.ByteOrder
 
 import static java.util.Arrays.asList
@@ -80,6 +81,24 @@ class RawBsonDocumentSpecification extends Specification {
         then:
         thrown(IllegalArgumentException)
 
+        when:
+        RawBsonDocument.fromByteBuf(null, 0, 5)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        RawBsonDocument.fromByteBuf(new ByteBufNIO(ByteBuffer.allocate(5)), 5, 5)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        RawBsonDocument.fromByteBuf(new ByteBufNIO(ByteBuffer.allocate(10)), 6, 5)
+
+        then:
+        thrown(IllegalArgumentException)
+
         when:
         new RawBsonDocument(null, new DocumentCodec())
 
@@ -179,6 +198,32 @@ class RawBsonDocumentSpecification extends Specification {
         rawDocument << createRawDocumentVariants()
     }
 
+    def 'should find fields whose names have the same hash code'() {
+        given:
+        def rawDocument = new RawBsonDocument(new BsonDocument('Aa', new BsonInt32(1)).append('BB', new BsonInt32(2)),
+                new BsonDocumentCodec())
+
+        expect:
+        'Aa'.hashCode() == 'BB'.hashCode()
+        rawDocument.get('Aa') == new BsonInt32(1)
+        rawDocument.get('BB') == new BsonInt32(2)
+        rawDocument.containsKey('BB')
+        rawDocument.size() == 2
+    }
+
+    def 'should find fields of an eagerly indexed wide document'() {
+        given:
+        def document = new BsonDocument()
+        (0..<100).each { document.append("f$it".toString(), new BsonInt32(it)) }
+        def rawDocument = new RawBsonDocument(document, new BsonDocumentCodec()).indexFields()
+
+        expect:
+        rawDocument.size() == 100
+        (0..<100).every { rawDocument.getInt32("f$it".toString()).value == it }
+        !rawDocument.containsKey('f100')
+        rawDocument.get('f100') == null
+    }
+
     def 'containValue should find an existing value'() {
         expect:
         rawDocument.containsValue(document.get('a'))
@@ -406,10 +451,31 @@ class RawBsonDocumentSpecification extends Specification {
         rawDocument << [
                 createRawDocumenFromDocument(),
                 createRawDocumentFromByteArray(),
-                createRawDocumentFromByteArrayOffsetLength()
+                createRawDocumentFromByteArrayOffsetLength(),
+                createRawDocumentFromByteBuf()
         ]
     }
 
+    def 'release should release the shared buffer'() {
+        given:
+        def byteBuf = new ByteBufNIO(ByteBuffer.wrap(getBytesFromDocument()))
+        def rawDocument = RawBsonDocument.fromByteBuf(byteBuf.retain(), 0, byteBuf.limit())
+        def subDocument = rawDocument.getDocument('c')
+
+        when:
+        rawDocument.release()
+
+        then:
+        byteBuf.getReferenceCount() == 1
+        subDocument == new BsonDocument('x', BsonBoolean.TRUE)
+
+        when:
+        createRawDocumentFromByteArray().release()
+
+        then:
+        noExceptionThrown()
+    }
+
     def 'should serialize and deserialize'() {
         given:
         def baos = new ByteArrayOutputStream()
@@ -432,7 +498,8 @@ class RawBsonDocumentSpecification extends Specification {
         [
                 createRawDocumenFromDocument(),
                 createRawDocumentFromByteArray(),
-                createRawDocumentFromByteArrayOffsetLength()
+                createRawDocumentFromByteArrayOffsetLength(),
+                createRawDocumentFromByteBuf()
         ]
     }
 
@@ -466,6 +533,13 @@ class RawBsonDocumentSpecification extends Specification {
         new RawBsonDocument(unstrippedBytes, 1, size)
     }
 
+    private static RawBsonDocument createRawDocumentFromByteBuf() {
+        def (int size, byte[] bytes) = getBytesFromOutputBuffer()
+        def unstrippedBytes = new byte[size + 2]
+        System.arraycopy(bytes, 0, unstrippedBytes, 1, size)
+        RawBsonDocument.fromByteBuf(new ByteBufNIO(ByteBuffer.wrap(unstrippedBytes)), 1, size)
+    }
+
     class TestEntry implements Map.Entry<String, BsonValue> {
 
         private final String key
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson.codecs;
+
+import org.bson.AbstractBsonReader;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.FieldSelection;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FieldSelectingCodecTest {
+    private static final RawBsonDocument DOCUMENT = RawBsonDocument.parse("{_id: 1, name: 'a', big: {x: [1, 2, 3], y: 'z'}, "
+            + "nested: {keep: 1, drop: {deep: true}}, items: [{keep: 1, drop: 2}, 3, {drop: 4}]}");
+
+    @Test
+    public void shouldDecodeOnlySelectedFields() {
+        Codec<BsonDocument> codec = new FieldSelectingCodec<>(new BsonDocumentCodec(),
+                FieldSelection.of("_id", "nested.keep", "items.keep"));
+
+        assertEquals(BsonDocument.parse("{_id: 1, nested: {keep: 1}, items: [{keep: 1}, 3, {}]}"), DOCUMENT.decode(codec));
+    }
+
+    @Test
+    public void shouldSelectWholeSubtreeWhenParentIsSelected() {
+        Codec<Document> codec = new FieldSelectingCodec<>(new DocumentCodec(), FieldSelection.of("big.x", "big", "missing"));
+
+        assertEquals(Document.parse("{big: {x: [1, 2, 3], y: 'z'}}"), DOCUMENT.decode(codec));
+    }
+
+    @Test
+    public void shouldDecodeNestedDocumentsWithSelection() {
+        Codec<BsonDocument> codec = new FieldSelectingCodec<>(new BsonDocumentCodec(), FieldSelection.of("keep"));
+        RawBsonDocument outer = RawBsonDocument.parse("{batch: [{keep: 1, drop: 2}, {keep: 3, drop: 4}], after: true}");
+
+        List<BsonDocument> batch = outer.decode((reader, decoderContext) -> {
+            reader.readStartDocument();
+            reader.readName("batch");
+            reader.readStartArray();
+            List<BsonDocument> documents = new ArrayList<>();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                documents.add(codec.decode(reader, decoderContext));
+            }
+            reader.readEndArray();
+            assertEquals(true, reader.readBoolean("after"));
+            reader.readEndDocument();
+            return documents;
+        });
+
+        assertEquals(BsonArray.parse("[{keep: 1}, {keep: 3}]"), new BsonArray(batch));
+    }
+
+    @Test
+    public void shouldLeaveTheReaderDoneAfterDecodingATopLevelDocument() {
+        Codec<BsonDocument> codec = new FieldSelectingCodec<>(new BsonDocumentCodec(), FieldSelection.of("_id"));
+
+        try (BsonBinaryReader reader = new BsonBinaryReader(DOCUMENT.getByteBuffer().asNIO())) {
+            assertEquals(BsonDocument.parse("{_id: 1}"), codec.decode(reader, DecoderContext.builder().build()));
+            assertEquals(AbstractBsonReader.State.DONE, reader.getState());
+        }
+    }
+
+    @Test
+    public void shouldDecodeAllFieldsWithOtherReaders() {
+        Codec<BsonDocument> codec = new FieldSelectingCodec<>(new BsonDocumentCodec(), FieldSelection.of("_id"));
+
+        assertEquals(DOCUMENT, codec.decode(new BsonDocumentReader(DOCUMENT), DecoderContext.builder().build()));
+    }
+
+    @Test
+    public void shouldRejectEmptyPaths() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.of(""));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.of("a..b"));
+    }
+}
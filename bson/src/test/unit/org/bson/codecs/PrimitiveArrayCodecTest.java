@@ -0,0 +1,79 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs;
+
+import org.bson.BsonArray;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonString;
+import org.bson.types.Decimal128;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class PrimitiveArrayCodecTest extends CodecTestCase {
+
+    @Test
+    public void shouldRoundTripPrimitiveArrays() {
+        int[] ints = {Integer.MIN_VALUE, 0, Integer.MAX_VALUE};
+        long[] longs = {Long.MIN_VALUE, 0, Long.MAX_VALUE};
+        double[] doubles = {-1.5, 0, Double.MAX_VALUE};
+
+        assertArrayEquals(ints, roundTrip(ints, new IntArrayCodec()));
+        assertArrayEquals(longs, roundTrip(longs, new LongArrayCodec()));
+        assertArrayEquals(doubles, roundTrip(doubles, new DoubleArrayCodec()), 0);
+        assertEquals(0, roundTrip(new int[0], new IntArrayCodec()).length);
+    }
+
+    @Test
+    public void shouldEncodeAsArraysOfTheMatchingBsonType() {
+        assertEquals(new BsonArray(asList(new BsonInt32(1), new BsonInt32(2))), getEncodedValue(new int[] {1, 2}, new IntArrayCodec()));
+        assertEquals(new BsonArray(asList(new BsonInt64(1), new BsonInt64(2))), getEncodedValue(new long[] {1, 2}, new LongArrayCodec()));
+        assertEquals(new BsonArray(asList(new BsonDouble(1), new BsonDouble(2))),
+                getEncodedValue(new double[] {1, 2}, new DoubleArrayCodec()));
+    }
+
+    @Test
+    public void shouldHandleAlternativeNumberValues() {
+        BsonArray array = new BsonArray(asList(new BsonInt32(1), new BsonInt64(2), new BsonDouble(3),
+                new BsonDecimal128(Decimal128.parse("4"))));
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, getDecodedValue(array, new IntArrayCodec()));
+        assertArrayEquals(new long[] {1, 2, 3, 4}, getDecodedValue(array, new LongArrayCodec()));
+        assertArrayEquals(new double[] {1, 2, 3, 4}, getDecodedValue(array, new DoubleArrayCodec()), 0);
+    }
+
+    @Test(expected = BsonInvalidOperationException.class)
+    public void shouldThrowWhenHandlingLossyValues() {
+        getDecodedValue(new BsonArray(asList(new BsonInt32(1), new BsonInt64(Long.MAX_VALUE))), new IntArrayCodec());
+    }
+
+    @Test(expected = BsonInvalidOperationException.class)
+    public void shouldThrowWhenHandlingNonNumericValues() {
+        getDecodedValue(new BsonArray(asList(new BsonDouble(1), new BsonString("2"))), new DoubleArrayCodec());
+    }
+
+    private <T> T roundTrip(final T value, final Codec<T> codec) {
+        return getDecodedValue(getEncodedValue(value, codec), codec);
+    }
+}
@@ -55,6 +55,9 @@ class ValueCodecProviderSpecification extends Specification {
         provider.get(Pattern, registry) instanceof PatternCodec
         provider.get(Short, registry) instanceof ShortCodec
         provider.get(byte[], registry) instanceof ByteArrayCodec
+        provider.get(int[], registry) instanceof IntArrayCodec
+        provider.get(long[], registry) instanceof LongArrayCodec
+        provider.get(double[], registry) instanceof DoubleArrayCodec
         provider.get(Float, registry) instanceof FloatCodec
 
         provider.get(Binary, registry) instanceof BinaryCodec
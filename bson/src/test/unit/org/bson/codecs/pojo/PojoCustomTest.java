@@ -101,6 +101,7 @@ import static org.bson.codecs.pojo.Conventions.SET_PRIVATE_FIELDS_CONVENTION;
 import static org.bson.codecs.pojo.Conventions.USE_GETTERS_FOR_SETTERS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("deprecation")
@@ -591,6 +592,24 @@ public final class PojoCustomTest extends PojoTestCase {
         decodingShouldFail(getCodec(InvalidGetterAndSetterModel.class), "{'integerField': 42, 'stringField': 'myString'}");
     }
 
+    @Test
+    public void testInvalidGetterAndSetterModelExceptionsAreTheCause() {
+        InvalidGetterAndSetterModel model = new InvalidGetterAndSetterModel(42, "myString");
+        ClassModel<InvalidGetterAndSetterModel> classModel = ClassModel.builder(InvalidGetterAndSetterModel.class).build();
+        @SuppressWarnings("unchecked")
+        PropertyAccessor<Integer> integerFieldAccessor =
+                (PropertyAccessor<Integer>) classModel.getPropertyModel("integerField").getPropertyAccessor();
+        PropertyAccessor<?> stringFieldAccessor = classModel.getPropertyModel("stringField").getPropertyAccessor();
+
+        CodecConfigurationException e = assertThrows(CodecConfigurationException.class, () -> stringFieldAccessor.get(model));
+        assertEquals("Unable to get value for property 'stringField' in InvalidGetterAndSetterModel", e.getMessage());
+        assertTrue(e.getCause() instanceof UnsupportedOperationException);
+
+        e = assertThrows(CodecConfigurationException.class, () -> integerFieldAccessor.set(model, 1));
+        assertEquals("Unable to set value for property 'integerField' in InvalidGetterAndSetterModel", e.getMessage());
+        assertTrue(e.getCause() instanceof UnsupportedOperationException);
+    }
+
     @Test(expected = CodecConfigurationException.class)
     public void testInvalidBsonRepresentationStringDecoding() {
         decodingShouldFail(getCodec(BsonRepresentationUnsupportedString.class), "{'id': 'hello', s: 3}");
@@ -42,6 +42,18 @@ class CodecCacheSpecification extends Specification {
         !cache.get(cacheKey).isPresent()
     }
 
+    def 'should return the codec cached for the class without a cache key'() {
+        when:
+        def codec = new MinKeyCodec()
+        def cache = new CodecCache()
+        cache.putIfAbsent(new CodecCache.CodecCacheKey(MinKey, null), codec)
+
+        then:
+        cache.get(MinKey).is(codec)
+        cache.get(Integer) == null
+        !cache.get(new CodecCache.CodecCacheKey(MinKey, [Integer])).isPresent()
+    }
+
     def 'should return the cached codec if a codec for the parameterized class exists'() {
         when:
         def codec = new MinKeyCodec()
@@ -159,6 +159,32 @@ class ByteBufferBsonInputSpecification extends Specification {
         stream.position == 8
     }
 
+    def 'should read a UTF-8 string that starts with ASCII characters'() {
+        given:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([7, 0, 0, 0, 0x4a, 0x61, 0x76, 0xe0, 0xa4, 0x80, 0] as byte[])))
+
+        expect:
+        stream.readString() == 'Jav\u0900'
+        stream.position == 11
+    }
+
+    def 'should read strings and CStrings from direct, read-only and sliced buffers'() {
+        given:
+        def bytes = [5, 0, 0, 0, 0x4a, 0x61, 0x76, 0x61, 0, 0xe0, 0xa4, 0x80, 0, 0x4a, 0x61, 0x76, 0x61, 0] as byte[]
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(buffer(bytes)))
+
+        expect:
+        stream.readString() == 'Java'
+        stream.readCString() == '\u0900'
+        stream.readCString() == 'Java'
+        stream.position == 18
+
+        where:
+        buffer << [{ byte[] bytes -> ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() },
+                   { byte[] bytes -> ByteBuffer.wrap(bytes).asReadOnlyBuffer() },
+                   { byte[] bytes -> ByteBuffer.wrap([1, 2] as byte[] + bytes).position(2).slice() }]
+    }
+
     def 'should read an empty CString'() {
         given:
         def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([0] as byte[])))
@@ -227,6 +253,65 @@ class ByteBufferBsonInputSpecification extends Specification {
         e.getMessage() == 'Found a BSON string that is not null-terminated'
     }
 
+    def 'should read CStrings through a field name cache'() {
+        given:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(bytes as byte[])), new FieldNameCache())
+
+        expect:
+        stream.readCString() == expected
+        stream.position == bytes.size()
+
+        where:
+        bytes                                                  | expected
+        [0]                                                    | ''
+        [0x4a, 0]                                              | 'J'
+        [0x4a, 0x61, 0x76, 0x61, 0]                            | 'Java'
+        [0xe0, 0xa4, 0x80, 0]                                  | '\u0900'
+        ([0x61] * (FieldNameCache.MAX_NAME_LENGTH + 1)) + [0]  | 'a' * (FieldNameCache.MAX_NAME_LENGTH + 1)
+    }
+
+    def 'should return the cached instance of a repeated CString'() {
+        given:
+        def cache = new FieldNameCache()
+        def bytes = [0x4a, 0x61, 0x76, 0x61, 0, 0x4a, 0x61, 0x76, 0x61, 0, 0x4a, 0x61, 0x76, 0x62, 0] as byte[]
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(bytes)), cache)
+
+        when:
+        def first = stream.readCString()
+        def second = stream.readCString()
+        def third = stream.readCString()
+
+        then:
+        first == 'Java'
+        second.is(first)
+        third == 'Javb'
+        stream.position == 15
+
+        when:
+        stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(bytes)), cache)
+
+        then:
+        stream.readCString().is(first)
+    }
+
+    def 'should handle invalid CString not null terminated when reading through a field name cache'() {
+        when:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([0x4a, 0x61] as byte[])), new FieldNameCache())
+        stream.readCString()
+
+        then:
+        def e = thrown(BsonSerializationException)
+        e.getMessage() == 'Found a BSON string that is not null-terminated'
+    }
+
+    def 'field name cache should require a positive capacity'() {
+        when:
+        new FieldNameCache(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def 'should read from position'() {
         given:
         def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([4, 3, 2, 1] as byte[])))
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb;
+
+import com.mongodb.annotations.NotThreadSafe;
+import com.mongodb.annotations.ThreadSafe;
+import com.mongodb.internal.connection.ConfigurableCompressionPolicy;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.mongodb.assertions.Assertions.isTrueArgument;
+import static com.mongodb.assertions.Assertions.notNull;
+
+/**
+ * A policy that decides which messages are compressed when a compressor has been negotiated with the server.
+ *
+ * <p>
+ * A single instance is shared by all connections of a client, so implementations must be thread-safe.  Regardless of the policy, the
+ * driver never compresses security-sensitive commands such as those used for authentication.
+ * </p>
+ *
+ * @see MongoClientSettings.Builder#compressionPolicy(CompressionPolicy)
+ * @see MongoClientSettings#getCompressorList()
+ * @since 4.9
+ */
+@ThreadSafe
+public interface CompressionPolicy {
+
+    /**
+     * Gets a policy that compresses every message that may be compressed.  This is the default policy.
+     *
+     * @return the policy
+     */
+    static CompressionPolicy compressAll() {
+        return ConfigurableCompressionPolicy.COMPRESS_ALL;
+    }
+
+    /**
+     * Gets a builder for a policy that decides based on the size of the message, the name of the command, and, optionally, the compression
+     * ratio recently achieved for the command.
+     *
+     * @return the builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether a message should be compressed.
+     *
+     * @param commandName the name of the command, which is the first key of the command document
+     * @param messageSize the size of the uncompressed message in bytes
+     * @return true if the message should be compressed
+     */
+    boolean shouldCompress(String commandName, int messageSize);
+
+    /**
+     * Notifies the policy that a message was compressed.  The default implementation does nothing.
+     *
+     * @param commandName the name of the command, which is the first key of the command document
+     * @param uncompressedSize the size of the uncompressed message in bytes
+     * @param compressedSize the size of the compressed message in bytes
+     */
+    default void messageCompressed(final String commandName, final int uncompressedSize, final int compressedSize) {
+    }
+
+    /**
+     * A builder for the configurable compression policy.
+     *
+     * @see #builder()
+     */
+    @NotThreadSafe
+    final class Builder {
+        private int minimumMessageSize;
+        private Set<String> includedCommands = Collections.emptySet();
+        private Set<String> excludedCommands = Collections.emptySet();
+        private double minimumCompressionRatio;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the size in bytes below which messages are not compressed.  Small messages, such as most {@code getMore} commands, cost
+         * CPU to compress and gain little or nothing in size.
+         *
+         * <p>Defaults to 0, meaning that messages of any size are compressed.</p>
+         *
+         * @param minimumMessageSize the minimum message size in bytes, which must be &gt;= 0
+         * @return this
+         */
+        public Builder minimumMessageSize(final int minimumMessageSize) {
+            isTrueArgument("minimumMessageSize >= 0", minimumMessageSize >= 0);
+            this.minimumMessageSize = minimumMessageSize;
+            return this;
+        }
+
+        /**
+         * Sets the names of the commands to compress.  If not empty, messages for any other command are not compressed.
+         *
+         * <p>Defaults to an empty set.</p>
+         *
+         * @param includedCommands the names of the commands to compress
+         * @return this
+         */
+        public Builder includedCommands(final Set<String> includedCommands) {
+            this.includedCommands = new HashSet<>(notNull("includedCommands", includedCommands));
+            return this;
+        }
+
+        /**
+         * Sets the names of the commands not to compress.  Exclusion takes precedence over inclusion.
+         *
+         * <p>Defaults to an empty set.</p>
+         *
+         * @param excludedCommands the names of the commands not to compress
+         * @return this
+         */
+        public Builder excludedCommands(final Set<String> excludedCommands) {
+            this.excludedCommands = new HashSet<>(notNull("excludedCommands", excludedCommands));
+            return this;
+        }
+
+        /**
+         * Sets the minimum compression ratio, the uncompressed size divided by the compressed size, that makes compression worthwhile.
+         *
+         * <p>
+         * If greater than 0, the policy is adaptive: it tracks a moving average of the ratio achieved for each command, and stops
+         * compressing messages for a command whose average falls below the minimum.  A small fraction of those messages is still
+         * compressed, so that the policy notices if the ratio improves.
+         * </p>
+         *
+         * <p>Defaults to 0, meaning that the policy is not adaptive.</p>
+         *
+         * @param minimumCompressionRatio the minimum compression ratio, which must be &gt;= 0
+         * @return this
+         */
+        public Builder minimumCompressionRatio(final double minimumCompressionRatio) {
+            isTrueArgument("minimumCompressionRatio >= 0", minimumCompressionRatio >= 0);
+            this.minimumCompressionRatio = minimumCompressionRatio;
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return the compression policy
+         */
+        public CompressionPolicy build() {
+            return new ConfigurableCompressionPolicy(minimumMessageSize, includedCommands, excludedCommands, minimumCompressionRatio);
+        }
+    }
+}
@@ -98,6 +98,8 @@ public final class MongoClientSettings {
     private final SslSettings sslSettings;
     private final String applicationName;
     private final List<MongoCompressor> compressorList;
+    private final CompressionPolicy compressionPolicy;
+    private final int fieldNameCacheSize;
     private final UuidRepresentation uuidRepresentation;
     private final ServerApi serverApi;
 
@@ -182,6 +184,8 @@ public final class MongoClientSettings {
         private MongoCredential credential;
         private String applicationName;
         private List<MongoCompressor> compressorList = Collections.emptyList();
+        private CompressionPolicy compressionPolicy = CompressionPolicy.compressAll();
+        private int fieldNameCacheSize;
         private UuidRepresentation uuidRepresentation = UuidRepresentation.UNSPECIFIED;
         private ServerApi serverApi;
 
@@ -200,6 +204,8 @@ public final class MongoClientSettings {
             applicationName = settings.getApplicationName();
             commandListeners = new ArrayList<>(settings.getCommandListeners());
             compressorList = new ArrayList<>(settings.getCompressorList());
+            compressionPolicy = settings.getCompressionPolicy();
+            fieldNameCacheSize = settings.getFieldNameCacheSize();
             codecRegistry = settings.getCodecRegistry();
             readPreference = settings.getReadPreference();
             writeConcern = settings.getWriteConcern();
@@ -505,6 +511,38 @@ public final class MongoClientSettings {
             return this;
         }
 
+        /**
+         * Sets the policy that decides which messages are compressed, once a compressor from the compressor list has been negotiated
+         * with the server.
+         *
+         * @param compressionPolicy the compression policy, which may not be null
+         * @return this
+         * @see #getCompressionPolicy()
+         * @see CompressionPolicy#builder()
+         * @since 4.9
+         * @mongodb.server.release 3.4
+         */
+        public Builder compressionPolicy(final CompressionPolicy compressionPolicy) {
+            this.compressionPolicy = notNull("compressionPolicy", compressionPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the number of field names that each connection caches while decoding replies, so that names repeated across the
+         * documents of a reply, and across replies, are decoded and allocated only once.
+         *
+         * @param fieldNameCacheSize the maximum number of field names cached by each connection, which must not be negative, with 0
+         *                           meaning that field names are not cached
+         * @return this
+         * @see #getFieldNameCacheSize()
+         * @since 4.9
+         */
+        public Builder fieldNameCacheSize(final int fieldNameCacheSize) {
+            isTrueArgument("fieldNameCacheSize >= 0", fieldNameCacheSize >= 0);
+            this.fieldNameCacheSize = fieldNameCacheSize;
+            return this;
+        }
+
         /**
          * Sets the UUID representation to use when encoding instances of {@link java.util.UUID} and when decoding BSON binary values with
          * subtype of 3.
@@ -726,6 +764,32 @@ public final class MongoClientSettings {
         return Collections.unmodifiableList(compressorList);
     }
 
+    /**
+     * Gets the policy that decides which messages are compressed, once a compressor from the compressor list has been negotiated with
+     * the server.
+     *
+     * <p>Default is {@link CompressionPolicy#compressAll()}.</p>
+     *
+     * @return the compression policy
+     * @since 4.9
+     * @mongodb.server.release 3.4
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * Gets the number of field names that each connection caches while decoding replies.
+     *
+     * <p>Default is 0, meaning that field names are not cached.</p>
+     *
+     * @return the maximum number of field names cached by each connection
+     * @since 4.9
+     */
+    public int getFieldNameCacheSize() {
+        return fieldNameCacheSize;
+    }
+
     /**
      * Gets the UUID representation to use when encoding instances of {@link java.util.UUID} and when decoding BSON binary values with
      * subtype of 3.
@@ -900,6 +964,8 @@ public final class MongoClientSettings {
                 && Objects.equals(sslSettings, that.sslSettings)
                 && Objects.equals(applicationName, that.applicationName)
                 && Objects.equals(compressorList, that.compressorList)
+                && Objects.equals(compressionPolicy, that.compressionPolicy)
+                && fieldNameCacheSize == that.fieldNameCacheSize
                 && uuidRepresentation == that.uuidRepresentation
                 && Objects.equals(serverApi, that.serverApi)
                 && Objects.equals(autoEncryptionSettings, that.autoEncryptionSettings)
@@ -910,8 +976,9 @@ public final class MongoClientSettings {
     public int hashCode() {
         return Objects.hash(readPreference, writeConcern, retryWrites, retryReads, readConcern, credential, streamFactoryFactory,
                 commandListeners, codecRegistry, loggerSettings, clusterSettings, socketSettings, heartbeatSocketSettings,
-                connectionPoolSettings, serverSettings, sslSettings, applicationName, compressorList, uuidRepresentation, serverApi,
-                autoEncryptionSettings, heartbeatSocketTimeoutSetExplicitly, heartbeatConnectTimeoutSetExplicitly, contextProvider);
+                connectionPoolSettings, serverSettings, sslSettings, applicationName, compressorList, compressionPolicy, fieldNameCacheSize,
+                uuidRepresentation, serverApi, autoEncryptionSettings, heartbeatSocketTimeoutSetExplicitly,
+                heartbeatConnectTimeoutSetExplicitly, contextProvider);
     }
 
     @Override
@@ -935,6 +1002,8 @@ public final class MongoClientSettings {
                 + ", sslSettings=" + sslSettings
                 + ", applicationName='" + applicationName + '\''
                 + ", compressorList=" + compressorList
+                + ", compressionPolicy=" + compressionPolicy
+                + ", fieldNameCacheSize=" + fieldNameCacheSize
                 + ", uuidRepresentation=" + uuidRepresentation
                 + ", serverApi=" + serverApi
                 + ", autoEncryptionSettings=" + autoEncryptionSettings
@@ -960,6 +1029,8 @@ public final class MongoClientSettings {
         connectionPoolSettings = builder.connectionPoolSettingsBuilder.build();
         sslSettings = builder.sslSettingsBuilder.build();
         compressorList = builder.compressorList;
+        compressionPolicy = builder.compressionPolicy;
+        fieldNameCacheSize = builder.fieldNameCacheSize;
         uuidRepresentation = builder.uuidRepresentation;
         serverApi = builder.serverApi;
         autoEncryptionSettings = builder.autoEncryptionSettings;
@@ -33,7 +33,7 @@ import static com.mongodb.assertions.Assertions.notNull;
 public final class MongoCompressor {
 
     /**
-     * The property key for defining the compression level.
+     * The property key for defining the compression level.  It applies to the zlib and zstd compressors.
      */
     public static final String LEVEL = "LEVEL";
 
@@ -62,7 +62,8 @@ public final class MongoCompressor {
     }
 
     /**
-     * Create an instance for zstd compression.
+     * Create an instance for zstd compression.  The compression level can be configured with the {@link #LEVEL} property, and defaults
+     * to 3, the default level of the zstd library.
      *
      * @return A compressor based on the zstd compression algorithm
      * @mongodb.server.release 4.2
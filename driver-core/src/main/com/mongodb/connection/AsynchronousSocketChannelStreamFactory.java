@@ -31,7 +31,7 @@ import static com.mongodb.assertions.Assertions.notNull;
  * @since 3.0
  */
 public class AsynchronousSocketChannelStreamFactory implements StreamFactory {
-    private final PowerOfTwoBufferPool bufferProvider = PowerOfTwoBufferPool.DEFAULT;
+    private final PowerOfTwoBufferPool bufferProvider;
     private final SocketSettings settings;
     private final AsynchronousChannelGroup group;
 
@@ -56,6 +56,11 @@ public class AsynchronousSocketChannelStreamFactory implements StreamFactory {
      */
     public AsynchronousSocketChannelStreamFactory(final SocketSettings settings, final SslSettings sslSettings,
                                                   @Nullable final AsynchronousChannelGroup group) {
+        this(settings, sslSettings, group, PowerOfTwoBufferPool.DEFAULT);
+    }
+
+    AsynchronousSocketChannelStreamFactory(final SocketSettings settings, final SslSettings sslSettings,
+                                           @Nullable final AsynchronousChannelGroup group, final PowerOfTwoBufferPool bufferProvider) {
         if (sslSettings.isEnabled()) {
             throw new UnsupportedOperationException("No SSL support in java.nio.channels.AsynchronousSocketChannel. For SSL support use "
                     + "com.mongodb.connection.TlsChannelStreamFactoryFactory");
@@ -63,6 +68,7 @@ public class AsynchronousSocketChannelStreamFactory implements StreamFactory {
 
         this.settings = notNull("settings", settings);
         this.group = group;
+        this.bufferProvider = notNull("bufferProvider", bufferProvider);
     }
 
     @Override
@@ -16,6 +16,8 @@
 
 package com.mongodb.connection;
 
+import com.mongodb.internal.connection.PowerOfTwoBufferPool;
+
 import java.nio.channels.AsynchronousChannelGroup;
 
 /**
@@ -26,6 +28,7 @@ import java.nio.channels.AsynchronousChannelGroup;
  */
 public final class AsynchronousSocketChannelStreamFactoryFactory implements StreamFactoryFactory {
     private final AsynchronousChannelGroup group;
+    private final boolean directBuffers;
 
     /**
      * Gets a builder for an instance of {@code AsynchronousSocketChannelStreamFactoryFactory}.
@@ -43,6 +46,7 @@ public final class AsynchronousSocketChannelStreamFactoryFactory implements Stre
      */
     public static final class Builder {
         private AsynchronousChannelGroup group;
+        private boolean directBuffers;
 
         /**
          * Sets the {@code AsynchronousChannelGroup}
@@ -55,6 +59,21 @@ public final class AsynchronousSocketChannelStreamFactoryFactory implements Stre
             return this;
         }
 
+        /**
+         * Sets whether the buffers used for socket reads and writes are allocated outside of the Java heap.
+         *
+         * <p>Direct buffers avoid the copy into a temporary direct buffer that the JDK makes for every socket operation on a heap
+         * buffer, at the cost of memory that is only reclaimed when the pooled buffers are pruned.  Defaults to false.</p>
+         *
+         * @param directBuffers true to use direct buffers
+         * @return this
+         * @since 4.9
+         */
+        public Builder directBuffers(final boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
         /**
          * Build an instance of {@code AsynchronousSocketChannelStreamFactoryFactory}.
          * @return the AsynchronousSocketChannelStreamFactoryFactory
@@ -66,10 +85,12 @@ public final class AsynchronousSocketChannelStreamFactoryFactory implements Stre
 
     @Override
     public StreamFactory create(final SocketSettings socketSettings, final SslSettings sslSettings) {
-        return new AsynchronousSocketChannelStreamFactory(socketSettings, sslSettings,  group);
+        return new AsynchronousSocketChannelStreamFactory(socketSettings, sslSettings, group,
+                directBuffers ? PowerOfTwoBufferPool.direct() : PowerOfTwoBufferPool.DEFAULT);
     }
 
     private AsynchronousSocketChannelStreamFactoryFactory(final Builder builder) {
         group = builder.group;
+        directBuffers = builder.directBuffers;
     }
 }
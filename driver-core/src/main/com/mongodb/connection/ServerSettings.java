@@ -21,9 +21,12 @@ import com.mongodb.annotations.Immutable;
 import com.mongodb.annotations.NotThreadSafe;
 import com.mongodb.event.ServerListener;
 import com.mongodb.event.ServerMonitorListener;
+import com.mongodb.lang.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import static com.mongodb.assertions.Assertions.notNull;
@@ -40,6 +43,8 @@ public class ServerSettings {
     private final long minHeartbeatFrequencyMS;
     private final List<ServerListener> serverListeners;
     private final List<ServerMonitorListener> serverMonitorListeners;
+    @Nullable
+    private final ThreadFactory monitorThreadFactory;
 
     /**
      * Creates a builder for ServerSettings.
@@ -70,6 +75,7 @@ public class ServerSettings {
         private long minHeartbeatFrequencyMS = 500;
         private List<ServerListener> serverListeners = new ArrayList<>();
         private List<ServerMonitorListener> serverMonitorListeners = new ArrayList<>();
+        private ThreadFactory monitorThreadFactory;
 
         private Builder() {
         }
@@ -89,6 +95,7 @@ public class ServerSettings {
             minHeartbeatFrequencyMS = serverSettings.minHeartbeatFrequencyMS;
             serverListeners = new ArrayList<>(serverSettings.serverListeners);
             serverMonitorListeners = new ArrayList<>(serverSettings.serverMonitorListeners);
+            monitorThreadFactory = serverSettings.monitorThreadFactory;
             return this;
         }
 
@@ -169,6 +176,24 @@ public class ServerSettings {
             return this;
         }
 
+        /**
+         * Sets the factory for the threads that monitor each server and measure its round trip time.  By default each server is
+         * monitored by two dedicated daemon platform threads.
+         *
+         * <p>Monitor threads spend nearly all of their time blocked waiting for the next heartbeat or for a response, so an application
+         * with many clients can greatly reduce the number of platform threads it needs by using a factory of virtual threads, e.g.
+         * {@code Thread.ofVirtual().factory()} on Java 21 and later.  The threads created by the factory are renamed to identify the
+         * server they monitor, and are made daemon threads, as monitors only stop when the client is closed.</p>
+         *
+         * @param monitorThreadFactory the monitor thread factory, which may be null to use dedicated platform threads
+         * @return this
+         * @since 4.9
+         */
+        public Builder monitorThreadFactory(@Nullable final ThreadFactory monitorThreadFactory) {
+            this.monitorThreadFactory = monitorThreadFactory;
+            return this;
+        }
+
         /**
          * Takes the settings from the given {@code ConnectionString} and applies them to the builder
          *
@@ -235,6 +260,19 @@ public class ServerSettings {
         return serverMonitorListeners;
     }
 
+    /**
+     * Gets the factory for the threads that monitor each server and measure its round trip time.  The default value is null, in which
+     * case each server is monitored by dedicated daemon platform threads.
+     *
+     * @return the monitor thread factory, which may be null
+     * @see Builder#monitorThreadFactory(ThreadFactory)
+     * @since 4.9
+     */
+    @Nullable
+    public ThreadFactory getMonitorThreadFactory() {
+        return monitorThreadFactory;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -259,6 +297,9 @@ public class ServerSettings {
         if (!serverMonitorListeners.equals(that.serverMonitorListeners)) {
             return false;
         }
+        if (!Objects.equals(monitorThreadFactory, that.monitorThreadFactory)) {
+            return false;
+        }
 
         return true;
     }
@@ -269,6 +310,7 @@ public class ServerSettings {
         result = 31 * result + (int) (minHeartbeatFrequencyMS ^ (minHeartbeatFrequencyMS >>> 32));
         result = 31 * result + serverListeners.hashCode();
         result = 31 * result + serverMonitorListeners.hashCode();
+        result = 31 * result + Objects.hashCode(monitorThreadFactory);
         return result;
     }
 
@@ -279,6 +321,7 @@ public class ServerSettings {
                + ", minHeartbeatFrequencyMS=" + minHeartbeatFrequencyMS
                + ", serverListeners='" + serverListeners + '\''
                + ", serverMonitorListeners='" + serverMonitorListeners + '\''
+               + ", monitorThreadFactory=" + monitorThreadFactory
                + '}';
     }
 
@@ -287,5 +330,6 @@ public class ServerSettings {
         minHeartbeatFrequencyMS = builder.minHeartbeatFrequencyMS;
         serverListeners = unmodifiableList(builder.serverListeners);
         serverMonitorListeners = unmodifiableList(builder.serverMonitorListeners);
+        monitorThreadFactory = builder.monitorThreadFactory;
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.connection;
+
+import com.mongodb.internal.connection.PowerOfTwoBufferPool;
+import com.mongodb.internal.connection.SocketChannelStream;
+
+/**
+ * A {@code StreamFactoryFactory} implementation for synchronous streams over {@code SocketChannel}s.
+ *
+ * <p>Compared with the default {@code Socket}-based streams, these streams write each message with a single gathering write, and read
+ * ahead into a per-connection buffer, so that a small reply is usually received with a single system call.  Each stream owns a
+ * {@code Selector}, which it uses to apply the read timeout.  The streams do not support SSL or asynchronous operations, so this factory
+ * is only suitable for the synchronous driver without TLS.</p>
+ *
+ * @see java.nio.channels.SocketChannel
+ * @since 4.9
+ */
+public final class SocketChannelStreamFactoryFactory implements StreamFactoryFactory {
+    private final boolean directBuffers;
+
+    /**
+     * Gets a builder for an instance of {@code SocketChannelStreamFactoryFactory}.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for an instance of {@code SocketChannelStreamFactoryFactory}.
+     */
+    public static final class Builder {
+        private boolean directBuffers;
+
+        /**
+         * Sets whether the buffers used for socket reads and writes are allocated outside of the Java heap.
+         *
+         * <p>Direct buffers avoid the copy into a temporary direct buffer that the JDK makes for every socket operation on a heap
+         * buffer, at the cost of memory that is only reclaimed when the pooled buffers are pruned.  Defaults to false.</p>
+         *
+         * @param directBuffers true to use direct buffers
+         * @return this
+         */
+        public Builder directBuffers(final boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
+        /**
+         * Build an instance of {@code SocketChannelStreamFactoryFactory}.
+         * @return the SocketChannelStreamFactoryFactory
+         */
+        public SocketChannelStreamFactoryFactory build() {
+            return new SocketChannelStreamFactoryFactory(this);
+        }
+    }
+
+    @Override
+    public StreamFactory create(final SocketSettings socketSettings, final SslSettings sslSettings) {
+        if (sslSettings.isEnabled()) {
+            throw new UnsupportedOperationException("No SSL support in java.nio.channels.SocketChannel. For SSL support use "
+                    + "com.mongodb.connection.SocketStreamFactory");
+        }
+        PowerOfTwoBufferPool bufferPool = directBuffers ? PowerOfTwoBufferPool.direct() : PowerOfTwoBufferPool.DEFAULT;
+        return serverAddress -> new SocketChannelStream(serverAddress, socketSettings, sslSettings, bufferPool);
+    }
+
+    private SocketChannelStreamFactoryFactory(final Builder builder) {
+        directBuffers = builder.directBuffers;
+    }
+}
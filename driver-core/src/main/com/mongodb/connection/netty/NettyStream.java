@@ -34,6 +34,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -248,7 +249,9 @@ final class NettyStream implements Stream {
     public void writeAsync(final List<ByteBuf> buffers, final AsyncCompletionHandler<Void> handler) {
         CompositeByteBuf composite = PooledByteBufAllocator.DEFAULT.compositeBuffer();
         for (ByteBuf cur : buffers) {
-            composite.addComponent(true, ((NettyByteBuf) cur).asByteBuf());
+            // a buffer not allocated by this stream, such as one that views the bytes of a document written by reference, is wrapped
+            composite.addComponent(true,
+                    cur instanceof NettyByteBuf ? ((NettyByteBuf) cur).asByteBuf() : Unpooled.wrappedBuffer(cur.asNIO()));
         }
 
         channel.writeAndFlush(composite).addListener((ChannelFutureListener) future -> {
@@ -55,6 +55,10 @@ public final class FindOptions {
     private boolean returnKey;
     private boolean showRecordId;
     private Boolean allowDiskUse;
+    private boolean exhaust;
+    private int prefetchDepth;
+    private boolean lazyDecoding;
+    private boolean shareReplyBuffers;
 
     /**
      * Construct a new instance.
@@ -67,7 +71,8 @@ public final class FindOptions {
             final int batchSize, final int limit, final Bson projection, final long maxTimeMS, final long maxAwaitTimeMS, final int skip,
             final Bson sort, final CursorType cursorType, final boolean noCursorTimeout, final boolean oplogReplay, final boolean partial,
             final Collation collation, final BsonValue comment, final Bson hint, final String hintString, final Bson variables,
-            final Bson max, final Bson min, final boolean returnKey, final boolean showRecordId, final Boolean allowDiskUse) {
+            final Bson max, final Bson min, final boolean returnKey, final boolean showRecordId, final Boolean allowDiskUse,
+            final boolean exhaust, final int prefetchDepth, final boolean lazyDecoding, final boolean shareReplyBuffers) {
         this.batchSize = batchSize;
         this.limit = limit;
         this.projection = projection;
@@ -89,12 +94,17 @@ public final class FindOptions {
         this.returnKey = returnKey;
         this.showRecordId = showRecordId;
         this.allowDiskUse = allowDiskUse;
+        this.exhaust = exhaust;
+        this.prefetchDepth = prefetchDepth;
+        this.lazyDecoding = lazyDecoding;
+        this.shareReplyBuffers = shareReplyBuffers;
     }
     //CHECKSTYLE:ON
 
     public FindOptions withBatchSize(final int batchSize) {
         return new FindOptions(batchSize, limit, projection, maxTimeMS, maxAwaitTimeMS, skip, sort, cursorType, noCursorTimeout,
-                oplogReplay, partial, collation, comment, hint, hintString, variables, max, min, returnKey, showRecordId, allowDiskUse);
+                oplogReplay, partial, collation, comment, hint, hintString, variables, max, min, returnKey, showRecordId, allowDiskUse,
+                exhaust, prefetchDepth, lazyDecoding, shareReplyBuffers);
     }
 
     /**
@@ -583,4 +593,85 @@ public final class FindOptions {
         this.allowDiskUse = allowDiskUse;
         return this;
     }
+
+    /**
+     * Returns whether the server should stream the remaining batches of the results.
+     *
+     * @return the exhaust value
+     */
+    public boolean isExhaust() {
+        return exhaust;
+    }
+
+    /**
+     * Sets whether the server should stream the remaining batches of the results, rather than wait for a request for each of them.
+     *
+     * @param exhaust the exhaust value
+     * @return this
+     */
+    public FindOptions exhaust(final boolean exhaust) {
+        this.exhaust = exhaust;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of batches to fetch ahead of the application.
+     *
+     * @return the prefetch depth, with 0 meaning that batches are not prefetched
+     */
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * Sets the maximum number of batches to fetch ahead of the application.
+     *
+     * @param prefetchDepth the prefetch depth, which must not be negative, with 0 meaning that batches are not prefetched
+     * @return this
+     */
+    public FindOptions prefetchDepth(final int prefetchDepth) {
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    /**
+     * Returns whether each batch is kept as raw BSON and each document decoded only when it is requested.
+     *
+     * @return the lazy decoding value
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Sets whether to keep each batch as raw BSON and decode each document only when it is requested.
+     *
+     * @param lazyDecoding the lazy decoding value
+     * @return this
+     */
+    public FindOptions lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    /**
+     * Returns whether {@code RawBsonDocument} results share the buffer of the reply they were read from.
+     *
+     * @return the share reply buffers value
+     */
+    public boolean isShareReplyBuffers() {
+        return shareReplyBuffers;
+    }
+
+    /**
+     * Sets whether {@code RawBsonDocument} results share the buffer of the reply they were read from, instead of copying it.
+     *
+     * @param shareReplyBuffers the share reply buffers value
+     * @return this
+     */
+    public FindOptions shareReplyBuffers(final boolean shareReplyBuffers) {
+        this.shareReplyBuffers = shareReplyBuffers;
+        return this;
+    }
 }
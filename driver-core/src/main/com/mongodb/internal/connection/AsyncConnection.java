@@ -57,5 +57,33 @@ public interface AsyncConnection extends ReferenceCounted {
                           @Nullable SplittablePayload payload, @Nullable FieldNameValidator payloadFieldNameValidator,
                           SingleResultCallback<T> callback);
 
+    /**
+     * Executes a command with the exhaustAllowed flag set, allowing the server to stream further replies without waiting for further
+     * requests.  If {@link #hasMoreToCome()} returns true afterwards, the next reply must be read with
+     * {@link #receiveMoreToComeAsync(Decoder, SessionContext, SingleResultCallback)} before the connection is used for anything else.
+     * A connection that does not support exhaust executes the command normally.
+     */
+    default <T> void exhaustCommandAsync(String database, BsonDocument command, FieldNameValidator fieldNameValidator,
+            @Nullable ReadPreference readPreference, Decoder<T> commandResultDecoder, SessionContext sessionContext,
+            @Nullable ServerApi serverApi, RequestContext requestContext, SingleResultCallback<T> callback) {
+        commandAsync(database, command, fieldNameValidator, readPreference, commandResultDecoder, sessionContext, serverApi,
+                requestContext, callback);
+    }
+
+    /**
+     * Receives the next reply streamed by the server in response to an {@linkplain #exhaustCommandAsync exhaust command}.
+     */
+    default <T> void receiveMoreToComeAsync(Decoder<T> commandResultDecoder, SessionContext sessionContext,
+            SingleResultCallback<T> callback) {
+        callback.onResult(null, new UnsupportedOperationException());
+    }
+
+    /**
+     * Returns whether the server has more replies to stream on this connection.
+     */
+    default boolean hasMoreToCome() {
+        return false;
+    }
+
     void markAsPinned(Connection.PinningMode pinningMode);
 }
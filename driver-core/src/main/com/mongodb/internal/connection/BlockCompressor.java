@@ -0,0 +1,131 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoInternalException;
+import com.mongodb.connection.BufferProvider;
+import org.bson.ByteBuf;
+import org.bson.io.BsonOutput;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.mongodb.assertions.Assertions.notNull;
+
+/**
+ * A compressor for codecs that compress or uncompress a whole message in a single call.  The server does not support framing formats
+ * for these codecs, so a message that spans several buffers is first gathered into a single buffer obtained from the buffer provider,
+ * and the codec then works directly on pooled buffers.
+ */
+abstract class BlockCompressor extends Compressor {
+    private final BufferProvider bufferProvider;
+
+    BlockCompressor(final BufferProvider bufferProvider) {
+        this.bufferProvider = notNull("bufferProvider", bufferProvider);
+    }
+
+    abstract int getMaxCompressedLength(int uncompressedSize);
+
+    /**
+     * Compresses the given region of the source into the given region of the target.  The buffers are either both direct or both backed
+     * by an accessible array, offsets are absolute, and the positions of the buffers are not changed.
+     *
+     * @return the number of bytes written to the target
+     */
+    abstract int compress(ByteBuffer source, int sourceOffset, int sourceLength, ByteBuffer target, int targetOffset, int targetLength)
+            throws Exception;
+
+    /**
+     * Uncompresses the given region of the source into the given region of the target, with the same contract as
+     * {@link #compress(ByteBuffer, int, int, ByteBuffer, int, int)}.
+     *
+     * @return the number of bytes written to the target
+     */
+    abstract int uncompress(ByteBuffer source, int sourceOffset, int sourceLength, ByteBuffer target, int targetOffset, int targetLength)
+            throws Exception;
+
+    @Override
+    final void compress(final List<ByteBuf> source, final BsonOutput target) {
+        int uncompressedSize = getUncompressedSize(source);
+
+        ByteBuf compressed = bufferProvider.getBuffer(getMaxCompressedLength(uncompressedSize));
+        ByteBuf gathered = null;
+        try {
+            ByteBuffer out = compressed.asNIO();
+            ByteBuffer in;
+            if (source.size() == 1) {
+                in = source.get(0).asNIO();
+            } else {
+                gathered = bufferProvider.getBuffer(uncompressedSize);
+                in = gathered.asNIO();
+                copy(source, in);
+            }
+
+            if (isSameKind(in, out)) {
+                int compressedSize = compress(in, in.position(), uncompressedSize, out, out.position(), out.remaining());
+                write(out, compressedSize, target);
+            } else {
+                ByteBuffer heapIn = toHeap(in, uncompressedSize);
+                ByteBuffer heapOut = ByteBuffer.allocate(out.remaining());
+                int compressedSize = compress(heapIn, heapIn.position(), uncompressedSize, heapOut, 0, heapOut.remaining());
+                write(heapOut, compressedSize, target);
+            }
+        } catch (Exception e) {
+            throw new MongoInternalException("Unexpected exception", e);
+        } finally {
+            compressed.release();
+            if (gathered != null) {
+                gathered.release();
+            }
+        }
+    }
+
+    @Override
+    final void uncompress(final ByteBuf source, final ByteBuf target) {
+        ByteBuffer in = source.asNIO();
+        ByteBuffer out = target.asNIO();
+        try {
+            int uncompressedSize;
+            if (isSameKind(in, out)) {
+                uncompressedSize = uncompress(in, in.position(), in.remaining(), out, out.position(), out.remaining());
+            } else {
+                ByteBuffer heapIn = toHeap(in, in.remaining());
+                ByteBuffer heapOut = ByteBuffer.allocate(out.remaining());
+                uncompressedSize = uncompress(heapIn, heapIn.position(), heapIn.remaining(), heapOut, 0, heapOut.remaining());
+                heapOut.limit(uncompressedSize);
+                out.duplicate().put(heapOut);
+            }
+            source.position(source.limit());
+            target.position(target.position() + uncompressedSize);
+        } catch (Exception e) {
+            throw new MongoInternalException("Unexpected exception", e);
+        }
+    }
+
+    // Only used when the buffers are of different kinds, which is not expected when both come from the same buffer provider
+    private static ByteBuffer toHeap(final ByteBuffer buffer, final int length) {
+        if (buffer.hasArray()) {
+            return buffer;
+        }
+        ByteBuffer heapBuffer = ByteBuffer.allocate(length);
+        ByteBuffer region = buffer.duplicate();
+        region.limit(region.position() + length);
+        heapBuffer.put(region);
+        heapBuffer.flip();
+        return heapBuffer;
+    }
+}
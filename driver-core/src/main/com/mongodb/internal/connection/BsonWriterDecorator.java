@@ -22,6 +22,7 @@ import org.bson.BsonReader;
 import org.bson.BsonRegularExpression;
 import org.bson.BsonTimestamp;
 import org.bson.BsonWriter;
+import org.bson.EncodedFieldName;
 import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
 
@@ -196,6 +197,11 @@ public class BsonWriterDecorator implements BsonWriter {
         bsonWriter.writeName(name);
     }
 
+    @Override
+    public void writeName(final EncodedFieldName name) {
+        bsonWriter.writeName(name);
+    }
+
     @Override
     public void writeNull(final String name) {
         bsonWriter.writeNull(name);
@@ -21,12 +21,15 @@ import org.bson.BsonElement;
 import org.bson.BsonMaximumSizeExceededException;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.BsonValueCodecProvider;
 import org.bson.codecs.Codec;
 import org.bson.codecs.EncoderContext;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.io.BsonOutput;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import static java.lang.String.format;
@@ -34,6 +37,9 @@ import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 
 final class BsonWriterHelper {
     private static final int DOCUMENT_HEADROOM = 1024 * 16;
+    // Each document appended by reference is a separate buffer, and so a separate write to the stream, which only pays off for large
+    // documents.  Smaller ones are copied so that they share buffers.
+    static final int MIN_DOCUMENT_SIZE_TO_WRITE_BY_REFERENCE = 1024 * 8;
     private static final CodecRegistry REGISTRY = fromProviders(new BsonValueCodecProvider());
     private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
 
@@ -47,17 +53,35 @@ final class BsonWriterHelper {
     static void writePayloadArray(final BsonWriter writer, final BsonOutput bsonOutput, final MessageSettings settings,
                                   final int messageStartPosition, final SplittablePayload payload, final int maxSplittableDocumentSize) {
         writer.writeStartArray(payload.getPayloadName());
-        writePayload(writer, bsonOutput, getDocumentMessageSettings(settings), messageStartPosition, payload, maxSplittableDocumentSize);
+        writePayload(writer, bsonOutput, getDocumentMessageSettings(settings), messageStartPosition, payload, maxSplittableDocumentSize,
+                false);
         writer.writeEndArray();
     }
 
+    /**
+     * Writes the documents of the payload as an OP_MSG document sequence.  When the output is a {@link ByteBufferBsonOutput}, raw
+     * documents to insert of at least {@link #MIN_DOCUMENT_SIZE_TO_WRITE_BY_REFERENCE} bytes are appended to it by reference, so that
+     * their bytes are sent without being copied.
+     */
     static void writePayload(final BsonWriter writer, final BsonOutput bsonOutput, final MessageSettings settings,
                              final int messageStartPosition, final SplittablePayload payload, final int maxSplittableDocumentSize) {
+        writePayload(writer, bsonOutput, settings, messageStartPosition, payload, maxSplittableDocumentSize,
+                bsonOutput instanceof ByteBufferBsonOutput);
+    }
+
+    private static void writePayload(final BsonWriter writer, final BsonOutput bsonOutput, final MessageSettings settings,
+                                     final int messageStartPosition, final SplittablePayload payload, final int maxSplittableDocumentSize,
+                                     final boolean writeRawDocumentsByReference) {
         MessageSettings payloadSettings = getPayloadMessageSettings(payload.getPayloadType(), settings);
         List<BsonDocument> payloadDocuments = payload.getPayload();
         for (int i = 0; i < payloadDocuments.size(); i++) {
-            if (writeDocument(writer, bsonOutput, payloadSettings, payloadDocuments.get(i), messageStartPosition, i + 1,
-                    maxSplittableDocumentSize)) {
+            RawBsonDocument rawDocument = writeRawDocumentsByReference ? payload.getRawDocumentToInsert(i) : null;
+            boolean written = rawDocument == null
+                    ? writeDocument(writer, bsonOutput, payloadSettings, payloadDocuments.get(i), messageStartPosition, i + 1,
+                            maxSplittableDocumentSize)
+                    : writeDocumentByReference((ByteBufferBsonOutput) bsonOutput, payloadSettings, rawDocument, messageStartPosition,
+                            i + 1, maxSplittableDocumentSize);
+            if (written) {
                 payload.setPosition(i + 1);
             } else {
                 break;
@@ -85,6 +109,35 @@ final class BsonWriterHelper {
         return true;
     }
 
+    private static boolean writeDocumentByReference(final ByteBufferBsonOutput bsonOutput, final MessageSettings settings,
+                                                    final RawBsonDocument document, final int messageStartPosition,
+                                                    final int batchItemCount, final int maxSplittableDocumentSize) {
+        ByteBuf documentBuffer = document.getByteBuffer();
+        try {
+            int documentSize = documentBuffer.remaining();
+            int messageSize = bsonOutput.getPosition() + documentSize - messageStartPosition;
+            if (exceedsLimits(settings, messageSize, documentSize, batchItemCount)
+                    || (batchItemCount > 1 && messageSize > maxSplittableDocumentSize)) {
+                return false;
+            }
+            if (documentSize >= MIN_DOCUMENT_SIZE_TO_WRITE_BY_REFERENCE) {
+                bsonOutput.writeBytesByReference(documentBuffer);
+            } else {
+                ByteBuffer bytes = documentBuffer.asNIO();
+                if (bytes.hasArray()) {
+                    bsonOutput.writeBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), documentSize);
+                } else {
+                    byte[] copy = new byte[documentSize];
+                    bytes.duplicate().get(copy);
+                    bsonOutput.writeBytes(copy, 0, documentSize);
+                }
+            }
+            return true;
+        } finally {
+            documentBuffer.release();
+        }
+    }
+
     @SuppressWarnings({"unchecked"})
     private static Codec<BsonValue> getCodec(final BsonValue bsonValue) {
         return (Codec<BsonValue>) REGISTRY.get(bsonValue.getClass());
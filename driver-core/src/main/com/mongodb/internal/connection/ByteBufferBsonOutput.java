@@ -18,10 +18,12 @@ package com.mongodb.internal.connection;
 
 import com.mongodb.connection.BufferProvider;
 import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
 import org.bson.io.OutputBuffer;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +43,7 @@ public class ByteBufferBsonOutput extends OutputBuffer {
     private final BufferProvider bufferProvider;
     private final List<ByteBuf> bufferList = new ArrayList<>();
     private int curBufferIndex = 0;
+    private int referencedBufferCount = 0;
     private int position = 0;
     private boolean closed;
 
@@ -69,6 +72,39 @@ public class ByteBufferBsonOutput extends OutputBuffer {
         position += length;
     }
 
+    /**
+     * Appends the remaining bytes of the given buffer by reference rather than by copying them, so that they are sent from the given
+     * buffer's memory.  The content of the buffer must therefore not change until this output has been closed.  The position, limit and
+     * reference count of the given buffer are left unchanged.
+     *
+     * <p>Bytes written after this call start a new buffer, and any unused capacity of the current buffer is not used.</p>
+     *
+     * @param buffer the buffer whose remaining bytes are appended
+     */
+    public void writeBytesByReference(final ByteBuf buffer) {
+        ensureOpen();
+        notNull("buffer", buffer);
+
+        int length = buffer.remaining();
+        if (length == 0) {
+            return;
+        }
+        if (!bufferList.isEmpty()) {
+            ByteBuf curByteBuffer = bufferList.get(curBufferIndex);
+            if (curByteBuffer.position() == 0) {
+                bufferList.remove(curBufferIndex).release();
+            } else {
+                curByteBuffer.limit(curByteBuffer.position());
+            }
+        }
+        ByteBuf referencedBuffer = new ReferencedByteBuf(buffer.asNIO().slice());
+        referencedBuffer.position(length);
+        bufferList.add(referencedBuffer);
+        referencedBufferCount++;
+        curBufferIndex = bufferList.size() - 1;
+        position += length;
+    }
+
     @Override
     public void writeByte(final int value) {
         ensureOpen();
@@ -89,9 +125,10 @@ public class ByteBufferBsonOutput extends OutputBuffer {
 
     private ByteBuf getByteBufferAtIndex(final int index) {
         if (bufferList.size() < index + 1) {
-            bufferList.add(bufferProvider.getBuffer(index >= (MAX_SHIFT - INITIAL_SHIFT)
+            int allocationIndex = index - referencedBufferCount;
+            bufferList.add(bufferProvider.getBuffer(allocationIndex >= (MAX_SHIFT - INITIAL_SHIFT)
                                                             ? MAX_BUFFER_SIZE
-                                                            : Math.min(INITIAL_BUFFER_SIZE << index, MAX_BUFFER_SIZE)));
+                                                            : Math.min(INITIAL_BUFFER_SIZE << allocationIndex, MAX_BUFFER_SIZE)));
         }
         return bufferList.get(index);
     }
@@ -161,17 +198,27 @@ public class ByteBufferBsonOutput extends OutputBuffer {
         if (newPosition > position || newPosition < 0) {
             throw new IllegalArgumentException();
         }
+        if (bufferList.isEmpty()) {
+            return;
+        }
 
         BufferPositionPair bufferPositionPair = getBufferPositionPair(newPosition);
 
-        bufferList.get(bufferPositionPair.bufferIndex).position(bufferPositionPair.position);
-
         while (bufferList.size() > bufferPositionPair.bufferIndex + 1) {
-            ByteBuf buffer = bufferList.remove(bufferList.size() - 1);
-            buffer.release();
+            removeLastBuffer();
+        }
+
+        ByteBuf buffer = bufferList.get(bufferPositionPair.bufferIndex);
+        if (!(buffer instanceof ReferencedByteBuf)) {
+            buffer.position(bufferPositionPair.position);
+        } else if (bufferPositionPair.position > 0) {
+            // a referenced buffer must never be written to, so it is shortened rather than repositioned
+            buffer.limit(bufferPositionPair.position);
+        } else {
+            removeLastBuffer();
         }
 
-        curBufferIndex = bufferPositionPair.bufferIndex;
+        curBufferIndex = Math.max(bufferList.size() - 1, 0);
         position = newPosition;
     }
 
@@ -181,17 +228,25 @@ public class ByteBufferBsonOutput extends OutputBuffer {
             cur.release();
         }
         bufferList.clear();
+        referencedBufferCount = 0;
         closed = true;
     }
 
+    private void removeLastBuffer() {
+        ByteBuf buffer = bufferList.remove(bufferList.size() - 1);
+        if (buffer instanceof ReferencedByteBuf) {
+            referencedBufferCount--;
+        }
+        buffer.release();
+    }
+
     private BufferPositionPair getBufferPositionPair(final int absolutePosition) {
         int positionInBuffer = absolutePosition;
         int bufferIndex = 0;
-        int bufferSize = INITIAL_BUFFER_SIZE;
-        int startPositionOfBuffer = 0;
-        while (startPositionOfBuffer + bufferSize <= absolutePosition) {
+        // the limit of each buffer before the current one is the number of bytes written to it
+        int bufferSize = bufferList.get(bufferIndex).limit();
+        while (positionInBuffer >= bufferSize && bufferIndex < bufferList.size() - 1) {
             bufferIndex++;
-            startPositionOfBuffer += bufferSize;
             positionInBuffer -= bufferSize;
             bufferSize = bufferList.get(bufferIndex).limit();
         }
@@ -205,6 +260,15 @@ public class ByteBufferBsonOutput extends OutputBuffer {
         }
     }
 
+    /**
+     * A buffer appended by {@link #writeBytesByReference(ByteBuf)}, which views memory that this output does not own.
+     */
+    private static final class ReferencedByteBuf extends ByteBufNIO {
+        ReferencedByteBuf(final ByteBuffer buffer) {
+            super(buffer);
+        }
+    }
+
     private static final class BufferPositionPair {
         private final int bufferIndex;
         private int position;
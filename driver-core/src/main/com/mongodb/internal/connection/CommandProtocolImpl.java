@@ -41,6 +41,7 @@ class CommandProtocolImpl<T> implements CommandProtocol<T> {
     private final FieldNameValidator payloadFieldNameValidator;
     private final Decoder<T> commandResultDecoder;
     private final boolean responseExpected;
+    private final boolean exhaustAllowed;
     private final ClusterConnectionMode clusterConnectionMode;
     private final RequestContext requestContext;
     private SessionContext sessionContext;
@@ -50,6 +51,15 @@ class CommandProtocolImpl<T> implements CommandProtocol<T> {
             @Nullable final ReadPreference readPreference, final Decoder<T> commandResultDecoder, final boolean responseExpected,
             @Nullable final SplittablePayload payload, @Nullable final FieldNameValidator payloadFieldNameValidator,
             final ClusterConnectionMode clusterConnectionMode, @Nullable final ServerApi serverApi, final RequestContext requestContext) {
+        this(database, command, commandFieldNameValidator, readPreference, commandResultDecoder, responseExpected, false, payload,
+                payloadFieldNameValidator, clusterConnectionMode, serverApi, requestContext);
+    }
+
+    CommandProtocolImpl(final String database, final BsonDocument command, final FieldNameValidator commandFieldNameValidator,
+            @Nullable final ReadPreference readPreference, final Decoder<T> commandResultDecoder, final boolean responseExpected,
+            final boolean exhaustAllowed, @Nullable final SplittablePayload payload,
+            @Nullable final FieldNameValidator payloadFieldNameValidator, final ClusterConnectionMode clusterConnectionMode,
+            @Nullable final ServerApi serverApi, final RequestContext requestContext) {
         notNull("database", database);
         this.namespace = new MongoNamespace(notNull("database", database), MongoNamespace.COMMAND_COLLECTION_NAME);
         this.command = notNull("command", command);
@@ -57,6 +67,7 @@ class CommandProtocolImpl<T> implements CommandProtocol<T> {
         this.readPreference = readPreference;
         this.commandResultDecoder = notNull("commandResultDecoder", commandResultDecoder);
         this.responseExpected = responseExpected;
+        this.exhaustAllowed = exhaustAllowed;
         this.payload = payload;
         this.payloadFieldNameValidator = payloadFieldNameValidator;
         this.clusterConnectionMode = notNull("clusterConnectionMode", clusterConnectionMode);
@@ -97,7 +108,7 @@ class CommandProtocolImpl<T> implements CommandProtocol<T> {
 
     private CommandMessage getCommandMessage(final InternalConnection connection) {
         return new CommandMessage(namespace, command, commandFieldNameValidator, readPreference,
-                    getMessageSettings(connection.getDescription()), responseExpected, payload,
+                    getMessageSettings(connection.getDescription()), responseExpected, exhaustAllowed, payload,
                 payloadFieldNameValidator, clusterConnectionMode, serverApi);
     }
 }
@@ -16,101 +16,88 @@
 
 package com.mongodb.internal.connection;
 
-import com.mongodb.MongoInternalException;
 import org.bson.ByteBuf;
 import org.bson.io.BsonOutput;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+/**
+ * A compressor for OP_COMPRESSED messages.  Each connection owns its own instances, and never compresses or uncompresses more than one
+ * message at a time, so implementations may retain codec state and scratch space between messages without synchronization.
+ */
 abstract class Compressor {
 
-    static final int BUFFER_SIZE = 256;
+    static final int BUFFER_SIZE = 8192;
+
+    private byte[] scratch;
 
     abstract String getName();
 
     abstract byte getId();
 
-    void compress(final List<ByteBuf> source, final BsonOutput target) {
-        BufferExposingByteArrayOutputStream baos = new BufferExposingByteArrayOutputStream(1024);
-        try (OutputStream outputStream = getOutputStream(baos)) {
-            byte[] scratch = new byte[BUFFER_SIZE];
-            for (ByteBuf cur : source) {
-                while (cur.hasRemaining()) {
-                    int numBytes = Math.min(cur.remaining(), scratch.length);
-                    cur.get(scratch, 0, numBytes);
-                    outputStream.write(scratch, 0, numBytes);
-                }
-            }
-
-        } catch (IOException e) {
-            throw new MongoInternalException("Unexpected IOException", e);
-        }
-        // ignore
-        target.writeBytes(baos.getInternalBytes(), 0, baos.size());
-    }
-
-    void uncompress(final ByteBuf source, final ByteBuf target) {
-
-        try (InputStream inputStream = getInputStream(new ByteBufInputStream(source))) {
-            byte[] scratch = new byte[BUFFER_SIZE];
-            int numBytes = inputStream.read(scratch);
-            while (numBytes != -1) {
-                target.put(scratch, 0, numBytes);
-                numBytes = inputStream.read(scratch);
-            }
-        } catch (IOException e) {
-            throw new MongoInternalException("Unexpected IOException", e);
-        }
-        // ignore
-    }
+    /**
+     * Compresses the remaining bytes of the source buffers into the target.  The positions of the source buffers are unspecified
+     * afterwards.
+     */
+    abstract void compress(List<ByteBuf> source, BsonOutput target);
 
-    // override this if not overriding the compress method
-    OutputStream getOutputStream(final OutputStream source) throws IOException {
-        throw new UnsupportedEncodingException();
-    }
+    /**
+     * Uncompresses the remaining bytes of the source into the target, leaving the position of the target after the last uncompressed
+     * byte.
+     */
+    abstract void uncompress(ByteBuf source, ByteBuf target);
 
-    // override this if not overriding the uncompress method
-    InputStream getInputStream(final InputStream source) throws IOException {
-        throw new UnsupportedOperationException();
+    // override this to release any state that is retained between messages
+    void close() {
     }
 
-    private static final class ByteBufInputStream extends InputStream {
-        private final ByteBuf source;
-
-        ByteBufInputStream(final ByteBuf source) {
-            this.source = source;
+    byte[] getScratch() {
+        if (scratch == null) {
+            scratch = new byte[BUFFER_SIZE];
         }
+        return scratch;
+    }
 
-        @Override
-        public int read(final byte[] bytes, final int offset, final int length) {
-            if (!source.hasRemaining()) {
-                return -1;
+    /**
+     * Writes the given number of bytes, starting at the position of the source, without changing its position.
+     */
+    void write(final ByteBuffer source, final int length, final BsonOutput target) {
+        if (source.hasArray()) {
+            target.writeBytes(source.array(), source.arrayOffset() + source.position(), length);
+        } else {
+            byte[] bytes = getScratch();
+            ByteBuffer remaining = source.duplicate();
+            remaining.limit(remaining.position() + length);
+            while (remaining.hasRemaining()) {
+                int numBytes = Math.min(remaining.remaining(), bytes.length);
+                remaining.get(bytes, 0, numBytes);
+                target.writeBytes(bytes, 0, numBytes);
             }
-
-            int bytesToRead = length > source.remaining() ? source.remaining() : length;
-            source.get(bytes, offset, bytesToRead);
-            return bytesToRead;
         }
+    }
 
-        @Override
-        public int read() {
-            throw new UnsupportedOperationException();
+    static int getUncompressedSize(final List<ByteBuf> source) {
+        int uncompressedSize = 0;
+        for (ByteBuf cur : source) {
+            uncompressedSize += cur.remaining();
         }
+        return uncompressedSize;
     }
 
-    // Just so we don't have to copy the buffer
-    private static final class BufferExposingByteArrayOutputStream extends ByteArrayOutputStream {
-        BufferExposingByteArrayOutputStream(final int size) {
-            super(size);
+    /**
+     * Copies the remaining bytes of each source buffer into the target, starting at its position, without changing the position of
+     * either.
+     */
+    static void copy(final List<ByteBuf> source, final ByteBuffer target) {
+        ByteBuffer duplicate = target.duplicate();
+        for (ByteBuf cur : source) {
+            duplicate.put(cur.asNIO().duplicate());
         }
+    }
 
-        byte[] getInternalBytes() {
-            return buf;
-        }
+    // Native codecs require that the source and destination are either both direct or both heap buffers
+    static boolean isSameKind(final ByteBuffer first, final ByteBuffer second) {
+        return first.isDirect() ? second.isDirect() : first.hasArray() && second.hasArray();
     }
 }
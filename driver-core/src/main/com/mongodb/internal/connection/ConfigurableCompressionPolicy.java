@@ -0,0 +1,107 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.CompressionPolicy;
+import com.mongodb.annotations.ThreadSafe;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The compression policy created by {@link CompressionPolicy.Builder}.
+ *
+ * <p>This class is not part of the public API and may be removed or changed at any time</p>
+ */
+@ThreadSafe
+public final class ConfigurableCompressionPolicy implements CompressionPolicy {
+    public static final CompressionPolicy COMPRESS_ALL = new ConfigurableCompressionPolicy(0, Collections.emptySet(),
+            Collections.emptySet(), 0);
+
+    // One in this many messages for a command that compresses poorly is compressed anyway, to keep its average up to date
+    static final int PROBE_INTERVAL = 64;
+    private static final double ALPHA = 0.2;
+
+    private final int minimumMessageSize;
+    private final Set<String> includedCommands;
+    private final Set<String> excludedCommands;
+    private final double minimumCompressionRatio;
+    private final ConcurrentMap<String, CompressionRatio> compressionRatios = new ConcurrentHashMap<>();
+
+    public ConfigurableCompressionPolicy(final int minimumMessageSize, final Set<String> includedCommands,
+                                         final Set<String> excludedCommands, final double minimumCompressionRatio) {
+        this.minimumMessageSize = minimumMessageSize;
+        this.includedCommands = Collections.unmodifiableSet(new HashSet<>(includedCommands));
+        this.excludedCommands = Collections.unmodifiableSet(new HashSet<>(excludedCommands));
+        this.minimumCompressionRatio = minimumCompressionRatio;
+    }
+
+    @Override
+    public boolean shouldCompress(final String commandName, final int messageSize) {
+        if (messageSize < minimumMessageSize || excludedCommands.contains(commandName)) {
+            return false;
+        }
+        if (!includedCommands.isEmpty() && !includedCommands.contains(commandName)) {
+            return false;
+        }
+        if (!isAdaptive()) {
+            return true;
+        }
+        CompressionRatio compressionRatio = compressionRatios.get(commandName);
+        return compressionRatio == null || compressionRatio.shouldCompress(minimumCompressionRatio);
+    }
+
+    @Override
+    public void messageCompressed(final String commandName, final int uncompressedSize, final int compressedSize) {
+        if (isAdaptive() && compressedSize > 0) {
+            compressionRatios.computeIfAbsent(commandName, k -> new CompressionRatio()).addSample((double) uncompressedSize / compressedSize);
+        }
+    }
+
+    private boolean isAdaptive() {
+        return minimumCompressionRatio > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurableCompressionPolicy{"
+                + "minimumMessageSize=" + minimumMessageSize
+                + ", includedCommands=" + includedCommands
+                + ", excludedCommands=" + excludedCommands
+                + ", minimumCompressionRatio=" + minimumCompressionRatio
+                + '}';
+    }
+
+    // Updates from concurrent connections may occasionally be lost, which is harmless for a moving average
+    private static final class CompressionRatio {
+        private volatile double average = -1;
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        void addSample(final double sample) {
+            double currentAverage = average;
+            average = currentAverage < 0 ? sample : ALPHA * sample + (1 - ALPHA) * currentAverage;
+        }
+
+        boolean shouldCompress(final double minimumCompressionRatio) {
+            return average >= minimumCompressionRatio || skipped.incrementAndGet() % PROBE_INTERVAL == 0;
+        }
+    }
+}
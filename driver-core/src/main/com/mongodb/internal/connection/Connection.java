@@ -58,6 +58,35 @@ public interface Connection extends ReferenceCounted {
             @Nullable FieldNameValidator payloadFieldNameValidator);
 
 
+    /**
+     * Executes a command with the exhaustAllowed flag set, allowing the server to stream further replies without waiting for further
+     * requests.  If {@link #hasMoreToCome()} returns true afterwards, the next reply must be read with
+     * {@link #receiveMoreToCome(Decoder, SessionContext)} before the connection is used for anything else.  A connection that does not
+     * support exhaust executes the command normally.
+     */
+    @Nullable
+    default <T> T exhaustCommand(String database, BsonDocument command, FieldNameValidator fieldNameValidator,
+            @Nullable ReadPreference readPreference, Decoder<T> commandResultDecoder, SessionContext sessionContext,
+            @Nullable ServerApi serverApi, RequestContext requestContext) {
+        return command(database, command, fieldNameValidator, readPreference, commandResultDecoder, sessionContext, serverApi,
+                requestContext);
+    }
+
+    /**
+     * Receives the next reply streamed by the server in response to an {@linkplain #exhaustCommand exhaust command}.
+     */
+    @Nullable
+    default <T> T receiveMoreToCome(Decoder<T> commandResultDecoder, SessionContext sessionContext) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns whether the server has more replies to stream on this connection.
+     */
+    default boolean hasMoreToCome() {
+        return false;
+    }
+
     enum PinningMode {
         CURSOR,
         TRANSACTION
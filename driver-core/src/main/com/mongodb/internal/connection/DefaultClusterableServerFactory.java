@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.CompressionPolicy;
 import com.mongodb.LoggerSettings;
 import com.mongodb.MongoCompressor;
 import com.mongodb.MongoCredential;
@@ -52,6 +53,8 @@ public class DefaultClusterableServerFactory implements ClusterableServerFactory
     private final String applicationName;
     private final MongoDriverInformation mongoDriverInformation;
     private final List<MongoCompressor> compressorList;
+    private final CompressionPolicy compressionPolicy;
+    private final int fieldNameCacheSize;
     @Nullable
     private final ServerApi serverApi;
 
@@ -63,7 +66,8 @@ public class DefaultClusterableServerFactory implements ClusterableServerFactory
             final LoggerSettings loggerSettings,
             @Nullable final CommandListener commandListener,
             @Nullable final String applicationName, @Nullable final MongoDriverInformation mongoDriverInformation,
-            final List<MongoCompressor> compressorList, @Nullable final ServerApi serverApi) {
+            final List<MongoCompressor> compressorList, final CompressionPolicy compressionPolicy, final int fieldNameCacheSize,
+            @Nullable final ServerApi serverApi) {
         this.serverSettings = serverSettings;
         this.connectionPoolSettings = connectionPoolSettings;
         this.internalConnectionPoolSettings = internalConnectionPoolSettings;
@@ -75,6 +79,8 @@ public class DefaultClusterableServerFactory implements ClusterableServerFactory
         this.applicationName = applicationName;
         this.mongoDriverInformation = mongoDriverInformation;
         this.compressorList = compressorList;
+        this.compressionPolicy = compressionPolicy;
+        this.fieldNameCacheSize = fieldNameCacheSize;
         this.serverApi = serverApi;
     }
 
@@ -86,11 +92,12 @@ public class DefaultClusterableServerFactory implements ClusterableServerFactory
         ServerMonitor serverMonitor = new DefaultServerMonitor(serverId, serverSettings, cluster.getClock(),
                 // no credentials, compressor list, or command listener for the server monitor factory
                 new InternalStreamConnectionFactory(clusterMode, true, heartbeatStreamFactory, null, applicationName,
-                        mongoDriverInformation, emptyList(), loggerSettings, null, serverApi),
+                        mongoDriverInformation, emptyList(), CompressionPolicy.compressAll(), 0, loggerSettings, null, serverApi),
                 clusterMode, serverApi, sdamProvider);
         ConnectionPool connectionPool = new DefaultConnectionPool(serverId,
-                new InternalStreamConnectionFactory(clusterMode, streamFactory, credential, applicationName,
-                        mongoDriverInformation, compressorList, loggerSettings, commandListener, serverApi),
+                new InternalStreamConnectionFactory(clusterMode, false, streamFactory, credential, applicationName,
+                        mongoDriverInformation, compressorList, compressionPolicy, fieldNameCacheSize, loggerSettings, commandListener,
+                        serverApi),
                 connectionPoolSettings, internalConnectionPoolSettings, sdamProvider);
         ServerListener serverListener = singleServerListener(serverSettings);
         SdamServerDescriptionManager sdam = new DefaultSdamServerDescriptionManager(cluster, serverId, serverListener, serverMonitor,
@@ -563,7 +563,8 @@ class DefaultConnectionPool implements ConnectionPool {
                 if (LOGGER.isTraceEnabled()) {
                     LOGGER.trace(format("Checked in connection [%s] to server %s", getId(wrapped), serverId.getAddress()));
                 }
-                if (wrapped.isClosed() || shouldPrune(wrapped)) {
+                // a connection with replies still to come, e.g. from an abandoned exhaust cursor, can not be reused
+                if (wrapped.isClosed() || wrapped.hasMoreToCome() || shouldPrune(wrapped)) {
                     pool.release(wrapped, true);
                 } else {
                     openConcurrencyLimiter.tryHandOverOrRelease(wrapped);
@@ -680,6 +681,13 @@ class DefaultConnectionPool implements ConnectionPool {
             wrapped.sendAndReceiveAsync(message, decoder, sessionContext, requestContext, (result, t) -> callback.onResult(result, t));
         }
 
+        @Override
+        public <T> void receiveAsync(final Decoder<T> decoder, final SessionContext sessionContext,
+                final SingleResultCallback<T> callback) {
+            isTrue("open", !isClosed.get());
+            wrapped.receiveAsync(decoder, sessionContext, (result, t) -> callback.onResult(result, t));
+        }
+
         @Override
         public ResponseBuffers receiveMessage(final int responseTo) {
             isTrue("open", !isClosed.get());
@@ -298,6 +298,24 @@ class DefaultServer implements ClusterableServer {
                     serverApi, requestContext, responseExpected, payload, payloadFieldNameValidator);
         }
 
+        @Override
+        public <T> T exhaustCommand(final String database, final BsonDocument command, final FieldNameValidator fieldNameValidator,
+                @Nullable final ReadPreference readPreference, final Decoder<T> commandResultDecoder, final SessionContext sessionContext,
+                @Nullable final ServerApi serverApi, final RequestContext requestContext) {
+            return wrapped.exhaustCommand(database, command, fieldNameValidator, readPreference, commandResultDecoder, sessionContext,
+                    serverApi, requestContext);
+        }
+
+        @Override
+        public <T> T receiveMoreToCome(final Decoder<T> commandResultDecoder, final SessionContext sessionContext) {
+            return wrapped.receiveMoreToCome(commandResultDecoder, sessionContext);
+        }
+
+        @Override
+        public boolean hasMoreToCome() {
+            return wrapped.hasMoreToCome();
+        }
+
         @Override
         public void markAsPinned(final PinningMode pinningMode) {
             wrapped.markAsPinned(pinningMode);
@@ -362,6 +380,26 @@ class DefaultServer implements ClusterableServer {
                     serverApi, requestContext, responseExpected, payload, payloadFieldNameValidator, callback);
         }
 
+        @Override
+        public <T> void exhaustCommandAsync(final String database, final BsonDocument command,
+                final FieldNameValidator fieldNameValidator, @Nullable final ReadPreference readPreference,
+                final Decoder<T> commandResultDecoder, final SessionContext sessionContext, @Nullable final ServerApi serverApi,
+                final RequestContext requestContext, final SingleResultCallback<T> callback) {
+            wrapped.exhaustCommandAsync(database, command, fieldNameValidator, readPreference, commandResultDecoder, sessionContext,
+                    serverApi, requestContext, callback);
+        }
+
+        @Override
+        public <T> void receiveMoreToComeAsync(final Decoder<T> commandResultDecoder, final SessionContext sessionContext,
+                final SingleResultCallback<T> callback) {
+            wrapped.receiveMoreToComeAsync(commandResultDecoder, sessionContext, callback);
+        }
+
+        @Override
+        public boolean hasMoreToCome() {
+            return wrapped.hasMoreToCome();
+        }
+
         @Override
         public void markAsPinned(final Connection.PinningMode pinningMode) {
             wrapped.markAsPinned(pinningMode);
@@ -112,6 +112,42 @@ public class DefaultServerConnection extends AbstractReferenceCounted implements
                 sessionContext, callback);
     }
 
+    @Nullable
+    @Override
+    public <T> T exhaustCommand(final String database, final BsonDocument command, final FieldNameValidator fieldNameValidator,
+            @Nullable final ReadPreference readPreference, final Decoder<T> commandResultDecoder, final SessionContext sessionContext,
+            @Nullable final ServerApi serverApi, final RequestContext requestContext) {
+        return executeProtocol(new CommandProtocolImpl<>(database, command, fieldNameValidator, readPreference, commandResultDecoder,
+                        true, true, null, null, clusterConnectionMode, serverApi, requestContext),
+                sessionContext);
+    }
+
+    @Nullable
+    @Override
+    public <T> T receiveMoreToCome(final Decoder<T> commandResultDecoder, final SessionContext sessionContext) {
+        return executeProtocol(new MoreToComeProtocol<>(commandResultDecoder), sessionContext);
+    }
+
+    @Override
+    public <T> void exhaustCommandAsync(final String database, final BsonDocument command, final FieldNameValidator fieldNameValidator,
+            @Nullable final ReadPreference readPreference, final Decoder<T> commandResultDecoder, final SessionContext sessionContext,
+            @Nullable final ServerApi serverApi, final RequestContext requestContext, final SingleResultCallback<T> callback) {
+        executeProtocolAsync(new CommandProtocolImpl<>(database, command, fieldNameValidator, readPreference, commandResultDecoder,
+                        true, true, null, null, clusterConnectionMode, serverApi, requestContext),
+                sessionContext, callback);
+    }
+
+    @Override
+    public <T> void receiveMoreToComeAsync(final Decoder<T> commandResultDecoder, final SessionContext sessionContext,
+            final SingleResultCallback<T> callback) {
+        executeProtocolAsync(new MoreToComeProtocol<>(commandResultDecoder), sessionContext, callback);
+    }
+
+    @Override
+    public boolean hasMoreToCome() {
+        return wrapped.hasMoreToCome();
+    }
+
     @Override
     public void markAsPinned(final PinningMode pinningMode) {
         wrapped.markAsPinned(pinningMode);
@@ -43,6 +43,7 @@ import org.bson.codecs.BsonDocumentCodec;
 import org.bson.types.ObjectId;
 
 import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -100,15 +101,29 @@ class DefaultServerMonitor implements ServerMonitor {
         this.serverApi = serverApi;
         this.sdamProvider = sdamProvider;
         monitor = new ServerMonitorRunnable();
-        monitorThread = new Thread(monitor, "cluster-" + this.serverId.getClusterId() + "-" + this.serverId.getAddress());
-        monitorThread.setDaemon(true);
+        monitorThread = newThread(monitor, "cluster-" + this.serverId.getClusterId() + "-" + this.serverId.getAddress());
         roundTripTimeMonitor = new RoundTripTimeRunnable();
-        roundTripTimeMonitorThread = new Thread(roundTripTimeMonitor,
+        roundTripTimeMonitorThread = newThread(roundTripTimeMonitor,
                 "cluster-rtt-" + this.serverId.getClusterId() + "-" + this.serverId.getAddress());
-        roundTripTimeMonitorThread.setDaemon(true);
         isClosed = false;
     }
 
+    private Thread newThread(final Runnable runnable, final String name) {
+        ThreadFactory threadFactory = serverSettings.getMonitorThreadFactory();
+        if (threadFactory == null) {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+        Thread thread = notNull("thread", threadFactory.newThread(runnable));
+        thread.setName(name);
+        if (!thread.isDaemon()) {
+            // monitors only stop when the client is closed, so they must not keep the JVM alive
+            thread.setDaemon(true);
+        }
+        return thread;
+    }
+
     @Override
     public void start() {
         monitorThread.start();
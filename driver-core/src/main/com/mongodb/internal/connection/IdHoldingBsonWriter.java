@@ -40,6 +40,7 @@ import org.bson.BsonTimestamp;
 import org.bson.BsonUndefined;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
+import org.bson.EncodedFieldName;
 import org.bson.RawBsonDocument;
 import org.bson.io.BasicOutputBuffer;
 import org.bson.types.Decimal128;
@@ -307,6 +308,15 @@ public class IdHoldingBsonWriter extends LevelCountingBsonWriter {
         super.writeName(name);
     }
 
+    @Override
+    public void writeName(final EncodedFieldName name) {
+        setCurrentFieldName(name.getName());
+        if (getIdBsonWriterCurrentLevel() >= 0) {
+            getIdBsonWriter().writeName(name);
+        }
+        super.writeName(name);
+    }
+
     @Override
     public void writeNull(final String name) {
         setCurrentFieldName(name);
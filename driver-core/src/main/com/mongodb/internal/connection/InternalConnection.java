@@ -121,6 +121,17 @@ public interface InternalConnection extends BufferProvider {
     <T> void sendAndReceiveAsync(CommandMessage message, Decoder<T> decoder, SessionContext sessionContext, RequestContext requestContext,
                                  SingleResultCallback<T> callback);
 
+    /**
+     * Receive the next reply to a command whose response had the moreToCome flag set.
+     *
+     * @param decoder the decoder for the reply
+     * @param sessionContext the session context
+     * @param callback the callback
+     */
+    default <T> void receiveAsync(Decoder<T> decoder, SessionContext sessionContext, SingleResultCallback<T> callback) {
+        callback.onResult(null, new UnsupportedOperationException());
+    }
+
     /**
      * Send a message to the server. The connection may not make any attempt to validate the integrity of the message.
      *
@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.CompressionPolicy;
 import com.mongodb.LoggerSettings;
 import com.mongodb.MongoClientException;
 import com.mongodb.MongoCompressor;
@@ -54,6 +55,7 @@ import org.bson.ByteBuf;
 import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.Decoder;
 import org.bson.io.ByteBufferBsonInput;
+import org.bson.io.FieldNameCache;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -127,6 +129,10 @@ public class InternalStreamConnection implements InternalConnection {
     private final AtomicBoolean opened = new AtomicBoolean();
 
     private final List<MongoCompressor> compressorList;
+    private final CompressionPolicy compressionPolicy;
+    // Shared by all the responses read by this connection, which may be decoded by other threads, so the cache must be thread-safe
+    @Nullable
+    private final FieldNameCache fieldNameCache;
     private final LoggerSettings loggerSettings;
     private final CommandListener commandListener;
     @Nullable private volatile Compressor sendCompressor;
@@ -151,15 +157,19 @@ public class InternalStreamConnection implements InternalConnection {
             final StreamFactory streamFactory, final List<MongoCompressor> compressorList,
             final CommandListener commandListener, final InternalConnectionInitializer connectionInitializer) {
         this(clusterConnectionMode, false, serverId, connectionGenerationSupplier, streamFactory, compressorList,
-                LoggerSettings.builder().build(), commandListener, connectionInitializer);
+                CompressionPolicy.compressAll(), 0, LoggerSettings.builder().build(), commandListener, connectionInitializer);
     }
 
+    /**
+     * @param fieldNameCacheSize the maximum number of field names to cache while decoding responses, or 0 to not cache them
+     */
     public InternalStreamConnection(final ClusterConnectionMode clusterConnectionMode, final boolean isMonitoringConnection,
                                     final ServerId serverId,
                                     final ConnectionGenerationSupplier connectionGenerationSupplier,
                                     final StreamFactory streamFactory, final List<MongoCompressor> compressorList,
-                                    final LoggerSettings loggerSettings,
-                                    final CommandListener commandListener, final InternalConnectionInitializer connectionInitializer) {
+                                    final CompressionPolicy compressionPolicy, final int fieldNameCacheSize,
+                                    final LoggerSettings loggerSettings, final CommandListener commandListener,
+                                    final InternalConnectionInitializer connectionInitializer) {
         this.clusterConnectionMode = clusterConnectionMode;
         this.isMonitoringConnection = isMonitoringConnection;
         this.serverId = notNull("serverId", serverId);
@@ -167,6 +177,8 @@ public class InternalStreamConnection implements InternalConnection {
         this.streamFactory = notNull("streamFactory", streamFactory);
         this.compressorList = notNull("compressorList", compressorList);
         this.compressorMap = createCompressorMap(compressorList);
+        this.compressionPolicy = notNull("compressionPolicy", compressionPolicy);
+        this.fieldNameCache = fieldNameCacheSize == 0 ? null : new FieldNameCache(fieldNameCacheSize);
         this.loggerSettings = loggerSettings;
         this.commandListener = commandListener;
         this.connectionInitializer = notNull("connectionInitializer", connectionInitializer);
@@ -312,9 +324,9 @@ public class InternalStreamConnection implements InternalConnection {
         if (mongoCompressor.getName().equals("zlib")) {
             return new ZlibCompressor(mongoCompressor);
         } else if (mongoCompressor.getName().equals("snappy")) {
-            return new SnappyCompressor();
+            return new SnappyCompressor(this);
         } else if (mongoCompressor.getName().equals("zstd")) {
-            return new ZstdCompressor();
+            return new ZstdCompressor(mongoCompressor, this);
         } else {
             throw new MongoClientException("Unsupported compressor " + mongoCompressor.getName());
         }
@@ -330,6 +342,13 @@ public class InternalStreamConnection implements InternalConnection {
             if (stream != null) {
                 stream.close();
             }
+            for (Compressor compressor : compressorMap.values()) {
+                try {
+                    compressor.close();
+                } catch (RuntimeException e) {
+                    LOGGER.warn(format("Exception closing the %s compressor of connection %s", compressor.getName(), getId()), e);
+                }
+            }
         }
     }
 
@@ -405,8 +424,10 @@ public class InternalStreamConnection implements InternalConnection {
     private void sendCommandMessage(final CommandMessage message,
                                     final ByteBufferBsonOutput bsonOutput, final SessionContext sessionContext) {
 
-        Compressor localSendCompressor = sendCompressor;
-        if (localSendCompressor == null || SECURITY_SENSITIVE_COMMANDS.contains(message.getCommandDocument(bsonOutput).getFirstKey())) {
+        String commandName = message.getCommandDocument(bsonOutput).getFirstKey();
+        int uncompressedSize = bsonOutput.getSize();
+        Compressor localSendCompressor = getSendCompressor(commandName, uncompressedSize);
+        if (localSendCompressor == null) {
             try {
                 sendMessage(bsonOutput.getByteBuffers(), message.getId());
             } finally {
@@ -424,6 +445,7 @@ public class InternalStreamConnection implements InternalConnection {
                 releaseAllBuffers(byteBuffers);
                 bsonOutput.close();
             }
+            compressionPolicy.messageCompressed(commandName, uncompressedSize, compressedBsonOutput.getSize());
             try {
                 sendMessage(compressedBsonOutput.getByteBuffers(), message.getId());
             } finally {
@@ -481,8 +503,10 @@ public class InternalStreamConnection implements InternalConnection {
             message.encode(bsonOutput, sessionContext);
             CommandEventSender commandEventSender = createCommandEventSender(message, bsonOutput, requestContext);
             commandEventSender.sendStartedEvent();
-            Compressor localSendCompressor = sendCompressor;
-            if (localSendCompressor == null || SECURITY_SENSITIVE_COMMANDS.contains(message.getCommandDocument(bsonOutput).getFirstKey())) {
+            String commandName = message.getCommandDocument(bsonOutput).getFirstKey();
+            int uncompressedSize = bsonOutput.getSize();
+            Compressor localSendCompressor = getSendCompressor(commandName, uncompressedSize);
+            if (localSendCompressor == null) {
                 sendCommandMessageAsync(message.getId(), decoder, sessionContext, callback, bsonOutput, commandEventSender,
                         message.isResponseExpected());
             } else {
@@ -495,6 +519,7 @@ public class InternalStreamConnection implements InternalConnection {
                     releaseAllBuffers(byteBuffers);
                     bsonOutput.close();
                 }
+                compressionPolicy.messageCompressed(commandName, uncompressedSize, compressedBsonOutput.getSize());
                 sendCommandMessageAsync(message.getId(), decoder, sessionContext, callback, compressedBsonOutput, commandEventSender,
                         message.isResponseExpected());
             }
@@ -505,6 +530,20 @@ public class InternalStreamConnection implements InternalConnection {
         }
     }
 
+    /**
+     * Returns the compressor to use for the given command, or null if the message should be sent uncompressed, either because no
+     * compressor was negotiated, the command is security sensitive, or the compression policy declines it.
+     */
+    @Nullable
+    private Compressor getSendCompressor(final String commandName, final int messageSize) {
+        Compressor localSendCompressor = sendCompressor;
+        if (localSendCompressor == null || SECURITY_SENSITIVE_COMMANDS.contains(commandName)
+                || !compressionPolicy.shouldCompress(commandName, messageSize)) {
+            return null;
+        }
+        return localSendCompressor;
+    }
+
     private void releaseAllBuffers(final List<ByteBuf> byteBuffers) {
         for (ByteBuf cur : byteBuffers) {
             cur.release();
@@ -523,39 +562,57 @@ public class InternalStreamConnection implements InternalConnection {
                 commandEventSender.sendSucceededEventForOneWayCommand();
                 callback.onResult(null, null);
             } else {
-                readAsync(MESSAGE_HEADER_LENGTH, new MessageHeaderCallback((responseBuffers, t1) -> {
-                    if (t1 != null) {
-                        commandEventSender.sendFailedEvent(t1);
-                        callback.onResult(null, t1);
-                        return;
-                    }
-                    assertNotNull(responseBuffers);
-                    try {
-                        updateSessionContext(sessionContext, responseBuffers);
-                        boolean commandOk =
-                                isCommandOk(new BsonBinaryReader(new ByteBufferBsonInput(responseBuffers.getBodyByteBuffer())));
-                        responseBuffers.reset();
-                        if (!commandOk) {
-                            MongoException commandFailureException = getCommandFailureException(
-                                    responseBuffers.getResponseDocument(messageId, new BsonDocumentCodec()),
-                                    description.getServerAddress());
-                            commandEventSender.sendFailedEvent(commandFailureException);
-                            throw commandFailureException;
-                        }
-                        commandEventSender.sendSucceededEvent(responseBuffers);
-
-                        T result1 = getCommandResult(decoder, responseBuffers, messageId);
-                        callback.onResult(result1, null);
-                    } catch (Throwable localThrowable) {
-                        callback.onResult(null, localThrowable);
-                    } finally {
-                        responseBuffers.close();
-                    }
-                }));
+                responseTo = messageId;
+                receiveCommandMessageResponseAsync(decoder, commandEventSender, sessionContext, callback);
             }
         });
     }
 
+    @Override
+    public <T> void receiveAsync(final Decoder<T> decoder, final SessionContext sessionContext, final SingleResultCallback<T> callback) {
+        isTrue("Response is expected", hasMoreToCome);
+        receiveCommandMessageResponseAsync(decoder, new NoOpCommandEventSender(), sessionContext, callback);
+    }
+
+    private <T> void receiveCommandMessageResponseAsync(final Decoder<T> decoder, final CommandEventSender commandEventSender,
+                                                        final SessionContext sessionContext, final SingleResultCallback<T> callback) {
+        readAsync(MESSAGE_HEADER_LENGTH, new MessageHeaderCallback((responseBuffers, t) -> {
+            if (t != null) {
+                commandEventSender.sendFailedEvent(t);
+                callback.onResult(null, t);
+                return;
+            }
+            assertNotNull(responseBuffers);
+            try {
+                updateSessionContext(sessionContext, responseBuffers);
+                boolean commandOk =
+                        isCommandOk(new BsonBinaryReader(new ByteBufferBsonInput(responseBuffers.getBodyByteBuffer())));
+                responseBuffers.reset();
+                if (!commandOk) {
+                    MongoException commandFailureException = getCommandFailureException(
+                            responseBuffers.getResponseDocument(responseTo, new BsonDocumentCodec()),
+                            description.getServerAddress());
+                    commandEventSender.sendFailedEvent(commandFailureException);
+                    throw commandFailureException;
+                }
+                commandEventSender.sendSucceededEvent(responseBuffers);
+
+                T result = getCommandResult(decoder, responseBuffers, responseTo);
+                hasMoreToCome = responseBuffers.getReplyHeader().hasMoreToCome();
+                if (hasMoreToCome) {
+                    responseTo = responseBuffers.getReplyHeader().getRequestId();
+                } else {
+                    responseTo = 0;
+                }
+                callback.onResult(result, null);
+            } catch (Throwable localThrowable) {
+                callback.onResult(null, localThrowable);
+            } finally {
+                responseBuffers.close();
+            }
+        }));
+    }
+
     private <T> T getCommandResult(final Decoder<T> decoder, final ResponseBuffers responseBuffers, final int messageId) {
         T result = new ReplyMessage<>(responseBuffers, decoder, messageId).getDocuments().get(0);
         MongoException writeConcernBasedError = createSpecialWriteConcernException(responseBuffers, description.getServerAddress());
@@ -752,9 +809,10 @@ public class InternalStreamConnection implements InternalConnection {
                 compressor.uncompress(messageBuffer, buffer);
 
                 buffer.flip();
-                return new ResponseBuffers(new ReplyHeader(buffer, compressedHeader), buffer);
+                return new ResponseBuffers(new ReplyHeader(buffer, compressedHeader), buffer, fieldNameCache);
             } else {
-                ResponseBuffers responseBuffers = new ResponseBuffers(new ReplyHeader(messageBuffer, messageHeader), messageBuffer);
+                ResponseBuffers responseBuffers = new ResponseBuffers(new ReplyHeader(messageBuffer, messageHeader), messageBuffer,
+                        fieldNameCache);
                 releaseMessageBuffer = false;
                 return responseBuffers;
             }
@@ -842,7 +900,7 @@ public class InternalStreamConnection implements InternalConnection {
                         responseBuffer = result;
                         releaseResult = false;
                     }
-                    callback.onResult(new ResponseBuffers(replyHeader, responseBuffer), null);
+                    callback.onResult(new ResponseBuffers(replyHeader, responseBuffer, fieldNameCache), null);
                 } catch (Throwable localThrowable) {
                     callback.onResult(null, localThrowable);
                 } finally {
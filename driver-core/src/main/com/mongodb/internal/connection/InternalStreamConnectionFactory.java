@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.CompressionPolicy;
 import com.mongodb.LoggerSettings;
 import com.mongodb.MongoCompressor;
 import com.mongodb.MongoDriverInformation;
@@ -39,6 +40,8 @@ class InternalStreamConnectionFactory implements InternalConnectionFactory {
     private final StreamFactory streamFactory;
     private final BsonDocument clientMetadataDocument;
     private final List<MongoCompressor> compressorList;
+    private final CompressionPolicy compressionPolicy;
+    private final int fieldNameCacheSize;
     private LoggerSettings loggerSettings;
     private final CommandListener commandListener;
     @Nullable
@@ -52,19 +55,21 @@ class InternalStreamConnectionFactory implements InternalConnectionFactory {
             final List<MongoCompressor> compressorList,
             final LoggerSettings loggerSettings, @Nullable final CommandListener commandListener, @Nullable final ServerApi serverApi) {
         this(clusterConnectionMode, false, streamFactory, credential, applicationName, mongoDriverInformation, compressorList,
-                loggerSettings, commandListener, serverApi);
+                CompressionPolicy.compressAll(), 0, loggerSettings, commandListener, serverApi);
     }
 
     InternalStreamConnectionFactory(final ClusterConnectionMode clusterConnectionMode, final boolean isMonitoringConnection,
             final StreamFactory streamFactory,
             @Nullable final MongoCredentialWithCache credential,
             @Nullable final String applicationName, final MongoDriverInformation mongoDriverInformation,
-            final List<MongoCompressor> compressorList,
+            final List<MongoCompressor> compressorList, final CompressionPolicy compressionPolicy, final int fieldNameCacheSize,
             final LoggerSettings loggerSettings, @Nullable final CommandListener commandListener, @Nullable final ServerApi serverApi) {
         this.clusterConnectionMode = clusterConnectionMode;
         this.isMonitoringConnection = isMonitoringConnection;
         this.streamFactory = notNull("streamFactory", streamFactory);
         this.compressorList = notNull("compressorList", compressorList);
+        this.compressionPolicy = notNull("compressionPolicy", compressionPolicy);
+        this.fieldNameCacheSize = fieldNameCacheSize;
         this.loggerSettings = loggerSettings;
         this.commandListener = commandListener;
         this.serverApi = serverApi;
@@ -76,7 +81,7 @@ class InternalStreamConnectionFactory implements InternalConnectionFactory {
     public InternalConnection create(final ServerId serverId, final ConnectionGenerationSupplier connectionGenerationSupplier) {
         Authenticator authenticator = credential == null ? null : createAuthenticator(credential);
         return new InternalStreamConnection(clusterConnectionMode, isMonitoringConnection, serverId, connectionGenerationSupplier,
-                streamFactory, compressorList, loggerSettings, commandListener,
+                streamFactory, compressorList, compressionPolicy, fieldNameCacheSize, loggerSettings, commandListener,
                 new InternalStreamConnectionInitializer(clusterConnectionMode, authenticator, clientMetadataDocument, compressorList,
                         serverApi));
     }
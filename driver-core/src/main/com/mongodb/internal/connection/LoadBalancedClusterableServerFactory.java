@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.CompressionPolicy;
 import com.mongodb.LoggerSettings;
 import com.mongodb.MongoCompressor;
 import com.mongodb.MongoCredential;
@@ -51,6 +52,8 @@ public class LoadBalancedClusterableServerFactory implements ClusterableServerFa
     private final String applicationName;
     private final MongoDriverInformation mongoDriverInformation;
     private final List<MongoCompressor> compressorList;
+    private final CompressionPolicy compressionPolicy;
+    private final int fieldNameCacheSize;
     private final ServerApi serverApi;
 
     public LoadBalancedClusterableServerFactory(final ServerSettings serverSettings,
@@ -60,7 +63,8 @@ public class LoadBalancedClusterableServerFactory implements ClusterableServerFa
                                                 final LoggerSettings loggerSettings,
                                                 @Nullable final CommandListener commandListener,
                                                 @Nullable final String applicationName, final MongoDriverInformation mongoDriverInformation,
-                                                final List<MongoCompressor> compressorList, @Nullable final ServerApi serverApi) {
+                                                final List<MongoCompressor> compressorList, final CompressionPolicy compressionPolicy,
+                                                final int fieldNameCacheSize, @Nullable final ServerApi serverApi) {
         this.serverSettings = serverSettings;
         this.connectionPoolSettings = connectionPoolSettings;
         this.internalConnectionPoolSettings = internalConnectionPoolSettings;
@@ -71,14 +75,17 @@ public class LoadBalancedClusterableServerFactory implements ClusterableServerFa
         this.applicationName = applicationName;
         this.mongoDriverInformation = mongoDriverInformation;
         this.compressorList = compressorList;
+        this.compressionPolicy = compressionPolicy;
+        this.fieldNameCacheSize = fieldNameCacheSize;
         this.serverApi = serverApi;
     }
 
     @Override
     public ClusterableServer create(final Cluster cluster, final ServerAddress serverAddress) {
         ConnectionPool connectionPool = new DefaultConnectionPool(new ServerId(cluster.getClusterId(), serverAddress),
-                new InternalStreamConnectionFactory(ClusterConnectionMode.LOAD_BALANCED, streamFactory, credential, applicationName,
-                        mongoDriverInformation, compressorList, loggerSettings, commandListener, serverApi),
+                new InternalStreamConnectionFactory(ClusterConnectionMode.LOAD_BALANCED, false, streamFactory, credential,
+                        applicationName, mongoDriverInformation, compressorList, compressionPolicy, fieldNameCacheSize, loggerSettings,
+                        commandListener, serverApi),
                 connectionPoolSettings, internalConnectionPoolSettings, EmptyProvider.instance());
         connectionPool.ready();
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.internal.async.SingleResultCallback;
+import com.mongodb.internal.session.SessionContext;
+import org.bson.codecs.Decoder;
+
+import static com.mongodb.assertions.Assertions.notNull;
+
+/**
+ * Receives the next reply that the server streams on a connection after a reply with the moreToCome flag set, without sending a
+ * request.
+ */
+class MoreToComeProtocol<T> implements CommandProtocol<T> {
+    private final Decoder<T> commandResultDecoder;
+    private SessionContext sessionContext;
+
+    MoreToComeProtocol(final Decoder<T> commandResultDecoder) {
+        this.commandResultDecoder = notNull("commandResultDecoder", commandResultDecoder);
+    }
+
+    @Override
+    public T execute(final InternalConnection connection) {
+        return connection.receive(commandResultDecoder, sessionContext);
+    }
+
+    @Override
+    public void executeAsync(final InternalConnection connection, final SingleResultCallback<T> callback) {
+        try {
+            connection.receiveAsync(commandResultDecoder, sessionContext, callback);
+        } catch (Throwable t) {
+            callback.onResult(null, t);
+        }
+    }
+
+    @Override
+    public MoreToComeProtocol<T> sessionContext(final SessionContext sessionContext) {
+        this.sessionContext = sessionContext;
+        return this;
+    }
+}
@@ -16,24 +16,49 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.annotations.ThreadSafe;
 import com.mongodb.connection.BufferProvider;
+import com.mongodb.internal.VisibleForTesting;
 import com.mongodb.internal.thread.DaemonThreadFactory;
+import com.mongodb.internal.thread.VirtualThreads;
 import org.bson.ByteBuf;
 import org.bson.ByteBufNIO;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.mongodb.internal.VisibleForTesting.AccessModifier.PRIVATE;
 
 /**
+ * A pool of byte buffers whose capacities are powers of two.
+ *
+ * <p>Released buffers of the smaller sizes are first cached in a small per-thread magazine, so that a thread that repeatedly gets and
+ * releases buffers does so without allocation or contention.  Magazines exchange buffers with the shared pool in batches.  Each cached
+ * buffer is tracked together with the time it was released, and when pruning is enabled buffers that have been idle for longer than the
+ * maximum idle time are discarded rather than reused.  The pruner visits the magazines of every thread as well as the shared pool, so
+ * that threads that have stopped using the pool do not hold on to their buffers.</p>
+ *
+ * <p>Virtual threads bypass the magazines and use the shared pool directly, as there may be very many of them and each is typically
+ * short-lived, so that buffers cached per thread would rarely be reused.  The shared pool is guarded by locks rather than monitors so
+ * that contending virtual threads do not pin their carrier threads.</p>
+ *
  * <p>This class is not part of the public API and may be removed or changed at any time</p>
  */
+@ThreadSafe
 public class PowerOfTwoBufferPool implements BufferProvider {
 
     /**
@@ -41,27 +66,39 @@ public class PowerOfTwoBufferPool implements BufferProvider {
      */
     public static final PowerOfTwoBufferPool DEFAULT = new PowerOfTwoBufferPool().enablePruning();
 
-    private static final class IdleTrackingByteBuffer {
-        private final long lastUsedNanos;
-        private final ByteBuffer buffer;
+    // The largest power of two buffer size that is cached in per-thread magazines.  Larger buffers are kept only in the shared pool, so
+    // that each thread does not hold on to several of them.
+    static final int MAX_MAGAZINE_POWER_OF_TWO = 12;
+    // The number of buffers of each size that a magazine can hold
+    static final int MAGAZINE_SIZE = 8;
 
-        private IdleTrackingByteBuffer(final ByteBuffer buffer) {
-            this.lastUsedNanos = System.nanoTime();
-            this.buffer = buffer;
-        }
+    private static final AtomicIntegerFieldUpdater<PooledByteBufNIO> RETURNED_TO_POOL =
+            AtomicIntegerFieldUpdater.newUpdater(PooledByteBufNIO.class, "returnedToPool");
 
-        public long getLastUsedNanos() {
-            return lastUsedNanos;
-        }
+    private final BufferPool[] powerOfTwoToPool;
+    private final boolean direct;
+    private final long maxIdleTimeNanos;
+    private final ScheduledExecutorService pruner;
+    private volatile boolean pruningEnabled;
+    private final int magazineCount;
+    private final ThreadLocal<ThreadMagazines> magazines;
+    // The magazines of every live thread that has used this pool, for the pruner
+    private final Set<Reference<ThreadMagazines>> allMagazines = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ReferenceQueue<ThreadMagazines> collectedMagazines = new ReferenceQueue<>();
 
-        public ByteBuffer getBuffer() {
-            return buffer;
-        }
+    /**
+     * Gets the global pool of direct buffers, creating it on first use.  Pruning is enabled on this pool.  Idle buffers are pruned after
+     * one minute.
+     *
+     * @return the global pool of direct buffers
+     */
+    public static PowerOfTwoBufferPool direct() {
+        return DirectPoolHolder.INSTANCE;
     }
 
-    private final Map<Integer, BufferPool> powerOfTwoToPoolMap = new HashMap<>();
-    private final long maxIdleTimeNanos;
-    private final ScheduledExecutorService pruner;
+    private static final class DirectPoolHolder {
+        private static final PowerOfTwoBufferPool INSTANCE = new PowerOfTwoBufferPool(24, 1, TimeUnit.MINUTES, true).enablePruning();
+    }
 
     /**
      * Construct an instance with a highest power of two of 24.
@@ -87,58 +124,132 @@ public class PowerOfTwoBufferPool implements BufferProvider {
      * @param timeUnit time unit of maxIdleTime
      */
     PowerOfTwoBufferPool(final int highestPowerOfTwo, final long maxIdleTime, final TimeUnit timeUnit) {
-        int powerOfTwo = 1;
+        this(highestPowerOfTwo, maxIdleTime, timeUnit, false);
+    }
+
+    /**
+     * Construct an instance.
+     *
+     * @param highestPowerOfTwo the highest power of two buffer size that will be pooled
+     * @param maxIdleTime max idle time when pruning is enabled
+     * @param timeUnit time unit of maxIdleTime
+     * @param direct whether pooled buffers are allocated outside of the Java heap
+     */
+    PowerOfTwoBufferPool(final int highestPowerOfTwo, final long maxIdleTime, final TimeUnit timeUnit, final boolean direct) {
+        powerOfTwoToPool = new BufferPool[highestPowerOfTwo + 1];
         for (int i = 0; i <= highestPowerOfTwo; i++) {
-            int size = powerOfTwo;
-            powerOfTwoToPoolMap.put(i, new BufferPool(size));
-            powerOfTwo = powerOfTwo << 1;
+            powerOfTwoToPool[i] = new BufferPool(1 << i);
         }
+        this.direct = direct;
         maxIdleTimeNanos = timeUnit.toNanos(maxIdleTime);
         pruner = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("BufferPoolPruner"));
+        magazineCount = Math.min(highestPowerOfTwo, MAX_MAGAZINE_POWER_OF_TWO) + 1;
+        magazines = ThreadLocal.withInitial(this::newThreadMagazines);
     }
 
     /**
      * Call this method at most once to enable a background thread that prunes idle buffers from the pool
      */
     PowerOfTwoBufferPool enablePruning() {
+        pruningEnabled = true;
         pruner.scheduleAtFixedRate(this::prune, maxIdleTimeNanos, maxIdleTimeNanos / 2, TimeUnit.NANOSECONDS);
         return this;
     }
 
     void disablePruning() {
+        pruningEnabled = false;
         pruner.shutdownNow();
     }
 
+    /**
+     * Gets whether pooled buffers are allocated outside of the Java heap.
+     *
+     * @return true if pooled buffers are direct
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
     @Override
     public ByteBuf getBuffer(final int size) {
         return new PooledByteBufNIO(getByteBuffer(size));
     }
 
     public ByteBuffer getByteBuffer(final int size) {
-        BufferPool pool = powerOfTwoToPoolMap.get(log2(roundUpToNextHighestPowerOfTwo(size)));
-        ByteBuffer byteBuffer = (pool == null) ? createNew(size) : pool.get().getBuffer();
+        int powerOfTwo = log2(roundUpToNextHighestPowerOfTwo(size));
+        ByteBuffer byteBuffer;
+        if (powerOfTwo >= powerOfTwoToPool.length) {
+            // Buffers too large to be pooled are always allocated on the heap, as direct memory is only reclaimed by the garbage collector
+            byteBuffer = createNew(size, false);
+        } else if (powerOfTwo < magazineCount && !VirtualThreads.isVirtual(Thread.currentThread())) {
+            byteBuffer = magazines.get().get(powerOfTwo);
+        } else {
+            byteBuffer = powerOfTwoToPool[powerOfTwo].get();
+        }
 
         ((Buffer) byteBuffer).clear();
         ((Buffer) byteBuffer).limit(size);
         return byteBuffer;
     }
 
-    private ByteBuffer createNew(final int size) {
-        ByteBuffer buf = ByteBuffer.allocate(size);
+    private ByteBuffer createNew(final int size, final boolean direct) {
+        ByteBuffer buf = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
         buf.order(ByteOrder.LITTLE_ENDIAN);
         return buf;
     }
 
     public void release(final ByteBuffer buffer) {
-        BufferPool pool =
-                powerOfTwoToPoolMap.get(log2(roundUpToNextHighestPowerOfTwo(buffer.capacity())));
-        if (pool != null) {
-            pool.release(new IdleTrackingByteBuffer(buffer));
+        int powerOfTwo = log2(roundUpToNextHighestPowerOfTwo(buffer.capacity()));
+        if (powerOfTwo >= powerOfTwoToPool.length || buffer.isDirect() != direct) {
+            return;
+        }
+        if (powerOfTwo < magazineCount && !VirtualThreads.isVirtual(Thread.currentThread())) {
+            magazines.get().release(powerOfTwo, buffer);
+        } else {
+            powerOfTwoToPool[powerOfTwo].release(buffer, System.nanoTime());
+        }
+    }
+
+    private ThreadMagazines newThreadMagazines() {
+        // The magazines of a thread that has terminated are only reachable through their weak reference, which is then enqueued
+        Reference<? extends ThreadMagazines> collected;
+        while ((collected = collectedMagazines.poll()) != null) {
+            allMagazines.remove(collected);
         }
+        ThreadMagazines threadMagazines = new ThreadMagazines();
+        allMagazines.add(new WeakReference<>(threadMagazines, collectedMagazines));
+        return threadMagazines;
     }
 
     private void prune() {
-        powerOfTwoToPoolMap.values().forEach(BufferPool::prune);
+        long now = System.nanoTime();
+        for (BufferPool pool : powerOfTwoToPool) {
+            pool.prune(now);
+        }
+        for (Iterator<Reference<ThreadMagazines>> iterator = allMagazines.iterator(); iterator.hasNext();) {
+            ThreadMagazines threadMagazines = iterator.next().get();
+            if (threadMagazines == null) {
+                iterator.remove();
+            } else {
+                threadMagazines.prune(now);
+            }
+        }
+    }
+
+    @VisibleForTesting(otherwise = PRIVATE)
+    int getMagazineBufferCount() {
+        int count = 0;
+        for (Reference<ThreadMagazines> reference : allMagazines) {
+            ThreadMagazines threadMagazines = reference.get();
+            if (threadMagazines != null) {
+                count += threadMagazines.getBufferCount();
+            }
+        }
+        return count;
+    }
+
+    private boolean isIdle(final long releasedNanos, final long now) {
+        return pruningEnabled && now - releasedNanos >= maxIdleTimeNanos;
     }
 
     static int log2(final int powerOfTwo) {
@@ -158,6 +269,9 @@ public class PowerOfTwoBufferPool implements BufferProvider {
     }
 
     private class PooledByteBufNIO extends ByteBufNIO {
+        // Guards against two threads that release concurrently both seeing a reference count of zero.  Not private, so that
+        // RETURNED_TO_POOL can access it
+        volatile int returnedToPool;
 
         PooledByteBufNIO(final ByteBuffer buf) {
             super(buf);
@@ -167,35 +281,242 @@ public class PowerOfTwoBufferPool implements BufferProvider {
         public void release() {
             ByteBuffer wrapped = asNIO();
             super.release();
-            if (getReferenceCount() == 0) {
+            if (getReferenceCount() == 0 && RETURNED_TO_POOL.compareAndSet(this, 0, 1)) {
                 PowerOfTwoBufferPool.this.release(wrapped);
             }
         }
     }
 
+    /**
+     * The magazines of a single thread, one for each of the smaller buffer sizes.  Only the owning thread gets and releases buffers through
+     * them, but the pruner discards their idle buffers too, so they are guarded by a lock that is almost never contended.
+     */
+    private final class ThreadMagazines {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Magazine[] magazines = new Magazine[magazineCount];
+
+        ByteBuffer get(final int powerOfTwo) {
+            lock.lock();
+            try {
+                return getMagazine(powerOfTwo).get();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(final int powerOfTwo, final ByteBuffer buffer) {
+            lock.lock();
+            try {
+                getMagazine(powerOfTwo).release(buffer);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void prune(final long now) {
+            lock.lock();
+            try {
+                for (Magazine magazine : magazines) {
+                    if (magazine != null) {
+                        magazine.prune(now);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getBufferCount() {
+            lock.lock();
+            try {
+                int count = 0;
+                for (Magazine magazine : magazines) {
+                    if (magazine != null) {
+                        count += magazine.count;
+                    }
+                }
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Magazine getMagazine(final int powerOfTwo) {
+            Magazine magazine = magazines[powerOfTwo];
+            if (magazine == null) {
+                magazine = new Magazine(powerOfTwoToPool[powerOfTwo]);
+                magazines[powerOfTwo] = magazine;
+            }
+            return magazine;
+        }
+    }
+
+    /**
+     * A stack of buffers of a single size, with the time each one was released kept in a parallel array so that no wrapper object is
+     * needed per buffer.  Guarded by the lock of the thread's magazines that it belongs to.
+     */
+    private final class Magazine {
+        private final BufferPool pool;
+        private final ByteBuffer[] buffers = new ByteBuffer[MAGAZINE_SIZE];
+        private final long[] releasedNanos = new long[MAGAZINE_SIZE];
+        private int count;
+
+        Magazine(final BufferPool pool) {
+            this.pool = pool;
+        }
+
+        ByteBuffer get() {
+            if (count == 0) {
+                count = pool.transferTo(buffers, releasedNanos, MAGAZINE_SIZE / 2);
+                if (count == 0) {
+                    return pool.createNew();
+                }
+            }
+            count--;
+            ByteBuffer buffer = buffers[count];
+            buffers[count] = null;
+            if (isIdle(releasedNanos[count], System.nanoTime())) {
+                // Buffers below this one were generally released before it, so discard them as well
+                Arrays.fill(buffers, 0, count, null);
+                count = 0;
+                return pool.createNew();
+            }
+            return buffer;
+        }
+
+        void release(final ByteBuffer buffer) {
+            if (count == MAGAZINE_SIZE) {
+                // Hand the least recently released half to the shared pool, and keep the most recently released half
+                int transferred = MAGAZINE_SIZE / 2;
+                pool.transferFrom(buffers, releasedNanos, 0, transferred);
+                System.arraycopy(buffers, transferred, buffers, 0, MAGAZINE_SIZE - transferred);
+                System.arraycopy(releasedNanos, transferred, releasedNanos, 0, MAGAZINE_SIZE - transferred);
+                count = MAGAZINE_SIZE - transferred;
+                Arrays.fill(buffers, count, MAGAZINE_SIZE, null);
+            }
+            buffers[count] = buffer;
+            releasedNanos[count] = System.nanoTime();
+            count++;
+        }
+
+        void prune(final long now) {
+            // Buffers are generally stacked in the order they were released, so the idle ones are at the bottom
+            int idle = 0;
+            while (idle < count && isIdle(releasedNanos[idle], now)) {
+                idle++;
+            }
+            if (idle > 0) {
+                System.arraycopy(buffers, idle, buffers, 0, count - idle);
+                System.arraycopy(releasedNanos, idle, releasedNanos, 0, count - idle);
+                Arrays.fill(buffers, count - idle, count, null);
+                count -= idle;
+            }
+        }
+    }
+
+    /**
+     * The shared stack of buffers of a single size, with the time each one was released kept in a parallel array.
+     */
     private final class BufferPool {
         private final int bufferSize;
-        private final ConcurrentLinkedDeque<IdleTrackingByteBuffer> available = new ConcurrentLinkedDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private ByteBuffer[] available = new ByteBuffer[MAGAZINE_SIZE];
+        private long[] releasedNanos = new long[MAGAZINE_SIZE];
+        private int count;
 
         BufferPool(final int bufferSize) {
             this.bufferSize = bufferSize;
         }
 
-        IdleTrackingByteBuffer get() {
-            IdleTrackingByteBuffer buffer = available.pollLast();
-            if (buffer != null) {
-                return buffer;
+        ByteBuffer createNew() {
+            return PowerOfTwoBufferPool.this.createNew(bufferSize, direct);
+        }
+
+        ByteBuffer get() {
+            lock.lock();
+            try {
+                if (count > 0) {
+                    count--;
+                    ByteBuffer buffer = available[count];
+                    available[count] = null;
+                    return buffer;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return createNew();
+        }
+
+        void release(final ByteBuffer buffer, final long nanos) {
+            lock.lock();
+            try {
+                ensureCapacity(count + 1);
+                available[count] = buffer;
+                releasedNanos[count] = nanos;
+                count++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves up to {@code max} of the most recently released buffers into the start of the given arrays, preserving their order.
+         */
+        int transferTo(final ByteBuffer[] buffers, final long[] nanos, final int max) {
+            lock.lock();
+            try {
+                int transferred = Math.min(max, count);
+                int from = count - transferred;
+                System.arraycopy(available, from, buffers, 0, transferred);
+                System.arraycopy(releasedNanos, from, nanos, 0, transferred);
+                Arrays.fill(available, from, count, null);
+                count = from;
+                return transferred;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves {@code length} buffers starting at {@code offset} from the given arrays into this pool.
+         */
+        void transferFrom(final ByteBuffer[] buffers, final long[] nanos, final int offset, final int length) {
+            lock.lock();
+            try {
+                ensureCapacity(count + length);
+                System.arraycopy(buffers, offset, available, count, length);
+                System.arraycopy(nanos, offset, releasedNanos, count, length);
+                Arrays.fill(buffers, offset, offset + length, null);
+                count += length;
+            } finally {
+                lock.unlock();
             }
-            return new IdleTrackingByteBuffer(createNew(bufferSize));
         }
 
-        void release(final IdleTrackingByteBuffer t) {
-            available.addLast(t);
+        void prune(final long now) {
+            lock.lock();
+            try {
+                int retained = 0;
+                for (int i = 0; i < count; i++) {
+                    if (!isIdle(releasedNanos[i], now)) {
+                        available[retained] = available[i];
+                        releasedNanos[retained] = releasedNanos[i];
+                        retained++;
+                    }
+                }
+                Arrays.fill(available, retained, count, null);
+                count = retained;
+            } finally {
+                lock.unlock();
+            }
         }
 
-        void prune() {
-            long now = System.nanoTime();
-            available.removeIf(cur -> now - cur.getLastUsedNanos() >= maxIdleTimeNanos);
+        private void ensureCapacity(final int capacity) {
+            if (capacity > available.length) {
+                int newLength = Math.max(capacity, available.length * 2);
+                available = Arrays.copyOf(available, newLength);
+                releasedNanos = Arrays.copyOf(releasedNanos, newLength);
+            }
         }
     }
 }
@@ -21,7 +21,6 @@ import org.bson.BsonBinaryReader;
 import org.bson.codecs.Decoder;
 import org.bson.codecs.DecoderContext;
 import org.bson.io.BsonInput;
-import org.bson.io.ByteBufferBsonInput;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,7 +41,7 @@ public class ReplyMessage<T> {
         this(responseBuffers.getReplyHeader(), requestId);
 
         if (replyHeader.getNumberReturned() > 0) {
-            try (BsonInput bsonInput = new ByteBufferBsonInput(responseBuffers.getBodyByteBuffer().duplicate())) {
+            try (BsonInput bsonInput = new ResponseBufferBsonInput(responseBuffers)) {
                 while (documents.size() < replyHeader.getNumberReturned()) {
                     try (BsonBinaryReader reader = new BsonBinaryReader(bsonInput)) {
                         documents.add(decoder.decode(reader, DecoderContext.builder().build()));
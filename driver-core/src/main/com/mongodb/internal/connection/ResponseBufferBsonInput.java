@@ -0,0 +1,47 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import org.bson.ByteBuf;
+import org.bson.io.ByteBufferBsonInput;
+
+/**
+ * A {@link ByteBufferBsonInput} over the body of a response, which allows a decoder to retain the buffer of the response so that the
+ * values it decodes can share the buffer instead of copying it.  Positions reported by this input are indexes in that buffer.  Field names
+ * are read through the cache of the connection that received the response, if it has one, since the documents in a response, and across
+ * responses, mostly repeat the same names.
+ *
+ * <p>This class is not part of the public API and may be removed or changed at any time</p>
+ */
+public final class ResponseBufferBsonInput extends ByteBufferBsonInput {
+    private final ResponseBuffers responseBuffers;
+
+    ResponseBufferBsonInput(final ResponseBuffers responseBuffers) {
+        super(responseBuffers.duplicateBodyByteBuffer(), responseBuffers.getFieldNameCache());
+        this.responseBuffers = responseBuffers;
+    }
+
+    /**
+     * Retains the buffer containing the response body, which remains valid until the caller releases it, even after the response has been
+     * closed.
+     *
+     * @return the retained buffer
+     */
+    public ByteBuf retainBodyByteBuffer() {
+        return responseBuffers.retainBodyByteBuffer();
+    }
+}
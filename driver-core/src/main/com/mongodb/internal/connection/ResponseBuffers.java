@@ -16,9 +16,11 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.lang.Nullable;
 import org.bson.BsonDocument;
 import org.bson.ByteBuf;
 import org.bson.codecs.Decoder;
+import org.bson.io.FieldNameCache;
 
 import java.io.Closeable;
 
@@ -29,12 +31,22 @@ public class ResponseBuffers implements Closeable {
     private final ReplyHeader replyHeader;
     private final ByteBuf bodyByteBuffer;
     private final int bodyByteBufferStartPosition;
+    @Nullable
+    private final FieldNameCache fieldNameCache;
     private volatile boolean isClosed;
 
     ResponseBuffers(final ReplyHeader replyHeader, final ByteBuf bodyByteBuffer) {
+        this(replyHeader, bodyByteBuffer, null);
+    }
+
+    /**
+     * @param fieldNameCache the cache of the field names read from the response body, or null to not cache them
+     */
+    ResponseBuffers(final ReplyHeader replyHeader, final ByteBuf bodyByteBuffer, @Nullable final FieldNameCache fieldNameCache) {
         this.replyHeader = replyHeader;
         this.bodyByteBuffer = bodyByteBuffer;
         this.bodyByteBufferStartPosition = bodyByteBuffer == null ? 0 : bodyByteBuffer.position();
+        this.fieldNameCache = fieldNameCache;
     }
 
     /**
@@ -62,6 +74,32 @@ public class ResponseBuffers implements Closeable {
         return bodyByteBuffer.asReadOnly();
     }
 
+    /**
+     * Duplicates the buffer containing the response body.  Unlike the buffer returned by {@link #getBodyByteBuffer()}, the returned buffer
+     * is not read-only, so a reader can decode strings directly from its backing array, if it has one.  Callers must not write to it.
+     *
+     * @return a duplicate of the buffer containing the response body
+     */
+    ByteBuf duplicateBodyByteBuffer() {
+        return bodyByteBuffer.duplicate();
+    }
+
+    /**
+     * Retains the buffer containing the response body.  Unlike the buffer returned by {@link #getBodyByteBuffer()}, the returned buffer
+     * shares its reference count with the one owned by this instance, so it remains valid after this instance has been closed, until the
+     * caller releases it.
+     *
+     * @return the retained buffer containing the response body
+     */
+    ByteBuf retainBodyByteBuffer() {
+        return bodyByteBuffer.retain();
+    }
+
+    @Nullable
+    FieldNameCache getFieldNameCache() {
+        return fieldNameCache;
+    }
+
     public void reset() {
         bodyByteBuffer.position(bodyByteBufferStartPosition);
     }
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoDriverInformation;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ClusterSettings;
+import com.mongodb.event.ServerDescriptionChangedEvent;
+import com.mongodb.internal.async.SingleResultCallback;
+import com.mongodb.internal.diagnostics.logging.Logger;
+import com.mongodb.internal.diagnostics.logging.Loggers;
+import com.mongodb.lang.Nullable;
+import com.mongodb.selector.ServerSelector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.mongodb.assertions.Assertions.isTrue;
+import static com.mongodb.internal.Locks.withLock;
+
+/**
+ * The clusters shared by clients with compatible settings, each of which is closed once every client that uses it has been closed.
+ *
+ * <p>This class is not part of the public API and may be removed or changed at any time</p>
+ */
+public final class SharedClusters {
+    private static final Logger LOGGER = Loggers.getLogger("cluster");
+    private static final Lock LOCK = new ReentrantLock();
+    private static final Map<List<Object>, SharedCluster> CLUSTERS = new HashMap<>();
+
+    /**
+     * Gets a reference to the cluster shared by clients with settings compatible with the given ones, creating the cluster if there is
+     * none.  Closing the reference releases it, and the cluster itself is closed when its last reference is released.
+     *
+     * @param settings the client settings
+     * @param mongoDriverInformation the driver information
+     * @param clusterFactory the factory for the cluster, if there is none to share
+     * @return a reference to the shared cluster
+     */
+    public static Cluster acquire(final MongoClientSettings settings, final MongoDriverInformation mongoDriverInformation,
+            final Supplier<Cluster> clusterFactory) {
+        return acquire(settings, mongoDriverInformation, resources -> clusterFactory.get());
+    }
+
+    /**
+     * Gets a reference to the cluster shared by clients with settings compatible with the given ones, creating the cluster if there is
+     * none, as {@link #acquire(MongoClientSettings, MongoDriverInformation, Supplier)} does.  The factory is passed a list to which it
+     * may add the resources that the cluster uses and that are closed after the cluster, such as the factory of its streams.
+     *
+     * @param settings the client settings
+     * @param mongoDriverInformation the driver information
+     * @param clusterFactory the factory for the cluster, if there is none to share
+     * @return a reference to the shared cluster
+     */
+    public static Cluster acquire(final MongoClientSettings settings, final MongoDriverInformation mongoDriverInformation,
+            final Function<List<Closeable>, Cluster> clusterFactory) {
+        List<Object> key = getKey(settings, mongoDriverInformation);
+        return withLock(LOCK, () -> {
+            SharedCluster sharedCluster = CLUSTERS.get(key);
+            if (sharedCluster == null) {
+                List<Closeable> resources = new ArrayList<>();
+                sharedCluster = new SharedCluster(key, clusterFactory.apply(resources), resources);
+                CLUSTERS.put(key, sharedCluster);
+            }
+            sharedCluster.referenceCount++;
+            return new ClusterReference(sharedCluster);
+        });
+    }
+
+    /**
+     * Gets the settings from which a cluster, its connection pools and its server monitors are created.  Clients whose keys are equal
+     * may share a cluster, as the settings that differ between them, such as the codec registry or the read preference, only affect
+     * their own operations.
+     */
+    private static List<Object> getKey(final MongoClientSettings settings, final MongoDriverInformation mongoDriverInformation) {
+        return Arrays.asList(settings.getClusterSettings(), settings.getServerSettings(), settings.getConnectionPoolSettings(),
+                settings.getSocketSettings(), settings.getHeartbeatSocketSettings(), settings.getSslSettings(),
+                settings.getStreamFactoryFactory(), settings.getCredential(), settings.getLoggerSettings(),
+                settings.getCommandListeners(), settings.getApplicationName(), settings.getCompressorList(),
+                settings.getCompressionPolicy(), settings.getFieldNameCacheSize(), settings.getServerApi(),
+                mongoDriverInformation.getDriverNames(), mongoDriverInformation.getDriverVersions(),
+                mongoDriverInformation.getDriverPlatforms());
+    }
+
+    private static void release(final SharedCluster sharedCluster) {
+        boolean lastReference = withLock(LOCK, () -> {
+            sharedCluster.referenceCount--;
+            if (sharedCluster.referenceCount > 0) {
+                return false;
+            }
+            CLUSTERS.remove(sharedCluster.key);
+            return true;
+        });
+        if (lastReference) {
+            sharedCluster.cluster.close();
+            for (Closeable resource : sharedCluster.resources) {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Exception closing resource", e);
+                }
+            }
+        }
+    }
+
+    private static final class SharedCluster {
+        private final List<Object> key;
+        private final Cluster cluster;
+        private final List<Closeable> resources;
+        // Guarded by LOCK
+        private int referenceCount;
+
+        SharedCluster(final List<Object> key, final Cluster cluster, final List<Closeable> resources) {
+            this.key = key;
+            this.cluster = cluster;
+            this.resources = resources;
+        }
+    }
+
+    /**
+     * A single client's reference to a shared cluster, which it may close independently of the other clients.
+     */
+    private static final class ClusterReference implements Cluster {
+        private final SharedCluster sharedCluster;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ClusterReference(final SharedCluster sharedCluster) {
+            this.sharedCluster = sharedCluster;
+        }
+
+        @Override
+        public ClusterSettings getSettings() {
+            return sharedCluster.cluster.getSettings();
+        }
+
+        @Override
+        public ClusterDescription getDescription() {
+            isTrue("open", !closed.get());
+            return sharedCluster.cluster.getDescription();
+        }
+
+        @Override
+        public ClusterId getClusterId() {
+            return sharedCluster.cluster.getClusterId();
+        }
+
+        @Nullable
+        @Override
+        public ClusterableServer getServer(final ServerAddress serverAddress) {
+            isTrue("open", !closed.get());
+            return sharedCluster.cluster.getServer(serverAddress);
+        }
+
+        @Override
+        public ClusterDescription getCurrentDescription() {
+            return sharedCluster.cluster.getCurrentDescription();
+        }
+
+        @Override
+        public ClusterClock getClock() {
+            return sharedCluster.cluster.getClock();
+        }
+
+        @Override
+        public ServerTuple selectServer(final ServerSelector serverSelector) {
+            isTrue("open", !closed.get());
+            return sharedCluster.cluster.selectServer(serverSelector);
+        }
+
+        @Override
+        public void selectServerAsync(final ServerSelector serverSelector, final SingleResultCallback<ServerTuple> callback) {
+            isTrue("open", !closed.get());
+            sharedCluster.cluster.selectServerAsync(serverSelector, callback);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(sharedCluster);
+            }
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed.get() || sharedCluster.cluster.isClosed();
+        }
+
+        @Override
+        public void withLock(final Runnable action) {
+            sharedCluster.cluster.withLock(action);
+        }
+
+        @Override
+        public void onChange(final ServerDescriptionChangedEvent event) {
+            sharedCluster.cluster.onChange(event);
+        }
+    }
+
+    private SharedClusters() {
+    }
+}
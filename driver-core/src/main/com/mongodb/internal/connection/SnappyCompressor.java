@@ -17,16 +17,19 @@
 package com.mongodb.internal.connection;
 
 import com.mongodb.MongoInternalException;
-import org.bson.ByteBuf;
-import org.bson.io.BsonOutput;
+import com.mongodb.connection.BufferProvider;
 import org.xerial.snappy.Snappy;
-import org.xerial.snappy.SnappyInputStream;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.List;
+import java.nio.ByteBuffer;
+
+// the server does not support the framing format so SnappyFramedOutputStream can't be used, and the raw format is used instead
+class SnappyCompressor extends BlockCompressor {
+
+    SnappyCompressor(final BufferProvider bufferProvider) {
+        super(bufferProvider);
+    }
 
-class SnappyCompressor extends Compressor {
     @Override
     public String getName() {
         return "snappy";
@@ -37,43 +40,50 @@ class SnappyCompressor extends Compressor {
         return 1;
     }
 
-    // the server does not support the framing format so SnappyFramedOutputStream can't be used.  The entire source message must first
-    // be copied into a single byte array.  For that reason the compress method defined in the base class can't be used.
     @Override
-    public void compress(final List<ByteBuf> source, final BsonOutput target) {
-        int uncompressedSize = getUncompressedSize(source);
-
-        byte[] singleByteArraySource = new byte[uncompressedSize];
-        copy(source, singleByteArraySource);
+    int getMaxCompressedLength(final int uncompressedSize) {
+        return Snappy.maxCompressedLength(uncompressedSize);
+    }
 
-        try {
-            byte[] out = new byte[Snappy.maxCompressedLength(uncompressedSize)];
-            int compressedSize = Snappy.compress(singleByteArraySource, 0, singleByteArraySource.length, out, 0);
-            target.writeBytes(out, 0, compressedSize);
-        } catch (IOException e) {
-            throw new MongoInternalException("Unexpected IOException", e);
+    @Override
+    int compress(final ByteBuffer source, final int sourceOffset, final int sourceLength,
+                 final ByteBuffer target, final int targetOffset, final int targetLength) throws IOException {
+        if (target.isDirect()) {
+            return Snappy.compress(region(source, sourceOffset, sourceLength), region(target, targetOffset, targetLength));
+        } else {
+            return Snappy.compress(source.array(), source.arrayOffset() + sourceOffset, sourceLength,
+                    target.array(), target.arrayOffset() + targetOffset);
         }
     }
 
-    private int getUncompressedSize(final List<ByteBuf> source) {
-        int uncompressedSize = 0;
-        for (ByteBuf cur : source) {
-            uncompressedSize += cur.remaining();
+    @Override
+    int uncompress(final ByteBuffer source, final int sourceOffset, final int sourceLength,
+                   final ByteBuffer target, final int targetOffset, final int targetLength) throws IOException {
+        if (target.isDirect()) {
+            ByteBuffer sourceRegion = region(source, sourceOffset, sourceLength);
+            // Native snappy does not check the bounds of the target, so a corrupt message must be rejected before it is uncompressed
+            if (Snappy.uncompressedLength(sourceRegion) > targetLength) {
+                throw uncompressedLengthMismatch();
+            }
+            return Snappy.uncompress(sourceRegion, region(target, targetOffset, targetLength));
+        } else {
+            if (Snappy.uncompressedLength(source.array(), source.arrayOffset() + sourceOffset, sourceLength) > targetLength) {
+                throw uncompressedLengthMismatch();
+            }
+            return Snappy.uncompress(source.array(), source.arrayOffset() + sourceOffset, sourceLength,
+                    target.array(), target.arrayOffset() + targetOffset);
         }
-        return uncompressedSize;
     }
 
-    private void copy(final List<ByteBuf> source, final byte[] in) {
-        int offset = 0;
-        for (ByteBuf cur : source) {
-            int remaining = cur.remaining();
-            cur.get(in, offset, remaining);
-            offset += remaining;
-        }
+    private static MongoInternalException uncompressedLengthMismatch() {
+        return new MongoInternalException("The uncompressed message is larger than the size in the compressed header");
     }
 
-    @Override
-    InputStream getInputStream(final InputStream source) throws IOException {
-        return new SnappyInputStream(source);
+    // The direct buffer methods operate on the region between the position and the limit, and move them
+    private static ByteBuffer region(final ByteBuffer buffer, final int offset, final int length) {
+        ByteBuffer region = buffer.duplicate();
+        region.limit(offset + length);
+        region.position(offset);
+        return region;
     }
 }
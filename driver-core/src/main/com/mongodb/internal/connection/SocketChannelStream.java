@@ -0,0 +1,286 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoSocketOpenException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.AsyncCompletionHandler;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.connection.SslSettings;
+import com.mongodb.connection.Stream;
+import org.bson.ByteBuf;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.mongodb.assertions.Assertions.notNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A synchronous stream over a non-blocking {@code SocketChannel}.
+ *
+ * <p>Messages are written with a single gathering write of all their buffers.  Reads fill a per-stream read-ahead buffer with as many
+ * bytes as are available, so that the header and the body of a small reply, which are read separately, usually cost one system call.
+ * Reads that are larger than the read-ahead buffer go directly into the returned buffer.  The channel is registered with a selector
+ * owned by the stream, which is used to wait for the channel to become readable or writable, and which applies the read timeout.</p>
+ *
+ * <p>This class is not part of the public API and may be removed or changed at any time</p>
+ */
+public class SocketChannelStream implements Stream {
+    static final int READ_AHEAD_BUFFER_SIZE = 16 * 1024;
+
+    private final ServerAddress address;
+    private final SocketSettings settings;
+    private final SslSettings sslSettings;
+    private final PowerOfTwoBufferPool bufferProvider;
+    private final ByteBuffer readAheadBuffer;
+    private volatile SocketChannel channel;
+    private volatile Selector selector;
+    private volatile SelectionKey selectionKey;
+    private volatile boolean isClosed;
+
+    public SocketChannelStream(final ServerAddress address, final SocketSettings settings, final SslSettings sslSettings,
+                               final PowerOfTwoBufferPool bufferProvider) {
+        this.address = notNull("address", address);
+        this.settings = notNull("settings", settings);
+        this.sslSettings = notNull("sslSettings", sslSettings);
+        this.bufferProvider = notNull("bufferProvider", bufferProvider);
+        this.readAheadBuffer = bufferProvider.isDirect()
+                ? ByteBuffer.allocateDirect(READ_AHEAD_BUFFER_SIZE) : ByteBuffer.allocate(READ_AHEAD_BUFFER_SIZE);
+        readAheadBuffer.limit(0);
+    }
+
+    @Override
+    public void open() {
+        try {
+            channel = initializeChannel();
+            channel.configureBlocking(false);
+            selector = Selector.open();
+            selectionKey = channel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            close();
+            throw new MongoSocketOpenException("Exception opening socket", getAddress(), e);
+        }
+    }
+
+    private SocketChannel initializeChannel() throws IOException {
+        Iterator<InetSocketAddress> inetSocketAddresses = address.getSocketAddresses().iterator();
+        while (inetSocketAddresses.hasNext()) {
+            SocketChannel socketChannel = SocketChannel.open();
+            try {
+                SocketStreamHelper.initialize(socketChannel.socket(), inetSocketAddresses.next(), settings, sslSettings);
+                return socketChannel;
+            } catch (SocketTimeoutException e) {
+                socketChannel.close();
+                if (!inetSocketAddresses.hasNext()) {
+                    throw e;
+                }
+            } catch (IOException | RuntimeException e) {
+                socketChannel.close();
+                throw e;
+            }
+        }
+
+        throw new MongoSocketException("Exception opening socket", getAddress());
+    }
+
+    @Override
+    public ByteBuf getBuffer(final int size) {
+        return bufferProvider.getBuffer(size);
+    }
+
+    @Override
+    public void write(final List<ByteBuf> buffers) throws IOException {
+        ByteBuffer[] nioBuffers = new ByteBuffer[buffers.size()];
+        long remaining = 0;
+        for (int i = 0; i < nioBuffers.length; i++) {
+            nioBuffers[i] = buffers.get(i).asNIO().duplicate();
+            remaining += nioBuffers[i].remaining();
+        }
+
+        int offset = 0;
+        while (remaining > 0) {
+            long bytesWritten = channel.write(nioBuffers, offset, nioBuffers.length - offset);
+            remaining -= bytesWritten;
+            while (offset < nioBuffers.length && !nioBuffers[offset].hasRemaining()) {
+                offset++;
+            }
+            if (bytesWritten == 0) {
+                selectionKey.interestOps(SelectionKey.OP_WRITE);
+                try {
+                    await(0);
+                } finally {
+                    selectionKey.interestOps(SelectionKey.OP_READ);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ByteBuf read(final int numBytes) throws IOException {
+        return read(numBytes, 0);
+    }
+
+    @Override
+    public boolean supportsAdditionalTimeout() {
+        return true;
+    }
+
+    @Override
+    public ByteBuf read(final int numBytes, final int additionalTimeout) throws IOException {
+        int timeout = settings.getReadTimeout(MILLISECONDS);
+        return readWithTimeout(numBytes, timeout > 0 && additionalTimeout > 0 ? timeout + additionalTimeout : timeout);
+    }
+
+    private ByteBuf readWithTimeout(final int numBytes, final long timeout) throws IOException {
+        ByteBuf buffer = bufferProvider.getBuffer(numBytes);
+        try {
+            ByteBuffer target = buffer.asNIO().duplicate();
+            target.limit(target.position() + numBytes);
+            transferReadAhead(target);
+            while (target.hasRemaining()) {
+                int bytesRead;
+                if (target.remaining() >= readAheadBuffer.capacity()) {
+                    bytesRead = channel.read(target);
+                } else {
+                    readAheadBuffer.clear();
+                    bytesRead = channel.read(readAheadBuffer);
+                    readAheadBuffer.flip();
+                    transferReadAhead(target);
+                }
+                if (bytesRead == -1) {
+                    throw new MongoSocketReadException("Prematurely reached end of stream", getAddress());
+                } else if (bytesRead == 0) {
+                    await(timeout);
+                }
+            }
+            return buffer;
+        } catch (Exception e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    private void transferReadAhead(final ByteBuffer target) {
+        int length = Math.min(readAheadBuffer.remaining(), target.remaining());
+        if (length > 0) {
+            ByteBuffer source = readAheadBuffer.duplicate();
+            source.limit(source.position() + length);
+            target.put(source);
+            readAheadBuffer.position(readAheadBuffer.position() + length);
+        }
+    }
+
+    /**
+     * Waits for the channel to become ready for the operations of interest, for at most the given timeout in milliseconds, or
+     * indefinitely if the timeout is zero.
+     */
+    private void await(final long timeout) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            while (true) {
+                if (isClosed) {
+                    throw new ClosedChannelException();
+                }
+                long remainingTimeout = 0;
+                if (timeout > 0) {
+                    remainingTimeout = timeout - NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    if (remainingTimeout <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                }
+                int selectedKeyCount = selector.select(remainingTimeout);
+                selector.selectedKeys().clear();
+                if (selectedKeyCount > 0) {
+                    return;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Interrupted while waiting for the socket");
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public void openAsync(final AsyncCompletionHandler<Void> handler) {
+        throw new UnsupportedOperationException(getClass() + " does not support asynchronous operations.");
+    }
+
+    @Override
+    public void writeAsync(final List<ByteBuf> buffers, final AsyncCompletionHandler<Void> handler) {
+        throw new UnsupportedOperationException(getClass() + " does not support asynchronous operations.");
+    }
+
+    @Override
+    public void readAsync(final int numBytes, final AsyncCompletionHandler<ByteBuf> handler) {
+        throw new UnsupportedOperationException(getClass() + " does not support asynchronous operations.");
+    }
+
+    @Override
+    public ServerAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Get the settings for this socket.
+     *
+     * @return the settings
+     */
+    SocketSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isClosed;
+    }
+}
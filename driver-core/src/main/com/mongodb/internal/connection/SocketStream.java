@@ -34,6 +34,7 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
 
@@ -99,7 +100,22 @@ public class SocketStream implements Stream {
     @Override
     public void write(final List<ByteBuf> buffers) throws IOException {
         for (final ByteBuf cur : buffers) {
-            outputStream.write(cur.array(), 0, cur.limit());
+            // buffers may view part of a larger array, or direct memory, when they were appended to the message by reference
+            ByteBuffer nioBuffer = cur.asNIO();
+            if (nioBuffer.hasArray()) {
+                outputStream.write(nioBuffer.array(), nioBuffer.arrayOffset() + nioBuffer.position(), nioBuffer.remaining());
+            } else {
+                writeDirect(nioBuffer.duplicate());
+            }
+        }
+    }
+
+    private void writeDirect(final ByteBuffer nioBuffer) throws IOException {
+        byte[] bytes = new byte[Math.min(nioBuffer.remaining(), ByteBufferBsonOutput.INITIAL_BUFFER_SIZE)];
+        while (nioBuffer.hasRemaining()) {
+            int length = Math.min(nioBuffer.remaining(), bytes.length);
+            nioBuffer.get(bytes, 0, length);
+            outputStream.write(bytes, 0, length);
         }
     }
 
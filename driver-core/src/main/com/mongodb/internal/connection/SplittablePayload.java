@@ -21,10 +21,12 @@ import com.mongodb.internal.bulk.InsertRequest;
 import com.mongodb.internal.bulk.UpdateRequest;
 import com.mongodb.internal.bulk.WriteRequest;
 import com.mongodb.internal.bulk.WriteRequestWithIndex;
+import com.mongodb.lang.Nullable;
 import org.bson.BsonDocument;
 import org.bson.BsonDocumentWrapper;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.BsonValueCodecProvider;
 import org.bson.codecs.Codec;
 import org.bson.codecs.Encoder;
@@ -141,6 +143,27 @@ public final class SplittablePayload {
         return writeRequestWithIndexes;
     }
 
+    /**
+     * Gets the raw document inserted by the write request at the given position, so that its bytes can be written as they are rather
+     * than encoded.  Like the encoder, which pipes raw documents without inspecting them, this records no generated {@code _id} for it.
+     *
+     * @param position the position of the write request in the payload
+     * @return the raw document, or null if the write request is not the insert of a raw document
+     */
+    @Nullable
+    RawBsonDocument getRawDocumentToInsert(final int position) {
+        WriteRequestWithIndex writeRequestWithIndex = writeRequestWithIndexes.get(position);
+        if (writeRequestWithIndex.getType() != WriteRequest.Type.INSERT) {
+            return null;
+        }
+        BsonDocument document = ((InsertRequest) writeRequestWithIndex.getWriteRequest()).getDocument();
+        if (!(document instanceof RawBsonDocument)) {
+            return null;
+        }
+        insertedIds.put(writeRequestWithIndex.getIndex(), null);
+        return (RawBsonDocument) document;
+    }
+
     /**
      * @return the current position in the payload
      */
@@ -157,6 +157,15 @@ class UsageTrackingInternalConnection implements InternalConnection {
         wrapped.sendAndReceiveAsync(message, decoder, sessionContext, requestContext, errHandlingCallback);
     }
 
+    @Override
+    public <T> void receiveAsync(final Decoder<T> decoder, final SessionContext sessionContext, final SingleResultCallback<T> callback) {
+        SingleResultCallback<T> errHandlingCallback = errorHandlingCallback((result, t) -> {
+            lastUsedAt = System.currentTimeMillis();
+            callback.onResult(result, t);
+        }, LOGGER);
+        wrapped.receiveAsync(decoder, sessionContext, errHandlingCallback);
+    }
+
     @Override
     public ResponseBuffers receiveMessage(final int responseTo) {
         ResponseBuffers responseBuffers = wrapped.receiveMessage(responseTo);
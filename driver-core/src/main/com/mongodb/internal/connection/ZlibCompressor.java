@@ -17,15 +17,38 @@
 package com.mongodb.internal.connection;
 
 import com.mongodb.MongoCompressor;
+import com.mongodb.MongoInternalException;
+import com.mongodb.lang.Nullable;
+import org.bson.ByteBuf;
+import org.bson.io.BsonOutput;
 
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.Inflater;
 
+import static com.mongodb.assertions.Assertions.isTrue;
+import static com.mongodb.internal.Locks.withLock;
+
+/**
+ * A zlib compressor, which creates its {@link Deflater} and {@link Inflater} once and resets them after every message rather than
+ * allocating new native zlib streams for each one.  Heap buffers are handed to zlib directly, and uncompressed replies are inflated
+ * straight into the target buffer.
+ */
 class ZlibCompressor extends Compressor {
     private final int level;
+    // Guards the native zlib streams and the scratch buffers, so that close can not end a stream that another thread is using
+    private final Lock lock = new ReentrantLock();
+    @Nullable
+    private Deflater deflater;
+    @Nullable
+    private Inflater inflater;
+    @Nullable
+    private byte[] inputScratch;
+    private volatile boolean closed;
 
     ZlibCompressor(final MongoCompressor mongoCompressor) {
         this.level = mongoCompressor.getPropertyNonNull(MongoCompressor.LEVEL, Deflater.DEFAULT_COMPRESSION);
@@ -42,12 +65,141 @@ class ZlibCompressor extends Compressor {
     }
 
     @Override
-    InputStream getInputStream(final InputStream source) {
-        return new InflaterInputStream(source);
+    void compress(final List<ByteBuf> source, final BsonOutput target) {
+        withLock(lock, () -> {
+            Deflater deflater = getDeflater();
+            byte[] out = getScratch();
+            try {
+                for (ByteBuf cur : source) {
+                    ByteBuffer in = cur.asNIO();
+                    if (in.hasArray()) {
+                        deflater.setInput(in.array(), in.arrayOffset() + in.position(), in.remaining());
+                        deflate(deflater, out, target);
+                    } else {
+                        byte[] inputScratch = getInputScratch();
+                        ByteBuffer remaining = in.duplicate();
+                        while (remaining.hasRemaining()) {
+                            int numBytes = Math.min(remaining.remaining(), inputScratch.length);
+                            remaining.get(inputScratch, 0, numBytes);
+                            deflater.setInput(inputScratch, 0, numBytes);
+                            deflate(deflater, out, target);
+                        }
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int numBytes = deflater.deflate(out, 0, out.length);
+                    target.writeBytes(out, 0, numBytes);
+                }
+            } finally {
+                deflater.reset();
+            }
+        });
+    }
+
+    @Override
+    void uncompress(final ByteBuf source, final ByteBuf target) {
+        withLock(lock, () -> {
+            Inflater inflater = getInflater();
+            ByteBuffer in = source.asNIO();
+            ByteBuffer out = target.asNIO();
+            ByteBuffer remainingIn = in.duplicate();
+            try {
+                int uncompressedSize = 0;
+                while (!inflater.finished()) {
+                    if (inflater.needsInput() && !setNextInput(inflater, remainingIn)) {
+                        throw new MongoInternalException("The compressed message ended before the end of the zlib stream");
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new MongoInternalException("The compressed message requires a preset zlib dictionary");
+                    }
+                    int capacity = out.remaining() - uncompressedSize;
+                    int numBytes = inflate(inflater, out, out.position() + uncompressedSize, capacity);
+                    if (numBytes == 0 && capacity == 0 && !inflater.finished() && !inflater.needsInput()) {
+                        throw new MongoInternalException("The uncompressed message is larger than the size in the compressed header");
+                    }
+                    uncompressedSize += numBytes;
+                }
+                source.position(source.limit());
+                target.position(target.position() + uncompressedSize);
+            } catch (DataFormatException e) {
+                throw new MongoInternalException("Unexpected exception", e);
+            } finally {
+                inflater.reset();
+            }
+        });
     }
 
     @Override
-    OutputStream getOutputStream(final OutputStream source) {
-        return new DeflaterOutputStream(source, new Deflater(level));
+    void close() {
+        closed = true;
+        withLock(lock, () -> {
+            if (deflater != null) {
+                deflater.end();
+                deflater = null;
+            }
+            if (inflater != null) {
+                inflater.end();
+                inflater = null;
+            }
+        });
+    }
+
+    private void deflate(final Deflater deflater, final byte[] out, final BsonOutput target) {
+        while (!deflater.needsInput()) {
+            int numBytes = deflater.deflate(out, 0, out.length);
+            target.writeBytes(out, 0, numBytes);
+        }
+    }
+
+    private boolean setNextInput(final Inflater inflater, final ByteBuffer remainingIn) {
+        if (!remainingIn.hasRemaining()) {
+            return false;
+        }
+        if (remainingIn.hasArray()) {
+            inflater.setInput(remainingIn.array(), remainingIn.arrayOffset() + remainingIn.position(), remainingIn.remaining());
+            remainingIn.position(remainingIn.limit());
+        } else {
+            byte[] inputScratch = getInputScratch();
+            int numBytes = Math.min(remainingIn.remaining(), inputScratch.length);
+            remainingIn.get(inputScratch, 0, numBytes);
+            inflater.setInput(inputScratch, 0, numBytes);
+        }
+        return true;
+    }
+
+    private int inflate(final Inflater inflater, final ByteBuffer out, final int offset, final int length) throws DataFormatException {
+        if (out.hasArray()) {
+            return inflater.inflate(out.array(), out.arrayOffset() + offset, length);
+        }
+        byte[] scratch = getScratch();
+        int numBytes = inflater.inflate(scratch, 0, Math.min(length, scratch.length));
+        ByteBuffer region = out.duplicate();
+        region.position(offset);
+        region.put(scratch, 0, numBytes);
+        return numBytes;
+    }
+
+    private Deflater getDeflater() {
+        isTrue("open", !closed);
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        }
+        return deflater;
+    }
+
+    private Inflater getInflater() {
+        isTrue("open", !closed);
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        return inflater;
+    }
+
+    private byte[] getInputScratch() {
+        if (inputScratch == null) {
+            inputScratch = new byte[BUFFER_SIZE];
+        }
+        return inputScratch;
     }
 }
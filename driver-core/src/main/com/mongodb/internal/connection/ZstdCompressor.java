@@ -17,16 +17,41 @@
 package com.mongodb.internal.connection;
 
 import com.github.luben.zstd.Zstd;
-import com.github.luben.zstd.ZstdInputStream;
-import com.mongodb.MongoInternalException;
-import org.bson.ByteBuf;
-import org.bson.io.BsonOutput;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.mongodb.MongoCompressor;
+import com.mongodb.connection.BufferProvider;
+import com.mongodb.lang.Nullable;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.mongodb.assertions.Assertions.isTrue;
+import static com.mongodb.internal.Locks.withLock;
+
+/**
+ * A zstd compressor, which creates its native compression and decompression contexts once and reuses them for every message.
+ */
+class ZstdCompressor extends BlockCompressor {
+    // The same as ZSTD_CLEVEL_DEFAULT in the native library.  The maximum level is many times slower for a marginally better ratio.
+    static final int DEFAULT_LEVEL = 3;
+
+    private final int level;
+    // close frees a context only while holding its lock, so that it can not free one that another thread is using
+    private final Lock compressLock = new ReentrantLock();
+    private final Lock uncompressLock = new ReentrantLock();
+    @Nullable
+    private ZstdCompressCtx compressCtx;
+    @Nullable
+    private ZstdDecompressCtx decompressCtx;
+    private volatile boolean closed;
+
+    ZstdCompressor(final MongoCompressor mongoCompressor, final BufferProvider bufferProvider) {
+        super(bufferProvider);
+        this.level = mongoCompressor.getPropertyNonNull(MongoCompressor.LEVEL, DEFAULT_LEVEL);
+    }
 
-class ZstdCompressor extends Compressor {
     @Override
     public String getName() {
         return "zstd";
@@ -37,41 +62,73 @@ class ZstdCompressor extends Compressor {
         return 3;
     }
 
+    int getLevel() {
+        return level;
+    }
+
     @Override
-    public void compress(final List<ByteBuf> source, final BsonOutput target) {
-        int uncompressedSize = getUncompressedSize(source);
-
-        byte[] singleByteArraySource = new byte[uncompressedSize];
-        copy(source, singleByteArraySource);
-
-        try {
-            byte[] out = new byte[(int) Zstd.compressBound(uncompressedSize)];
-            int compressedSize = (int) Zstd.compress(out, singleByteArraySource, Zstd.maxCompressionLevel());
-            target.writeBytes(out, 0, compressedSize);
-        } catch (Exception e) {
-            throw new MongoInternalException("Unexpected exception", e);
-        }
+    int getMaxCompressedLength(final int uncompressedSize) {
+        return (int) Zstd.compressBound(uncompressedSize);
     }
 
-    private int getUncompressedSize(final List<ByteBuf> source) {
-        int uncompressedSize = 0;
-        for (ByteBuf cur : source) {
-            uncompressedSize += cur.remaining();
-        }
-        return uncompressedSize;
+    @Override
+    int compress(final ByteBuffer source, final int sourceOffset, final int sourceLength,
+                 final ByteBuffer target, final int targetOffset, final int targetLength) {
+        return withLock(compressLock, () -> {
+            ZstdCompressCtx ctx = getCompressCtx();
+            if (target.isDirect()) {
+                return ctx.compressDirectByteBuffer(target, targetOffset, targetLength, source, sourceOffset, sourceLength);
+            } else {
+                return ctx.compressByteArray(target.array(), target.arrayOffset() + targetOffset, targetLength,
+                        source.array(), source.arrayOffset() + sourceOffset, sourceLength);
+            }
+        });
     }
 
-    private void copy(final List<ByteBuf> source, final byte[] in) {
-        int offset = 0;
-        for (ByteBuf cur : source) {
-            int remaining = cur.remaining();
-            cur.get(in, offset, remaining);
-            offset += remaining;
-        }
+    @Override
+    int uncompress(final ByteBuffer source, final int sourceOffset, final int sourceLength,
+                   final ByteBuffer target, final int targetOffset, final int targetLength) {
+        return withLock(uncompressLock, () -> {
+            ZstdDecompressCtx ctx = getDecompressCtx();
+            if (target.isDirect()) {
+                return ctx.decompressDirectByteBuffer(target, targetOffset, targetLength, source, sourceOffset, sourceLength);
+            } else {
+                return ctx.decompressByteArray(target.array(), target.arrayOffset() + targetOffset, targetLength,
+                        source.array(), source.arrayOffset() + sourceOffset, sourceLength);
+            }
+        });
     }
 
     @Override
-    InputStream getInputStream(final InputStream source) throws IOException {
-        return new ZstdInputStream(source);
+    void close() {
+        closed = true;
+        withLock(compressLock, () -> {
+            if (compressCtx != null) {
+                compressCtx.close();
+                compressCtx = null;
+            }
+        });
+        withLock(uncompressLock, () -> {
+            if (decompressCtx != null) {
+                decompressCtx.close();
+                decompressCtx = null;
+            }
+        });
+    }
+
+    private ZstdCompressCtx getCompressCtx() {
+        isTrue("open", !closed);
+        if (compressCtx == null) {
+            compressCtx = new ZstdCompressCtx().setLevel(level);
+        }
+        return compressCtx;
+    }
+
+    private ZstdDecompressCtx getDecompressCtx() {
+        isTrue("open", !closed);
+        if (decompressCtx == null) {
+            decompressCtx = new ZstdDecompressCtx();
+        }
+        return decompressCtx;
     }
 }
@@ -66,6 +66,66 @@ public class AggregateOperation<T> implements AsyncExplainableReadOperation<Asyn
         return this;
     }
 
+    public boolean isExhaust() {
+        return wrapped.isExhaust();
+    }
+
+    /**
+     * Sets whether the server should stream the remaining batches after the first {@code getMore}.
+     *
+     * @param exhaust whether to use an exhaust cursor
+     * @return this
+     */
+    public AggregateOperation<T> exhaust(final boolean exhaust) {
+        wrapped.exhaust(exhaust);
+        return this;
+    }
+
+    public int getPrefetchDepth() {
+        return wrapped.getPrefetchDepth();
+    }
+
+    /**
+     * Sets the maximum number of batches to fetch ahead of the application.
+     *
+     * @param prefetchDepth the prefetch depth, which must not be negative, with 0 meaning that batches are not prefetched
+     * @return this
+     */
+    public AggregateOperation<T> prefetchDepth(final int prefetchDepth) {
+        wrapped.prefetchDepth(prefetchDepth);
+        return this;
+    }
+
+    public boolean isLazyDecoding() {
+        return wrapped.isLazyDecoding();
+    }
+
+    /**
+     * Sets whether to keep each batch as raw BSON and decode each document only when it is requested.
+     *
+     * @param lazyDecoding whether to decode documents lazily
+     * @return this
+     */
+    public AggregateOperation<T> lazyDecoding(final boolean lazyDecoding) {
+        wrapped.lazyDecoding(lazyDecoding);
+        return this;
+    }
+
+    public boolean isShareReplyBuffers() {
+        return wrapped.isShareReplyBuffers();
+    }
+
+    /**
+     * Sets whether {@code RawBsonDocument} results share the buffer of the reply they were read from, instead of copying it.
+     *
+     * @param shareReplyBuffers whether to share reply buffers
+     * @return this
+     */
+    public AggregateOperation<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        wrapped.shareReplyBuffers(shareReplyBuffers);
+        return this;
+    }
+
     public Integer getBatchSize() {
         return wrapped.getBatchSize();
     }
@@ -66,6 +66,10 @@ class AggregateOperationImpl<T> implements AsyncReadOperation<AsyncBatchCursor<T
 
     private boolean retryReads;
     private Boolean allowDiskUse;
+    private boolean exhaust;
+    private int prefetchDepth;
+    private boolean lazyDecoding;
+    private boolean shareReplyBuffers;
     private Integer batchSize;
     private Collation collation;
     private BsonValue comment;
@@ -110,6 +114,43 @@ class AggregateOperationImpl<T> implements AsyncReadOperation<AsyncBatchCursor<T
         return this;
     }
 
+    boolean isExhaust() {
+        return exhaust;
+    }
+
+    AggregateOperationImpl<T> exhaust(final boolean exhaust) {
+        this.exhaust = exhaust;
+        return this;
+    }
+
+    int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    AggregateOperationImpl<T> prefetchDepth(final int prefetchDepth) {
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    AggregateOperationImpl<T> lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    boolean isShareReplyBuffers() {
+        return shareReplyBuffers;
+    }
+
+    AggregateOperationImpl<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        this.shareReplyBuffers = shareReplyBuffers;
+        return this;
+    }
+
     Integer getBatchSize() {
         return batchSize;
     }
@@ -189,14 +230,16 @@ class AggregateOperationImpl<T> implements AsyncReadOperation<AsyncBatchCursor<T
     @Override
     public BatchCursor<T> execute(final ReadBinding binding) {
         return executeRetryableRead(binding, namespace.getDatabaseName(), getCommandCreator(binding.getSessionContext()),
-                CommandResultDocumentCodec.create(decoder, FIELD_NAMES_WITH_RESULT), transformer(), retryReads);
+                CommandResultDocumentCodec.create(decoder, FIELD_NAMES_WITH_RESULT, lazyDecoding, shareReplyBuffers), transformer(),
+                retryReads);
     }
 
     @Override
     public void executeAsync(final AsyncReadBinding binding, final SingleResultCallback<AsyncBatchCursor<T>> callback) {
         SingleResultCallback<AsyncBatchCursor<T>> errHandlingCallback = errorHandlingCallback(callback, LOGGER);
         executeRetryableReadAsync(binding, namespace.getDatabaseName(), getCommandCreator(binding.getSessionContext()),
-                CommandResultDocumentCodec.create(decoder, FIELD_NAMES_WITH_RESULT), asyncTransformer(), retryReads, errHandlingCallback);
+                CommandResultDocumentCodec.create(decoder, FIELD_NAMES_WITH_RESULT, lazyDecoding, shareReplyBuffers),
+                asyncTransformer(), retryReads, errHandlingCallback);
     }
 
     private CommandCreator getCommandCreator(final SessionContext sessionContext) {
@@ -244,7 +287,7 @@ class AggregateOperationImpl<T> implements AsyncReadOperation<AsyncBatchCursor<T
         return (result, source, connection) -> {
             QueryResult<T> queryResult = createQueryResult(result, connection.getDescription());
             return new QueryBatchCursor<>(queryResult, 0, batchSize != null ? batchSize : 0, maxAwaitTimeMS, decoder, comment,
-                    source, connection, result);
+                    source, connection, result, exhaust, prefetchDepth, lazyDecoding, shareReplyBuffers);
         };
     }
 
@@ -252,7 +295,7 @@ class AggregateOperationImpl<T> implements AsyncReadOperation<AsyncBatchCursor<T
         return (result, source, connection) -> {
             QueryResult<T> queryResult = createQueryResult(result, connection.getDescription());
             return new AsyncQueryBatchCursor<>(queryResult, 0, batchSize != null ? batchSize : 0, maxAwaitTimeMS, decoder,
-                    comment, source, connection, result);
+                    comment, source, connection, result, exhaust, prefetchDepth, lazyDecoding, shareReplyBuffers);
         };
     }
 
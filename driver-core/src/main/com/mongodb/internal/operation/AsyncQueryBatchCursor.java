@@ -44,6 +44,9 @@ import org.bson.FieldNameValidator;
 import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.Decoder;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -53,11 +56,14 @@ import static com.mongodb.assertions.Assertions.assertNotNull;
 import static com.mongodb.assertions.Assertions.isTrueArgument;
 import static com.mongodb.assertions.Assertions.notNull;
 import static com.mongodb.internal.async.ErrorHandlingResultCallback.errorHandlingCallback;
+import static com.mongodb.internal.operation.CursorHelper.canPrefetch;
 import static com.mongodb.internal.operation.CursorHelper.getNumberToReturn;
+import static com.mongodb.internal.operation.CursorHelper.releaseBatch;
 import static com.mongodb.internal.operation.DocumentHelper.putIfNotNull;
 import static com.mongodb.internal.operation.OperationHelper.getMoreCursorDocumentToQueryResult;
 import static com.mongodb.internal.operation.QueryHelper.translateCommandException;
 import static com.mongodb.internal.operation.ServerVersionHelper.serverIsAtLeastVersionFourDotFour;
+import static com.mongodb.internal.operation.ServerVersionHelper.serverIsAtLeastVersionFourDotTwo;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 
@@ -72,6 +78,10 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
     private final int limit;
     private final Decoder<T> decoder;
     private final long maxTimeMS;
+    private final boolean exhaust;
+    private final int prefetchDepth;
+    private final boolean lazyDecoding;
+    private final boolean shareReplyBuffers;
     private volatile AsyncConnectionSource connectionSource;
     private volatile AsyncConnection pinnedConnection;
     private final AtomicReference<ServerCursor> cursor;
@@ -89,6 +99,16 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
     private boolean isClosed = false;
     /* protected by `this` */
     private volatile boolean isClosePending = false;
+    /* protected by `this` */
+    private final Deque<List<T>> prefetchedBatches = new ArrayDeque<>();
+    /* protected by `this` */
+    private boolean isPrefetchInProgress = false;
+    /* protected by `this` */
+    @Nullable
+    private Throwable prefetchFailure;
+    /* protected by `this` */
+    @Nullable
+    private SingleResultCallback<List<T>> prefetchWaiter;
 
     AsyncQueryBatchCursor(final QueryResult<T> firstBatch, final int limit, final int batchSize, final long maxTimeMS,
             final Decoder<T> decoder, final BsonValue comment, final AsyncConnectionSource connectionSource,
@@ -99,8 +119,31 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
     AsyncQueryBatchCursor(final QueryResult<T> firstBatch, final int limit, final int batchSize, final long maxTimeMS,
             final Decoder<T> decoder, final BsonValue comment, final AsyncConnectionSource connectionSource,
             @Nullable final AsyncConnection connection, @Nullable final BsonDocument result) {
+        this(firstBatch, limit, batchSize, maxTimeMS, decoder, comment, connectionSource, connection, result, false, 0, false,
+                false);
+    }
+
+    /**
+     * @param exhaust whether to request that the server stream all remaining batches after the first {@code getMore}, rather than wait
+     * for a {@code getMore} for each of them.  While batches are being streamed the cursor is pinned to the connection.
+     * @param prefetchDepth the maximum number of batches to fetch ahead of the application, or 0 to fetch each batch only when the
+     * application asks for it.  Ignored if the session of the connection source is an explicit one or has a transaction.
+     * @param lazyDecoding whether to keep each batch as raw BSON and decode each document only when it is requested
+     * @param shareReplyBuffers whether {@code RawBsonDocument} results should share the buffer of the reply they were read from, instead
+     * of copying it.  The application must release each such document.
+     */
+    AsyncQueryBatchCursor(final QueryResult<T> firstBatch, final int limit, final int batchSize, final long maxTimeMS,
+            final Decoder<T> decoder, final BsonValue comment, final AsyncConnectionSource connectionSource,
+            @Nullable final AsyncConnection connection, @Nullable final BsonDocument result, final boolean exhaust,
+            final int prefetchDepth, final boolean lazyDecoding, final boolean shareReplyBuffers) {
         isTrueArgument("maxTimeMS >= 0", maxTimeMS >= 0);
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
         this.maxTimeMS = maxTimeMS;
+        this.exhaust = exhaust;
+        this.prefetchDepth = prefetchDepth > 0 && connectionSource != null && canPrefetch(connectionSource.getSessionContext())
+                ? prefetchDepth : 0;
+        this.lazyDecoding = lazyDecoding;
+        this.shareReplyBuffers = shareReplyBuffers;
         this.namespace = firstBatch.getNamespace();
         this.firstBatch = firstBatch;
         this.limit = limit;
@@ -144,6 +187,7 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
     @Override
     public void close() {
         boolean doClose = false;
+        List<List<T>> discardedBatches;
 
         synchronized (this) {
             if (isOperationInProgress) {
@@ -153,7 +197,10 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
                 isClosePending = false;
                 doClose = true;
             }
+            discardedBatches = new ArrayList<>(prefetchedBatches);
+            prefetchedBatches.clear();
         }
+        discardedBatches.forEach(CursorHelper::releaseBatch);
 
         if (doClose) {
             killCursorOnClose();
@@ -170,8 +217,12 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
             firstBatch = null;
             if (getServerCursor() == null) {
                 close();
+            } else {
+                startPrefetchIfNeeded();
             }
             callback.onResult(results, null);
+        } else if (prefetchDepth > 0 && nextPrefetchedBatch(callback)) {
+            return;
         } else {
             ServerCursor localCursor = getServerCursor();
             if (localCursor == null) {
@@ -185,9 +236,88 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
                     }
                     isOperationInProgress = true;
                 }
-                getMore(localCursor, callback);
+                getMore(localCursor, prefetchDepth == 0 ? callback : (results, t) -> {
+                    if (results != null) {
+                        startPrefetchIfNeeded();
+                    }
+                    callback.onResult(results, t);
+                });
+            }
+        }
+    }
+
+    /**
+     * Hands out a batch that was fetched ahead of time, or the failure to fetch it.  If a batch is still being fetched, then the callback
+     * is completed when it arrives.
+     *
+     * @return false iff no batch is either available or being fetched, in which case the caller must fetch the next batch itself
+     */
+    private boolean nextPrefetchedBatch(final SingleResultCallback<List<T>> callback) {
+        List<T> batch;
+        Throwable failure;
+        synchronized (this) {
+            batch = prefetchedBatches.poll();
+            failure = prefetchFailure;
+            prefetchFailure = null;
+            if (batch == null && failure == null) {
+                if (!isPrefetchInProgress) {
+                    return false;
+                }
+                prefetchWaiter = callback;
+                return true;
             }
         }
+        if (batch != null) {
+            startPrefetchIfNeeded();
+            callback.onResult(batch, null);
+        } else {
+            callback.onResult(null, failure);
+        }
+        return true;
+    }
+
+    private void startPrefetchIfNeeded() {
+        if (prefetchDepth == 0) {
+            return;
+        }
+        ServerCursor localCursor = getServerCursor();
+        synchronized (this) {
+            if (localCursor == null || isClosed || isClosePending || isOperationInProgress || limitReached()
+                    || prefetchFailure != null || prefetchedBatches.size() >= prefetchDepth) {
+                return;
+            }
+            isOperationInProgress = true;
+            isPrefetchInProgress = true;
+        }
+        getMore(localCursor, this::onPrefetchedBatch);
+    }
+
+    private void onPrefetchedBatch(@Nullable final List<T> batch, @Nullable final Throwable t) {
+        SingleResultCallback<List<T>> waiter;
+        boolean discardBatch = false;
+        synchronized (this) {
+            isPrefetchInProgress = false;
+            waiter = prefetchWaiter;
+            prefetchWaiter = null;
+            if (waiter == null) {
+                if (t != null) {
+                    prefetchFailure = t;
+                } else if (batch != null && !isClosed && !isClosePending) {
+                    prefetchedBatches.add(batch);
+                } else {
+                    discardBatch = batch != null;
+                }
+            }
+        }
+        if (discardBatch) {
+            releaseBatch(assertNotNull(batch));
+        }
+        if (t == null && batch != null) {
+            startPrefetchIfNeeded();
+        }
+        if (waiter != null) {
+            waiter.onResult(batch, t);
+        }
     }
 
     @Override
@@ -249,11 +379,22 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
     }
 
     private void getMore(final AsyncConnection connection, final ServerCursor cursor, final SingleResultCallback<List<T>> callback) {
-        connection.commandAsync(namespace.getDatabaseName(), asGetMoreCommandDocument(cursor.getId(), connection.getDescription()),
-                NO_OP_FIELD_NAME_VALIDATOR, ReadPreference.primary(), CommandResultDocumentCodec.create(decoder, "nextBatch"),
-                connectionSource.getSessionContext(), connectionSource.getServerApi(), connectionSource.getRequestContext(),
-                new CommandResultSingleResultCallback(connection, cursor, callback));
-   }
+        Decoder<BsonDocument> resultDecoder = CommandResultDocumentCodec.create(decoder, "nextBatch", lazyDecoding,
+                shareReplyBuffers);
+        CommandResultSingleResultCallback resultCallback = new CommandResultSingleResultCallback(connection, cursor, callback);
+        BsonDocument getMoreCommand = asGetMoreCommandDocument(cursor.getId(), connection.getDescription());
+        if (connection.hasMoreToCome()) {
+            connection.receiveMoreToComeAsync(resultDecoder, connectionSource.getSessionContext(), resultCallback);
+        } else if (exhaust && serverIsAtLeastVersionFourDotTwo(connection.getDescription())) {
+            connection.exhaustCommandAsync(namespace.getDatabaseName(), getMoreCommand,
+                    NO_OP_FIELD_NAME_VALIDATOR, ReadPreference.primary(), resultDecoder, connectionSource.getSessionContext(),
+                    connectionSource.getServerApi(), connectionSource.getRequestContext(), resultCallback);
+        } else {
+            connection.commandAsync(namespace.getDatabaseName(), getMoreCommand,
+                    NO_OP_FIELD_NAME_VALIDATOR, ReadPreference.primary(), resultDecoder, connectionSource.getSessionContext(),
+                    connectionSource.getServerApi(), connectionSource.getRequestContext(), resultCallback);
+        }
+    }
 
     private BsonDocument asGetMoreCommandDocument(final long cursorId, final ConnectionDescription connectionDescription) {
         BsonDocument document = new BsonDocument("getMore", new BsonInt64(cursorId))
@@ -274,7 +415,12 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
 
     private void killCursorOnClose() {
         ServerCursor localCursor = getServerCursor();
-        if (localCursor != null) {
+        if (localCursor != null && pinnedConnection != null && pinnedConnection.hasMoreToCome()) {
+            // killCursors can not be sent on a connection that still has batches streaming to it, so rely on the connection being
+            // closed instead of being returned to the pool, which makes the server kill the cursor
+            pinnedConnection.release();
+            connectionSource.release();
+        } else if (localCursor != null) {
             if (pinnedConnection != null) {
                 killCursorAsynchronouslyAndReleaseConnectionAndSource(pinnedConnection, localCursor);
             } else {
@@ -293,7 +439,7 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
 
     private void killCursor(final AsyncConnection connection) {
         ServerCursor localCursor = cursor.getAndSet(null);
-        if (localCursor != null) {
+        if (localCursor != null && !connection.hasMoreToCome()) {
             killCursorAsynchronouslyAndReleaseConnectionAndSource(connection.retain(), localCursor);
         } else {
             connectionSource.release();
@@ -330,6 +476,11 @@ class AsyncQueryBatchCursor<T> implements AsyncAggregateResponseBatchCursor<T> {
                                           final QueryResult<T> result) {
         logQueryResult(result);
         cursor.set(result.getCursor());
+        if (result.getCursor() != null && connection.hasMoreToCome() && pinnedConnection == null) {
+            // no other command may be sent on the connection until all the streamed batches have been received
+            pinnedConnection = connection.retain();
+            pinnedConnection.markAsPinned(Connection.PinningMode.CURSOR);
+        }
         if (isClosePending) {
             try {
                 connection.release();
@@ -16,16 +16,26 @@
 
 package com.mongodb.internal.operation;
 
+import com.mongodb.internal.connection.ResponseBufferBsonInput;
+import com.mongodb.lang.Nullable;
 import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
 import org.bson.BsonDocumentWrapper;
 import org.bson.BsonReader;
 import org.bson.BsonType;
 import org.bson.BsonValue;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.BsonArrayCodec;
 import org.bson.codecs.Decoder;
 import org.bson.codecs.DecoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BsonInput;
+import org.bson.io.BsonInputMark;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,14 +43,37 @@ import static org.bson.BsonType.DOCUMENT;
 
 class CommandResultArrayCodec<T> extends BsonArrayCodec {
     private final Decoder<T> decoder;
+    private final boolean lazy;
+    private final boolean shareBuffers;
 
     CommandResultArrayCodec(final CodecRegistry registry, final Decoder<T> decoder) {
+        this(registry, decoder, false, false);
+    }
+
+    /**
+     * @param lazy whether to keep an array of documents as raw BSON and decode each document only when it is requested
+     * @param shareBuffers whether a {@link RawBsonDocumentCodec} decoder should return documents that share the buffer of the response
+     *                     instead of copying it
+     */
+    CommandResultArrayCodec(final CodecRegistry registry, final Decoder<T> decoder, final boolean lazy, final boolean shareBuffers) {
         super(registry);
         this.decoder = decoder;
+        this.lazy = lazy;
+        this.shareBuffers = shareBuffers;
     }
 
     @Override
     public BsonArray decode(final BsonReader reader, final DecoderContext decoderContext) {
+        if (shareBuffers && decoder instanceof RawBsonDocumentCodec && reader instanceof BsonBinaryReader
+                && ((BsonBinaryReader) reader).getBsonInput() instanceof ResponseBufferBsonInput) {
+            return new BsonArrayWrapper<>(decodeSharingBuffer((BsonBinaryReader) reader, decoderContext));
+        }
+        if (lazy && reader instanceof BsonBinaryReader) {
+            LazyDecodingList<T> list = decodeLazily((BsonBinaryReader) reader, decoderContext);
+            if (list != null) {
+                return new BsonArrayWrapper<>(list);
+            }
+        }
         reader.readStartArray();
 
         List<T> list = new ArrayList<>();
@@ -57,6 +90,65 @@ class CommandResultArrayCodec<T> extends BsonArrayCodec {
         return new BsonArrayWrapper<>(list);
     }
 
+    /**
+     * Returns each document in the array as a {@link RawBsonDocument} that holds a reference to the buffer of the response.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> decodeSharingBuffer(final BsonBinaryReader reader, final DecoderContext decoderContext) {
+        ResponseBufferBsonInput bsonInput = (ResponseBufferBsonInput) reader.getBsonInput();
+        reader.readStartArray();
+
+        List<T> list = new ArrayList<>();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                list.add(null);
+            } else if (reader.getCurrentBsonType() == DOCUMENT) {
+                int position = bsonInput.getPosition();
+                BsonInputMark mark = bsonInput.getMark(4);
+                int size = bsonInput.readInt32();
+                mark.reset();
+                reader.skipValue();
+                list.add((T) RawBsonDocument.fromByteBuf(bsonInput.retainBodyByteBuffer(), position, size));
+            } else {
+                list.add(decoder.decode(reader, decoderContext));
+            }
+        }
+        reader.readEndArray();
+        return list;
+    }
+
+    /**
+     * Keeps the raw array in the buffer of the reply, which the returned list retains, leaving the reader positioned after the array, unless
+     * the array contains an element that is neither a document nor null, in which case the reader is left as it was.  The array is copied
+     * out only if the reader is not reading a reply.
+     */
+    @Nullable
+    private LazyDecodingList<T> decodeLazily(final BsonBinaryReader reader, final DecoderContext decoderContext) {
+        BsonInput bsonInput = reader.getBsonInput();
+        ByteBuf buffer;
+        int arrayIndex;
+        if (bsonInput instanceof ResponseBufferBsonInput) {
+            buffer = ((ResponseBufferBsonInput) bsonInput).retainBodyByteBuffer();
+            arrayIndex = bsonInput.getPosition();
+        } else {
+            BsonInputMark mark = bsonInput.getMark(4);
+            byte[] arrayBytes = new byte[bsonInput.readInt32()];
+            mark.reset();
+            bsonInput.readBytes(arrayBytes);
+            mark.reset();
+            buffer = new ByteBufNIO(ByteBuffer.wrap(arrayBytes));
+            arrayIndex = 0;
+        }
+        LazyDecodingList<T> list = LazyDecodingList.create(buffer, arrayIndex, decoder, decoderContext);
+        if (list == null) {
+            buffer.release();
+        } else {
+            reader.skipValue();
+        }
+        return list;
+    }
+
     @Override
     protected BsonValue readValue(final BsonReader reader, final DecoderContext decoderContext) {
         if (reader.getCurrentBsonType() == DOCUMENT) {
@@ -53,10 +53,19 @@ class CommandResultCodecProvider<P> implements CodecProvider {
     private final Map<Class<?>, Codec<?>> codecs = new HashMap<>();
     private final Decoder<P> payloadDecoder;
     private final List<String> fieldsContainingPayload;
+    private final boolean lazyPayload;
+    private final boolean sharePayloadBuffers;
 
     CommandResultCodecProvider(final Decoder<P> payloadDecoder, final List<String> fieldContainingPayload) {
+        this(payloadDecoder, fieldContainingPayload, false, false);
+    }
+
+    CommandResultCodecProvider(final Decoder<P> payloadDecoder, final List<String> fieldContainingPayload, final boolean lazyPayload,
+            final boolean sharePayloadBuffers) {
         this.payloadDecoder = payloadDecoder;
         this.fieldsContainingPayload = fieldContainingPayload;
+        this.lazyPayload = lazyPayload;
+        this.sharePayloadBuffers = sharePayloadBuffers;
         addCodecs();
     }
 
@@ -72,7 +81,8 @@ class CommandResultCodecProvider<P> implements CodecProvider {
         }
 
         if (clazz == BsonDocument.class) {
-            return (Codec<T>) new CommandResultDocumentCodec<>(registry, payloadDecoder, fieldsContainingPayload);
+            return (Codec<T>) new CommandResultDocumentCodec<>(registry, payloadDecoder, fieldsContainingPayload, lazyPayload,
+                    sharePayloadBuffers);
         }
 
         return null;
@@ -115,6 +125,12 @@ class CommandResultCodecProvider<P> implements CodecProvider {
 
         CommandResultCodecProvider<?> that = (CommandResultCodecProvider) o;
 
+        if (lazyPayload != that.lazyPayload) {
+            return false;
+        }
+        if (sharePayloadBuffers != that.sharePayloadBuffers) {
+            return false;
+        }
         if (!fieldsContainingPayload.equals(that.fieldsContainingPayload)) {
             return false;
         }
@@ -129,6 +145,8 @@ class CommandResultCodecProvider<P> implements CodecProvider {
     public int hashCode() {
         int result = payloadDecoder.getClass().hashCode();
         result = 31 * result + fieldsContainingPayload.hashCode();
+        result = 31 * result + (lazyPayload ? 1 : 0);
+        result = 31 * result + (sharePayloadBuffers ? 1 : 0);
         return result;
     }
 }
@@ -35,11 +35,20 @@ import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 class CommandResultDocumentCodec<T> extends BsonDocumentCodec {
     private final Decoder<T> payloadDecoder;
     private final List<String> fieldsContainingPayload;
+    private final boolean lazyPayload;
+    private final boolean sharePayloadBuffers;
 
     CommandResultDocumentCodec(final CodecRegistry registry, final Decoder<T> payloadDecoder, final List<String> fieldsContainingPayload) {
+        this(registry, payloadDecoder, fieldsContainingPayload, false, false);
+    }
+
+    CommandResultDocumentCodec(final CodecRegistry registry, final Decoder<T> payloadDecoder, final List<String> fieldsContainingPayload,
+            final boolean lazyPayload, final boolean sharePayloadBuffers) {
         super(registry);
         this.payloadDecoder = payloadDecoder;
         this.fieldsContainingPayload = fieldsContainingPayload;
+        this.lazyPayload = lazyPayload;
+        this.sharePayloadBuffers = sharePayloadBuffers;
     }
 
     static <P> Codec<BsonDocument> create(final Decoder<P> decoder, final String fieldContainingPayload) {
@@ -47,7 +56,23 @@ class CommandResultDocumentCodec<T> extends BsonDocumentCodec {
     }
 
     static <P> Codec<BsonDocument> create(final Decoder<P> decoder, final List<String> fieldsContainingPayload) {
-        CodecRegistry registry = fromProviders(new CommandResultCodecProvider<>(decoder, fieldsContainingPayload));
+        return create(decoder, fieldsContainingPayload, false, false);
+    }
+
+    static <P> Codec<BsonDocument> create(final Decoder<P> decoder, final String fieldContainingPayload, final boolean lazyPayload,
+            final boolean sharePayloadBuffers) {
+        return create(decoder, Collections.singletonList(fieldContainingPayload), lazyPayload, sharePayloadBuffers);
+    }
+
+    /**
+     * @param lazyPayload whether to keep arrays of payload documents as raw BSON and decode each document only when it is requested
+     * @param sharePayloadBuffers whether arrays of payload documents decoded as {@code RawBsonDocument} should share the buffer of the
+     *                            response instead of copying it
+     */
+    static <P> Codec<BsonDocument> create(final Decoder<P> decoder, final List<String> fieldsContainingPayload,
+            final boolean lazyPayload, final boolean sharePayloadBuffers) {
+        CodecRegistry registry = fromProviders(new CommandResultCodecProvider<>(decoder, fieldsContainingPayload, lazyPayload,
+                sharePayloadBuffers));
         return registry.get(BsonDocument.class);
     }
 
@@ -57,7 +82,8 @@ class CommandResultDocumentCodec<T> extends BsonDocumentCodec {
             if (reader.getCurrentBsonType() == BsonType.DOCUMENT) {
                 return new BsonDocumentWrapper<>(payloadDecoder.decode(reader, decoderContext), null);
             } else if (reader.getCurrentBsonType() == BsonType.ARRAY) {
-                return new CommandResultArrayCodec<>(getCodecRegistry(), payloadDecoder).decode(reader, decoderContext);
+                return new CommandResultArrayCodec<>(getCodecRegistry(), payloadDecoder, lazyPayload, sharePayloadBuffers)
+                        .decode(reader, decoderContext);
             }
         }
         return super.readValue(reader, decoderContext);
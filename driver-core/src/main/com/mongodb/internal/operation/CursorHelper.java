@@ -16,11 +16,18 @@
 
 package com.mongodb.internal.operation;
 
+import com.mongodb.internal.session.SessionContext;
 import com.mongodb.lang.Nullable;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
+import org.bson.RawBsonDocument;
 
-final class CursorHelper {
+import java.util.List;
+
+/**
+ * <p>This class is not part of the public API and may be removed or changed at any time</p>
+ */
+public final class CursorHelper {
 
     /**
      * <p>Gets the limit of the number of documents in the OP_REPLY response to the get more request. A value of zero tells the server to
@@ -54,6 +61,47 @@ final class CursorHelper {
         return batchSize == null ? new BsonDocument() : new BsonDocument("batchSize", new BsonInt32(batchSize));
     }
 
+    /**
+     * Batches are prefetched while the application may be using the session of the cursor itself, which is only safe if that session is
+     * an implicit one, owned by the cursor, and there is no transaction.
+     *
+     * @param sessionContext the session context of the cursor
+     * @return true if the cursor may fetch batches ahead of the application
+     */
+    static boolean canPrefetch(final SessionContext sessionContext) {
+        return !sessionContext.hasActiveTransaction() && (!sessionContext.hasSession() || sessionContext.isImplicitSession());
+    }
+
+    /**
+     * Releases the documents of a batch that is discarded without being handed out to the application, as they may hold references to
+     * the buffer of the reply they were read from.
+     *
+     * @param batch the discarded batch
+     */
+    static void releaseBatch(final List<?> batch) {
+        releaseRemainingBatch(batch, 0);
+    }
+
+    /**
+     * Releases the documents of a batch that were not handed out to the application when it stops consuming the batch, as they may hold
+     * references to the buffer of the reply they were read from.  Documents that were handed out are not affected.
+     *
+     * @param batch the batch
+     * @param fromIndex the index of the first document that was not handed out
+     */
+    public static void releaseRemainingBatch(final List<?> batch, final int fromIndex) {
+        if (batch instanceof LazyDecodingList) {
+            // the documents decoded from the list do not refer to its buffer
+            ((LazyDecodingList<?>) batch).release();
+            return;
+        }
+        for (Object document : batch.subList(fromIndex, batch.size())) {
+            if (document instanceof RawBsonDocument) {
+                ((RawBsonDocument) document).release();
+            }
+        }
+    }
+
     private CursorHelper() {
     }
 }
@@ -97,6 +97,10 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
     private boolean returnKey;
     private boolean showRecordId;
     private Boolean allowDiskUse;
+    private boolean exhaust;
+    private int prefetchDepth;
+    private boolean lazyDecoding;
+    private boolean shareReplyBuffers;
 
     public FindOperation(final MongoNamespace namespace, final Decoder<T> decoder) {
         this.namespace = notNull("namespace", namespace);
@@ -315,6 +319,67 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
         return this;
     }
 
+    public boolean isExhaust() {
+        return exhaust;
+    }
+
+    /**
+     * Sets whether the server should stream the remaining batches after the first {@code getMore}.  Ignored for tailable cursors.
+     *
+     * @param exhaust whether to use an exhaust cursor
+     * @return this
+     */
+    public FindOperation<T> exhaust(final boolean exhaust) {
+        this.exhaust = exhaust;
+        return this;
+    }
+
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * Sets the maximum number of batches to fetch ahead of the application.  Ignored for tailable cursors.
+     *
+     * @param prefetchDepth the prefetch depth, which must not be negative, with 0 meaning that batches are not prefetched
+     * @return this
+     */
+    public FindOperation<T> prefetchDepth(final int prefetchDepth) {
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Sets whether to keep each batch as raw BSON and decode each document only when it is requested.
+     *
+     * @param lazyDecoding whether to decode documents lazily
+     * @return this
+     */
+    public FindOperation<T> lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    public boolean isShareReplyBuffers() {
+        return shareReplyBuffers;
+    }
+
+    /**
+     * Sets whether {@code RawBsonDocument} results share the buffer of the reply they were read from, instead of copying it.
+     *
+     * @param shareReplyBuffers whether to share reply buffers
+     * @return this
+     */
+    public FindOperation<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        this.shareReplyBuffers = shareReplyBuffers;
+        return this;
+    }
+
     @Override
     public BatchCursor<T> execute(final ReadBinding binding) {
         RetryState retryState = initialRetryState(retryReads);
@@ -324,8 +389,9 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
                 retryState.breakAndThrowIfRetryAnd(() -> !canRetryRead(source.getServerDescription(), binding.getSessionContext()));
                 try {
                     return createReadCommandAndExecute(retryState, binding, source, namespace.getDatabaseName(),
-                            getCommandCreator(binding.getSessionContext()), CommandResultDocumentCodec.create(decoder, FIRST_BATCH),
-                            transformer(), connection);
+                            getCommandCreator(binding.getSessionContext()),
+                            CommandResultDocumentCodec.create(decoder, FIRST_BATCH, lazyDecoding, shareReplyBuffers), transformer(),
+                            connection);
                 } catch (MongoCommandException e) {
                     throw new MongoQueryException(e.getResponse(), e.getServerAddress());
                 }
@@ -350,7 +416,8 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
                                 }
                                 SingleResultCallback<AsyncBatchCursor<T>> wrappedCallback = exceptionTransformingCallback(releasingCallback);
                                 createReadCommandAndExecuteAsync(retryState, binding, source, namespace.getDatabaseName(),
-                                        getCommandCreator(binding.getSessionContext()), CommandResultDocumentCodec.create(decoder, FIRST_BATCH),
+                                        getCommandCreator(binding.getSessionContext()),
+                                        CommandResultDocumentCodec.create(decoder, FIRST_BATCH, lazyDecoding, shareReplyBuffers),
                                         asyncTransformer(), connection, wrappedCallback);
                             });
                 }).whenComplete(binding::release);
@@ -478,10 +545,18 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
             QueryResult<T> queryResult = cursorDocumentToQueryResult(result.getDocument("cursor"),
                     connection.getDescription().getServerAddress());
             return new QueryBatchCursor<>(queryResult, limit, batchSize, getMaxTimeForCursor(), decoder, comment, source, connection,
-                    result);
+                    result, isExhaustCursor(), getPrefetchDepthForCursor(), lazyDecoding, shareReplyBuffers);
         };
     }
 
+    private boolean isExhaustCursor() {
+        return exhaust && !isTailableCursor();
+    }
+
+    private int getPrefetchDepthForCursor() {
+        return isTailableCursor() ? 0 : prefetchDepth;
+    }
+
     private long getMaxTimeForCursor() {
         return cursorType == CursorType.TailableAwait ? maxAwaitTimeMS : 0;
     }
@@ -491,7 +566,7 @@ public class FindOperation<T> implements AsyncExplainableReadOperation<AsyncBatc
             QueryResult<T> queryResult = cursorDocumentToQueryResult(result.getDocument("cursor"),
                     connection.getDescription().getServerAddress());
             return new AsyncQueryBatchCursor<>(queryResult, limit, batchSize, getMaxTimeForCursor(), decoder, comment, source,
-                    connection, result);
+                    connection, result, isExhaustCursor(), getPrefetchDepthForCursor(), lazyDecoding, shareReplyBuffers);
         };
     }
 }
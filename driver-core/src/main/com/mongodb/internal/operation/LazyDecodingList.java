@@ -0,0 +1,160 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.operation;
+
+import com.mongodb.lang.Nullable;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.ByteBuf;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.bson.io.ByteBufferBsonInput;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of the documents in a cursor batch that keeps the batch as raw BSON in the buffer of the reply and decodes each
+ * document only when it is requested, so that the whole batch never has to be held in memory in its decoded form.  Decoded documents
+ * are not cached, so a document that has been handed out is only held by the caller, and a document that is requested again is decoded
+ * again.  The list holds a reference to the buffer until every document has been requested at least once, or until it is
+ * {@linkplain #release() released}, after which no document may be requested.  It is therefore meant to be consumed once, in order.
+ *
+ * <p>Instances are not thread-safe.</p>
+ *
+ * @param <T> the type of the decoded documents
+ */
+final class LazyDecodingList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int NULL_ELEMENT = -1;
+
+    @Nullable
+    private ByteBuf buffer;
+    private final int[] elementOffsets;
+    private final boolean[] requestedElements;
+    private int unrequestedCount;
+    private final Decoder<T> decoder;
+    private final DecoderContext decoderContext;
+
+    /**
+     * Creates a list of the elements of the BSON array at the given index in the buffer.  On success, the list takes over ownership of
+     * one reference to the buffer.
+     *
+     * @param buffer the buffer
+     * @param arrayIndex the index in the buffer of the first byte of the array
+     * @return the list, or null if the array contains an element that is neither a document nor null
+     */
+    @Nullable
+    static <T> LazyDecodingList<T> create(final ByteBuf buffer, final int arrayIndex, final Decoder<T> decoder,
+            final DecoderContext decoderContext) {
+        int[] elementOffsets = new int[16];
+        int size = 0;
+        int unrequestedCount = 0;
+        int position = arrayIndex + 4;
+        while (buffer.get(position) != 0) {
+            byte bsonType = buffer.get(position++);
+            while (buffer.get(position++) != 0) {
+                // skip the element name
+            }
+            if (size == elementOffsets.length) {
+                elementOffsets = Arrays.copyOf(elementOffsets, size * 2);
+            }
+            if (bsonType == BsonType.DOCUMENT.getValue()) {
+                elementOffsets[size++] = position;
+                unrequestedCount++;
+                position += readInt32(buffer, position);
+            } else if (bsonType == BsonType.NULL.getValue()) {
+                elementOffsets[size++] = NULL_ELEMENT;
+            } else {
+                return null;
+            }
+        }
+        return new LazyDecodingList<>(buffer, Arrays.copyOf(elementOffsets, size), unrequestedCount, decoder, decoderContext);
+    }
+
+    private LazyDecodingList(final ByteBuf buffer, final int[] elementOffsets, final int unrequestedCount, final Decoder<T> decoder,
+            final DecoderContext decoderContext) {
+        this.elementOffsets = elementOffsets;
+        this.requestedElements = new boolean[elementOffsets.length];
+        this.unrequestedCount = unrequestedCount;
+        this.decoder = decoder;
+        this.decoderContext = decoderContext;
+        if (unrequestedCount == 0) {
+            buffer.release();
+        } else {
+            this.buffer = buffer;
+        }
+    }
+
+    @Override
+    @Nullable
+    public T get(final int index) {
+        if (index < 0 || index >= elementOffsets.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elementOffsets.length);
+        }
+        int offset = elementOffsets[index];
+        if (offset == NULL_ELEMENT) {
+            return null;
+        }
+        T decodedElement = decode(offset);
+        if (!requestedElements[index]) {
+            requestedElements[index] = true;
+            if (--unrequestedCount == 0) {
+                release();
+            }
+        }
+        return decodedElement;
+    }
+
+    private T decode(final int offset) {
+        ByteBuf localBuffer = buffer;
+        if (localBuffer == null) {
+            throw new IllegalStateException("The batch has been released");
+        }
+        ByteBuf documentBuffer = localBuffer.duplicate();
+        documentBuffer.position(offset);
+        documentBuffer.limit(offset + readInt32(localBuffer, offset));
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(documentBuffer))) {
+            return decoder.decode(reader, decoderContext);
+        }
+    }
+
+    @Override
+    public int size() {
+        return elementOffsets.length;
+    }
+
+    /**
+     * Releases the buffer of the reply, after which no document may be requested.  Documents that have already been handed out are not
+     * affected.  This method is idempotent.
+     */
+    void release() {
+        ByteBuf localBuffer = buffer;
+        if (localBuffer != null) {
+            buffer = null;
+            localBuffer.release();
+        }
+    }
+
+    private static int readInt32(final ByteBuf buffer, final int index) {
+        return (buffer.get(index) & 0xff)
+                | (buffer.get(index + 1) & 0xff) << 8
+                | (buffer.get(index + 2) & 0xff) << 16
+                | (buffer.get(index + 3) & 0xff) << 24;
+    }
+}
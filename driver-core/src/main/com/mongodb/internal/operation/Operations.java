@@ -204,7 +204,11 @@ final class Operations<TDocument> {
                 .max(toBsonDocument(options.getMax()))
                 .returnKey(options.isReturnKey())
                 .showRecordId(options.isShowRecordId())
-                .allowDiskUse(options.isAllowDiskUse());
+                .allowDiskUse(options.isAllowDiskUse())
+                .exhaust(options.isExhaust())
+                .prefetchDepth(options.getPrefetchDepth())
+                .lazyDecoding(options.isLazyDecoding())
+                .shareReplyBuffers(options.isShareReplyBuffers());
 
         if (options.getHint() != null) {
             operation.hint(toBsonDocument(options.getHint()));
@@ -230,14 +234,19 @@ final class Operations<TDocument> {
                                                     final long maxTimeMS, final long maxAwaitTimeMS, @Nullable final Integer batchSize,
                                                     final Collation collation, @Nullable final Bson hint, @Nullable final String hintString,
                                                     final BsonValue comment,
-                                                    final Bson variables, final Boolean allowDiskUse,
-                                                    final AggregationLevel aggregationLevel) {
+                                                    final Bson variables, final Boolean allowDiskUse, final boolean exhaust,
+                                                    final int prefetchDepth, final boolean lazyDecoding,
+                                                    final boolean shareReplyBuffers, final AggregationLevel aggregationLevel) {
         return new AggregateOperation<>(assertNotNull(namespace), assertNotNull(toBsonDocumentList(pipeline)),
                 codecRegistry.get(resultClass), aggregationLevel)
                 .retryReads(retryReads)
                 .maxTime(maxTimeMS, MILLISECONDS)
                 .maxAwaitTime(maxAwaitTimeMS, MILLISECONDS)
                 .allowDiskUse(allowDiskUse)
+                .exhaust(exhaust)
+                .prefetchDepth(prefetchDepth)
+                .lazyDecoding(lazyDecoding)
+                .shareReplyBuffers(shareReplyBuffers)
                 .batchSize(batchSize)
                 .collation(collation)
                 .hint(hint != null ? toBsonDocument(hint) : (hintString != null ? new BsonString(hintString) : null))
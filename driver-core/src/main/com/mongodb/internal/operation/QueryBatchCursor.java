@@ -18,6 +18,7 @@ package com.mongodb.internal.operation;
 
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
 import com.mongodb.MongoNamespace;
 import com.mongodb.MongoSocketException;
 import com.mongodb.ReadPreference;
@@ -34,6 +35,7 @@ import com.mongodb.internal.connection.QueryResult;
 import com.mongodb.internal.diagnostics.logging.Logger;
 import com.mongodb.internal.diagnostics.logging.Loggers;
 import com.mongodb.internal.session.SessionContext;
+import com.mongodb.internal.thread.DaemonThreadFactory;
 import com.mongodb.internal.validator.NoOpFieldNameValidator;
 import com.mongodb.lang.Nullable;
 import org.bson.BsonArray;
@@ -49,6 +51,16 @@ import org.bson.codecs.Decoder;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Consumer;
@@ -60,11 +72,14 @@ import static com.mongodb.assertions.Assertions.assertTrue;
 import static com.mongodb.assertions.Assertions.fail;
 import static com.mongodb.assertions.Assertions.isTrueArgument;
 import static com.mongodb.assertions.Assertions.notNull;
+import static com.mongodb.internal.operation.CursorHelper.canPrefetch;
 import static com.mongodb.internal.operation.CursorHelper.getNumberToReturn;
+import static com.mongodb.internal.operation.CursorHelper.releaseBatch;
 import static com.mongodb.internal.operation.DocumentHelper.putIfNotNull;
 import static com.mongodb.internal.operation.OperationHelper.getMoreCursorDocumentToQueryResult;
 import static com.mongodb.internal.operation.QueryHelper.translateCommandException;
 import static com.mongodb.internal.operation.ServerVersionHelper.serverIsAtLeastVersionFourDotFour;
+import static com.mongodb.internal.operation.ServerVersionHelper.serverIsAtLeastVersionFourDotTwo;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 
@@ -84,6 +99,16 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
     private final int limit;
     private final Decoder<T> decoder;
     private final long maxTimeMS;
+    private final boolean exhaust;
+    private final int prefetchDepth;
+    private final boolean lazyDecoding;
+    private final boolean shareReplyBuffers;
+    private final Queue<List<T>> prefetchedBatches = new ConcurrentLinkedQueue<>();
+    @Nullable
+    private volatile CompletableFuture<Void> pendingPrefetch;
+    // Set by whichever of the executor and the application thread starts the pending prefetch first
+    @Nullable
+    private AtomicBoolean pendingPrefetchStarted;
     private int batchSize;
     private final BsonValue comment;
     private List<T> nextBatch;
@@ -112,8 +137,31 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
     QueryBatchCursor(final QueryResult<T> firstQueryResult, final int limit, final int batchSize, final long maxTimeMS,
             final Decoder<T> decoder, @Nullable final BsonValue comment, @Nullable final ConnectionSource connectionSource,
             @Nullable final Connection connection, @Nullable final BsonDocument result) {
+        this(firstQueryResult, limit, batchSize, maxTimeMS, decoder, comment, connectionSource, connection, result, false, 0, false,
+                false);
+    }
+
+    /**
+     * @param exhaust whether to request that the server stream all remaining batches after the first {@code getMore}, rather than wait
+     * for a {@code getMore} for each of them.  While batches are being streamed the cursor is pinned to the connection.
+     * @param prefetchDepth the maximum number of batches to fetch in the background ahead of the application, or 0 to fetch each batch
+     * only when the application asks for it.  Ignored if the session of the connection source is an explicit one or has a transaction.
+     * @param lazyDecoding whether to keep each batch as raw BSON and decode each document only when it is requested
+     * @param shareReplyBuffers whether {@code RawBsonDocument} results should share the buffer of the reply they were read from, instead
+     * of copying it.  The application must release each such document.
+     */
+    QueryBatchCursor(final QueryResult<T> firstQueryResult, final int limit, final int batchSize, final long maxTimeMS,
+            final Decoder<T> decoder, @Nullable final BsonValue comment, @Nullable final ConnectionSource connectionSource,
+            @Nullable final Connection connection, @Nullable final BsonDocument result, final boolean exhaust,
+            final int prefetchDepth, final boolean lazyDecoding, final boolean shareReplyBuffers) {
         isTrueArgument("maxTimeMS >= 0", maxTimeMS >= 0);
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
         this.maxTimeMS = maxTimeMS;
+        this.exhaust = exhaust;
+        this.prefetchDepth = prefetchDepth > 0 && connectionSource != null && canPrefetch(connectionSource.getSessionContext())
+                ? prefetchDepth : 0;
+        this.lazyDecoding = lazyDecoding;
+        this.shareReplyBuffers = shareReplyBuffers;
         this.namespace = firstQueryResult.getNamespace();
         this.serverApi = connectionSource == null ? null : connectionSource.getServerApi();
         this.serverAddress = firstQueryResult.getAddress();
@@ -130,6 +178,10 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
             notNull("connectionSource", connectionSource);
         }
         firstBatchEmpty = firstQueryResult.getResults().isEmpty();
+        if (this.prefetchDepth > 0 && nextBatch != null) {
+            prefetchedBatches.add(nextBatch);
+            nextBatch = null;
+        }
         Connection connectionToPin = null;
         boolean releaseServerAndResources = false;
         if (connection != null) {
@@ -151,6 +203,9 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
 
     @Override
     public boolean hasNext() {
+        if (prefetchDepth > 0) {
+            return prefetchingHasNext(MESSAGE_IF_CLOSED_AS_CURSOR);
+        }
         return assertNotNull(resourceManager.execute(MESSAGE_IF_CLOSED_AS_CURSOR, this::doHasNext));
     }
 
@@ -178,11 +233,18 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
 
     @Override
     public List<T> next() {
+        if (prefetchDepth > 0) {
+            return prefetchingNext(MESSAGE_IF_CLOSED_AS_ITERATOR);
+        }
         return assertNotNull(resourceManager.execute(MESSAGE_IF_CLOSED_AS_ITERATOR, this::doNext));
     }
 
     @Override
     public int available() {
+        if (prefetchDepth > 0) {
+            List<T> prefetchedBatch = prefetchedBatches.peek();
+            return !resourceManager.operable() || prefetchedBatch == null ? 0 : prefetchedBatch.size();
+        }
         return !resourceManager.operable() || nextBatch == null ? 0 : nextBatch.size();
     }
 
@@ -213,12 +275,43 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
 
     @Override
     public void close() {
+        CompletableFuture<Void> localPendingPrefetch = pendingPrefetch;
+        if (localPendingPrefetch != null) {
+            // a prefetch that has not started yet will not run, and one that is running stops after its current getMore
+            localPendingPrefetch.cancel(false);
+        }
         resourceManager.close();
+        releasePrefetchedBatches();
+    }
+
+    /**
+     * Only called by the deferred close action, which is totally ordered with the operations that set {@link #nextBatch}.
+     */
+    private void releaseNextBatch() {
+        List<T> localNextBatch = nextBatch;
+        if (localNextBatch != null) {
+            nextBatch = null;
+            releaseBatch(localNextBatch);
+        }
+    }
+
+    /**
+     * May run concurrently with itself, as both {@link #close()} and a prefetch that completes after it release the batches.
+     */
+    private void releasePrefetchedBatches() {
+        List<T> batch;
+        while ((batch = prefetchedBatches.poll()) != null) {
+            releaseBatch(batch);
+        }
     }
 
     @Nullable
     @Override
     public List<T> tryNext() {
+        if (prefetchDepth > 0) {
+            // prefetching is never enabled for tailable cursors, so there is no point in returning before the next batch arrives
+            return prefetchingHasNext(MESSAGE_IF_CLOSED_AS_CURSOR) ? prefetchingNext(MESSAGE_IF_CLOSED_AS_CURSOR) : null;
+        }
         return resourceManager.execute(MESSAGE_IF_CLOSED_AS_CURSOR, () -> {
             if (!tryHasNext()) {
                 return null;
@@ -282,28 +375,152 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
         return maxWireVersion;
     }
 
+    /**
+     * Only called by the application thread.  Batches are fetched by a background operation that is totally ordered with other
+     * operations of the cursor by the {@link ResourceManager}.  The application thread only fetches a batch itself after taking over a
+     * prefetch that the executor has not started, so {@link #nextBatch} and {@link #count} are only read here when no background
+     * operation is pending.
+     */
+    private boolean prefetchingHasNext(final String exceptionMessageIfClosed) {
+        while (true) {
+            if (!resourceManager.operable()) {
+                throw new IllegalStateException(exceptionMessageIfClosed);
+            }
+            if (!prefetchedBatches.isEmpty()) {
+                return true;
+            }
+            CompletableFuture<Void> localPendingPrefetch = pendingPrefetch;
+            if (localPendingPrefetch != null) {
+                if (assertNotNull(pendingPrefetchStarted).compareAndSet(false, true)) {
+                    // the prefetch is queued behind those of other cursors, so rather than wait for it fetch the batch here
+                    localPendingPrefetch.cancel(false);
+                    pendingPrefetch = null;
+                    resourceManager.execute(exceptionMessageIfClosed, this::fetchBatch);
+                } else {
+                    awaitPrefetch(localPendingPrefetch);
+                }
+            } else if (!startPrefetchIfNeeded()) {
+                return false;
+            }
+        }
+    }
+
+    private List<T> prefetchingNext(final String exceptionMessageIfClosed) {
+        if (!prefetchingHasNext(exceptionMessageIfClosed)) {
+            throw new NoSuchElementException();
+        }
+        List<T> batch = assertNotNull(prefetchedBatches.poll());
+        CompletableFuture<Void> localPendingPrefetch = pendingPrefetch;
+        if (localPendingPrefetch != null && localPendingPrefetch.isDone() && !localPendingPrefetch.isCompletedExceptionally()) {
+            pendingPrefetch = null;
+        }
+        startPrefetchIfNeeded();
+        return batch;
+    }
+
+    private boolean startPrefetchIfNeeded() {
+        if (pendingPrefetch != null || resourceManager.serverCursor() == null || limitReached()
+                || prefetchedBatches.size() >= prefetchDepth) {
+            return false;
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        pendingPrefetchStarted = started;
+        pendingPrefetch = CompletableFuture.runAsync(() -> {
+            if (started.compareAndSet(false, true)) {
+                resourceManager.execute(MESSAGE_IF_CLOSED_AS_CURSOR, this::prefetch);
+            }
+        }, PrefetchExecutorHolder.EXECUTOR);
+        return true;
+    }
+
+    /**
+     * Runs in the background and fetches batches until either {@link #prefetchDepth} of them are waiting to be handed out, or there are
+     * no more of them.
+     */
+    @Nullable
+    private Void prefetch() {
+        while (resourceManager.operable() && resourceManager.serverCursor() != null && !limitReached()
+                && prefetchedBatches.size() < prefetchDepth) {
+            fetchBatch();
+        }
+        if (!resourceManager.operable()) {
+            // the cursor was closed while a batch was being fetched, possibly after it released the batches already fetched
+            releasePrefetchedBatches();
+        }
+        return null;
+    }
+
+    @Nullable
+    private Void fetchBatch() {
+        if (resourceManager.serverCursor() != null && !limitReached()) {
+            getMore();
+            List<T> localNextBatch = nextBatch;
+            if (localNextBatch != null) {
+                prefetchedBatches.add(localNextBatch);
+                nextBatch = null;
+            }
+        }
+        return null;
+    }
+
+    private void awaitPrefetch(final CompletableFuture<Void> prefetch) {
+        try {
+            prefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MongoInterruptedException("Interrupted while waiting for the next batch", e);
+        } catch (CancellationException e) {
+            // the cursor was closed, which the caller reports
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MongoException("Exception while fetching the next batch", cause);
+        } finally {
+            if (prefetch.isDone()) {
+                pendingPrefetch = null;
+            }
+        }
+    }
+
     private void getMore() {
         ServerCursor serverCursor = assertNotNull(resourceManager.serverCursor());
         resourceManager.executeWithConnection(connection -> {
             ServerCursor nextServerCursor;
             try {
-                nextServerCursor = initFromCommandResult(connection.command(namespace.getDatabaseName(),
-                        asGetMoreCommandDocument(serverCursor.getId(), connection.getDescription()),
-                        NO_OP_FIELD_NAME_VALIDATOR,
-                        ReadPreference.primary(),
-                        CommandResultDocumentCodec.create(decoder, "nextBatch"),
-                        resourceManager.sessionContext(),
-                        serverApi, resourceManager.requestContext()));
+                nextServerCursor = initFromCommandResult(assertNotNull(executeGetMore(connection, serverCursor)));
             } catch (MongoCommandException e) {
                 throw translateCommandException(e, serverCursor);
             }
             resourceManager.setServerCursor(nextServerCursor);
+            if (nextServerCursor != null && connection.hasMoreToCome()) {
+                resourceManager.pinConnectionWithMoreToCome(connection);
+            }
             if (limitReached()) {
                 resourceManager.releaseServerAndClientResources(connection);
             }
         });
     }
 
+    @Nullable
+    private BsonDocument executeGetMore(final Connection connection, final ServerCursor serverCursor) {
+        Decoder<BsonDocument> resultDecoder = CommandResultDocumentCodec.create(decoder, "nextBatch", lazyDecoding,
+                shareReplyBuffers);
+        if (connection.hasMoreToCome()) {
+            return connection.receiveMoreToCome(resultDecoder, resourceManager.sessionContext());
+        }
+        BsonDocument getMoreCommandDocument = asGetMoreCommandDocument(serverCursor.getId(), connection.getDescription());
+        if (exhaust && serverIsAtLeastVersionFourDotTwo(connection.getDescription())) {
+            return connection.exhaustCommand(namespace.getDatabaseName(), getMoreCommandDocument, NO_OP_FIELD_NAME_VALIDATOR,
+                    ReadPreference.primary(), resultDecoder, resourceManager.sessionContext(), serverApi, resourceManager.requestContext());
+        }
+        return connection.command(namespace.getDatabaseName(), getMoreCommandDocument, NO_OP_FIELD_NAME_VALIDATOR,
+                ReadPreference.primary(), resultDecoder, resourceManager.sessionContext(), serverApi, resourceManager.requestContext());
+    }
+
     private BsonDocument asGetMoreCommandDocument(final long cursorId, final ConnectionDescription connectionDescription) {
         BsonDocument document = new BsonDocument("getMore", new BsonInt64(cursorId))
                                 .append("collection", new BsonString(namespace.getCollectionName()));
@@ -351,6 +568,21 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
         return null;
     }
 
+    private static final class PrefetchExecutorHolder {
+        private static final int MAX_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        /**
+         * Prefetches that find all threads busy wait in the queue rather than each start a thread, whatever the number of open cursors.
+         */
+        private static ExecutorService createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new DaemonThreadFactory("QueryBatchCursorPrefetcher"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     /**
      * This class maintains all resources that must be released in {@link QueryBatchCursor#close()}.
      * It also implements a {@linkplain #doClose() deferred close action} such that it is totally ordered with other operations of
@@ -509,6 +741,7 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
                 // guarantee that regardless of exceptions, `serverCursor` is null and client resources are released
                 serverCursor = null;
                 releaseClientResources();
+                releaseNextBatch();
             }
         }
 
@@ -574,6 +807,18 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
             return assertNotNull(connectionSource).getRequestContext();
         }
 
+        /**
+         * Pins the connection on which the server is streaming batches, as no other command may be sent on it until all of them have been
+         * received.  A connection pinned for any other reason is necessarily the same connection.
+         */
+        void pinConnectionWithMoreToCome(final Connection connection) {
+            assertTrue(state.inProgress());
+            if (pinnedConnection == null) {
+                pinnedConnection = connection.retain();
+                connection.markAsPinned(Connection.PinningMode.CURSOR);
+            }
+        }
+
         void releaseServerAndClientResources(final Connection connection) {
             try {
                 releaseServerResources(assertNotNull(connection));
@@ -585,7 +830,9 @@ class QueryBatchCursor<T> implements AggregateResponseBatchCursor<T> {
         private void releaseServerResources(final Connection connection) {
             try {
                 ServerCursor localServerCursor = serverCursor;
-                if (localServerCursor != null) {
+                // killCursors can not be sent on a connection that still has batches streaming to it, so rely on the connection being
+                // closed instead of being returned to the pool, which makes the server kill the cursor
+                if (localServerCursor != null && !connection.hasMoreToCome()) {
                     killServerCursor(namespace, localServerCursor, sessionContext(), requestContext(), serverApi,
                             assertNotNull(connection));
                 }
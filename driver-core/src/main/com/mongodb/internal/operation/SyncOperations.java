@@ -117,10 +117,13 @@ public final class SyncOperations<TDocument> {
                                                                               final String hintString,
                                                                               final BsonValue comment,
                                                                               final Bson variables,
-                                                                              final Boolean allowDiskUse,
+                                                                              final Boolean allowDiskUse, final boolean exhaust,
+                                                                              final int prefetchDepth, final boolean lazyDecoding,
+                                                                              final boolean shareReplyBuffers,
                                                                               final AggregationLevel aggregationLevel) {
         return operations.aggregate(pipeline, resultClass, maxTimeMS, maxAwaitTimeMS, batchSize, collation, hint, hintString, comment,
-                variables, allowDiskUse, aggregationLevel);
+                variables, allowDiskUse, exhaust, prefetchDepth, lazyDecoding, shareReplyBuffers,
+                aggregationLevel);
     }
 
     public ReadOperation<Void> aggregateToCollection(final List<? extends Bson> pipeline, final long maxTimeMS,
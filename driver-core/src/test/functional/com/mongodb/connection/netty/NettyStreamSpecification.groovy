@@ -7,9 +7,11 @@ import com.mongodb.ServerAddress
 import com.mongodb.connection.AsyncCompletionHandler
 import com.mongodb.connection.SocketSettings
 import com.mongodb.connection.SslSettings
+import org.bson.ByteBufNIO
 import spock.lang.IgnoreIf
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 
@@ -85,6 +87,30 @@ class NettyStreamSpecification extends Specification {
         callback.getError().is(exception)
     }
 
+    def 'should write buffers that were not allocated by the stream'() {
+        given:
+        def serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())
+        def stream = new NettyStreamFactory(SocketSettings.builder().build(), SslSettings.builder().build())
+                .create(new ServerAddress(InetAddress.getLoopbackAddress().getHostAddress(), serverSocket.getLocalPort()))
+        stream.open()
+        def socket = serverSocket.accept()
+        def nettyBuffer = stream.getBuffer(3).put([1, 2, 3] as byte[], 0, 3).flip()
+        def referencedBuffer = new ByteBufNIO(ByteBuffer.wrap([0, 4, 5, 6, 0] as byte[], 1, 3).slice())
+        def bytes = new byte[6]
+
+        when:
+        stream.write([nettyBuffer, referencedBuffer])
+        new DataInputStream(socket.getInputStream()).readFully(bytes)
+
+        then:
+        bytes == [1, 2, 3, 4, 5, 6] as byte[]
+
+        cleanup:
+        stream?.close()
+        socket?.close()
+        serverSocket?.close()
+    }
+
     class CallbackErrorHolder implements AsyncCompletionHandler<Void> {
         CountDownLatch latch = new CountDownLatch(1)
         Throwable throwable = null
@@ -91,6 +91,10 @@ class AggregateOperationSpecification extends OperationFunctionalSpecification {
         operation.getMaxAwaitTime(MILLISECONDS) == 0
         operation.getMaxTime(MILLISECONDS) == 0
         operation.getPipeline() == []
+        !operation.isExhaust()
+        operation.getPrefetchDepth() == 0
+        !operation.isLazyDecoding()
+        !operation.isShareReplyBuffers()
     }
 
     def 'should set optional values correctly'(){
@@ -105,6 +109,10 @@ class AggregateOperationSpecification extends OperationFunctionalSpecification {
                 .hint(hint)
                 .maxAwaitTime(10, MILLISECONDS)
                 .maxTime(10, MILLISECONDS)
+                .exhaust(true)
+                .prefetchDepth(2)
+                .lazyDecoding(true)
+                .shareReplyBuffers(true)
 
         then:
         operation.getAllowDiskUse()
@@ -113,6 +121,10 @@ class AggregateOperationSpecification extends OperationFunctionalSpecification {
         operation.getMaxAwaitTime(MILLISECONDS) == 10
         operation.getMaxTime(MILLISECONDS) == 10
         operation.getHint() == hint
+        operation.isExhaust()
+        operation.getPrefetchDepth() == 2
+        operation.isLazyDecoding()
+        operation.isShareReplyBuffers()
     }
 
     def 'should throw when using invalid hint'() {
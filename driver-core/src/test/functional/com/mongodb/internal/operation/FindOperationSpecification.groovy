@@ -98,6 +98,10 @@ class FindOperationSpecification extends OperationFunctionalSpecification {
         !operation.isOplogReplay()
         !operation.isPartial()
         operation.isAllowDiskUse() == null
+        !operation.isExhaust()
+        operation.getPrefetchDepth() == 0
+        !operation.isLazyDecoding()
+        !operation.isShareReplyBuffers()
     }
 
     def 'should set optional values correctly'() {
@@ -122,6 +126,10 @@ class FindOperationSpecification extends OperationFunctionalSpecification {
                 .oplogReplay(true)
                 .noCursorTimeout(true)
                 .allowDiskUse(true)
+                .exhaust(true)
+                .prefetchDepth(2)
+                .lazyDecoding(true)
+                .shareReplyBuffers(true)
 
         then:
         operation.getFilter() == filter
@@ -137,6 +145,10 @@ class FindOperationSpecification extends OperationFunctionalSpecification {
         operation.isOplogReplay()
         operation.isPartial()
         operation.isAllowDiskUse()
+        operation.isExhaust()
+        operation.getPrefetchDepth() == 2
+        operation.isLazyDecoding()
+        operation.isShareReplyBuffers()
     }
 
     def 'should query with default values'() {
@@ -296,6 +308,44 @@ class FindOperationSpecification extends OperationFunctionalSpecification {
         -3        | false   | false
     }
 
+    def 'should return all batches of an exhaust cursor'() {
+        given:
+        def documents = (1..10).collect { new Document('_id', it) }
+        getCollectionHelper().insertDocuments(new DocumentCodec(), documents)
+        def operation = new FindOperation<Document>(getNamespace(), new DocumentCodec())
+                .sort(new BsonDocument('_id', new BsonInt32(1)))
+                .batchSize(3)
+                .exhaust(true)
+
+        when:
+        def results = executeAndCollectBatchCursorResults(operation, async)
+
+        then:
+        results == documents
+
+        where:
+        async << [true, false]
+    }
+
+    def 'should return all batches when prefetching'() {
+        given:
+        def documents = (1..10).collect { new Document('_id', it) }
+        getCollectionHelper().insertDocuments(new DocumentCodec(), documents)
+        def operation = new FindOperation<Document>(getNamespace(), new DocumentCodec())
+                .sort(new BsonDocument('_id', new BsonInt32(1)))
+                .batchSize(3)
+                .prefetchDepth(2)
+
+        when:
+        def results = executeAndCollectBatchCursorResults(operation, async)
+
+        then:
+        results == documents
+
+        where:
+        async << [true, false]
+    }
+
     def 'should throw query exception'() {
         given:
         def operation = new FindOperation<Document>(getNamespace(), new DocumentCodec())
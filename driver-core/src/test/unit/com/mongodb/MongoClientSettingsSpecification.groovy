@@ -55,6 +55,8 @@ class MongoClientSettingsSpecification extends Specification {
         settings.serverSettings == ServerSettings.builder().build()
         settings.streamFactoryFactory == null
         settings.compressorList == []
+        settings.compressionPolicy == CompressionPolicy.compressAll()
+        settings.fieldNameCacheSize == 0
         settings.credential == null
         settings.uuidRepresentation == UuidRepresentation.UNSPECIFIED
         settings.contextProvider == null
@@ -174,6 +176,7 @@ class MongoClientSettingsSpecification extends Specification {
         def codecRegistry = Stub(CodecRegistry)
         def commandListener = Stub(CommandListener)
         def compressorList = [MongoCompressor.createZlibCompressor()]
+        def compressionPolicy = CompressionPolicy.builder().minimumMessageSize(1024).build()
         def contextProvider = Stub(ContextProvider)
 
         settings = MongoClientSettings.builder()
@@ -197,6 +200,8 @@ class MongoClientSettingsSpecification extends Specification {
                 .credential(credential)
                 .codecRegistry(codecRegistry)
                 .compressorList(compressorList)
+                .compressionPolicy(compressionPolicy)
+                .fieldNameCacheSize(256)
                 .contextProvider(contextProvider)
                 .build()
 
@@ -465,8 +470,8 @@ class MongoClientSettingsSpecification extends Specification {
         // A regression test so that if anymore fields are added then the builder(final MongoClientSettings settings) should be updated
         def actual = MongoClientSettings.Builder.declaredFields.grep {  !it.synthetic } *.name.sort()
         def expected = ['applicationName', 'autoEncryptionSettings', 'clusterSettingsBuilder', 'codecRegistry', 'commandListeners',
-                        'compressorList', 'connectionPoolSettingsBuilder', 'contextProvider', 'credential',
-                        'heartbeatConnectTimeoutMS', 'heartbeatSocketTimeoutMS', 'loggerSettingsBuilder',
+                        'compressionPolicy', 'compressorList', 'connectionPoolSettingsBuilder', 'contextProvider', 'credential',
+                        'fieldNameCacheSize', 'heartbeatConnectTimeoutMS', 'heartbeatSocketTimeoutMS', 'loggerSettingsBuilder',
                         'readConcern', 'readPreference', 'retryReads',
                         'retryWrites', 'serverApi', 'serverSettingsBuilder', 'socketSettingsBuilder', 'sslSettingsBuilder',
                         'streamFactoryFactory', 'uuidRepresentation', 'writeConcern']
@@ -482,7 +487,8 @@ class MongoClientSettingsSpecification extends Specification {
         def expected = ['addCommandListener', 'applicationName', 'applyConnectionString', 'applyToClusterSettings',
                         'applyToConnectionPoolSettings', 'applyToLoggerSettings', 'applyToServerSettings', 'applyToSocketSettings',
                         'applyToSslSettings', 'autoEncryptionSettings', 'build', 'codecRegistry', 'commandListenerList',
-                        'compressorList', 'contextProvider', 'credential', 'heartbeatConnectTimeoutMS', 'heartbeatSocketTimeoutMS',
+                        'compressionPolicy', 'compressorList', 'contextProvider', 'credential', 'fieldNameCacheSize',
+                        'heartbeatConnectTimeoutMS', 'heartbeatSocketTimeoutMS',
                         'readConcern', 'readPreference', 'retryReads', 'retryWrites', 'serverApi', 'streamFactoryFactory',
                         'uuidRepresentation', 'writeConcern']
         then:
@@ -21,6 +21,8 @@ import com.mongodb.event.ServerListenerAdapter
 import com.mongodb.event.ServerMonitorListenerAdapter
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
+
 import static java.util.concurrent.TimeUnit.MILLISECONDS
 import static java.util.concurrent.TimeUnit.SECONDS
 
@@ -34,6 +36,7 @@ class ServerSettingsSpecification extends Specification {
         settings.getMinHeartbeatFrequency(MILLISECONDS) == 500
         settings.serverListeners == []
         settings.serverMonitorListeners == []
+        settings.monitorThreadFactory == null
     }
 
     def 'should apply builder settings'() {
@@ -44,6 +47,7 @@ class ServerSettingsSpecification extends Specification {
         def serverMonitorListenerOne = new ServerMonitorListenerAdapter() { }
         def serverMonitorListenerTwo = new ServerMonitorListenerAdapter() { }
         def serverMonitorListenerThree = new ServerMonitorListenerAdapter() { }
+        def monitorThreadFactory = Executors.defaultThreadFactory()
 
         when:
         def settings = ServerSettings.builder()
@@ -53,6 +57,7 @@ class ServerSettingsSpecification extends Specification {
                 .addServerListener(serverListenerTwo)
                 .addServerMonitorListener(serverMonitorListenerOne)
                 .addServerMonitorListener(serverMonitorListenerTwo)
+                .monitorThreadFactory(monitorThreadFactory)
                 .build()
 
 
@@ -61,6 +66,7 @@ class ServerSettingsSpecification extends Specification {
         settings.getMinHeartbeatFrequency(MILLISECONDS) == 1000
         settings.serverListeners == [serverListenerOne, serverListenerTwo]
         settings.serverMonitorListeners == [serverMonitorListenerOne, serverMonitorListenerTwo]
+        settings.monitorThreadFactory == monitorThreadFactory
 
         when:
         settings = ServerSettings.builder()
@@ -92,6 +98,7 @@ class ServerSettingsSpecification extends Specification {
                 .minHeartbeatFrequency(1, SECONDS)
                 .addServerListener(serverListenerOne)
                 .addServerMonitorListener(serverMonitorListenerOne)
+                .monitorThreadFactory(Executors.defaultThreadFactory())
                 .build()
 
         expect:
@@ -18,9 +18,11 @@ package com.mongodb.internal.connection
 
 import util.spock.annotations.Slow
 import org.bson.BsonSerializationException
+import org.bson.ByteBufNIO
 import org.bson.types.ObjectId
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
 import java.security.SecureRandom
 
 class ByteBufferBsonOutputSpecification extends Specification {
@@ -326,6 +328,54 @@ class ByteBufferBsonOutputSpecification extends Specification {
         bsonOutput.size == 2
     }
 
+    def 'should write bytes by reference'() {
+        given:
+        def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        def bytes = [0, 4, 5, 6, 0] as byte[]
+
+        when:
+        bsonOutput.writeBytes([1, 2, 3] as byte[])
+        bsonOutput.writeBytesByReference(new ByteBufNIO(ByteBuffer.wrap(bytes, 1, 3)))
+        bsonOutput.writeByte(7)
+
+        then:
+        getBytes(bsonOutput) == [1, 2, 3, 4, 5, 6, 7] as byte[]
+        bsonOutput.byteBuffers*.limit() == [3, 3, 1]
+        bsonOutput.position == 7
+        bsonOutput.size == 7
+
+        when:
+        bytes[2] = 50
+
+        then:
+        getBytes(bsonOutput) == [1, 2, 3, 4, 50, 6, 7] as byte[]
+    }
+
+    def 'should truncate to position in or before bytes written by reference'() {
+        given:
+        def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        def bytes = [4, 5, 6] as byte[]
+        bsonOutput.writeBytes([1, 2, 3] as byte[])
+        bsonOutput.writeBytesByReference(new ByteBufNIO(ByteBuffer.wrap(bytes)))
+        bsonOutput.writeByte(7)
+
+        when:
+        bsonOutput.truncateToPosition(position)
+        bsonOutput.writeByte(8)
+
+        then:
+        getBytes(bsonOutput) == expectedBytes as byte[]
+        bsonOutput.position == position + 1
+        bytes == [4, 5, 6] as byte[]
+
+        where:
+        position | expectedBytes
+        6        | [1, 2, 3, 4, 5, 6, 8]
+        5        | [1, 2, 3, 4, 5, 8]
+        3        | [1, 2, 3, 8]
+        1        | [1, 8]
+    }
+
     def 'should grow'() {
         given:
         def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
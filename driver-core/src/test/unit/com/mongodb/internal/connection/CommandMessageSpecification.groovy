@@ -36,6 +36,7 @@ import org.bson.BsonString
 import org.bson.BsonTimestamp
 import org.bson.ByteBuf
 import org.bson.ByteBufNIO
+import org.bson.RawBsonDocument
 import org.bson.codecs.BsonDocumentCodec
 import org.bson.codecs.DecoderContext
 import org.bson.io.BasicOutputBuffer
@@ -174,10 +175,53 @@ class CommandMessageSpecification extends Specification {
                         new BsonDocument('insert', new BsonString('coll')).append('documents',
                                 new BsonArray([new BsonDocument('_id', new BsonInt32(1)), new BsonDocument('_id', new BsonInt32(2))])),
                         null
+                ],
+                [
+                        THREE_DOT_SIX_WIRE_VERSION,
+                        new BsonDocument('insert', new BsonString('coll')),
+                        new SplittablePayload(INSERT, [new BsonDocument('_id', new BsonInt32(1)),
+                                                       new BsonDocument('_id', new BsonInt32(2))]
+                                .collect { new RawBsonDocument(it, new BsonDocumentCodec()) }
+                                .withIndex().collect { doc, i -> new WriteRequestWithIndex(new InsertRequest(doc), i) } ),
                 ]
         ]
     }
 
+    def 'should write large raw documents to insert by reference'() {
+        given:
+        def documents = [new BsonDocument('_id', new BsonInt32(1))
+                                 .append('a', new BsonString('a' * BsonWriterHelper.MIN_DOCUMENT_SIZE_TO_WRITE_BY_REFERENCE)),
+                         new BsonDocument('_id', new BsonInt32(2)).append('a', new BsonString('b'))]
+        def payload = new SplittablePayload(INSERT, documents
+                .withIndex().collect { doc, i -> new WriteRequestWithIndex(new InsertRequest(doc), i) } )
+        def rawPayload = new SplittablePayload(INSERT, documents.collect { new RawBsonDocument(it, new BsonDocumentCodec()) }
+                .withIndex().collect { doc, i -> new WriteRequestWithIndex(new InsertRequest(doc), i) } )
+        def messageSettings = MessageSettings.builder().maxWireVersion(THREE_DOT_SIX_WIRE_VERSION).build()
+        def insertCommand = new BsonDocument('insert', new BsonString(namespace.collectionName))
+        def output = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        def rawOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+
+        when:
+        new CommandMessage(namespace, insertCommand, fieldNameValidator, ReadPreference.primary(), messageSettings, true, payload,
+                fieldNameValidator, ClusterConnectionMode.MULTIPLE, null).encode(output, NoOpSessionContext.INSTANCE)
+        new CommandMessage(namespace, insertCommand, fieldNameValidator, ReadPreference.primary(), messageSettings, true, rawPayload,
+                fieldNameValidator, ClusterConnectionMode.MULTIPLE, null).encode(rawOutput, NoOpSessionContext.INSTANCE)
+        def bytes = getBytes(output)
+        def rawBytes = getBytes(rawOutput)
+
+        then:
+        // the large document is a buffer of its own, and the small one is copied into the buffer that follows it
+        rawOutput.byteBuffers.size() == 3
+        rawBytes.length == bytes.length
+        rawBytes[8..-1] == bytes[8..-1]    // the request ids differ
+        rawPayload.position == 2
+        !rawPayload.hasAnotherSplit()
+
+        cleanup:
+        output.close()
+        rawOutput.close()
+    }
+
     def 'should respect the max message size'() {
         given:
         def maxMessageSize = 1024
@@ -379,4 +423,10 @@ class CommandMessageSpecification extends Specification {
         BsonBinaryReader reader = new BsonBinaryReader(bsonInput)
         new BsonDocumentCodec().decode(reader, DecoderContext.builder().build())
     }
+
+    private static byte[] getBytes(ByteBufferBsonOutput bsonOutput) {
+        def baos = new ByteArrayOutputStream(bsonOutput.size)
+        bsonOutput.pipe(baos)
+        baos.toByteArray()
+    }
 }
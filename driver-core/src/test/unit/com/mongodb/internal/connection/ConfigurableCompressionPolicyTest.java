@@ -0,0 +1,98 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.CompressionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurableCompressionPolicyTest {
+
+    @Test
+    public void shouldCompressEverythingByDefault() {
+        CompressionPolicy policy = CompressionPolicy.compressAll();
+        assertTrue(policy.shouldCompress("find", 0));
+        assertTrue(policy.shouldCompress("insert", Integer.MAX_VALUE));
+        assertTrue(CompressionPolicy.builder().build().shouldCompress("find", 0));
+    }
+
+    @Test
+    public void shouldNotCompressSmallMessages() {
+        CompressionPolicy policy = CompressionPolicy.builder().minimumMessageSize(1024).build();
+        assertFalse(policy.shouldCompress("find", 1023));
+        assertTrue(policy.shouldCompress("find", 1024));
+    }
+
+    @Test
+    public void shouldApplyIncludedAndExcludedCommands() {
+        CompressionPolicy policy = CompressionPolicy.builder()
+                .includedCommands(new HashSet<>(asList("insert", "update")))
+                .excludedCommands(Collections.singleton("update"))
+                .build();
+        assertTrue(policy.shouldCompress("insert", 100));
+        assertFalse(policy.shouldCompress("update", 100));
+        assertFalse(policy.shouldCompress("find", 100));
+
+        policy = CompressionPolicy.builder().excludedCommands(Collections.singleton("getMore")).build();
+        assertFalse(policy.shouldCompress("getMore", 100));
+        assertTrue(policy.shouldCompress("find", 100));
+    }
+
+    @Test
+    public void shouldStopCompressingCommandsThatCompressPoorly() {
+        CompressionPolicy policy = CompressionPolicy.builder().minimumCompressionRatio(1.5).build();
+        policy.messageCompressed("insert", 1000, 990);
+        policy.messageCompressed("find", 1000, 200);
+
+        assertFalse(policy.shouldCompress("insert", 1000));
+        assertTrue(policy.shouldCompress("find", 1000));
+        assertTrue(policy.shouldCompress("update", 1000));
+    }
+
+    @Test
+    public void shouldPeriodicallyProbeCommandsThatCompressPoorly() {
+        CompressionPolicy policy = CompressionPolicy.builder().minimumCompressionRatio(1.5).build();
+        policy.messageCompressed("insert", 1000, 990);
+
+        int compressed = 0;
+        for (int i = 0; i < ConfigurableCompressionPolicy.PROBE_INTERVAL * 2; i++) {
+            if (policy.shouldCompress("insert", 1000)) {
+                compressed++;
+            }
+        }
+        assertEquals(2, compressed);
+
+        for (int i = 0; i < 20; i++) {
+            policy.messageCompressed("insert", 1000, 100);
+        }
+        assertTrue(policy.shouldCompress("insert", 1000));
+    }
+
+    @Test
+    public void shouldValidateBuilderArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CompressionPolicy.builder().minimumMessageSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> CompressionPolicy.builder().minimumCompressionRatio(-0.5));
+    }
+}
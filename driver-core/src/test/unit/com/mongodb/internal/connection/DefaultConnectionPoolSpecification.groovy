@@ -86,6 +86,23 @@ class DefaultConnectionPoolSpecification extends Specification {
         !connectionFactory.getCreatedConnections().get(0).isClosed()
     }
 
+    def 'should close a connection that has more to come instead of releasing it back into the pool'() throws InterruptedException {
+        given:
+        pool = new DefaultConnectionPool(SERVER_ID, connectionFactory,
+                builder().maxSize(1).build(), mockSdamProvider())
+        pool.ready()
+        def connection = pool.get()
+        connectionFactory.getCreatedConnections().get(0).setMoreToCome(true)
+
+        when:
+        connection.close()
+        pool.get()
+
+        then:
+        connectionFactory.getCreatedConnections().get(0).isClosed()
+        2 * connectionFactory.create(SERVER_ID, _)
+    }
+
     def 'should throw if pool is exhausted'() throws InterruptedException {
         given:
         pool = new DefaultConnectionPool(SERVER_ID, connectionFactory,
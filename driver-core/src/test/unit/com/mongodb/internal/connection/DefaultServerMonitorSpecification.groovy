@@ -37,6 +37,7 @@ import spock.lang.Specification
 
 import java.nio.ByteBuffer
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ThreadFactory
 import java.util.concurrent.TimeUnit
 
 import static com.mongodb.internal.connection.MessageHelper.LEGACY_HELLO_LOWER
@@ -267,6 +268,39 @@ class DefaultServerMonitorSpecification extends Specification {
         monitor?.close()
     }
 
+    def 'should create monitor threads with the monitor thread factory'() {
+        given:
+        def threads = []
+        def threadFactory = { Runnable runnable ->
+            def thread = new Thread(runnable)
+            thread.setDaemon(false)
+            threads.add(thread)
+            thread
+        } as ThreadFactory
+        def serverId = new ServerId(new ClusterId(), new ServerAddress())
+        def internalConnectionFactory = Mock(InternalConnectionFactory) {
+            create(_) >> {
+                Mock(InternalConnection) {
+                    open() >> { sleep(100) }
+                }
+            }
+        }
+
+        when:
+        monitor = new DefaultServerMonitor(serverId, ServerSettings.builder().monitorThreadFactory(threadFactory).build(),
+                new ClusterClock(), internalConnectionFactory, ClusterConnectionMode.SINGLE, null, mockSdamProvider())
+
+        then:
+        threads == [monitor.monitorThread, monitor.roundTripTimeMonitorThread]
+        monitor.monitorThread.name == "cluster-${serverId.clusterId}-${serverId.address}".toString()
+        monitor.roundTripTimeMonitorThread.name == "cluster-rtt-${serverId.clusterId}-${serverId.address}".toString()
+        monitor.monitorThread.daemon
+        monitor.roundTripTimeMonitorThread.daemon
+
+        cleanup:
+        monitor?.close()
+    }
+
     private mockSdamProvider() {
         SameObjectProvider.initialized(Mock(SdamServerDescriptionManager))
     }
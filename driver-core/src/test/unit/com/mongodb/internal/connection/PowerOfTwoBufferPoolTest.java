@@ -21,11 +21,18 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class PowerOfTwoBufferPoolTest {
     private PowerOfTwoBufferPool pool;
@@ -91,4 +98,117 @@ public class PowerOfTwoBufferPoolTest {
             pool.disablePruning();
         }
     }
+
+    @Test
+    public void testReuseOfLargeBuffers() {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(20);
+        ByteBuf buf = pool.getBuffer(1 << 20);
+        ByteBuffer byteBuffer = buf.asNIO();
+        buf.release();
+        assertSame(byteBuffer, pool.getBuffer(1 << 20).asNIO());
+    }
+
+    @Test
+    public void testReuseAcrossThreads() throws InterruptedException {
+        List<ByteBuffer> released = new ArrayList<>();
+        Thread thread = new Thread(() -> {
+            List<ByteBuf> buffers = new ArrayList<>();
+            for (int i = 0; i < PowerOfTwoBufferPool.MAGAZINE_SIZE * 2; i++) {
+                buffers.add(pool.getBuffer(512));
+            }
+            for (ByteBuf cur : buffers) {
+                released.add(cur.asNIO());
+                cur.release();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // buffers that overflowed the other thread's magazine are available to this one
+        Map<ByteBuffer, Boolean> releasedSet = new IdentityHashMap<>();
+        released.forEach(cur -> releasedSet.put(cur, true));
+        int reused = 0;
+        for (int i = 0; i < PowerOfTwoBufferPool.MAGAZINE_SIZE * 2; i++) {
+            if (releasedSet.containsKey(pool.getBuffer(512).asNIO())) {
+                reused++;
+            }
+        }
+        assertTrue(reused > 0);
+    }
+
+    @Test
+    public void testLargerBuffersBypassThreadMagazines() {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(20);
+        pool.getBuffer(1 << (PowerOfTwoBufferPool.MAX_MAGAZINE_POWER_OF_TWO + 1)).release();
+        assertEquals(0, pool.getMagazineBufferCount());
+        pool.getBuffer(1 << PowerOfTwoBufferPool.MAX_MAGAZINE_POWER_OF_TWO).release();
+        assertEquals(1, pool.getMagazineBufferCount());
+    }
+
+    // Racy test
+    @Test
+    public void testPruningOfIdleThreadMagazines() throws InterruptedException {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10, 100, TimeUnit.MILLISECONDS, true)
+                .enablePruning();
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch pruned = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            List<ByteBuf> buffers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                buffers.add(pool.getBuffer(512));
+            }
+            buffers.forEach(ByteBuf::release);
+            released.countDown();
+            try {
+                pruned.await();
+            } catch (InterruptedException e) {
+                // fall through
+            }
+        });
+        try {
+            thread.start();
+            released.await();
+            assertEquals(4, pool.getMagazineBufferCount());
+
+            // the thread is idle but still alive, and its magazine is emptied by the pruner alone
+            Thread.sleep(500);
+            assertEquals(0, pool.getMagazineBufferCount());
+        } finally {
+            pruned.countDown();
+            thread.join();
+            pool.disablePruning();
+        }
+    }
+
+    @Test
+    public void testDirectBuffers() {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10, 1, TimeUnit.MINUTES, true);
+        assertTrue(pool.isDirect());
+        ByteBuf buf = pool.getBuffer(100);
+        ByteBuffer byteBuffer = buf.asNIO();
+        assertTrue(byteBuffer.isDirect());
+        assertEquals(128, buf.capacity());
+        buf.release();
+        assertSame(byteBuffer, pool.getBuffer(100).asNIO());
+
+        // buffers too large to pool are allocated on the heap
+        assertFalse(pool.getBuffer((1 << 10) + 1).asNIO().isDirect());
+        assertFalse(this.pool.isDirect());
+        assertFalse(this.pool.getBuffer(100).asNIO().isDirect());
+    }
+
+    @Test
+    public void testPruningOfLargeBuffers() throws InterruptedException {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(20, 5, TimeUnit.MILLISECONDS)
+                .enablePruning();
+        try {
+            ByteBuf byteBuf = pool.getBuffer(1 << 20);
+            ByteBuffer wrappedByteBuf = byteBuf.asNIO();
+            byteBuf.release();
+            Thread.sleep(50);
+            assertNotSame(wrappedByteBuf, pool.getBuffer(1 << 20).asNIO());
+        } finally {
+            pool.disablePruning();
+        }
+    }
 }
@@ -17,8 +17,13 @@
 package com.mongodb.internal.connection;
 
 import com.mongodb.MongoInternalException;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
 import org.bson.ByteBufNIO;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.RawBsonDocumentCodec;
 import org.junit.Test;
 
 import java.nio.Buffer;
@@ -26,6 +31,8 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 import static com.mongodb.connection.ConnectionDescription.getDefaultMaxMessageSize;
+import static com.mongodb.internal.connection.MessageHelper.buildSuccessfulReply;
+import static org.junit.Assert.assertEquals;
 
 public class ReplyMessageTest {
 
@@ -71,4 +78,21 @@ public class ReplyMessageTest {
         ReplyHeader replyHeader = new ReplyHeader(byteBuf, new MessageHeader(byteBuf, getDefaultMaxMessageSize()));
         new ReplyMessage<Document>(replyHeader, 5);
     }
+
+    @Test
+    public void shouldAllowDecodersToRetainTheBodyBeyondTheResponse() {
+        Decoder<RawBsonDocument> decoder = (reader, decoderContext) -> {
+            ResponseBufferBsonInput bsonInput = (ResponseBufferBsonInput) ((BsonBinaryReader) reader).getBsonInput();
+            int position = bsonInput.getPosition();
+            int length = new RawBsonDocumentCodec().decode(reader, decoderContext).getByteBuffer().remaining();
+            return RawBsonDocument.fromByteBuf(bsonInput.retainBodyByteBuffer(), position, length);
+        };
+        ResponseBuffers responseBuffers = buildSuccessfulReply("{ok: 1, cursor: {id: 0, firstBatch: [{_id: 1}]}}");
+
+        RawBsonDocument document = new ReplyMessage<>(responseBuffers, decoder, 0).getDocuments().get(0);
+        responseBuffers.close();
+
+        assertEquals(BsonDocument.parse("{ok: 1, cursor: {id: 0, firstBatch: [{_id: 1}]}}"), document);
+        document.release();
+    }
 }
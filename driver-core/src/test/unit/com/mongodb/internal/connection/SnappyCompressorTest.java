@@ -0,0 +1,85 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoInternalException;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SnappyCompressorTest {
+
+    @Test
+    public void shouldRoundTripHeapBuffers() {
+        SnappyCompressor compressor = new SnappyCompressor(new SimpleBufferProvider());
+        byte[] bytes = createBytes(100000);
+        for (int i = 0; i < 3; i++) {
+            List<ByteBuf> source = Arrays.asList(wrap(bytes, 0, 1024), wrap(bytes, 1024, 2048), wrap(bytes, 3072, bytes.length - 3072));
+            assertArrayEquals(bytes, roundTrip(compressor, source, ByteBuffer.allocate(bytes.length)));
+        }
+    }
+
+    @Test
+    public void shouldUncompressIntoDirectBuffer() {
+        SnappyCompressor compressor = new SnappyCompressor(new SimpleBufferProvider());
+        byte[] bytes = createBytes(5000);
+        assertArrayEquals(bytes, roundTrip(compressor, Arrays.asList(wrap(bytes, 0, bytes.length)),
+                ByteBuffer.allocateDirect(bytes.length)));
+    }
+
+    @Test
+    public void shouldRejectMessageLargerThanDirectBuffer() {
+        SnappyCompressor compressor = new SnappyCompressor(new SimpleBufferProvider());
+        byte[] bytes = createBytes(5000);
+        assertThrows(MongoInternalException.class, () -> roundTrip(compressor, Arrays.asList(wrap(bytes, 0, bytes.length)),
+                ByteBuffer.allocateDirect(bytes.length / 2)));
+    }
+
+    private static byte[] roundTrip(final Compressor compressor, final List<ByteBuf> source, final ByteBuffer targetBuffer) {
+        ByteBuf compressed;
+        try (ByteBufferBsonOutput output = new ByteBufferBsonOutput(new SimpleBufferProvider())) {
+            compressor.compress(source, output);
+            compressed = new ByteBufNIO(ByteBuffer.wrap(output.toByteArray()));
+        }
+        ByteBuf target = new ByteBufNIO(targetBuffer);
+        compressor.uncompress(compressed, target);
+        target.flip();
+
+        byte[] uncompressed = new byte[target.remaining()];
+        target.get(uncompressed);
+        return uncompressed;
+    }
+
+    private static ByteBuf wrap(final byte[] bytes, final int offset, final int length) {
+        return new ByteBufNIO(ByteBuffer.wrap(bytes, offset, length).slice());
+    }
+
+    private static byte[] createBytes(final int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i % 31);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.SocketChannelStreamFactoryFactory;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.connection.SslSettings;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.FutureTask;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SocketChannelStreamTest {
+    private ServerSocketChannel serverChannel;
+    private SocketChannelStream stream;
+    private SocketChannel peer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        ServerAddress serverAddress = new ServerAddress("127.0.0.1", serverChannel.socket().getLocalPort());
+        stream = new SocketChannelStream(serverAddress, SocketSettings.builder().readTimeout(500, MILLISECONDS).build(),
+                SslSettings.builder().build(), PowerOfTwoBufferPool.DEFAULT);
+        stream.open();
+        peer = serverChannel.accept();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        stream.close();
+        peer.close();
+        serverChannel.close();
+    }
+
+    @Test
+    public void shouldWriteAllBuffersInOrder() throws Exception {
+        byte[] first = randomBytes(16);
+        byte[] second = randomBytes(1_000_000);
+        ByteBuffer offsetBuffer = ByteBuffer.wrap(new byte[] {0, 1, 2, 3}, 1, 2);
+        byte[] expected = new byte[first.length + 2 + second.length];
+        System.arraycopy(first, 0, expected, 0, first.length);
+        expected[first.length] = 1;
+        expected[first.length + 1] = 2;
+        System.arraycopy(second, 0, expected, first.length + 2, second.length);
+        FutureTask<byte[]> peerRead = new FutureTask<>(() -> readFromPeer(expected.length));
+        new Thread(peerRead).start();
+
+        stream.write(Arrays.asList(new ByteBufNIO(ByteBuffer.wrap(first)), new ByteBufNIO(offsetBuffer),
+                new ByteBufNIO(ByteBuffer.wrap(second))));
+
+        assertArrayEquals(expected, peerRead.get());
+        assertEquals(1, offsetBuffer.position());
+    }
+
+    @Test
+    public void shouldReadMessagesThatArriveTogether() throws IOException {
+        byte[] bytes = randomBytes(16 + 100 + 16 + 50);
+        peer.write(ByteBuffer.wrap(bytes));
+
+        assertArrayEquals(Arrays.copyOfRange(bytes, 0, 16), readFromStream(16));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 16, 116), readFromStream(100));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 116, 132), readFromStream(16));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 132, 182), readFromStream(50));
+    }
+
+    @Test
+    public void shouldReadMessagesLargerThanTheReadAheadBuffer() throws IOException {
+        byte[] bytes = randomBytes(16 + SocketChannelStream.READ_AHEAD_BUFFER_SIZE * 4);
+        Thread writer = new Thread(() -> {
+            try {
+                peer.write(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                // the read below fails
+            }
+        });
+        writer.start();
+
+        assertArrayEquals(Arrays.copyOfRange(bytes, 0, 16), readFromStream(16));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 16, bytes.length), readFromStream(bytes.length - 16));
+    }
+
+    @Test
+    public void shouldTimeOutWhenNothingArrives() {
+        assertThrows(SocketTimeoutException.class, () -> stream.read(16));
+    }
+
+    @Test
+    public void shouldThrowWhenTheStreamEndsPrematurely() throws IOException {
+        peer.write(ByteBuffer.wrap(randomBytes(10)));
+        peer.close();
+
+        assertThrows(MongoSocketReadException.class, () -> stream.read(16));
+    }
+
+    @Test
+    public void shouldNotSupportSsl() {
+        assertThrows(UnsupportedOperationException.class, () -> SocketChannelStreamFactoryFactory.builder().build()
+                .create(SocketSettings.builder().build(), SslSettings.builder().enabled(true).build()));
+    }
+
+    private byte[] readFromStream(final int numBytes) throws IOException {
+        ByteBuf buffer = stream.read(numBytes);
+        try {
+            byte[] bytes = new byte[numBytes];
+            buffer.get(bytes);
+            return bytes;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private byte[] readFromPeer(final int numBytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(numBytes);
+        while (buffer.hasRemaining()) {
+            if (peer.read(buffer) == -1) {
+                break;
+            }
+        }
+        return buffer.array();
+    }
+
+    private static byte[] randomBytes(final int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
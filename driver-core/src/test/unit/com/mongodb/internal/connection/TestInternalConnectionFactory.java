@@ -58,6 +58,7 @@ class TestInternalConnectionFactory implements InternalConnectionFactory {
         private final int generation;
         private volatile boolean closed;
         private volatile boolean opened;
+        private volatile boolean moreToCome;
 
         TestInternalConnection(final ServerId serverId, final int generation) {
             this.connectionId = new ConnectionId(serverId, incrementingId.incrementAndGet(), null);
@@ -120,7 +121,11 @@ class TestInternalConnectionFactory implements InternalConnectionFactory {
 
         @Override
         public boolean hasMoreToCome() {
-            return false;
+            return moreToCome;
+        }
+
+        void setMoreToCome(final boolean moreToCome) {
+            this.moreToCome = moreToCome;
         }
 
         @Override
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterConnectionMode;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ClusterSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.connection.ServerType;
+import com.mongodb.internal.inject.SameObjectProvider;
+import com.mongodb.internal.selector.ReadPreferenceServerSelector;
+import com.mongodb.internal.thread.VirtualThreads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the blocking paths of the synchronous driver on virtual threads, and fails if any of them pins its carrier thread.
+ *
+ * <p>Pinning is detected with the {@code jdk.VirtualThreadPinned} JFR event, which is recorded whenever a virtual thread blocks while it
+ * cannot be unmounted from its carrier, for example while holding a monitor.  Virtual threads and the JFR streaming API are accessed
+ * reflectively, as the tests are compiled for Java 8, and the tests are skipped when run on a Java version without virtual threads.</p>
+ */
+public class VirtualThreadPinningTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int THREAD_COUNT = 1000;
+
+    private final Queue<String> pinnedEvents = new ConcurrentLinkedQueue<>();
+    private ExecutorService executor;
+    private AutoCloseable recordingStream;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        executor = newVirtualThreadPerTaskExecutor();
+        assumeTrue(executor != null, "Virtual threads are not supported");
+        recordingStream = startRecordingPinnedEvents(pinnedEvents::add);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldDetectPinning() throws Exception {
+        Object monitor = new Object();
+        runOnVirtualThreads(1, () -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        assertFalse(stopRecordingPinnedEvents().isEmpty());
+    }
+
+    @Test
+    public void shouldShareBuffersBetweenVirtualThreads() throws Exception {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10);
+        ByteBuffer[] buffers = new ByteBuffer[2];
+
+        runOnVirtualThreads(1, () -> {
+            assertTrue(VirtualThreads.isVirtual(Thread.currentThread()));
+            buffers[0] = pool.getByteBuffer(1024);
+            pool.release(buffers[0]);
+        });
+        runOnVirtualThreads(1, () -> buffers[1] = pool.getByteBuffer(1024));
+
+        assertSame(buffers[0], buffers[1]);
+    }
+
+    @Test
+    public void shouldNotPinWhenGettingAndReleasingBuffers() throws Exception {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10);
+
+        runOnVirtualThreads(THREAD_COUNT, () -> {
+            for (int i = 0; i < 100; i++) {
+                pool.release(pool.getByteBuffer(1 << (i % 11)));
+            }
+        });
+
+        assertEquals(Arrays.asList(), stopRecordingPinnedEvents());
+    }
+
+    @Test
+    public void shouldNotPinWhenWaitingForAPooledConnection() throws Exception {
+        DefaultConnectionPool pool = new DefaultConnectionPool(new ServerId(new ClusterId(), new ServerAddress()),
+                new TestInternalConnectionFactory(), ConnectionPoolSettings.builder().maxSize(1).build(),
+                SameObjectProvider.initialized(mock(SdamServerDescriptionManager.class)));
+        try {
+            pool.ready();
+            runOnVirtualThreads(THREAD_COUNT, () -> {
+                InternalConnection connection = pool.get();
+                Thread.yield();
+                connection.close();
+            });
+        } finally {
+            pool.close();
+        }
+
+        assertEquals(Arrays.asList(), stopRecordingPinnedEvents());
+    }
+
+    @Test
+    public void shouldNotPinWhenWaitingToSelectAServer() throws Exception {
+        ServerAddress serverAddress = new ServerAddress();
+        TestClusterableServerFactory factory = new TestClusterableServerFactory();
+        MultiServerCluster cluster = new MultiServerCluster(new ClusterId(), ClusterSettings.builder()
+                .mode(ClusterConnectionMode.MULTIPLE)
+                .hosts(Arrays.asList(serverAddress))
+                .serverSelectionTimeout(-1, TimeUnit.SECONDS)
+                .build(), factory);
+        try {
+            CountDownLatch started = new CountDownLatch(THREAD_COUNT);
+            List<Future<?>> futures = submitToVirtualThreads(THREAD_COUNT, () -> {
+                started.countDown();
+                cluster.selectServer(new ReadPreferenceServerSelector(ReadPreference.primary()));
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            factory.sendNotification(serverAddress, ServerType.REPLICA_SET_PRIMARY, Arrays.asList(serverAddress));
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            cluster.close();
+        }
+
+        assertEquals(Arrays.asList(), stopRecordingPinnedEvents());
+    }
+
+    private void runOnVirtualThreads(final int count, final Runnable task) throws Exception {
+        for (Future<?> future : submitToVirtualThreads(count, task)) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<Future<?>> submitToVirtualThreads(final int count, final Runnable task) {
+        Future<?>[] futures = new Future<?>[count];
+        for (int i = 0; i < count; i++) {
+            futures[i] = executor.submit(task);
+        }
+        return Arrays.asList(futures);
+    }
+
+    private List<String> stopRecordingPinnedEvents() throws Exception {
+        // Stopping the stream waits until all the events recorded so far have been consumed
+        recordingStream.getClass().getMethod("stop").invoke(recordingStream);
+        return Arrays.asList(pinnedEvents.toArray(new String[0]));
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static AutoCloseable startRecordingPinnedEvents(final Consumer<String> consumer) throws Exception {
+        Class<?> recordingStreamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+        AutoCloseable recordingStream = (AutoCloseable) recordingStreamClass.getConstructor().newInstance();
+        Object eventSettings = recordingStreamClass.getMethod("enable", String.class).invoke(recordingStream, PINNED_EVENT);
+        Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class).invoke(eventSettings, Duration.ZERO);
+        Consumer<Object> eventConsumer = event -> consumer.accept(event.toString());
+        recordingStreamClass.getMethod("onEvent", String.class, Consumer.class).invoke(recordingStream, PINNED_EVENT, eventConsumer);
+        recordingStreamClass.getMethod("startAsync").invoke(recordingStream);
+        return recordingStream;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.MongoInternalException;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZlibCompressorTest {
+
+    @Test
+    public void shouldRoundTripHeapBuffersRepeatedly() {
+        ZlibCompressor compressor = new ZlibCompressor(MongoCompressor.createZlibCompressor());
+        byte[] bytes = createBytes(100000);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(bytes, roundTrip(compressor, split(bytes, false), bytes.length, false));
+        }
+    }
+
+    @Test
+    public void shouldRoundTripDirectBuffers() {
+        ZlibCompressor compressor = new ZlibCompressor(MongoCompressor.createZlibCompressor().withProperty(MongoCompressor.LEVEL, 1));
+        byte[] bytes = createBytes(100000);
+        assertArrayEquals(bytes, roundTrip(compressor, split(bytes, true), bytes.length, true));
+    }
+
+    @Test
+    public void shouldProduceZlibFormat() throws Exception {
+        ZlibCompressor compressor = new ZlibCompressor(MongoCompressor.createZlibCompressor());
+        byte[] bytes = createBytes(20000);
+        byte[] compressed = compress(compressor, split(bytes, false));
+
+        byte[] uncompressed = new byte[bytes.length];
+        try (InflaterInputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            int offset = 0;
+            while (offset < uncompressed.length) {
+                offset += inputStream.read(uncompressed, offset, uncompressed.length - offset);
+            }
+        }
+        assertArrayEquals(bytes, uncompressed);
+    }
+
+    @Test
+    public void shouldThrowIfUncompressedMessageIsLargerThanExpected() {
+        ZlibCompressor compressor = new ZlibCompressor(MongoCompressor.createZlibCompressor());
+        byte[] bytes = createBytes(20000);
+        ByteBuf source = new ByteBufNIO(ByteBuffer.wrap(compress(compressor, split(bytes, false))));
+
+        assertThrows(MongoInternalException.class,
+                () -> compressor.uncompress(source, new ByteBufNIO(ByteBuffer.allocate(bytes.length - 1))));
+        assertArrayEquals(bytes, roundTrip(compressor, split(bytes, false), bytes.length, false));
+    }
+
+    @Test
+    public void shouldNotCompressAfterClose() {
+        ZlibCompressor compressor = new ZlibCompressor(MongoCompressor.createZlibCompressor());
+        compressor.close();
+        assertThrows(IllegalStateException.class, () -> compress(compressor, split(createBytes(10), false)));
+    }
+
+    private static byte[] roundTrip(final Compressor compressor, final List<ByteBuf> source, final int uncompressedSize,
+                                    final boolean direct) {
+        byte[] compressed = compress(compressor, source);
+        ByteBuf compressedBuffer = new ByteBufNIO(allocate(compressed.length, direct).put(compressed));
+        compressedBuffer.flip();
+        ByteBuf target = new ByteBufNIO(allocate(uncompressedSize, direct));
+        compressor.uncompress(compressedBuffer, target);
+        target.flip();
+
+        byte[] uncompressed = new byte[target.remaining()];
+        target.get(uncompressed);
+        return uncompressed;
+    }
+
+    private static byte[] compress(final Compressor compressor, final List<ByteBuf> source) {
+        try (ByteBufferBsonOutput output = new ByteBufferBsonOutput(new SimpleBufferProvider())) {
+            compressor.compress(source, output);
+            return output.toByteArray();
+        }
+    }
+
+    private static List<ByteBuf> split(final byte[] bytes, final boolean direct) {
+        List<ByteBuf> buffers = new ArrayList<>();
+        int offset = 0;
+        int size = 1024;
+        while (offset < bytes.length) {
+            int length = Math.min(size, bytes.length - offset);
+            ByteBuf buffer = new ByteBufNIO(allocate(length, direct).put(bytes, offset, length));
+            buffer.flip();
+            buffers.add(buffer);
+            offset += length;
+            size *= 2;
+        }
+        return buffers;
+    }
+
+    private static ByteBuffer allocate(final int size, final boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    private static byte[] createBytes(final int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i % 31);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoCompressor;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZstdCompressorTest {
+
+    @Test
+    public void shouldUseDefaultLevel() {
+        assertEquals(ZstdCompressor.DEFAULT_LEVEL,
+                new ZstdCompressor(MongoCompressor.createZstdCompressor(), new SimpleBufferProvider()).getLevel());
+    }
+
+    @Test
+    public void shouldUseConfiguredLevel() {
+        assertEquals(1, new ZstdCompressor(MongoCompressor.createZstdCompressor().withProperty(MongoCompressor.LEVEL, 1),
+                new SimpleBufferProvider()).getLevel());
+    }
+
+    @Test
+    public void shouldRoundTripSingleBuffer() {
+        ZstdCompressor compressor = new ZstdCompressor(MongoCompressor.createZstdCompressor(), new SimpleBufferProvider());
+        byte[] bytes = createBytes(1000);
+        assertArrayEquals(bytes, roundTrip(compressor, Arrays.asList(wrap(bytes, 0, bytes.length)), bytes.length));
+    }
+
+    @Test
+    public void shouldRoundTripMultipleBuffersRepeatedly() {
+        ZstdCompressor compressor = new ZstdCompressor(MongoCompressor.createZstdCompressor(), new SimpleBufferProvider());
+        byte[] bytes = createBytes(100000);
+        for (int i = 0; i < 3; i++) {
+            List<ByteBuf> source = Arrays.asList(wrap(bytes, 0, 1024), wrap(bytes, 1024, 2048), wrap(bytes, 3072, bytes.length - 3072));
+            assertArrayEquals(bytes, roundTrip(compressor, source, bytes.length));
+        }
+    }
+
+    @Test
+    public void shouldFallBackToStreamWhenBufferKindsDiffer() {
+        ZstdCompressor compressor = new ZstdCompressor(MongoCompressor.createZstdCompressor(), new SimpleBufferProvider());
+        byte[] bytes = createBytes(5000);
+        ByteBuf compressed = compress(compressor, Arrays.asList(wrap(bytes, 0, bytes.length)));
+
+        ByteBuf target = new ByteBufNIO(ByteBuffer.allocateDirect(bytes.length));
+        compressor.uncompress(compressed, target);
+        target.flip();
+
+        byte[] uncompressed = new byte[target.remaining()];
+        target.get(uncompressed);
+        assertArrayEquals(bytes, uncompressed);
+    }
+
+    @Test
+    public void shouldNotCompressAfterClose() {
+        ZstdCompressor compressor = new ZstdCompressor(MongoCompressor.createZstdCompressor(), new SimpleBufferProvider());
+        compressor.close();
+        byte[] bytes = createBytes(10);
+        assertThrows(RuntimeException.class, () -> compress(compressor, Arrays.asList(wrap(bytes, 0, bytes.length))));
+    }
+
+    private static byte[] roundTrip(final Compressor compressor, final List<ByteBuf> source, final int uncompressedSize) {
+        ByteBuf compressed = compress(compressor, source);
+        ByteBuf target = new ByteBufNIO(ByteBuffer.allocate(uncompressedSize));
+        compressor.uncompress(compressed, target);
+        target.flip();
+
+        byte[] uncompressed = new byte[target.remaining()];
+        target.get(uncompressed);
+        return uncompressed;
+    }
+
+    private static ByteBuf compress(final Compressor compressor, final List<ByteBuf> source) {
+        try (ByteBufferBsonOutput output = new ByteBufferBsonOutput(new SimpleBufferProvider())) {
+            compressor.compress(source, output);
+            return new ByteBufNIO(ByteBuffer.wrap(output.toByteArray()));
+        }
+    }
+
+    private static ByteBuf wrap(final byte[] bytes, final int offset, final int length) {
+        return new ByteBufNIO(ByteBuffer.wrap(bytes, offset, length).slice());
+    }
+
+    private static byte[] createBytes(final int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i % 31);
+        }
+        return bytes;
+    }
+}
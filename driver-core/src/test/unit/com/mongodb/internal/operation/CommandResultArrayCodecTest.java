@@ -0,0 +1,149 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.operation;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.ByteBufNIO;
+import org.bson.Document;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandResultArrayCodecTest {
+
+    @Test
+    public void shouldDecodeBatchLazily() {
+        BsonDocument reply = reply(new BsonArray(Arrays.asList(new BsonDocument("a", new BsonInt32(1)), BsonNull.VALUE,
+                new BsonDocument("a", new BsonInt32(2)))));
+
+        BsonDocument result = decode(reply, true);
+        List<Document> batch = BsonDocumentWrapperHelper.toList(result.getDocument("cursor"), "nextBatch");
+
+        assertTrue(batch instanceof LazyDecodingList);
+        assertEquals(Arrays.asList(new Document("a", 1), null, new Document("a", 2)), batch);
+        assertEquals(new BsonString("after"), result.get("next"));
+    }
+
+    @Test
+    public void shouldDecodeBatchEagerlyIfNotLazy() {
+        BsonDocument reply = reply(new BsonArray(Arrays.asList(new BsonDocument("a", new BsonInt32(1)))));
+
+        BsonDocument result = decode(reply, false);
+        List<Document> batch = BsonDocumentWrapperHelper.toList(result.getDocument("cursor"), "nextBatch");
+
+        assertFalse(batch instanceof LazyDecodingList);
+        assertEquals(Arrays.asList(new Document("a", 1)), batch);
+    }
+
+    @Test
+    public void shouldFallBackToEagerDecodingIfBatchContainsNonDocumentElements() {
+        BsonDocument reply = reply(new BsonArray(Arrays.asList(new BsonDocument("a", new BsonInt32(1)), new BsonInt32(2))));
+
+        BsonDocument result = decode(reply, new BsonValueCodec(), true);
+        List<BsonValue> batch = BsonDocumentWrapperHelper.toList(result.getDocument("cursor"), "nextBatch");
+
+        assertFalse(batch instanceof LazyDecodingList);
+        assertEquals(Arrays.asList(new BsonDocument("a", new BsonInt32(1)), new BsonInt32(2)), batch);
+        assertEquals(new BsonString("after"), result.get("next"));
+    }
+
+    @Test
+    public void shouldNotCacheDecodedDocumentsAndReleaseTheBufferOnceAllAreRequested() {
+        ByteBufNIO buffer = encode(new BsonDocument("a", new BsonArray(Arrays.asList(new BsonDocument("a", new BsonInt32(1)),
+                BsonNull.VALUE, new BsonDocument("a", new BsonInt32(2))))));
+        LazyDecodingList<Document> batch = LazyDecodingList.create(buffer.retain(), 7, new DocumentCodec(),
+                DecoderContext.builder().build());
+
+        Document first = batch.get(0);
+        assertNotSame(first, batch.get(0));
+        assertEquals(first, batch.get(0));
+        assertNull(batch.get(1));
+        assertEquals(2, buffer.getReferenceCount());
+        assertEquals(new Document("a", 2), batch.get(2));
+
+        assertEquals(1, buffer.getReferenceCount());
+    }
+
+    @Test
+    public void shouldNotReturnDocumentsOnceReleased() {
+        ByteBufNIO buffer = encode(new BsonDocument("a", new BsonArray(Arrays.asList(new BsonDocument("a", new BsonInt32(1)),
+                new BsonDocument("a", new BsonInt32(2))))));
+        LazyDecodingList<Document> batch = LazyDecodingList.create(buffer.retain(), 7, new DocumentCodec(),
+                DecoderContext.builder().build());
+        Document first = batch.get(0);
+
+        batch.release();
+        batch.release();
+
+        assertEquals(1, buffer.getReferenceCount());
+        assertEquals(new Document("a", 1), first);
+        try {
+            batch.get(1);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static ByteBufNIO encode(final BsonDocument document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return new ByteBufNIO(ByteBuffer.wrap(buffer.toByteArray()));
+    }
+
+    private static BsonDocument reply(final BsonArray batch) {
+        return new BsonDocument("cursor", new BsonDocument("nextBatch", batch).append("id", new BsonInt32(0)))
+                .append("next", new BsonString("after"));
+    }
+
+    private static BsonDocument decode(final BsonDocument reply, final boolean lazy) {
+        return decode(reply, new DocumentCodec(), lazy);
+    }
+
+    private static BsonDocument decode(final BsonDocument reply, final Decoder<?> decoder, final boolean lazy) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), reply, EncoderContext.builder().build());
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray()))) {
+            return CommandResultDocumentCodec.create(decoder, "nextBatch", lazy, false).decode(reader,
+                    DecoderContext.builder().build());
+        }
+    }
+}
@@ -16,12 +16,22 @@
 
 package com.mongodb.internal.operation;
 
+import com.mongodb.internal.connection.NoOpSessionContext;
+import org.bson.ByteBufNIO;
+import org.bson.RawBsonDocument;
 import org.junit.Test;
 
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
+import static com.mongodb.internal.operation.CursorHelper.canPrefetch;
 import static com.mongodb.internal.operation.CursorHelper.getNumberToReturn;
+import static com.mongodb.internal.operation.CursorHelper.releaseBatch;
+import static com.mongodb.internal.operation.CursorHelper.releaseRemainingBatch;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class CursorHelperTest {
 
@@ -34,4 +44,60 @@ public class CursorHelperTest {
         assertEquals(10, getNumberToReturn(20, 10, 5));
         assertEquals(15, getNumberToReturn(20, -40, 5));
     }
+
+    @Test
+    public void testCanPrefetch() {
+        assertTrue(canPrefetch(NoOpSessionContext.INSTANCE));
+        assertTrue(canPrefetch(new TestSessionContext(true, false)));
+        assertFalse(canPrefetch(new TestSessionContext(false, false)));
+        assertFalse(canPrefetch(new TestSessionContext(true, true)));
+    }
+
+    @Test
+    public void testReleaseBatch() {
+        RawBsonDocument document = RawBsonDocument.parse("{a: 1}");
+        ByteBufNIO buffer = new ByteBufNIO(ByteBuffer.wrap(document.getByteBuffer().array()));
+        RawBsonDocument sharedDocument = RawBsonDocument.fromByteBuf(buffer.retain(), 0, buffer.limit());
+
+        releaseBatch(Arrays.asList(sharedDocument, null, document));
+
+        assertEquals(1, buffer.getReferenceCount());
+    }
+
+    @Test
+    public void testReleaseRemainingBatch() {
+        ByteBufNIO buffer = new ByteBufNIO(ByteBuffer.wrap(RawBsonDocument.parse("{a: 1}").getByteBuffer().array()));
+        RawBsonDocument handedOutDocument = RawBsonDocument.fromByteBuf(buffer.retain(), 0, buffer.limit());
+        RawBsonDocument remainingDocument = RawBsonDocument.fromByteBuf(buffer.retain(), 0, buffer.limit());
+
+        releaseRemainingBatch(Arrays.asList(handedOutDocument, remainingDocument), 1);
+
+        assertEquals(2, buffer.getReferenceCount());
+        assertEquals(1, handedOutDocument.getInt32("a").getValue());
+    }
+
+    private static final class TestSessionContext extends NoOpSessionContext {
+        private final boolean implicit;
+        private final boolean activeTransaction;
+
+        TestSessionContext(final boolean implicit, final boolean activeTransaction) {
+            this.implicit = implicit;
+            this.activeTransaction = activeTransaction;
+        }
+
+        @Override
+        public boolean hasSession() {
+            return true;
+        }
+
+        @Override
+        public boolean isImplicitSession() {
+            return implicit;
+        }
+
+        @Override
+        public boolean hasActiveTransaction() {
+            return activeTransaction;
+        }
+    }
 }
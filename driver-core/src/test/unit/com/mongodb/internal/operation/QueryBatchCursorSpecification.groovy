@@ -29,6 +29,7 @@ import com.mongodb.connection.ServerVersion
 import com.mongodb.internal.binding.ConnectionSource
 import com.mongodb.internal.connection.Connection
 import com.mongodb.internal.connection.QueryResult
+import com.mongodb.internal.session.SessionContext
 import org.bson.BsonDocument
 import org.bson.BsonInt32
 import org.bson.BsonInt64
@@ -93,6 +94,118 @@ class QueryBatchCursorSpecification extends Specification {
         0          | 100        | 100
     }
 
+    def 'should prefetch the next batch when the current batch is handed out'() {
+        given:
+        def connection = Mock(Connection) {
+            _ * getDescription() >> Stub(ConnectionDescription) {
+                getMaxWireVersion() >> 4
+            }
+        }
+        def connectionSource = Stub(ConnectionSource) {
+            getConnection() >> { connection }
+            getServerApi() >> null
+        }
+        connectionSource.retain() >> connectionSource
+
+        def firstBatch = [new BsonDocument('_id', new BsonInt32(1))]
+        def secondBatch = [new BsonDocument('_id', new BsonInt32(2))]
+        def cursor = new QueryBatchCursor<BsonDocument>(new QueryResult(NAMESPACE, firstBatch, 42, SERVER_ADDRESS), 0, 0, 0,
+                new BsonDocumentCodec(), null, connectionSource, connection, null, false, 1, false, false)
+        def reply = new BsonDocument('ok', new BsonInt32(1))
+                .append('cursor',
+                        new BsonDocument('id', new BsonInt64(0))
+                                .append('ns', new BsonString(NAMESPACE.getFullName()))
+                                .append('nextBatch', new BsonArrayWrapper(secondBatch)))
+
+        when:
+        def batches = [cursor.next(), cursor.next()]
+
+        then:
+        1 * connection.command(NAMESPACE.getDatabaseName(), _, _, _, _, _, null, _) >> reply
+        1 * connection.release()
+        batches == [firstBatch, secondBatch]
+        !cursor.hasNext()
+    }
+
+    def 'should not prefetch on the session of the application'() {
+        given:
+        def connection = Mock(Connection) {
+            _ * getDescription() >> Stub(ConnectionDescription) {
+                getMaxWireVersion() >> 4
+            }
+        }
+        def connectionSource = Stub(ConnectionSource) {
+            getConnection() >> { connection }
+            getServerApi() >> null
+            getSessionContext() >> Stub(SessionContext) {
+                hasSession() >> true
+                isImplicitSession() >> false
+            }
+        }
+        connectionSource.retain() >> connectionSource
+
+        def firstBatch = [new BsonDocument('_id', new BsonInt32(1))]
+        def secondBatch = [new BsonDocument('_id', new BsonInt32(2))]
+        def cursor = new QueryBatchCursor<BsonDocument>(new QueryResult(NAMESPACE, firstBatch, 42, SERVER_ADDRESS), 0, 0, 0,
+                new BsonDocumentCodec(), null, connectionSource, connection, null, false, 1, false, false)
+        def reply = new BsonDocument('ok', new BsonInt32(1))
+                .append('cursor',
+                        new BsonDocument('id', new BsonInt64(0))
+                                .append('ns', new BsonString(NAMESPACE.getFullName()))
+                                .append('nextBatch', new BsonArrayWrapper(secondBatch)))
+        def getMoreThread = null
+
+        when:
+        def batches = [cursor.next(), cursor.next()]
+
+        then:
+        1 * connection.command(NAMESPACE.getDatabaseName(), _, _, _, _, _, null, _) >> {
+            getMoreThread = Thread.currentThread()
+            reply
+        }
+        batches == [firstBatch, secondBatch]
+        getMoreThread == Thread.currentThread()
+    }
+
+    def 'should not kill the cursor on a connection that has more to come'() {
+        given:
+        def moreToCome = false
+        def connection = Mock(Connection) {
+            _ * getDescription() >> Stub(ConnectionDescription) {
+                getMaxWireVersion() >> 8
+            }
+            _ * hasMoreToCome() >> { moreToCome }
+        }
+        connection.retain() >> connection
+        def connectionSource = Stub(ConnectionSource) {
+            getConnection() >> { connection }
+            getServerApi() >> null
+        }
+        connectionSource.retain() >> connectionSource
+
+        def firstBatch = [new BsonDocument('_id', new BsonInt32(1))]
+        def secondBatch = [new BsonDocument('_id', new BsonInt32(2))]
+        def cursor = new QueryBatchCursor<BsonDocument>(new QueryResult(NAMESPACE, firstBatch, 42, SERVER_ADDRESS), 0, 0, 0,
+                new BsonDocumentCodec(), null, connectionSource, connection, null, true, 0, false, false)
+        def reply = new BsonDocument('ok', new BsonInt32(1))
+                .append('cursor',
+                        new BsonDocument('id', new BsonInt64(42))
+                                .append('ns', new BsonString(NAMESPACE.getFullName()))
+                                .append('nextBatch', new BsonArrayWrapper(secondBatch)))
+
+        when:
+        def batches = [cursor.next(), cursor.next()]
+        cursor.close()
+
+        then:
+        1 * connection.exhaustCommand(NAMESPACE.getDatabaseName(), _, _, _, _, _, null, _) >> {
+            moreToCome = true
+            reply
+        }
+        0 * connection.command(*_)
+        batches == [firstBatch, secondBatch]
+    }
+
     def 'should handle exceptions when closing'() {
         given:
         def connection = Mock(Connection) {
@@ -27,11 +27,13 @@ import com.mongodb.connection.TlsChannelStreamFactoryFactory;
 import com.mongodb.internal.connection.Cluster;
 import com.mongodb.internal.connection.DefaultClusterFactory;
 import com.mongodb.internal.connection.InternalConnectionPoolSettings;
+import com.mongodb.internal.connection.SharedClusters;
 import com.mongodb.lang.Nullable;
 import com.mongodb.reactivestreams.client.internal.MongoClientImpl;
 import org.bson.codecs.configuration.CodecRegistry;
 
 import java.io.Closeable;
+import java.util.List;
 
 import static com.mongodb.assertions.Assertions.notNull;
 import static com.mongodb.internal.event.EventListenerHelper.getCommandListener;
@@ -121,6 +123,49 @@ public final class MongoClients {
         }
     }
 
+    /**
+     * Creates a new client with the given client settings that shares its connection pools and server monitors with other clients.
+     *
+     * <p>The client uses the same connections as every other open client created by this method with compatible settings, meaning settings
+     * that differ at most in the codec registry, UUID representation, read preference, write concern, read concern, retryable reads and
+     * writes, auto-encryption settings and context provider, each of which a client applies to its own operations.  Listeners,
+     * credentials, and cluster, server, connection pool, socket and SSL settings must be equal, so clients that differ in any of them do
+     * not share connections.  Shared connections are closed when the last client that uses them is closed.  Clients created by
+     * {@code com.mongodb.client.MongoClients.createShared} never share connections with the clients created by this method.</p>
+     *
+     * <p>This can greatly reduce the number of connections to a deployment from an application that creates many clients for it, for
+     * example one per tenant.</p>
+     *
+     * @param settings the settings
+     * @return the client
+     * @since 4.9
+     */
+    public static MongoClient createShared(final MongoClientSettings settings) {
+        return createShared(settings, null);
+    }
+
+    /**
+     * Creates a new client with the given client settings that shares its connection pools and server monitors with other clients, as
+     * if by a call to {@link #createShared(MongoClientSettings)}.
+     *
+     * <p>Note: Intended for driver and library authors to associate extra driver metadata with the connections.  Only clients with equal
+     * driver information share connections.</p>
+     *
+     * @param settings               the settings
+     * @param mongoDriverInformation any driver information to associate with the MongoClient
+     * @return the client
+     * @see #createShared(MongoClientSettings)
+     * @since 4.9
+     */
+    public static MongoClient createShared(final MongoClientSettings settings,
+            @Nullable final MongoDriverInformation mongoDriverInformation) {
+        MongoDriverInformation wrappedMongoDriverInformation = wrapMongoDriverInformation(mongoDriverInformation);
+        Cluster cluster = SharedClusters.acquire(notNull("settings", settings), wrappedMongoDriverInformation,
+                resources -> createSharedCluster(settings, wrappedMongoDriverInformation, resources));
+        // the resources of the cluster are closed with the shared cluster rather than with this client
+        return new MongoClientImpl(settings, wrappedMongoDriverInformation, cluster, (Closeable) null);
+    }
+
     /**
      * Gets the default codec registry.
      *
@@ -149,7 +194,24 @@ public final class MongoClients {
                 InternalConnectionPoolSettings.builder().prestartAsyncWorkManager(true).build(),
                 streamFactory, heartbeatStreamFactory, settings.getCredential(), settings.getLoggerSettings(),
                 getCommandListener(settings.getCommandListeners()), settings.getApplicationName(), mongoDriverInformation,
-                settings.getCompressorList(), settings.getServerApi());
+                settings.getCompressorList(), settings.getCompressionPolicy(), settings.getFieldNameCacheSize(), settings.getServerApi());
+    }
+
+    private static Cluster createSharedCluster(final MongoClientSettings settings, final MongoDriverInformation mongoDriverInformation,
+            final List<Closeable> resources) {
+        StreamFactoryFactory streamFactoryFactory = settings.getStreamFactoryFactory();
+        if (streamFactoryFactory == null) {
+            if (settings.getSslSettings().isEnabled()) {
+                TlsChannelStreamFactoryFactory tlsChannelStreamFactoryFactory = new TlsChannelStreamFactoryFactory();
+                resources.add(tlsChannelStreamFactoryFactory);
+                streamFactoryFactory = tlsChannelStreamFactoryFactory;
+            } else {
+                streamFactoryFactory = AsynchronousSocketChannelStreamFactoryFactory.builder().build();
+            }
+        }
+        return createCluster(settings, mongoDriverInformation,
+                streamFactoryFactory.create(settings.getSocketSettings(), settings.getSslSettings()),
+                streamFactoryFactory.create(settings.getHeartbeatSocketSettings(), settings.getSslSettings()));
     }
 
     private static MongoDriverInformation wrapMongoDriverInformation(@Nullable final MongoDriverInformation mongoDriverInformation) {
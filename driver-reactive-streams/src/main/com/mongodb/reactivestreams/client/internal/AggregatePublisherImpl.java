@@ -37,12 +37,17 @@ import org.reactivestreams.Publisher;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static com.mongodb.assertions.Assertions.isTrueArgument;
 import static com.mongodb.assertions.Assertions.notNull;
 
 final class AggregatePublisherImpl<T> extends BatchCursorPublisher<T> implements AggregatePublisher<T> {
     private final List<? extends Bson> pipeline;
     private final AggregationLevel aggregationLevel;
     private Boolean allowDiskUse;
+    private boolean exhaust;
+    private int prefetchDepth;
+    private boolean lazyDecoding;
+    private boolean shareReplyBuffers;
     private long maxTimeMS;
     private long maxAwaitTimeMS;
     private Boolean bypassDocumentValidation;
@@ -74,6 +79,31 @@ final class AggregatePublisherImpl<T> extends BatchCursorPublisher<T> implements
         return this;
     }
 
+    @Override
+    public AggregatePublisher<T> exhaust(final boolean exhaust) {
+        this.exhaust = exhaust;
+        return this;
+    }
+
+    @Override
+    public AggregatePublisher<T> prefetchDepth(final int prefetchDepth) {
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    @Override
+    public AggregatePublisher<T> lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    @Override
+    public AggregatePublisher<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        this.shareReplyBuffers = shareReplyBuffers;
+        return this;
+    }
+
     @Override
     public AggregatePublisher<T> maxTime(final long maxTime, final TimeUnit timeUnit) {
         notNull("timeUnit", timeUnit);
@@ -188,7 +218,8 @@ final class AggregatePublisherImpl<T> extends BatchCursorPublisher<T> implements
     private AsyncExplainableReadOperation<AsyncBatchCursor<T>> asAggregateOperation(final int initialBatchSize) {
         return getOperations()
                 .aggregate(pipeline, getDocumentClass(), maxTimeMS, maxAwaitTimeMS,
-                           initialBatchSize, collation, hint, hintString, comment, variables, allowDiskUse, aggregationLevel);
+                           initialBatchSize, collation, hint, hintString, comment, variables, allowDiskUse, exhaust,
+                           prefetchDepth, lazyDecoding, shareReplyBuffers, aggregationLevel);
     }
 
     private AsyncReadOperation<Void> getAggregateToCollectionOperation() {
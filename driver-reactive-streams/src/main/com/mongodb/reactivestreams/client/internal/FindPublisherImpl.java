@@ -189,6 +189,30 @@ final class FindPublisherImpl<T> extends BatchCursorPublisher<T> implements Find
         return this;
     }
 
+    @Override
+    public FindPublisher<T> exhaust(final boolean exhaust) {
+        findOptions.exhaust(exhaust);
+        return this;
+    }
+
+    @Override
+    public FindPublisher<T> prefetchDepth(final int prefetchDepth) {
+        findOptions.prefetchDepth(prefetchDepth);
+        return this;
+    }
+
+    @Override
+    public FindPublisher<T> lazyDecoding(final boolean lazyDecoding) {
+        findOptions.lazyDecoding(lazyDecoding);
+        return this;
+    }
+
+    @Override
+    public FindPublisher<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        findOptions.shareReplyBuffers(shareReplyBuffers);
+        return this;
+    }
+
     @Override
     public Publisher<Document> explain() {
         return publishExplain(Document.class, null);
@@ -50,6 +50,30 @@ class SyncAggregateIterable<T> extends SyncMongoIterable<T> implements Aggregate
         return this;
     }
 
+    @Override
+    public AggregateIterable<T> exhaust(final boolean exhaust) {
+        wrapped.exhaust(exhaust);
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<T> prefetchDepth(final int prefetchDepth) {
+        wrapped.prefetchDepth(prefetchDepth);
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<T> lazyDecoding(final boolean lazyDecoding) {
+        wrapped.lazyDecoding(lazyDecoding);
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        wrapped.shareReplyBuffers(shareReplyBuffers);
+        return this;
+    }
+
     @Override
     public AggregateIterable<T> batchSize(final int batchSize) {
         wrapped.batchSize(batchSize);
@@ -181,6 +181,30 @@ class SyncFindIterable<T> extends SyncMongoIterable<T> implements FindIterable<T
         return this;
     }
 
+    @Override
+    public FindIterable<T> exhaust(final boolean exhaust) {
+        wrapped.exhaust(exhaust);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> prefetchDepth(final int prefetchDepth) {
+        wrapped.prefetchDepth(prefetchDepth);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> lazyDecoding(final boolean lazyDecoding) {
+        wrapped.lazyDecoding(lazyDecoding);
+        return this;
+    }
+
+    @Override
+    public FindIterable<T> shareReplyBuffers(final boolean shareReplyBuffers) {
+        wrapped.shareReplyBuffers(shareReplyBuffers);
+        return this;
+    }
+
     @Override
     public Document explain() {
         return requireNonNull(Mono.from(wrapped.explain()).contextWrite(CONTEXT).block(TIMEOUT_DURATION));
@@ -33,6 +33,7 @@ import com.mongodb.internal.session.ServerSessionPool;
 import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
 import com.mongodb.reactivestreams.client.ClientSession;
 import com.mongodb.reactivestreams.client.ListDatabasesPublisher;
+import com.mongodb.reactivestreams.client.MongoClients;
 import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -45,7 +46,11 @@ import java.util.List;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -216,6 +221,34 @@ public class MongoClientImplTest extends TestHelper {
                   });
     }
 
+    @Test
+    void testCreateSharedSharesTheClusterBetweenClientsWithCompatibleSettings() {
+        MongoClientSettings settings = MongoClientSettings.builder().applicationName("shared").build();
+        MongoClientSettings compatibleSettings = MongoClientSettings.builder(settings).readConcern(ReadConcern.MAJORITY).build();
+        MongoClientSettings incompatibleSettings = MongoClientSettings.builder(settings)
+                .applyToConnectionPoolSettings(builder -> builder.maxSize(1))
+                .build();
+
+        MongoClientImpl client = (MongoClientImpl) MongoClients.createShared(settings);
+        MongoClientImpl compatibleClient = (MongoClientImpl) MongoClients.createShared(compatibleSettings);
+        MongoClientImpl incompatibleClient = (MongoClientImpl) MongoClients.createShared(incompatibleSettings);
+        try {
+            assertEquals(client.getCluster().getClusterId(), compatibleClient.getCluster().getClusterId());
+            assertNotEquals(client.getCluster().getClusterId(), incompatibleClient.getCluster().getClusterId());
+
+            client.close();
+            assertTrue(client.getCluster().isClosed());
+            assertFalse(compatibleClient.getCluster().isClosed());
+
+            compatibleClient.close();
+            assertTrue(compatibleClient.getCluster().isClosed());
+        } finally {
+            client.close();
+            compatibleClient.close();
+            incompatibleClient.close();
+        }
+    }
+
     private MongoClientImpl createMongoClient() {
         return new MongoClientImpl(MongoClientSettings.builder().build(),
                 MongoDriverInformation.builder().driverName("reactive-streams").build(), mock(Cluster.class), OPERATION_EXECUTOR);
@@ -37,6 +37,26 @@ case class SyncAggregateIterable[T](wrapped: AggregateObservable[T])
     this
   }
 
+  override def exhaust(exhaust: Boolean): AggregateIterable[T] = {
+    wrapped.exhaust(exhaust)
+    this
+  }
+
+  override def prefetchDepth(prefetchDepth: Int): AggregateIterable[T] = {
+    wrapped.prefetchDepth(prefetchDepth)
+    this
+  }
+
+  override def lazyDecoding(lazyDecoding: Boolean): AggregateIterable[T] = {
+    wrapped.lazyDecoding(lazyDecoding)
+    this
+  }
+
+  override def shareReplyBuffers(shareReplyBuffers: Boolean): AggregateIterable[T] = {
+    wrapped.shareReplyBuffers(shareReplyBuffers)
+    this
+  }
+
   override def batchSize(batchSize: Int): AggregateIterable[T] = {
     wrapped.batchSize(batchSize)
     this
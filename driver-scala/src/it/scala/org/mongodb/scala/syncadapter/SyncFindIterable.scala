@@ -144,6 +144,26 @@ case class SyncFindIterable[T](wrapped: FindObservable[T]) extends SyncMongoIter
     this
   }
 
+  override def exhaust(exhaust: Boolean): FindIterable[T] = {
+    wrapped.exhaust(exhaust)
+    this
+  }
+
+  override def prefetchDepth(prefetchDepth: Int): FindIterable[T] = {
+    wrapped.prefetchDepth(prefetchDepth)
+    this
+  }
+
+  override def lazyDecoding(lazyDecoding: Boolean): FindIterable[T] = {
+    wrapped.lazyDecoding(lazyDecoding)
+    this
+  }
+
+  override def shareReplyBuffers(shareReplyBuffers: Boolean): FindIterable[T] = {
+    wrapped.shareReplyBuffers(shareReplyBuffers)
+    this
+  }
+
   override def explain(): Document = wrapped.explain().toFuture().get()
 
   override def explain(verbosity: ExplainVerbosity): Document = wrapped.explain(verbosity).toFuture().get()
@@ -342,6 +342,71 @@ case class FindObservable[TResult](private val wrapped: FindPublisher[TResult])
     this
   }
 
+  /**
+   * Sets whether the server should stream the remaining batches of the results without waiting for a getMore command for each of them.
+   *
+   * An exhaust cursor keeps its connection to the server for its whole lifetime, so it suits large scans that are iterated to
+   * completion. Closing the cursor before it is exhausted closes that connection. This option is ignored for tailable cursors.
+   * Only the `getMore` command that starts the stream is reported to a `CommandListener`; the batches that the server streams
+   * after it produce no command events. Servers older than 4.2 ignore this option.
+   *
+   * @param exhaust true if the server should stream the results
+   * @return this
+   * @since 4.9
+   * @note Requires MongoDB 4.2 or greater
+   */
+  def exhaust(exhaust: Boolean): FindObservable[TResult] = {
+    wrapped.exhaust(exhaust)
+    this
+  }
+
+  /**
+   * Sets the maximum number of batches to fetch ahead of the application.
+   *
+   * When this is positive, the next batch is requested from the server as soon as the current one is handed out, so the round trip
+   * overlaps with the processing of the current batch. This option is ignored for tailable cursors.
+   * Prefetching is disabled when the operation uses an explicit `ClientSession` or runs in a transaction.
+   *
+   * @param prefetchDepth the prefetch depth, which must not be negative, with 0, the default, meaning that batches are not prefetched
+   * @return this
+   * @since 4.9
+   */
+  def prefetchDepth(prefetchDepth: Int): FindObservable[TResult] = {
+    wrapped.prefetchDepth(prefetchDepth)
+    this
+  }
+
+  /**
+   * Sets whether to keep each batch of results as raw BSON and decode each document only when it is requested.
+   *
+   * With lazy decoding enabled only the raw bytes of a batch are retained, and each document is decoded as it is emitted. Decoding
+   * errors are then reported when the offending document is reached rather than when the batch is received.
+   *
+   * @param lazyDecoding true if documents should be decoded lazily
+   * @return this
+   * @since 4.9
+   */
+  def lazyDecoding(lazyDecoding: Boolean): FindObservable[TResult] = {
+    wrapped.lazyDecoding(lazyDecoding)
+    this
+  }
+
+  /**
+   * Sets whether results decoded as `RawBsonDocument` share the buffer of the reply they were read from, instead of each being copied
+   * into its own byte array.
+   *
+   * Each such document holds a reference to a pooled buffer, which is not reused until every document read from the same reply has been
+   * released with `RawBsonDocument.release()`. The option has no effect for other result classes.
+   *
+   * @param shareReplyBuffers true if raw documents should share reply buffers
+   * @return this
+   * @since 4.9
+   */
+  def shareReplyBuffers(shareReplyBuffers: Boolean): FindObservable[TResult] = {
+    wrapped.shareReplyBuffers(shareReplyBuffers)
+    this
+  }
+
   /**
    * Explain the execution plan for this operation with the server's default verbosity level
    *
@@ -62,6 +62,68 @@ public interface AggregateIterable<TResult> extends MongoIterable<TResult> {
      */
     AggregateIterable<TResult> batchSize(int batchSize);
 
+    /**
+     * Sets whether the server should stream the remaining batches of the results without waiting for a getMore command for each of them.
+     * <p>
+     * An exhaust cursor keeps its connection to the server for its whole lifetime, so it suits large scans that are iterated to
+     * completion. Closing the cursor before it is exhausted closes that connection.
+     * Only the {@code getMore} command that starts the stream is reported to a {@link com.mongodb.event.CommandListener}; the batches
+     * that the server streams after it produce no command events. Servers older than 4.2 ignore this option.
+     * </p>
+     *
+     * @param exhaust true if the server should stream the results
+     * @return this
+     * @since 4.9
+     * @mongodb.server.release 4.2
+     */
+    AggregateIterable<TResult> exhaust(boolean exhaust);
+
+    /**
+     * Sets the maximum number of batches to fetch ahead of the application.
+     * <p>
+     * When this is positive, the next batch is requested from the server as soon as the current one is handed out, so the round trip
+     * overlaps with the processing of the current batch. At most this number of batches are held in memory in addition to the one
+     * being processed.
+     * Prefetching is disabled when the operation uses an explicit {@code ClientSession} or runs in a transaction.
+     * </p>
+     *
+     * @param prefetchDepth the prefetch depth, which must not be negative, with 0, the default, meaning that batches are not prefetched
+     * @return this
+     * @since 4.9
+     */
+    AggregateIterable<TResult> prefetchDepth(int prefetchDepth);
+
+    /**
+     * Sets whether to keep each batch of results as raw BSON and decode each document only when the application asks for it.
+     * <p>
+     * By default a whole batch is decoded as soon as it is received, so the memory used by the cursor and the time until the first
+     * document is available grow with the size of the batch. With lazy decoding enabled only the raw bytes of the batch are retained,
+     * and each document is decoded as it is iterated. Decoding errors are then reported when the offending document is reached rather
+     * than when the batch is received.
+     * </p>
+     *
+     * @param lazyDecoding true if documents should be decoded lazily
+     * @return this
+     * @since 4.9
+     */
+    AggregateIterable<TResult> lazyDecoding(boolean lazyDecoding);
+
+    /**
+     * Sets whether results decoded as {@link org.bson.RawBsonDocument} share the buffer of the reply they were read from, instead of
+     * each being copied into its own byte array.
+     * <p>
+     * This is intended for applications, such as proxies, that forward raw documents without inspecting them. Each such document holds a
+     * reference to a pooled buffer, which is not reused until every document read from the same reply has been released with
+     * {@link org.bson.RawBsonDocument#release()}. Documents that are never released are reclaimed by the garbage collector, but their
+     * buffers are not returned to the pool. The option has no effect for other result classes.
+     * </p>
+     *
+     * @param shareReplyBuffers true if raw documents should share reply buffers
+     * @return this
+     * @since 4.9
+     */
+    AggregateIterable<TResult> shareReplyBuffers(boolean shareReplyBuffers);
+
     /**
      * Sets the maximum execution time on the server for this operation.
      *
@@ -108,6 +108,46 @@ public final class MongoClients {
         return new MongoClientImpl(settings, builder.driverName("sync").build());
     }
 
+    /**
+     * Creates a new client with the given client settings that shares its connection pools and server monitors with other clients.
+     *
+     * <p>The client uses the same connections as every other open client created by this method with compatible settings, meaning settings
+     * that differ at most in the codec registry, UUID representation, read preference, write concern, read concern, retryable reads and
+     * writes, auto-encryption settings and context provider, each of which a client applies to its own operations.  Listeners,
+     * credentials, and cluster, server, connection pool, socket and SSL settings must be equal, so clients that differ in any of them do
+     * not share connections.  Shared connections are closed when the last client that uses them is closed.</p>
+     *
+     * <p>This can greatly reduce the number of connections to a deployment from an application that creates many clients for it, for
+     * example one per tenant.</p>
+     *
+     * @param settings the settings
+     * @return the client
+     * @since 4.9
+     */
+    public static MongoClient createShared(final MongoClientSettings settings) {
+        return createShared(settings, null);
+    }
+
+    /**
+     * Creates a new client with the given client settings that shares its connection pools and server monitors with other clients, as
+     * if by a call to {@link #createShared(MongoClientSettings)}.
+     *
+     * <p>Note: Intended for driver and library authors to associate extra driver metadata with the connections.  Only clients with equal
+     * driver information share connections.</p>
+     *
+     * @param settings               the settings
+     * @param mongoDriverInformation any driver information to associate with the MongoClient
+     * @return the client
+     * @see #createShared(MongoClientSettings)
+     * @since 4.9
+     */
+    public static MongoClient createShared(final MongoClientSettings settings,
+                                           @Nullable final MongoDriverInformation mongoDriverInformation) {
+        MongoDriverInformation.Builder builder = mongoDriverInformation == null ? MongoDriverInformation.builder()
+                : MongoDriverInformation.builder(mongoDriverInformation);
+        return MongoClientImpl.createWithSharedCluster(settings, builder.driverName("sync").build());
+    }
+
     private MongoClients() {
     }
 }
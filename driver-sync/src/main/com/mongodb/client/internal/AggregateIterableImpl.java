@@ -41,6 +41,7 @@ import org.bson.conversions.Bson;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static com.mongodb.assertions.Assertions.isTrueArgument;
 import static com.mongodb.assertions.Assertions.notNull;
 
 class AggregateIterableImpl<TDocument, TResult> extends MongoIterableImpl<TResult> implements AggregateIterable<TResult> {
@@ -53,6 +54,10 @@ class AggregateIterableImpl<TDocument, TResult> extends MongoIterableImpl<TResul
     private final AggregationLevel aggregationLevel;
 
     private Boolean allowDiskUse;
+    private boolean exhaust;
+    private int prefetchDepth;
+    private boolean lazyDecoding;
+    private boolean shareReplyBuffers;
     private long maxTimeMS;
     private long maxAwaitTimeMS;
     private Boolean bypassDocumentValidation;
@@ -116,6 +121,31 @@ class AggregateIterableImpl<TDocument, TResult> extends MongoIterableImpl<TResul
         return this;
     }
 
+    @Override
+    public AggregateIterable<TResult> exhaust(final boolean exhaust) {
+        this.exhaust = exhaust;
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<TResult> prefetchDepth(final int prefetchDepth) {
+        isTrueArgument("prefetchDepth >= 0", prefetchDepth >= 0);
+        this.prefetchDepth = prefetchDepth;
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<TResult> lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    @Override
+    public AggregateIterable<TResult> shareReplyBuffers(final boolean shareReplyBuffers) {
+        this.shareReplyBuffers = shareReplyBuffers;
+        return this;
+    }
+
     @Override
     public AggregateIterable<TResult> maxTime(final long maxTime, final TimeUnit timeUnit) {
         notNull("timeUnit", timeUnit);
@@ -218,7 +248,8 @@ class AggregateIterableImpl<TDocument, TResult> extends MongoIterableImpl<TResul
 
     private ExplainableReadOperation<BatchCursor<TResult>> asAggregateOperation() {
         return operations.aggregate(pipeline, resultClass, maxTimeMS, maxAwaitTimeMS, getBatchSize(), collation,
-                hint, hintString, comment, variables, allowDiskUse, aggregationLevel);
+                hint, hintString, comment, variables, allowDiskUse, exhaust, prefetchDepth,
+                lazyDecoding, shareReplyBuffers, aggregationLevel);
     }
 
     @Nullable
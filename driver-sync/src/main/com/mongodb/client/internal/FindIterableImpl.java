@@ -207,6 +207,30 @@ class FindIterableImpl<TDocument, TResult> extends MongoIterableImpl<TResult> im
         return this;
     }
 
+    @Override
+    public FindIterable<TResult> exhaust(final boolean exhaust) {
+        findOptions.exhaust(exhaust);
+        return this;
+    }
+
+    @Override
+    public FindIterable<TResult> prefetchDepth(final int prefetchDepth) {
+        findOptions.prefetchDepth(prefetchDepth);
+        return this;
+    }
+
+    @Override
+    public FindIterable<TResult> lazyDecoding(final boolean lazyDecoding) {
+        findOptions.lazyDecoding(lazyDecoding);
+        return this;
+    }
+
+    @Override
+    public FindIterable<TResult> shareReplyBuffers(final boolean shareReplyBuffers) {
+        findOptions.shareReplyBuffers(shareReplyBuffers);
+        return this;
+    }
+
     @Nullable
     @Override
     public TResult first() {
@@ -25,6 +25,8 @@ import com.mongodb.lang.Nullable;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import static com.mongodb.internal.operation.CursorHelper.releaseRemainingBatch;
+
 /**
  * <p>This class is not part of the public API and may be removed or changed at any time</p>
  */
@@ -44,7 +46,15 @@ public class MongoBatchCursorAdapter<T> implements MongoCursor<T> {
 
     @Override
     public void close() {
-        batchCursor.close();
+        try {
+            batchCursor.close();
+        } finally {
+            if (curBatch != null) {
+                releaseRemainingBatch(curBatch, curPos);
+                curBatch = null;
+                curPos = 0;
+            }
+        }
     }
 
     @Override
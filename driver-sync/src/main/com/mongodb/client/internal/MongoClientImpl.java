@@ -39,6 +39,7 @@ import com.mongodb.internal.client.model.changestream.ChangeStreamLevel;
 import com.mongodb.internal.connection.Cluster;
 import com.mongodb.internal.connection.DefaultClusterFactory;
 import com.mongodb.internal.connection.InternalConnectionPoolSettings;
+import com.mongodb.internal.connection.SharedClusters;
 import com.mongodb.internal.diagnostics.logging.Logger;
 import com.mongodb.internal.diagnostics.logging.Loggers;
 import com.mongodb.internal.session.ServerSessionPool;
@@ -72,6 +73,21 @@ public final class MongoClientImpl implements MongoClient {
         this(createCluster(settings, mongoDriverInformation), mongoDriverInformation, settings, null);
     }
 
+    /**
+     * Creates a client that shares its cluster with every other client created by this method with compatible settings.
+     *
+     * @param settings the settings
+     * @param mongoDriverInformation the driver information
+     * @return the client
+     * @see SharedClusters
+     */
+    public static MongoClientImpl createWithSharedCluster(final MongoClientSettings settings,
+                                                          final MongoDriverInformation mongoDriverInformation) {
+        Cluster cluster = SharedClusters.acquire(notNull("settings", settings), mongoDriverInformation,
+                () -> createCluster(settings, mongoDriverInformation));
+        return new MongoClientImpl(cluster, mongoDriverInformation, settings, null);
+    }
+
     public MongoClientImpl(final Cluster cluster, final MongoDriverInformation mongoDriverInformation,
                            final MongoClientSettings settings,
                            @Nullable final OperationExecutor operationExecutor) {
@@ -229,7 +245,8 @@ public final class MongoClientImpl implements MongoClient {
                 settings.getConnectionPoolSettings(), InternalConnectionPoolSettings.builder().build(),
                 getStreamFactory(settings, false), getStreamFactory(settings, true),
                 settings.getCredential(), settings.getLoggerSettings(), getCommandListener(settings.getCommandListeners()),
-                settings.getApplicationName(), mongoDriverInformation, settings.getCompressorList(), settings.getServerApi());
+                settings.getApplicationName(), mongoDriverInformation, settings.getCompressorList(), settings.getCompressionPolicy(),
+                settings.getFieldNameCacheSize(), settings.getServerApi());
     }
 
     private static StreamFactory getStreamFactory(final MongoClientSettings settings, final boolean isHeartbeat) {
@@ -34,6 +34,7 @@ import com.mongodb.connection.ServerDescription
 import com.mongodb.connection.ServerType
 import com.mongodb.internal.client.model.changestream.ChangeStreamLevel
 import com.mongodb.internal.connection.Cluster
+import com.mongodb.internal.selector.WritableServerSelector
 import org.bson.BsonDocument
 import org.bson.Document
 import org.bson.codecs.UuidCodec
@@ -214,4 +215,56 @@ class MongoClientSpecification extends Specification {
         cleanup:
         client?.close()
     }
+
+    def 'should share the cluster between clients created with compatible settings'() {
+        given:
+        def settings = MongoClientSettings.builder().applicationName('shared').build()
+        def compatibleSettings = MongoClientSettings.builder(settings)
+                .codecRegistry(codecRegistry)
+                .readPreference(secondary())
+                .writeConcern(WriteConcern.MAJORITY)
+                .build()
+        def incompatibleSettings = MongoClientSettings.builder(settings)
+                .applyToConnectionPoolSettings { it.maxSize(1) }
+                .build()
+
+        when:
+        def client = MongoClients.createShared(settings) as MongoClientImpl
+        def compatibleClient = MongoClients.createShared(compatibleSettings) as MongoClientImpl
+        def incompatibleClient = MongoClients.createShared(incompatibleSettings) as MongoClientImpl
+
+        then:
+        compatibleClient.cluster.clusterId == client.cluster.clusterId
+        incompatibleClient.cluster.clusterId != client.cluster.clusterId
+        client.getDatabase('test').readPreference == primary()
+        compatibleClient.getDatabase('test').readPreference == secondary()
+
+        when:
+        client.close()
+
+        then:
+        client.cluster.closed
+        !compatibleClient.cluster.closed
+
+        when:
+        client.cluster.selectServer(new WritableServerSelector())
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == 'state should be: open'
+
+        when:
+        compatibleClient.close()
+        def newClient = MongoClients.createShared(settings) as MongoClientImpl
+
+        then:
+        compatibleClient.cluster.closed
+        newClient.cluster.clusterId != client.cluster.clusterId
+
+        cleanup:
+        client?.close()
+        compatibleClient?.close()
+        incompatibleClient?.close()
+        newClient?.close()
+    }
 }